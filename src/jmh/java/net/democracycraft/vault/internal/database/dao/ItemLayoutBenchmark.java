@@ -0,0 +1,145 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.MySQLManager;
+import net.democracycraft.vault.internal.database.entity.VaultEntity;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.database.entity.WorldEntity;
+import net.democracycraft.vault.internal.util.item.ItemCorpus;
+import net.democracycraft.vault.internal.util.item.ItemSerialization;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vault open (list all slots) and save (write all slots) latency of each item layout, side by side, against a local
+ * database. For each layout it saves then opens {@code -Dvault.bench.vaults} vaults (default 50) of
+ * {@code -Dvault.bench.slots} copies of one item (default 54); one warm-up vault per layout is excluded from the
+ * figures.
+ * <p>The database is chosen as in {@link VaultDAOHarness}: an in-memory H2 in MySQL mode by default, or a locally
+ * started MariaDB through {@code -Dvault.bench.jdbc}; never point it at a production schema. Everything it creates
+ * is deleted afterwards. Run with {@code ./gradlew layoutBench}.</p>
+ */
+public final class ItemLayoutBenchmark {
+    private ItemLayoutBenchmark() {}
+
+    /** Latency percentiles in milliseconds. */
+    record Stats(double p50, double p95, double max) {
+        static Stats of(long[] nanos) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            return new Stats(millis(sorted, 0.50), millis(sorted, 0.95), sorted[sorted.length - 1] / 1_000_000d);
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000d;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.2f / %.2f / %.2f", p50, p95, max);
+        }
+    }
+
+    record Result(String layout, Stats save, Stats open) {}
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("vault.bench.jdbc",
+                "jdbc:h2:mem:vault_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        int vaults = Integer.getInteger("vault.bench.vaults", 50);
+        int slots = Integer.getInteger("vault.bench.slots", 54);
+        if (vaults < 1 || slots < 1 || slots > 54) {
+            throw new IllegalArgumentException("vault.bench.vaults must be positive and vault.bench.slots 1-54");
+        }
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("vault.bench.jdbc.user", "sa"), System.getProperty("vault.bench.jdbc.password", ""))) {
+            MySQLManager mysql = new MySQLManager(connection);
+            try {
+                DatabaseSchema schema = new DatabaseSchema(mysql);
+                schema.createAll();
+                byte[] itemBytes = ItemSerialization.encode(ItemCorpus.randomItem(new Random(42)), ItemCorpus.DATA_VERSION);
+                System.out.println("Item layouts on " + connection.getMetaData().getDatabaseProductName() + " "
+                        + connection.getMetaData().getDatabaseProductVersion() + ", " + vaults + " vault(s) of " + slots
+                        + " slot(s), item payload " + itemBytes.length + " bytes. Latency in ms (p50 / p95 / max):");
+                for (Result result : run(schema, itemBytes, vaults, slots)) {
+                    System.out.printf(Locale.ROOT, "  %-8s save %s, open %s%n", result.layout(), result.save(), result.open());
+                }
+            } finally {
+                // Drains queued writes and stops the workers while the connection is still open.
+                mysql.executor().shutdown(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static List<Result> run(DatabaseSchema schema, byte[] itemBytes, int vaults, int slots) {
+        WorldEntity world = new WorldEntity();
+        world.uuid = UUID.randomUUID();
+        world.name = "vault_bench_" + world.uuid.toString().substring(0, 8);
+        schema.worlds().insertOrUpdateSync(world);
+        try {
+            VaultContentsDAO contents = new VaultContentsDAO(schema);
+            ItemBlobStore blobs = new ItemBlobStore(schema, 1024);
+            List<Result> results = new ArrayList<>(3);
+            for (ItemLayout layout : List.of(new RowItemLayout(contents), new PackedItemLayout(contents), new DedupItemLayout(contents, blobs))) {
+                results.add(measure(schema, layout, world.uuid, itemBytes, vaults, slots));
+            }
+            return results;
+        } finally {
+            schema.worlds().deleteWhereSync(Map.of("uuid", world.uuid));
+        }
+    }
+
+    private static Result measure(DatabaseSchema schema, ItemLayout layout, UUID worldUuid, byte[] itemBytes, int vaults, int slots) {
+        VaultDAOImpl dao = new VaultDAOImpl(schema, layout, null); // no item index: time the layout alone
+        UUID owner = UUID.randomUUID();
+        List<UUID> created = new ArrayList<>(vaults + 1);
+        long[] saves = new long[vaults];
+        long[] opens = new long[vaults];
+        try {
+            for (int i = -1; i < vaults; i++) {
+                VaultEntity vault = new VaultEntity();
+                vault.uuid = UUID.randomUUID();
+                vault.worldUuid = worldUuid;
+                vault.material = "CHEST";
+                vault.createdAtEpochMillis = System.currentTimeMillis();
+                dao.createVault(vault, owner);
+                created.add(vault.uuid);
+
+                List<VaultItemEntity> items = new ArrayList<>(slots);
+                for (int slot = 0; slot < slots; slot++) {
+                    VaultItemEntity row = new VaultItemEntity();
+                    row.slot = slot;
+                    row.amount = 1;
+                    row.item = itemBytes;
+                    items.add(row);
+                }
+
+                long start = System.nanoTime();
+                dao.putItems(vault.uuid, items);
+                long saved = System.nanoTime();
+                int read = dao.listItems(vault.uuid).size();
+                long opened = System.nanoTime();
+                if (read != slots) {
+                    throw new IllegalStateException(layout.name() + " layout read back " + read + " of " + slots + " slots");
+                }
+                if (i >= 0) {
+                    saves[i] = saved - start;
+                    opens[i] = opened - saved;
+                }
+            }
+        } finally {
+            dao.deleteVaults(created);
+        }
+        return new Result(layout.name(), Stats.of(saves), Stats.of(opens));
+    }
+}
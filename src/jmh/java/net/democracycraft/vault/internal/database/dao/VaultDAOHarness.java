@@ -0,0 +1,232 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.api.dao.VaultDAO;
+import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.MySQLManager;
+import net.democracycraft.vault.internal.database.entity.VaultEntity;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.database.entity.WorldEntity;
+import net.democracycraft.vault.internal.util.item.ItemCorpus;
+import net.democracycraft.vault.internal.util.item.ItemSerialization;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of {@link VaultDAOImpl} under workloads modelled on live traffic, through
+ * {@link DatabaseSchema} and {@code AutoTable} exactly as the plugin runs them, against a local database:
+ * <ul>
+ *   <li>{@code capture}: one container captured (vault row, owner, 27 item rows).</li>
+ *   <li>{@code captureBurst}: a vault-all batch of 16 containers in one transaction.</li>
+ *   <li>{@code editSave}: closing an EDIT view (2 slots emptied, 5 rewritten).</li>
+ *   <li>{@code ownerListing}: a player's vault list.</li>
+ *   <li>{@code worldListing}: every vault of a world.</li>
+ *   <li>{@code autoVaultSweep}: an auto-vault sweep of {@value #SWEEP_CONTAINERS} containers.</li>
+ * </ul>
+ * Each workload runs a warm-up pass, then reports calls per second and p50/p99/max latency; calls are sequential,
+ * as the plugin's single connection serializes them anyway.
+ * <p>By default the database is an in-memory H2 in MySQL mode, which needs nothing installed but only
+ * approximates MySQL's planner; compare changes on one backend only. Point {@code -Dvault.bench.jdbc} (with
+ * {@code .user} and {@code .password}) at a locally started MariaDB for production-like figures; the harness then
+ * deletes everything it created. {@code -Dvault.bench.layout} picks the item layout (rows, packed or dedup).
+ * Run with {@code ./gradlew daoBench}.</p>
+ */
+public final class VaultDAOHarness {
+
+    private static final int OWNERS = 100;
+    private static final int VAULTS_PER_OWNER = 20;
+    private static final int SWEEP_CONTAINERS = 500;
+    private static final int BURST = 16;
+
+    private final VaultDAOImpl dao;
+    private final UUID worldUuid;
+    private final Random random = new Random(42);
+    private final List<byte[]> payloads = new ArrayList<>();
+    private final List<UUID> owners = new ArrayList<>(OWNERS);
+    private final List<UUID> seeded = new ArrayList<>(OWNERS * VAULTS_PER_OWNER);
+    private final List<UUID> created = new ArrayList<>();
+
+    private VaultDAOHarness(VaultDAOImpl dao, UUID worldUuid) {
+        this.dao = dao;
+        this.worldUuid = worldUuid;
+        for (int i = 0; i < 512; i++) {
+            payloads.add(ItemSerialization.encode(ItemCorpus.randomItem(random), ItemCorpus.DATA_VERSION));
+        }
+    }
+
+    /** Latency figures of one workload. */
+    record Stats(String operation, int calls, double perSecond, double p50, double p99, double max) {
+        static Stats of(String operation, long[] nanos) {
+            long[] sorted = nanos.clone();
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long n : sorted) total += n;
+            return new Stats(operation, sorted.length, sorted.length / (total / 1e9),
+                    millis(sorted, 0.50), millis(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run(int i);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("vault.bench.jdbc",
+                "jdbc:h2:mem:vault_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        String layoutName = System.getProperty("vault.bench.layout", "rows").toLowerCase(Locale.ROOT);
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("vault.bench.jdbc.user", "sa"), System.getProperty("vault.bench.jdbc.password", ""))) {
+            MySQLManager mysql = new MySQLManager(connection);
+            try {
+                run(mysql, layoutName, connection);
+            } finally {
+                // Drains queued writes and stops the workers while the connection is still open.
+                mysql.executor().shutdown(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static void run(MySQLManager mysql, String layoutName, Connection connection) throws SQLException {
+        DatabaseSchema schema = new DatabaseSchema(mysql);
+        schema.createAll();
+        VaultContentsDAO contents = new VaultContentsDAO(schema, "dedup".equals(layoutName));
+        ItemLayout layout = switch (layoutName) {
+            case "rows" -> new RowItemLayout(contents);
+            case "packed" -> new PackedItemLayout(contents);
+            case "dedup" -> new DedupItemLayout(contents, new ItemBlobStore(schema, 1024));
+            default -> throw new IllegalArgumentException("Unknown layout: " + layoutName + " (rows, packed or dedup)");
+        };
+
+        WorldEntity world = new WorldEntity();
+        world.uuid = UUID.randomUUID();
+        world.name = "vault_bench_" + world.uuid.toString().substring(0, 8);
+        schema.worlds().insertOrUpdateSync(world);
+
+        // No item index: it decodes items, which needs a running server.
+        VaultDAOHarness harness = new VaultDAOHarness(new VaultDAOImpl(schema, layout, null), world.uuid);
+        try {
+            System.out.println("VaultDAOImpl on " + connection.getMetaData().getDatabaseProductName() + " "
+                    + connection.getMetaData().getDatabaseProductVersion() + ", " + layout.name() + " layout");
+            harness.seed();
+            harness.report(harness.runAll());
+        } finally {
+            harness.cleanUp();
+            schema.worlds().deleteWhereSync(Map.of("uuid", world.uuid));
+        }
+    }
+
+    /** {@value #OWNERS} owners with {@value #VAULTS_PER_OWNER} full chests each. */
+    private void seed() {
+        for (int o = 0; o < OWNERS; o++) {
+            UUID owner = UUID.randomUUID();
+            owners.add(owner);
+            List<VaultDAO.NewVault> batch = new ArrayList<>(VAULTS_PER_OWNER);
+            for (int v = 0; v < VAULTS_PER_OWNER; v++) batch.add(new VaultDAO.NewVault(vault(), owner, items(ItemCorpus.SLOTS)));
+            dao.createVaults(batch);
+            for (VaultDAO.NewVault entry : batch) seeded.add(entry.vault().uuid);
+        }
+        created.addAll(seeded);
+    }
+
+    private List<Stats> runAll() {
+        List<Stats> out = new ArrayList<>();
+        out.add(measure("capture", 200, i -> capture(owners.get(i % OWNERS))));
+        out.add(measure("captureBurst", 20, i -> {
+            List<VaultDAO.NewVault> batch = new ArrayList<>(BURST);
+            for (int v = 0; v < BURST; v++) batch.add(new VaultDAO.NewVault(vault(), owners.get(i % OWNERS), items(ItemCorpus.SLOTS)));
+            dao.createVaults(batch);
+            for (VaultDAO.NewVault entry : batch) created.add(entry.vault().uuid);
+        }));
+        out.add(measure("editSave", 500, i -> {
+            UUID vaultUuid = seeded.get(random.nextInt(seeded.size()));
+            dao.removeItems(vaultUuid, List.of(random.nextInt(ItemCorpus.SLOTS), random.nextInt(ItemCorpus.SLOTS)));
+            List<VaultItemEntity> changed = new ArrayList<>(5);
+            int first = random.nextInt(ItemCorpus.SLOTS);
+            for (int s = 0; s < 5; s++) changed.add(item((first + 5 * s) % ItemCorpus.SLOTS));
+            dao.putItems(vaultUuid, changed);
+        }));
+        out.add(measure("ownerListing", 500, i -> dao.listByOwner(owners.get(random.nextInt(OWNERS)))));
+        out.add(measure("worldListing", 50, i -> dao.listInWorld(worldUuid)));
+        out.add(measure("autoVaultSweep", 3, i -> {
+            UUID owner = owners.get(i % OWNERS);
+            for (int c = 0; c < SWEEP_CONTAINERS; c++) capture(owner);
+        }));
+        return out;
+    }
+
+    /** Runs {@code calls} measured calls after a warm-up of a tenth as many. */
+    private Stats measure(String operation, int calls, Call call) {
+        int warmup = Math.max(1, calls / 10);
+        for (int i = 0; i < warmup; i++) call.run(i);
+        long[] nanos = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            long start = System.nanoTime();
+            call.run(i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        return Stats.of(operation, nanos);
+    }
+
+    /** The single-capture path: vault and owner rows, then the items. */
+    private void capture(UUID owner) {
+        VaultEntity vault = vault();
+        dao.createVault(vault, owner);
+        created.add(vault.uuid);
+        dao.putItems(vault.uuid, items(ItemCorpus.SLOTS));
+    }
+
+    private VaultEntity vault() {
+        VaultEntity vault = new VaultEntity();
+        vault.uuid = UUID.randomUUID();
+        vault.worldUuid = worldUuid;
+        vault.x = random.nextInt(20_000) - 10_000;
+        vault.y = 64 + random.nextInt(64);
+        vault.z = random.nextInt(20_000) - 10_000;
+        vault.material = "CHEST";
+        vault.blockData = "minecraft:chest[facing=north,type=single,waterlogged=false]";
+        vault.createdAtEpochMillis = System.currentTimeMillis();
+        vault.updatedAtEpochMillis = vault.createdAtEpochMillis;
+        return vault;
+    }
+
+    private List<VaultItemEntity> items(int slots) {
+        List<VaultItemEntity> rows = new ArrayList<>(slots);
+        for (int slot = 0; slot < slots; slot++) rows.add(item(slot));
+        return rows;
+    }
+
+    private VaultItemEntity item(int slot) {
+        VaultItemEntity row = new VaultItemEntity();
+        row.slot = slot;
+        row.amount = 1 + random.nextInt(64);
+        row.item = payloads.get(random.nextInt(payloads.size()));
+        return row;
+    }
+
+    private void report(List<Stats> results) {
+        System.out.printf(Locale.ROOT, "%-16s %7s %10s %9s %9s %9s%n", "operation", "calls", "calls/s", "p50 ms", "p99 ms", "max ms");
+        for (Stats s : results) {
+            System.out.printf(Locale.ROOT, "%-16s %7d %10.1f %9.2f %9.2f %9.2f%n",
+                    s.operation(), s.calls(), s.perSecond(), s.p50(), s.p99(), s.max());
+        }
+    }
+
+    private void cleanUp() {
+        dao.deleteVaults(created);
+    }
+}
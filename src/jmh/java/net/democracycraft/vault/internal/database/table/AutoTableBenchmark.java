@@ -0,0 +1,109 @@
+package net.democracycraft.vault.internal.database.table;
+
+import net.democracycraft.vault.internal.database.MySQLManager;
+import net.democracycraft.vault.internal.database.entity.VaultEntity;
+import net.democracycraft.vault.stub.StubJdbc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AutoTable} overhead around the driver on the {@code vaults} table: hydrating rows into entities by
+ * reflection, and building plus binding insert statements. The connection is a {@link StubJdbc} stand-in that
+ * returns canned rows, so scores exclude the database and network and show what the table helper itself costs.
+ * Scores are microseconds per call; {@code hydrate} and {@code insertBatch} handle {@code rows} rows per call,
+ * {@code insertOne} a single row whatever {@code rows} is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutoTableBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private AutoTable<VaultEntity> table;
+    private UUID worldUuid;
+    private List<VaultEntity> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        worldUuid = new UUID(random.nextLong(), random.nextLong());
+        entities = new ArrayList<>(rows);
+        List<Map<String, Object>> resultRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            VaultEntity vault = vault(random);
+            entities.add(vault);
+            resultRows.add(asRow(vault));
+        }
+        List<Map<String, Object>> canned = List.copyOf(resultRows);
+        table = new AutoTable<>(new MySQLManager(StubJdbc.connection(() -> canned)), VaultEntity.class, "vaults", "uuid");
+    }
+
+    /** SELECT by an indexed column, hydrating every returned row. */
+    @Benchmark
+    public List<VaultEntity> hydrate() {
+        return table.findAllBy("worldUuid", worldUuid, null);
+    }
+
+    /** One upsert: SQL built from the model fields, then every field bound. */
+    @Benchmark
+    public void insertOne() {
+        table.insertOrUpdateSync(entities.get(0));
+    }
+
+    /** One batched upsert of every entity. */
+    @Benchmark
+    public void insertBatch() {
+        table.insertBatchSync(entities);
+    }
+
+    private VaultEntity vault(Random random) {
+        VaultEntity vault = new VaultEntity();
+        vault.uuid = new UUID(random.nextLong(), random.nextLong());
+        vault.worldUuid = worldUuid;
+        vault.x = random.nextInt(20_000) - 10_000;
+        vault.y = random.nextInt(300) - 60;
+        vault.z = random.nextInt(20_000) - 10_000;
+        boolean barrel = random.nextInt(4) == 0;
+        vault.material = barrel ? "BARREL" : "CHEST";
+        vault.blockData = barrel ? "minecraft:barrel[facing=up,open=false]" : "minecraft:chest[facing=north,type=single,waterlogged=false]";
+        vault.status = "STORED";
+        vault.type = "CONTAINER";
+        vault.createdAtEpochMillis = 1_700_000_000_000L + random.nextInt(Integer.MAX_VALUE);
+        vault.updatedAtEpochMillis = vault.createdAtEpochMillis;
+        return vault;
+    }
+
+    /** Column values as the MySQL driver returns them: UUIDs as strings, numbers boxed. */
+    private static Map<String, Object> asRow(VaultEntity vault) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("uuid", vault.uuid.toString());
+        row.put("worldUuid", vault.worldUuid.toString());
+        row.put("x", vault.x);
+        row.put("y", vault.y);
+        row.put("z", vault.z);
+        row.put("material", vault.material);
+        row.put("blockData", vault.blockData);
+        row.put("status", vault.status);
+        row.put("type", vault.type);
+        row.put("createdAtEpochMillis", vault.createdAtEpochMillis);
+        row.put("updatedAtEpochMillis", vault.updatedAtEpochMillis);
+        return row;
+    }
+}
@@ -0,0 +1,105 @@
+package net.democracycraft.vault.internal.security;
+
+import net.democracycraft.vault.api.region.VaultRegion;
+import net.democracycraft.vault.internal.region.VaultRegionImp;
+import net.democracycraft.vault.stub.Stubs;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VaultCapturePolicy} decisions over synthetic region sets, with Bolt owners and regions already resolved
+ * (the lookups themselves are measured by their own benchmarks). Each of {@value #BLOCKS} blocks sits in
+ * {@code overlap} nested regions: a town with many members around ever smaller plots with a few, as built-up
+ * areas look. The actor is a member of some plots and the container owner of others, so every rule is hit.
+ * Scores are decisions per millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VaultCapturePolicyBenchmark {
+
+    private static final int BLOCKS = 256;
+    private static final int TOWN_MEMBERS = 40;
+
+    /** Regions overlapping each block. */
+    @Param({"1", "4", "16"})
+    public int overlap;
+
+    private Player actor;
+    private Block[] blocks;
+    private UUID[] owners;
+    private List<List<VaultRegion>> regions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        UUID actorUuid = new UUID(random.nextLong(), random.nextLong());
+        actor = Stubs.player("bench", actorUuid);
+        World world = Stubs.world("world", new UUID(random.nextLong(), random.nextLong()));
+        List<UUID> residents = new ArrayList<>(TOWN_MEMBERS);
+        for (int i = 0; i < TOWN_MEMBERS; i++) residents.add(new UUID(random.nextLong(), random.nextLong()));
+        residents.set(random.nextInt(TOWN_MEMBERS), actorUuid);
+
+        blocks = new Block[BLOCKS];
+        owners = new UUID[BLOCKS];
+        regions = new ArrayList<>(BLOCKS);
+        for (int b = 0; b < BLOCKS; b++) {
+            int x = random.nextInt(4096), y = 64 + random.nextInt(32), z = random.nextInt(4096);
+            blocks[b] = Stubs.block(world, x, y, z, Material.CHEST);
+            // A quarter of the containers belong to the actor, a few have no Bolt owner.
+            int roll = random.nextInt(16);
+            owners[b] = roll < 4 ? actorUuid : roll == 4 ? null : residents.get(random.nextInt(TOWN_MEMBERS));
+            regions.add(nested(random, b, x, z, actorUuid, residents));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public void evaluate(Blackhole bh) {
+        for (int b = 0; b < BLOCKS; b++) {
+            bh.consume(VaultCapturePolicy.evaluateRegions(actor, blocks[b], owners[b], false, regions.get(b)));
+        }
+    }
+
+    /** {@code overlap} regions around one block, each inside the previous one. */
+    private List<VaultRegion> nested(Random random, int block, int x, int z, UUID actorUuid, List<UUID> residents) {
+        List<VaultRegion> out = new ArrayList<>(overlap);
+        int radius = 512;
+        for (int level = 0; level < overlap; level++) {
+            List<UUID> members = new ArrayList<>();
+            List<UUID> regionOwners = new ArrayList<>();
+            if (level == 0) {
+                members.addAll(residents);
+                regionOwners.add(residents.get(0));
+            } else {
+                int count = 1 + random.nextInt(3);
+                for (int i = 0; i < count; i++) members.add(residents.get(random.nextInt(residents.size())));
+                regionOwners.add(random.nextInt(3) == 0 ? actorUuid : residents.get(random.nextInt(residents.size())));
+            }
+            BoundingBox box = new BoundingBox(x - radius, -64, z - radius, x + radius, 320, z + radius);
+            out.add(new VaultRegionImp("r" + block + "_" + level, members, regionOwners, box, level));
+            radius = Math.max(1, radius / 2);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,94 @@
+package net.democracycraft.vault.internal.service;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import net.democracycraft.vault.stub.Stubs;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WorldGuardServiceImp#getRegionsAt} on a world of {@code regions} cuboid regions (16 to 256 blocks across,
+ * scattered over 20k x 20k blocks, a tenth of them children of another), for {@value #BLOCKS} random blocks.
+ * The regions are real WorldGuard {@link ProtectedCuboidRegion}s handed to the service in place of a
+ * {@code RegionManager}, so only the platform lookup is skipped. Scores are lookups per millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorldGuardServiceBenchmark {
+
+    private static final int BLOCKS = 256;
+    private static final int WORLD_RADIUS = 10_000;
+
+    @Param({"1000", "10000"})
+    public int regions;
+
+    private WorldGuardServiceImp service;
+    private Block[] blocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<UUID> players = new ArrayList<>(500);
+        for (int i = 0; i < 500; i++) players.add(new UUID(random.nextLong(), random.nextLong()));
+
+        Map<String, ProtectedRegion> byId = new HashMap<>(regions * 2);
+        List<ProtectedRegion> created = new ArrayList<>(regions);
+        for (int i = 0; i < regions; i++) {
+            int size = 16 + random.nextInt(241);
+            int x = random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS;
+            int z = random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS;
+            ProtectedCuboidRegion region = new ProtectedCuboidRegion("plot_" + i,
+                    BlockVector3.at(x, -64, z), BlockVector3.at(x + size, 319, z + size));
+            region.getOwners().addPlayer(players.get(random.nextInt(players.size())));
+            int members = random.nextInt(6);
+            for (int m = 0; m < members; m++) region.getMembers().addPlayer(players.get(random.nextInt(players.size())));
+            region.setPriority(random.nextInt(3));
+            if (!created.isEmpty() && random.nextInt(10) == 0) {
+                try {
+                    region.setParent(created.get(random.nextInt(created.size())));
+                } catch (ProtectedRegion.CircularInheritanceException ignored) {
+                    // A fresh region cannot close a cycle.
+                }
+            }
+            created.add(region);
+            byId.put(region.getId(), region);
+        }
+
+        World world = Stubs.world("world", new UUID(random.nextLong(), random.nextLong()));
+        service = new WorldGuardServiceImp(w -> byId);
+        blocks = new Block[BLOCKS];
+        for (int b = 0; b < BLOCKS; b++) {
+            int x = random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS;
+            int z = random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS;
+            blocks[b] = Stubs.block(world, x, 64 + random.nextInt(32), z, Material.CHEST);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public void getRegionsAt(Blackhole bh) {
+        for (Block block : blocks) bh.consume(service.getRegionsAt(block));
+    }
+}
@@ -0,0 +1,136 @@
+package net.democracycraft.vault.internal.util.item;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Synthetic item payloads for the item benchmarks, shaped like {@code ItemStack#serializeAsBytes()} output
+ * (gzip-wrapped NBT) since real stacks need a running server: mostly plain stacks, enchanted and named gear,
+ * and some filled shulker boxes.
+ */
+public final class ItemCorpus {
+
+    /** Slots of a single chest. */
+    public static final int SLOTS = 27;
+    public static final int DATA_VERSION = 4440;
+
+    private ItemCorpus() {}
+
+    private static final String[] PLAIN = {"cobblestone", "oak_log", "iron_ingot", "diamond", "netherite_ingot", "bread", "torch", "redstone"};
+    private static final String[] GEAR = {"diamond_sword", "netherite_pickaxe", "diamond_chestplate", "netherite_sword", "bow"};
+    private static final String[] ENCHANTS = {"sharpness", "unbreaking", "mending", "efficiency", "fortune", "protection", "looting"};
+
+    /** One item as {@code ItemStack#serializeAsBytes()} returns it (gzip-wrapped NBT). */
+    public static byte[] randomItem(Random random) {
+        return gzip(randomNbt(random));
+    }
+
+    /** One item's bare NBT: 60% plain stacks, 30% enchanted gear, 10% filled shulker boxes. */
+    public static byte[] randomNbt(Random random) {
+        int kind = random.nextInt(10);
+        if (kind < 6) return stack(PLAIN[random.nextInt(PLAIN.length)], 1 + random.nextInt(64), null);
+        if (kind < 9) return gear(random);
+        return shulker(random);
+    }
+
+    private static byte[] gear(Random random) {
+        return stack(GEAR[random.nextInt(GEAR.length)], 1, out -> {
+            out.writeByte(10);
+            out.writeUTF("minecraft:enchantments");
+            out.writeByte(10);
+            out.writeUTF("levels");
+            int count = 1 + random.nextInt(4);
+            for (int i = 0; i < count; i++) {
+                out.writeByte(3);
+                out.writeUTF("minecraft:" + ENCHANTS[(i + random.nextInt(ENCHANTS.length)) % ENCHANTS.length]);
+                out.writeInt(1 + random.nextInt(5));
+            }
+            out.writeByte(0);
+            out.writeByte(0);
+            out.writeByte(3);
+            out.writeUTF("minecraft:damage");
+            out.writeInt(random.nextInt(1500));
+            if (random.nextBoolean()) {
+                out.writeByte(8);
+                out.writeUTF("minecraft:custom_name");
+                out.writeUTF("{\"text\":\"Blade of " + Long.toString(random.nextLong(), 36) + "\",\"italic\":false}");
+                out.writeByte(9);
+                out.writeUTF("minecraft:lore");
+                out.writeByte(8);
+                out.writeInt(2);
+                out.writeUTF("{\"text\":\"Forged in the server's first season\"}");
+                out.writeUTF("{\"text\":\"Owner: " + Long.toString(random.nextLong(), 36) + "\"}");
+            }
+        });
+    }
+
+    private static byte[] shulker(Random random) {
+        return stack("shulker_box", 1, out -> {
+            out.writeByte(9);
+            out.writeUTF("minecraft:container");
+            out.writeByte(10);
+            out.writeInt(SLOTS);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                out.writeByte(3);
+                out.writeUTF("slot");
+                out.writeInt(slot);
+                out.writeByte(10);
+                out.writeUTF("item");
+                writeStackFields(out, PLAIN[random.nextInt(PLAIN.length)], 1 + random.nextInt(64));
+                out.writeByte(0);
+                out.writeByte(0);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Components {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /** Root NBT compound {id, count, components?} as written by the server. */
+    private static byte[] stack(String id, int count, Components components) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(10);
+            out.writeUTF("");
+            out.writeByte(3);
+            out.writeUTF("DataVersion");
+            out.writeInt(DATA_VERSION);
+            writeStackFields(out, id, count);
+            if (components != null) {
+                out.writeByte(10);
+                out.writeUTF("components");
+                components.write(out);
+                out.writeByte(0);
+            }
+            out.writeByte(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeStackFields(DataOutputStream out, String id, int count) throws IOException {
+        out.writeByte(8);
+        out.writeUTF("id");
+        out.writeUTF("minecraft:" + id);
+        out.writeByte(3);
+        out.writeUTF("count");
+        out.writeInt(count);
+    }
+
+    private static byte[] gzip(byte[] nbt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(nbt.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(nbt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
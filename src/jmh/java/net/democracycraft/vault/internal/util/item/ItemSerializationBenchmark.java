@@ -0,0 +1,61 @@
+package net.democracycraft.vault.internal.util.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the {@link ItemSerialization} storage frames over {@value #ITEMS} {@link ItemCorpus} items:
+ * {@code encode} is what every save pays per slot (gzip unwrap, dictionary Deflate, framing), {@code decode} what
+ * every open pays before {@code ItemStack.deserializeBytes}, which needs a server and is left out.
+ * Scores are items per millisecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ItemSerializationBenchmark {
+
+    private static final int ITEMS = 1024;
+
+    private byte[][] items;
+    private byte[][] stored;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        items = new byte[ITEMS][];
+        stored = new byte[ITEMS][];
+        for (int i = 0; i < ITEMS; i++) {
+            items[i] = ItemCorpus.randomItem(random);
+            stored[i] = ItemSerialization.encode(items[i], ItemCorpus.DATA_VERSION);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void encode(Blackhole bh) {
+        for (byte[] item : items) bh.consume(ItemSerialization.encode(item, ItemCorpus.DATA_VERSION));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void decode(Blackhole bh) {
+        for (byte[] frame : stored) bh.consume(ItemSerialization.decode(frame));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void roundTrip(Blackhole bh) {
+        for (byte[] item : items) bh.consume(ItemSerialization.decode(ItemSerialization.encode(item, ItemCorpus.DATA_VERSION)));
+    }
+}
@@ -0,0 +1,87 @@
+package net.democracycraft.vault.internal.util.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Serial versus {@link ParallelDecoder} throughput when decoding a bulk read of {@value #VAULTS} vaults.
+ * <p>The corpus is stored-format items as {@link ItemSerialization#encode(byte[], int)} writes them, built from
+ * {@link ItemCorpus} payloads. {@code ItemStack.deserializeBytes} needs a running server, so each
+ * payload is decoded to the bytes it would be handed (frame inflate plus gzip unwrap), the part of the decode
+ * stage that runs without one. Scores are items per millisecond.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelDecoderBenchmark {
+
+    private static final int VAULTS = 200;
+
+    @Param({"2", "4", "8"})
+    public int parallelism;
+
+    private List<List<byte[]>> vaults;
+    private ParallelDecoder<Integer> decoder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        vaults = new ArrayList<>(VAULTS);
+        for (int v = 0; v < VAULTS; v++) {
+            List<byte[]> slots = new ArrayList<>(ItemCorpus.SLOTS);
+            for (int s = 0; s < ItemCorpus.SLOTS; s++) slots.add(ItemSerialization.encode(ItemCorpus.randomItem(random), ItemCorpus.DATA_VERSION));
+            vaults.add(slots);
+        }
+        decoder = new ParallelDecoder<>(parallelism, "bench-decode", ParallelDecoderBenchmark::decodeHeadless);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        decoder.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VAULTS * ItemCorpus.SLOTS)
+    public void serial(Blackhole bh) {
+        for (List<byte[]> vault : vaults) bh.consume(decoder.decodeSerially(vault));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VAULTS * ItemCorpus.SLOTS)
+    public void parallel(Blackhole bh) {
+        List<CompletableFuture<List<Integer>>> futures = new ArrayList<>(VAULTS);
+        for (List<byte[]> vault : vaults) futures.add(decoder.submit(vault));
+        for (CompletableFuture<List<Integer>> future : futures) bh.consume(future.join());
+    }
+
+    /** Frame decode and gzip unwrap; returns the NBT length so nothing is optimized away. */
+    private static Integer decodeHeadless(byte[] stored) {
+        byte[] gzipped = ItemSerialization.decode(stored);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes().length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.democracycraft.vault.internal.util.minimessage;
+
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MiniMessageUtil#parseOrPlain} on menu text as the scan menu renders it: a plain title, a results header,
+ * a placeholder-heavy entry line (rendered once per listed protection, so the dominant cost of a page) and a
+ * hand-edited template with misnested and unclosed tags that the lenient parser has to recover from.
+ * Scores are microseconds per render.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MiniMessageUtilBenchmark {
+
+    private String title = "<gold><bold>Vault Scan</bold></gold>";
+    private String header = "<gold><bold>Region %region%</bold></gold> <gray>(%count% results)</gray>";
+    private String entry = "<gray>- %index% </gray><white>(%x%, %y%, %z%)</white> <gray>owner:</gray> <white>%owner%</white>"
+            + " <gray>|</gray> <white>%kind%</white> <gray>| vaultable:</gray> <white>%vaultable%</white>";
+    private String malformed = "<gold>Region <bold>%region%</gold></bold> <click:run_command:'/vault scan'>rescan";
+
+    private Map<String, String> headerPlaceholders = Map.of("%region%", "spawn_market", "%count%", "128");
+    private Map<String, String> entryPlaceholders = Map.of(
+            "%index%", "17", "%x%", "-1284", "%y%", "72", "%z%", "3391",
+            "%owner%", "Notch", "%kind%", "CHEST", "%vaultable%", "yes");
+
+    @Benchmark
+    public Component plain() {
+        return MiniMessageUtil.parseOrPlain(title);
+    }
+
+    @Benchmark
+    public Component header() {
+        return MiniMessageUtil.parseOrPlain(header, headerPlaceholders);
+    }
+
+    @Benchmark
+    public Component entryLine() {
+        return MiniMessageUtil.parseOrPlain(entry, entryPlaceholders);
+    }
+
+    @Benchmark
+    public Component malformed() {
+        return MiniMessageUtil.parseOrPlain(malformed, headerPlaceholders);
+    }
+}
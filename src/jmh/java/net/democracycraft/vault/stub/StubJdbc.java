@@ -0,0 +1,75 @@
+package net.democracycraft.vault.stub;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-memory JDBC stand-in for benchmarking the code around the driver (SQL building, parameter binding, row
+ * hydration) without a database. Every query returns the rows of {@code rows}; updates and batches succeed and
+ * store nothing. Columns are read by label, so only {@code getObject(String)} and {@code getString(String)} exist.
+ */
+public final class StubJdbc {
+
+    private StubJdbc() {}
+
+    /** Connection whose queries return {@code rows.get()}, one map of column label to value per row. */
+    public static Connection connection(Supplier<List<Map<String, Object>>> rows) {
+        boolean[] autoCommit = {true};
+        Map<String, Stubs.Answer> answers = new HashMap<>();
+        answers.put("prepareStatement", args -> statement(rows));
+        answers.put("createStatement", args -> statement(rows));
+        answers.put("isClosed", args -> false);
+        answers.put("getAutoCommit", args -> autoCommit[0]);
+        answers.put("setAutoCommit", args -> {
+            autoCommit[0] = (Boolean) args[0];
+            return null;
+        });
+        answers.put("commit", args -> null);
+        answers.put("rollback", args -> null);
+        answers.put("close", args -> null);
+        return Stubs.of(Connection.class, answers);
+    }
+
+    private static PreparedStatement statement(Supplier<List<Map<String, Object>>> rows) {
+        int[] batched = {0};
+        Map<String, Stubs.Answer> answers = new HashMap<>();
+        answers.put("setObject", args -> null);
+        answers.put("setString", args -> null);
+        answers.put("setInt", args -> null);
+        answers.put("setLong", args -> null);
+        answers.put("setBytes", args -> null);
+        answers.put("addBatch", args -> {
+            batched[0]++;
+            return null;
+        });
+        answers.put("executeBatch", args -> {
+            int[] counts = new int[batched[0]];
+            batched[0] = 0;
+            return counts;
+        });
+        answers.put("executeUpdate", args -> 1);
+        answers.put("execute", args -> false);
+        answers.put("executeQuery", args -> resultSet(rows.get()));
+        answers.put("getGeneratedKeys", args -> resultSet(List.of()));
+        answers.put("close", args -> null);
+        return Stubs.of(PreparedStatement.class, answers);
+    }
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) {
+        int[] cursor = {-1};
+        Map<String, Stubs.Answer> answers = new HashMap<>();
+        answers.put("next", args -> ++cursor[0] < rows.size());
+        answers.put("getObject", args -> rows.get(cursor[0]).get((String) args[0]));
+        answers.put("getString", args -> {
+            Object value = rows.get(cursor[0]).get((String) args[0]);
+            return value == null ? null : value.toString();
+        });
+        answers.put("close", args -> null);
+        return Stubs.of(ResultSet.class, answers);
+    }
+}
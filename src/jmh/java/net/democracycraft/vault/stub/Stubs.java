@@ -0,0 +1,70 @@
+package net.democracycraft.vault.stub;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Lightweight stand-ins for server interfaces, so benchmarks run headless. A stub answers only the methods it
+ * is given, by name; anything else throws, so a benchmark can never silently measure a default value.
+ */
+public final class Stubs {
+
+    private Stubs() {}
+
+    /** Answer of one stubbed method. */
+    @FunctionalInterface
+    public interface Answer {
+        Object answer(Object[] args) throws Exception;
+    }
+
+    /** Stub of {@code type} answering the methods in {@code answers}; {@code toString/hashCode/equals} use identity. */
+    public static <T> T of(Class<T> type, Map<String, Answer> answers) {
+        Map<String, Answer> table = Map.copyOf(answers);
+        String label = type.getSimpleName() + "Stub";
+        Object stub = Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Answer answer = table.get(method.getName());
+            if (answer != null) return answer.answer(args == null ? new Object[0] : args);
+            return switch (method.getName()) {
+                case "toString" -> label + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(label + " does not stub " + method.getName());
+            };
+        });
+        return type.cast(stub);
+    }
+
+    /** Player with a name and unique id. */
+    public static Player player(String name, UUID uuid) {
+        return of(Player.class, Map.of(
+                "getName", args -> name,
+                "getUniqueId", args -> uuid));
+    }
+
+    /** World with a name and uid. */
+    public static World world(String name, UUID uid) {
+        return of(World.class, Map.of(
+                "getName", args -> name,
+                "getUID", args -> uid));
+    }
+
+    /** Block of a type at integer coordinates of a world. */
+    public static Block block(World world, int x, int y, int z, Material type) {
+        Map<String, Answer> answers = new HashMap<>();
+        answers.put("getWorld", args -> world);
+        answers.put("getX", args -> x);
+        answers.put("getY", args -> y);
+        answers.put("getZ", args -> z);
+        answers.put("getType", args -> type);
+        answers.put("getLocation", args -> new Location(world, x, y, z));
+        return of(Block.class, answers);
+    }
+}
@@ -7,15 +7,31 @@ import net.democracycraft.vault.api.dao.VaultDAO;
 import net.democracycraft.vault.api.service.*;
 import net.democracycraft.vault.internal.command.VaultCommand;
 import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.database.KeyedSerialExecutor;
 import net.democracycraft.vault.internal.database.MySQLManager;
+import net.democracycraft.vault.internal.database.dao.AutoVaultJobDAO;
+import net.democracycraft.vault.internal.database.dao.HangingLocationDAO;
+import net.democracycraft.vault.internal.database.dao.ItemBlobStore;
+import net.democracycraft.vault.internal.database.dao.ItemLayout;
+import net.democracycraft.vault.internal.database.dao.ItemMaintenanceDAO;
+import net.democracycraft.vault.internal.database.dao.DedupItemLayout;
+import net.democracycraft.vault.internal.database.dao.VaultContentsDAO;
 import net.democracycraft.vault.internal.database.dao.VaultDAOImpl;
+import net.democracycraft.vault.internal.database.dao.VaultItemIndexDAO;
 import net.democracycraft.vault.internal.database.entity.WorldEntity;
+import net.democracycraft.vault.internal.listener.HangingLocationListener;
 import net.democracycraft.vault.internal.listener.RealtyOccupantChangeListener;
+import net.democracycraft.vault.internal.metrics.MainThreadProfiler;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import net.democracycraft.vault.internal.listener.SessionEventRouter;
 import net.democracycraft.vault.internal.service.*;
 import net.democracycraft.vault.internal.util.config.ConfigPaths;
 import net.democracycraft.vault.internal.session.BedrockUniqueIdentifierRetriever;
 import net.democracycraft.vault.internal.session.VaultSessionManager;
+import net.democracycraft.vault.internal.session.ActionBarTicker;
 import net.democracycraft.vault.internal.util.config.ConfigInitializer;
+import net.democracycraft.vault.internal.util.scheduler.MainThreadExecutor;
 import net.democracycraft.vault.internal.ui.VaultActionMenu;
 import net.democracycraft.vault.internal.ui.VaultCaptureMenu;
 import net.democracycraft.vault.internal.ui.VaultListMenu;
@@ -33,6 +49,8 @@ import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.geysermc.floodgate.api.FloodgateApi;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Main plugin entry point responsible for bootstrapping configuration, database, and services.
  */
@@ -47,6 +65,18 @@ public final class VaultStoragePlugin extends JavaPlugin {
     private VaultInventoryService inventoryService;
     private VaultScanService scanService;
     private AutoVaultService autoVaultService;
+    private ItemRecompressionService itemRecompressionService;
+    private ItemLayoutMigrationService itemLayoutMigrationService;
+    private ItemBlobGcService itemBlobGcService;
+    private ItemDataUpgradeService itemDataUpgradeService;
+    private ItemIndexService itemIndexService;
+    private ItemDecodeService itemDecodeService;
+    private MetricsExportService metricsExportService;
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private MainThreadProfiler profiler;
+    private MainThreadExecutor mainThreadExecutor;
+    private SessionEventRouter eventRouter;
+    private ActionBarTicker actionBarTicker;
 
 
     // Integration services
@@ -89,6 +119,41 @@ public final class VaultStoragePlugin extends JavaPlugin {
     /** Reusable scan domain service. */
     public VaultScanService getScanService() { return scanService; }
 
+    /** Background migration into the configured item storage layout. */
+    public ItemLayoutMigrationService getItemLayoutMigrationService() { return itemLayoutMigrationService; }
+
+    /** Parallel item deserialization for bulk reads. */
+    public ItemDecodeService getItemDecodeService() { return itemDecodeService; }
+
+    /** Builds and rebuilds the vault item index. */
+    public ItemIndexService getItemIndexService() { return itemIndexService; }
+
+    public DatabaseSchema getSchema() { return schema; }
+
+    /** Executor for blocking database work, with priorities and backpressure. */
+    public DatabaseExecutor getDatabaseExecutor() { return mysql.executor(); }
+
+    /** Orders database work per vault and per owner; see {@link KeyedSerialExecutor}. */
+    public KeyedSerialExecutor getKeyedExecutor() { return mysql.keyedExecutor(); }
+
+    /** Operation metrics shared by the database layer, services and scanners. */
+    public MetricsRegistry getMetrics() { return metrics; }
+
+    /** Runs future continuations on the main thread, batched into one task per tick. */
+    public MainThreadExecutor getMainThreadExecutor() { return mainThreadExecutor; }
+
+    /** Routes the events of capture/placement sessions and open vault inventories to their handlers. */
+    public SessionEventRouter getEventRouter() { return eventRouter; }
+
+    /** Updates the action bars of all capture/placement sessions. */
+    public ActionBarTicker getActionBarTicker() { return actionBarTicker; }
+
+    /** Main-thread timing of the plugin's tasks and event handlers. */
+    public MainThreadProfiler getProfiler() { return profiler; }
+
+    /** Writes the metrics file; also used by /vault admin stats. */
+    public MetricsExportService getMetricsExportService() { return metricsExportService; }
+
     public MojangService<VaultStoragePlugin> getMojangService() { return mojangService; }
 
     public BedrockUniqueIdentifierRetriever getBedrockUniqueIdentifierRetriever() {
@@ -101,6 +166,16 @@ public final class VaultStoragePlugin extends JavaPlugin {
         democracyLibApi = DemocracyLibApi.instance(this, true);
         // Ensure config exists and has defaults
         ConfigInitializer.ensureMysqlDefaults(this);
+        this.profiler = new MainThreadProfiler(getLogger(), metrics,
+                getConfig().getLong(ConfigPaths.PROFILER_SLOW_THRESHOLD_MS.getPath(), 50L));
+        this.profiler.setEnabled(getConfig().getBoolean(ConfigPaths.PROFILER_ENABLED.getPath(), false));
+        this.mainThreadExecutor = new MainThreadExecutor(this, profiler, metrics);
+        this.eventRouter = new SessionEventRouter(profiler, metrics);
+        getServer().getPluginManager().registerEvents(eventRouter, this);
+        this.actionBarTicker = new ActionBarTicker(this, profiler, metrics,
+                getConfig().getInt(ConfigPaths.CAPTURE_ACTIONBAR_PERIOD_TICKS.getPath(), 5),
+                getConfig().getInt(ConfigPaths.CAPTURE_ACTIONBAR_REFRESH_TICKS.getPath(), 20));
+        this.actionBarTicker.start();
 
         // Init DB and schema
         this.mysql = new MySQLManager(this);
@@ -112,8 +187,28 @@ public final class VaultStoragePlugin extends JavaPlugin {
         bootstrapWorlds();
 
         // DAO + Service
-        this.vaultDAO = new VaultDAOImpl(schema);
+        ItemBlobStore itemBlobs = new ItemBlobStore(schema, getConfig().getInt(ConfigPaths.STORAGE_DEDUP_CACHE_SIZE.getPath(), 20000));
+        String layoutName = getConfig().getString(ConfigPaths.STORAGE_LAYOUT.getPath(), "rows");
+        // Blob references only need releasing under the deduplicated layout, or while rows it wrote remain.
+        boolean blobRefs = DedupItemLayout.NAME.equalsIgnoreCase(String.valueOf(layoutName).trim()) || itemBlobs.hasBlobs();
+        ItemLayout itemLayout = ItemLayout.of(layoutName, new VaultContentsDAO(schema, blobRefs), itemBlobs);
+        VaultItemIndexDAO itemIndex = new VaultItemIndexDAO(schema);
+        this.vaultDAO = metrics.timed(VaultDAO.class, new VaultDAOImpl(schema, itemLayout, itemIndex), "vault_dao_call_seconds");
+        this.itemLayoutMigrationService = new ItemLayoutMigrationService(this, itemLayout);
+        getLogger().info("Item storage layout: " + itemLayout.name());
         this.vaultService = new VaultServiceImpl(vaultDAO);
+        ItemMaintenanceDAO itemMaintenance = new ItemMaintenanceDAO(schema);
+        this.itemRecompressionService = new ItemRecompressionService(this, itemMaintenance);
+        this.itemRecompressionService.start();
+        this.itemDataUpgradeService = new ItemDataUpgradeService(this, itemMaintenance);
+        this.itemDataUpgradeService.start();
+        this.itemBlobGcService = new ItemBlobGcService(this, itemBlobs);
+        this.itemBlobGcService.start();
+        this.itemIndexService = new ItemIndexService(this, itemIndex, itemLayout);
+        this.itemIndexService.start();
+        this.itemDecodeService = new ItemDecodeService(this);
+        this.metricsExportService = new MetricsExportService(this, metrics);
+        this.metricsExportService.start();
         // Register VaultService in Bukkit services
         getServer().getServicesManager().register(VaultService.class, this.vaultService, this, ServicePriority.Normal);
 
@@ -168,7 +263,10 @@ public final class VaultStoragePlugin extends JavaPlugin {
         // Realty soft dependency: auto-vault containers when a region's owner/tenant changes.
         if (getServer().getPluginManager().getPlugin("Realty") != null
                 && getConfig().getBoolean(ConfigPaths.AUTOVAULT_ENABLED.getPath(), true)) {
-            this.autoVaultService = new AutoVaultService(this);
+            HangingLocationDAO hangingLocations = new HangingLocationDAO(schema);
+            this.autoVaultService = new AutoVaultService(this, new AutoVaultJobDAO(schema), hangingLocations);
+            this.autoVaultService.resume();
+            getServer().getPluginManager().registerEvents(new HangingLocationListener(this, hangingLocations), this);
             getServer().getPluginManager().registerEvents(new RealtyOccupantChangeListener(autoVaultService), this);
             getLogger().info("Realty detected: auto-vault on region occupant change enabled.");
         }
@@ -214,7 +312,22 @@ public final class VaultStoragePlugin extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (this.actionBarTicker != null) this.actionBarTicker.shutdown();
+        if (this.placementService != null) this.placementService.shutdown();
+        if (this.captureService != null) this.captureService.shutdown();
         if (this.autoVaultService != null) this.autoVaultService.shutdown();
+        if (this.itemRecompressionService != null) this.itemRecompressionService.shutdown();
+        if (this.itemLayoutMigrationService != null) this.itemLayoutMigrationService.shutdown();
+        if (this.itemBlobGcService != null) this.itemBlobGcService.shutdown();
+        if (this.itemDataUpgradeService != null) this.itemDataUpgradeService.shutdown();
+        if (this.itemIndexService != null) this.itemIndexService.shutdown();
+        if (this.itemDecodeService != null) this.itemDecodeService.shutdown();
+        if (this.mysql != null) {
+            this.mysql.executor().shutdown(getConfig().getLong(ConfigPaths.MYSQL_EXECUTOR_DRAIN_TIMEOUT_SECONDS.getPath(), 10L), TimeUnit.SECONDS);
+        }
+        if (this.mainThreadExecutor != null) this.mainThreadExecutor.shutdown();
+        if (this.metricsExportService != null) this.metricsExportService.shutdown();
+        if (this.profiler != null) this.profiler.setEnabled(false);
         if (this.mysql != null) this.mysql.disconnect();
     }
 
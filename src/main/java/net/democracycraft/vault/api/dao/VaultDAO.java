@@ -4,7 +4,9 @@ import net.democracycraft.vault.internal.database.entity.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -18,6 +20,15 @@ public interface VaultDAO {
      * @param ownerUuid owner UUID
      */
     void createVault(@NotNull VaultEntity vault, @NotNull UUID ownerUuid);
+
+    /** A vault to create in bulk: its row (uuid pre-populated), owner and initial items. */
+    record NewVault(@NotNull VaultEntity vault, @NotNull UUID ownerUuid, @NotNull List<VaultItemEntity> items) {}
+
+    /**
+     * Creates many vaults with their owners and items in one transaction: either all are stored or none is.
+     * @param vaults vaults to create; vault uuids must be pre-populated
+     */
+    void createVaults(@NotNull List<NewVault> vaults);
     /**
      * Retrieves a vault by its UUID.
      * @param vaultUuid vault id
@@ -29,9 +40,19 @@ public interface VaultDAO {
      */
     @Nullable VaultEntity findByLocation(@NotNull UUID worldUuid, int x, int y, int z);
     /**
-     * Deletes a vault row (cascade deletes related rows via FK constraints).
+     * Deletes a vault row (cascade deletes related rows via FK constraints); runs synchronously.
      */
     void deleteVault(@NotNull UUID vaultUuid);
+    /** A stored vault with its owner ({@code null} if it has no owner row). */
+    record OwnedVault(@NotNull VaultEntity vault, @Nullable UUID ownerUuid) {}
+    /**
+     * Fetches many vaults with their owners in one query per 500 ids. Unknown ids are absent from the result.
+     */
+    @NotNull Map<UUID, OwnedVault> getVaultsWithOwners(@NotNull Collection<UUID> vaultUuids);
+    /**
+     * Deletes many vaults and their items in one transaction. Unlike {@link #deleteVault}, runs synchronously.
+     */
+    void deleteVaults(@NotNull Collection<UUID> vaultUuids);
 
     // Ownership
     /**
@@ -78,8 +99,36 @@ public interface VaultDAO {
      * Removes an item slot.
      */
     void removeItem(@NotNull UUID vaultUuid, int slot);
+    /**
+     * Removes several item slots of one vault.
+     */
+    void removeItems(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots);
     /**
      * Lists all items for a vault ordered by slot.
      */
     @NotNull List<VaultItemEntity> listItems(@NotNull UUID vaultUuid);
+    /**
+     * Lists the items in slots {@code fromSlot..toSlot} (inclusive) ordered by slot; other slots are not fetched.
+     */
+    @NotNull List<VaultItemEntity> listItems(@NotNull UUID vaultUuid, int fromSlot, int toSlot);
+    /**
+     * Highest occupied slot of a vault, -1 if empty. Reads no item data.
+     */
+    int maxSlot(@NotNull UUID vaultUuid);
+    /**
+     * Highest occupied slot of every vault owned by a player (-1 for empty vaults), in a single query.
+     * Iteration order is oldest vault first.
+     */
+    @NotNull Map<UUID, Integer> maxSlotsByOwner(@NotNull UUID ownerUuid);
+
+    // Item index
+    /**
+     * Vaults holding the given material, mapped to the total amount held, largest first.
+     * Answered from the item index without reading item data.
+     */
+    @NotNull Map<UUID, Integer> findVaultsContaining(@NotNull String material, int limit);
+    /**
+     * Number of occupied slots per vault, from the item index. Vaults with no items are absent.
+     */
+    @NotNull Map<UUID, Integer> countItems(@NotNull Collection<UUID> vaultUuids);
 }
@@ -0,0 +1,13 @@
+package net.democracycraft.vault.api.data;
+
+import java.util.UUID;
+
+/**
+ * Coordinates, owner and Bolt protection type of a protected block, read from Bolt's store without
+ * touching the world (no chunk loads, no block state).
+ */
+public record ProtectedBlockRef(UUID worldUuid, int x, int y, int z, UUID owner, String protectionType) {
+
+    public int chunkX() { return x >> 4; }
+    public int chunkZ() { return z >> 4; }
+}
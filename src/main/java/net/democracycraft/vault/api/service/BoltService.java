@@ -1,5 +1,6 @@
 package net.democracycraft.vault.api.service;
 
+import net.democracycraft.vault.api.data.ProtectedBlockRef;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -12,6 +13,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface BoltService extends Service {
 
@@ -21,13 +24,42 @@ public interface BoltService extends Service {
     boolean isOwner(UUID playerUUID, Block block);
     boolean isOwner(UUID playerUUID, Entity entity);
 
+    /**
+     * Returns the blocks protected by a player within the bounding box. Loads each chunk synchronously;
+     * prefer {@link #getProtectedBlockRefs} or {@link #getProtectedBlocksAsync} on the main thread.
+     */
     List<Block> getProtectedBlocks(UUID playerUUID, BoundingBox boundingBox, World world);
 
     /**
      * Returns all protected blocks within the given bounding box in a world, regardless of owner.
+     * Loads each chunk synchronously; prefer {@link #getProtectedBlockRefsIn} or {@link #getProtectedBlocksInAsync}.
      */
     List<Block> getProtectedBlocksIn(BoundingBox boundingBox, World world);
 
+    /**
+     * Coordinates, owner and type of the blocks protected by a player within the bounding box.
+     * Reads only Bolt's store: never loads chunks.
+     */
+    List<ProtectedBlockRef> getProtectedBlockRefs(@NotNull UUID playerUUID, @NotNull BoundingBox boundingBox, @NotNull World world);
+
+    /**
+     * Coordinates, owner and type of all protected blocks within the bounding box, regardless of owner.
+     * Reads only Bolt's store: never loads chunks.
+     */
+    List<ProtectedBlockRef> getProtectedBlockRefsIn(@NotNull BoundingBox boundingBox, @NotNull World world);
+
+    /**
+     * Like {@link #getProtectedBlocks}, but resolves the blocks through async chunk loads, one load per chunk,
+     * in chunk-grouped order. Call on the main thread; completes on the main thread.
+     */
+    CompletableFuture<List<Block>> getProtectedBlocksAsync(@NotNull UUID playerUUID, @NotNull BoundingBox boundingBox, @NotNull World world);
+
+    /**
+     * Like {@link #getProtectedBlocksIn}, but resolves the blocks through async chunk loads, one load per chunk,
+     * in chunk-grouped order. Call on the main thread; completes on the main thread.
+     */
+    CompletableFuture<List<Block>> getProtectedBlocksInAsync(@NotNull BoundingBox boundingBox, @NotNull World world);
+
     /**
      * Removes the Bolt protection for the given block if one exists.
      * Implementations should be safe to call on the main thread.
@@ -53,4 +85,11 @@ public interface BoltService extends Service {
 
     Collection<Protection> getProtections(BoundingBox boundingBox, World world);
 
+    /**
+     * Lazily yields the protections within the bounding box, querying one chunk-sized tile at a time
+     * (x-major, then z) so only one tile's protections are held in memory. Each protection is yielded once.
+     * Not thread-safe; consume on the thread that would call {@link #getProtections}.
+     */
+    Stream<Protection> streamProtections(@NotNull World world, @NotNull BoundingBox boundingBox);
+
 }
@@ -1,16 +1,27 @@
 package net.democracycraft.vault.api.service;
 
+import net.democracycraft.vault.api.dao.VaultDAO;
 import net.democracycraft.vault.internal.database.entity.VaultEntity;
 import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Public API: High-level service for managing Vault persistence.
+ * <p>
+ * The plain methods block on the database. Each {@code ...Async} variant runs on the plugin's database executor
+ * instead and returns a future that completes on a database thread; continue on the main thread with
+ * {@code thenAcceptAsync(..., plugin.getMainThreadExecutor())}. Async calls on the same vault run in the order
+ * they were made, so a read sees the writes requested before it. Async reads fail with a
+ * {@link java.util.concurrent.RejectedExecutionException} while the database is overloaded; async writes are
+ * never refused.
  */
 public interface VaultService extends Service {
     /**
@@ -20,9 +31,20 @@ public interface VaultService extends Service {
     @NotNull VaultEntity createVault(@NotNull UUID worldUuid, @NotNull UUID actor, int x, int y, int z, @NotNull UUID ownerUuid,
                               @Nullable String material, @Nullable String blockData);
 
+    /**
+     * Creates many vaults with their owners and items in one transaction (see {@link VaultDAO#createVaults}).
+     * Missing vault uuids and timestamps are filled in; each distinct owner is mailed once.
+     * @return the created vault rows, in input order
+     */
+    @NotNull List<VaultEntity> createVaults(@NotNull UUID actor, @NotNull List<VaultDAO.NewVault> vaults);
+
     @NotNull Optional<VaultEntity> get(@NotNull UUID vaultUuid);
     @Nullable VaultEntity findByLocation(@NotNull UUID worldUuid, int x, int y, int z);
     void delete(@NotNull UUID vaultUuid);
+    /** Fetches many vaults with their owners in bulk (see {@link VaultDAO#getVaultsWithOwners}). */
+    @NotNull Map<UUID, VaultDAO.OwnedVault> getWithOwners(@NotNull Collection<UUID> vaultUuids);
+    /** Deletes many vaults in one transaction (see {@link VaultDAO#deleteVaults}); runs synchronously. */
+    void deleteAll(@NotNull Collection<UUID> vaultUuids);
 
     void setOwner(@NotNull UUID vaultUuid, @NotNull UUID ownerUuid);
     @Nullable UUID getOwner(@NotNull UUID vaultUuid);
@@ -44,5 +66,57 @@ public interface VaultService extends Service {
     void putItems(@NotNull UUID vaultUuid, @NotNull List<VaultItemEntity> items);
 
     void removeItem(@NotNull UUID vaultUuid, int slot);
+
+    /** Removes several item slots of one vault. */
+    void removeItems(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots);
+
     @NotNull List<VaultItemEntity> listItems(@NotNull UUID vaultUuid);
+
+    /**
+     * Items in slots {@code fromSlot..toSlot} (inclusive), ordered by slot. Only that range is fetched,
+     * so a page of a large vault costs the same as a small vault.
+     */
+    @NotNull List<VaultItemEntity> listItems(@NotNull UUID vaultUuid, int fromSlot, int toSlot);
+
+    /** Highest occupied slot of a vault, -1 if empty. Reads no item data. */
+    int maxSlot(@NotNull UUID vaultUuid);
+
+    /**
+     * Highest occupied slot of every vault owned by a player (-1 for empty vaults), oldest vault first.
+     * Reads no item data.
+     */
+    @NotNull Map<UUID, Integer> maxSlotsByOwner(@NotNull UUID ownerUuid);
+
+    /**
+     * Vaults holding the given material (e.g. {@code NETHERITE_INGOT}), mapped to the total amount held, largest first.
+     * Reads the item index only, no item data.
+     */
+    @NotNull Map<UUID, Integer> findVaultsContaining(@NotNull String material, int limit);
+
+    /**
+     * Number of occupied slots of each given vault, in a single query over the item index. Vaults with no items are absent.
+     */
+    @NotNull Map<UUID, Integer> countItems(@NotNull Collection<UUID> vaultUuids);
+
+    @NotNull CompletableFuture<Optional<VaultEntity>> getAsync(@NotNull UUID vaultUuid);
+    @NotNull CompletableFuture<Map<UUID, VaultDAO.OwnedVault>> getWithOwnersAsync(@NotNull Collection<UUID> vaultUuids);
+    @NotNull CompletableFuture<UUID> getOwnerAsync(@NotNull UUID vaultUuid);
+    @NotNull CompletableFuture<List<VaultEntity>> listByOwnerAsync(@NotNull UUID ownerUuid);
+    @NotNull CompletableFuture<List<VaultEntity>> listInWorldAsync(@NotNull UUID worldUuid);
+    @NotNull CompletableFuture<List<VaultItemEntity>> listItemsAsync(@NotNull UUID vaultUuid);
+    @NotNull CompletableFuture<List<VaultItemEntity>> listItemsAsync(@NotNull UUID vaultUuid, int fromSlot, int toSlot);
+    @NotNull CompletableFuture<Map<UUID, Integer>> countItemsAsync(@NotNull Collection<UUID> vaultUuids);
+
+    /**
+     * Creates a vault with its owner and items in one transaction, unlike {@link #createVault} followed by
+     * {@link #putItems}. The items' vault uuid is filled in.
+     * @return the persisted entity
+     */
+    @NotNull CompletableFuture<VaultEntity> createVaultWithItemsAsync(@NotNull UUID worldUuid, @NotNull UUID actor, int x, int y, int z,
+                                                                     @NotNull UUID ownerUuid, @Nullable String material,
+                                                                     @Nullable String blockData, @NotNull List<VaultItemEntity> items);
+    @NotNull CompletableFuture<Void> setOwnerAsync(@NotNull UUID vaultUuid, @NotNull UUID ownerUuid);
+    @NotNull CompletableFuture<Void> deleteAsync(@NotNull UUID vaultUuid);
+    @NotNull CompletableFuture<Void> putItemsAsync(@NotNull UUID vaultUuid, @NotNull List<VaultItemEntity> items);
+    @NotNull CompletableFuture<Void> removeItemsAsync(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots);
 }
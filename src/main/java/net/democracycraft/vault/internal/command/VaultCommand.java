@@ -22,7 +22,8 @@ public class VaultCommand implements CommandExecutor, TabCompleter {
             new CaptureSubcommand(),
             new OpenSubcommand(),
             new AdminSubcommand(),
-            new TransferSubcommand()
+            new TransferSubcommand(),
+            new StorageSubcommand()
     );
 
     @Override
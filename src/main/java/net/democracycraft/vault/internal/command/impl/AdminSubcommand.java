@@ -1,21 +1,41 @@
 package net.democracycraft.vault.internal.command.impl;
 
+import net.democracycraft.vault.VaultStoragePlugin;
 import net.democracycraft.vault.internal.command.framework.CommandContext;
 import net.democracycraft.vault.internal.command.framework.Subcommand;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.database.SqlTracer;
+import net.democracycraft.vault.internal.metrics.MainThreadProfiler;
 import net.democracycraft.vault.internal.security.VaultPermission;
 import net.democracycraft.vault.internal.ui.VaultCaptureMenu;
 import net.democracycraft.vault.internal.ui.VaultUIContext;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import java.util.UUID;
+import java.util.logging.Level;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * /vault admin: opens the capture UI dialog in admin mode showing all vaults (no owner filter).
  * <p>
  * This grants an unfiltered view using {@link VaultUIContext#admin(UUID)} so every owner is visible.
+ * <p>
+ * /vault admin stats [filter]: lists the operation metrics (database timings, DAO calls, scans, auto-vault
+ * sweeps, cache hit ratios), optionally only those whose name contains {@code filter}.
+ * /vault admin stats dump: writes the metrics file to the plugin folder now.
+ * <p>
+ * /vault admin profiler [on|off|threshold &lt;ms&gt;]: shows the main-thread profiler's per-tick cost and busiest
+ * operations, or turns it on/off or changes its slow-run threshold until the next restart.
+ * <p>
+ * /vault admin sql [on|off|slow &lt;ms&gt;|repeat &lt;n&gt;]: shows the statement shapes with the most database time
+ * while SQL tracing is on, or turns tracing on/off or changes its slow-query and repeated-statement thresholds
+ * until the next restart.
  * Requires {@link VaultPermission#ADMIN}.
  */
 public class AdminSubcommand implements Subcommand {
@@ -26,17 +46,128 @@ public class AdminSubcommand implements Subcommand {
         return VaultPermission.ADMIN;
     }
     @Override public String usage() {
-        return "admin";
+        return "admin [stats [dump|<filter>] | profiler [on|off|threshold <ms>] | sql [on|off|slow <ms>|repeat <n>]]";
     }
 
     @Override
     public void execute(CommandContext ctx) {
         CommandSender sender = ctx.sender();
+        if (ctx.args().length > 0 && "stats".equalsIgnoreCase(ctx.args()[0])) {
+            stats(ctx);
+            return;
+        }
+        if (ctx.args().length > 0 && "profiler".equalsIgnoreCase(ctx.args()[0])) {
+            profiler(ctx);
+            return;
+        }
+        if (ctx.args().length > 0 && "sql".equalsIgnoreCase(ctx.args()[0])) {
+            sql(ctx);
+            return;
+        }
         if (!(sender instanceof Player player)) {
             sender.sendMessage("Only players can use this.");
             return;
         }
         new VaultCaptureMenu(player, VaultUIContext.admin(player.getUniqueId())).open();
     }
-}
 
+    private void stats(CommandContext ctx) {
+        VaultStoragePlugin plugin = VaultStoragePlugin.getInstance();
+        String arg = ctx.args().length > 1 ? ctx.args()[1] : null;
+        if ("dump".equalsIgnoreCase(arg)) {
+            // Gauges and file IO stay off the main thread, queued with the timed dumps.
+            plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.BACKGROUND, () -> {
+                try {
+                    Path file = plugin.getMetricsExportService().dump();
+                    Bukkit.getScheduler().runTask(plugin, () -> ctx.sender().sendMessage("Metrics written to " + file.toAbsolutePath()));
+                } catch (IOException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[AdminSubcommand] Failed to write metrics.", ex);
+                    Bukkit.getScheduler().runTask(plugin, () -> ctx.sender().sendMessage("Failed to write metrics: " + ex.getMessage()));
+                }
+            }, ctx.sender());
+            return;
+        }
+        List<String> lines = plugin.getMetrics().summary(arg);
+        if (lines.isEmpty()) {
+            ctx.sender().sendMessage(arg == null ? "No metrics recorded yet." : "No metrics match '" + arg + "'.");
+            return;
+        }
+        ctx.sender().sendMessage("Vault metrics (" + lines.size() + "):");
+        for (String line : lines) ctx.sender().sendMessage(" " + line);
+    }
+
+    private void profiler(CommandContext ctx) {
+        MainThreadProfiler profiler = VaultStoragePlugin.getInstance().getProfiler();
+        String arg = ctx.args().length > 1 ? ctx.args()[1].toLowerCase(Locale.ROOT) : "";
+        switch (arg) {
+            case "on" -> {
+                profiler.setEnabled(true);
+                ctx.sender().sendMessage("Main-thread profiler enabled (slow threshold " + profiler.slowThresholdMillis() + " ms).");
+            }
+            case "off" -> {
+                profiler.setEnabled(false);
+                ctx.sender().sendMessage("Main-thread profiler disabled.");
+            }
+            case "threshold" -> {
+                int millis;
+                try {
+                    millis = ctx.requireInt(2, "threshold");
+                } catch (IllegalArgumentException ex) {
+                    ctx.sender().sendMessage(ex.getMessage());
+                    return;
+                }
+                profiler.setSlowThresholdMillis(millis);
+                ctx.sender().sendMessage("Slow-run threshold set to " + profiler.slowThresholdMillis() + " ms.");
+            }
+            case "" -> profiler.report(10).forEach(ctx.sender()::sendMessage);
+            default -> ctx.usage("admin profiler [on|off|threshold <ms>]");
+        }
+    }
+
+    private void sql(CommandContext ctx) {
+        SqlTracer tracer = VaultStoragePlugin.getInstance().getSchema().mysql().tracer();
+        String arg = ctx.args().length > 1 ? ctx.args()[1].toLowerCase(Locale.ROOT) : "";
+        try {
+            switch (arg) {
+                case "on" -> {
+                    tracer.setEnabled(true);
+                    ctx.sender().sendMessage("SQL tracing enabled (slow query " + tracer.slowThresholdMillis()
+                            + " ms, repeat threshold " + tracer.repeatThreshold() + ").");
+                }
+                case "off" -> {
+                    tracer.setEnabled(false);
+                    ctx.sender().sendMessage("SQL tracing disabled.");
+                }
+                case "slow" -> {
+                    tracer.setSlowThresholdMillis(ctx.requireInt(2, "ms"));
+                    ctx.sender().sendMessage("Slow-query threshold set to " + tracer.slowThresholdMillis() + " ms.");
+                }
+                case "repeat" -> {
+                    tracer.setRepeatThreshold(ctx.requireInt(2, "n"));
+                    ctx.sender().sendMessage("Repeated-statement threshold set to " + tracer.repeatThreshold() + ".");
+                }
+                case "" -> tracer.report(10).forEach(ctx.sender()::sendMessage);
+                default -> ctx.usage("admin sql [on|off|slow <ms>|repeat <n>]");
+            }
+        } catch (IllegalArgumentException ex) {
+            ctx.sender().sendMessage(ex.getMessage());
+        }
+    }
+
+    @Override
+    public List<String> complete(CommandContext ctx) {
+        if (ctx.args().length == 1) {
+            return ctx.filter(List.of("stats", "profiler", "sql"), ctx.args()[0]);
+        }
+        if (ctx.args().length == 2 && "sql".equalsIgnoreCase(ctx.args()[0])) {
+            return ctx.filter(List.of("on", "off", "slow", "repeat"), ctx.args()[1]);
+        }
+        if (ctx.args().length == 2 && "profiler".equalsIgnoreCase(ctx.args()[0])) {
+            return ctx.filter(List.of("on", "off", "threshold"), ctx.args()[1]);
+        }
+        if (ctx.args().length == 2 && "stats".equalsIgnoreCase(ctx.args()[0])) {
+            return ctx.filter(List.of("dump", "db", "dao", "scan", "chunk", "auto_vault", "cache"), ctx.args()[1]);
+        }
+        return List.of();
+    }
+}
@@ -12,7 +12,7 @@ import java.util.List;
 
 /**
  * Subcommand: /vault capture
- * Starts the centralized interactive capture session (action bar + dynamic listener) immediately.
+ * Starts the centralized interactive capture session (action bar + routed click handler) immediately.
  */
 public class CaptureSubcommand implements Subcommand {
     @Override public List<String> names() {
@@ -5,7 +5,6 @@ import net.democracycraft.vault.internal.command.framework.CommandContext;
 import net.democracycraft.vault.internal.command.framework.Subcommand;
 import net.democracycraft.vault.internal.service.VaultInventoryService;
 import net.democracycraft.vault.internal.ui.VaultAction;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
@@ -13,6 +12,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 import net.democracycraft.vault.internal.security.VaultPermission;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
 import org.jetbrains.annotations.NotNull;
 
 /** /vault open <vaultId> [view|copy|edit] */
@@ -56,36 +57,34 @@ public class OpenSubcommand implements Subcommand {
         }
 
         var plugin = VaultStoragePlugin.getInstance();
-        new BukkitRunnable() {
-            @Override public void run() {
-                var vs = plugin.getVaultService();
-                var entityOpt = vs.get(id);
-                if (entityOpt.isEmpty()) {
-                    new BukkitRunnable() {
-                        @Override public void run() {
-                            ctx.sender().sendMessage("Vault not found.");
-                        }
-                    }.runTask(plugin);
-                    return;
-                }
-                UUID owner = vs.getOwner(id);
-                boolean allowed = owner != null && owner.equals(p.getUniqueId()) || VaultPermission.ADMIN.has(ctx.sender());
-                if (!allowed) {
-                    new BukkitRunnable() {
-                        @Override public void run() {
-                            ctx.sender().sendMessage("You don't have access to that vault.");
-                        }
-                    }.runTask(plugin);
-                    return;
-                }
-                new BukkitRunnable() {
-                    @Override public void run() {
-                        VaultInventoryService invSvc = plugin.getInventoryService();
-                        invSvc.openVirtualInventory(p, id, action);
+        plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, () -> {
+            var vs = plugin.getVaultService();
+            var entityOpt = vs.get(id);
+            if (entityOpt.isEmpty()) {
+                new ProfiledRunnable("command.open.notFound", ctx.sender().getName()) {
+                    @Override protected void runProfiled() {
+                        ctx.sender().sendMessage("Vault not found.");
+                    }
+                }.runTask(plugin);
+                return;
+            }
+            UUID owner = vs.getOwner(id);
+            boolean allowed = owner != null && owner.equals(p.getUniqueId()) || VaultPermission.ADMIN.has(ctx.sender());
+            if (!allowed) {
+                new ProfiledRunnable("command.open.denied", ctx.sender().getName()) {
+                    @Override protected void runProfiled() {
+                        ctx.sender().sendMessage("You don't have access to that vault.");
                     }
                 }.runTask(plugin);
+                return;
             }
-        }.runTaskAsynchronously(plugin);
+            new ProfiledRunnable("command.open.show", id) {
+                @Override protected void runProfiled() {
+                    VaultInventoryService invSvc = plugin.getInventoryService();
+                    invSvc.openVirtualInventory(p, id, action);
+                }
+            }.runTask(plugin);
+        }, p);
     }
 
     @Override
@@ -0,0 +1,213 @@
+package net.democracycraft.vault.internal.command.impl;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.api.dao.VaultDAO;
+import net.democracycraft.vault.api.service.VaultService;
+import net.democracycraft.vault.internal.command.framework.CommandContext;
+import net.democracycraft.vault.internal.command.framework.Subcommand;
+import net.democracycraft.vault.internal.security.VaultPermission;
+import net.democracycraft.vault.internal.service.ItemDecodeService.DecodedVault;
+import net.democracycraft.vault.internal.service.ItemLayoutMigrationService;
+import net.democracycraft.vault.internal.service.VaultPlacementService;
+import net.democracycraft.vault.internal.util.uuid.UniqueIdentifierResolver;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * /vault storage &lt;migrate|reindex|find|restore&gt; [args]
+ * Admin-only tools for the item storage layout ({@code storage.layout}) and the item index.
+ * <ul>
+ *   <li>{@code migrate}: moves every vault into the configured layout in the background.</li>
+ *   <li>{@code reindex}: rebuilds the item index of every vault in the background.</li>
+ *   <li>{@code find <material> [limit]}: lists the vaults holding the most of a material, from the item index,
+ *       with the amount each holds now.</li>
+ *   <li>{@code restore <owner> [dx dy dz]}: places every vault of a player back where it was captured, optionally
+ *       shifted, in one bulk placement.</li>
+ * </ul>
+ */
+public class StorageSubcommand implements Subcommand {
+
+    @Override
+    public List<String> names() {
+        return List.of("storage");
+    }
+
+    @Override
+    public @NotNull VaultPermission permission() {
+        return VaultPermission.ADMIN;
+    }
+
+    @Override
+    public String usage() {
+        return "storage <migrate|reindex|find <material> [limit]|restore <owner> [dx dy dz]>";
+    }
+
+    @Override
+    public void execute(CommandContext ctx) {
+        String action = ctx.require(0, "action").toLowerCase(Locale.ROOT);
+        switch (action) {
+            case "migrate" -> migrate(ctx);
+            case "reindex" -> reindex(ctx);
+            case "find" -> find(ctx);
+            case "restore" -> restore(ctx);
+            default -> ctx.usage(usage());
+        }
+    }
+
+    private void migrate(CommandContext ctx) {
+        ItemLayoutMigrationService migration = VaultStoragePlugin.getInstance().getItemLayoutMigrationService();
+        if (migration.start(ctx.sender())) {
+            ctx.sender().sendMessage("Migrating vault contents to the '" + migration.layout().name() + "' layout in the background...");
+        } else {
+            ctx.sender().sendMessage("A storage migration is already running.");
+        }
+    }
+
+    private void reindex(CommandContext ctx) {
+        if (VaultStoragePlugin.getInstance().getItemIndexService().rebuild(ctx.sender())) {
+            ctx.sender().sendMessage("Rebuilding the item index of every vault in the background...");
+        } else {
+            ctx.sender().sendMessage("An item index job is already running.");
+        }
+    }
+
+    private void find(CommandContext ctx) {
+        String query = ctx.require(1, "material");
+        Material material = Material.matchMaterial(query);
+        if (material == null) {
+            throw new IllegalArgumentException("Unknown material: " + query);
+        }
+        int limit = ctx.args().length > 2 ? ctx.parseInt(ctx.args()[2], "limit") : 10;
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("limit must be 1-100");
+        }
+
+        var plugin = VaultStoragePlugin.getInstance();
+        plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, () -> {
+            try {
+                VaultService vaultService = plugin.getVaultService();
+                Map<UUID, Integer> totals = vaultService.findVaultsContaining(material.name(), limit);
+                if (totals.isEmpty()) {
+                    Bukkit.getScheduler().runTask(plugin, () -> ctx.sender().sendMessage("No vault holds " + material.name() + "."));
+                    return;
+                }
+                Map<UUID, VaultDAO.OwnedVault> owned = vaultService.getWithOwners(totals.keySet());
+                Map<UUID, String> places = new LinkedHashMap<>();
+                for (UUID vaultUuid : totals.keySet()) {
+                    VaultDAO.OwnedVault hit = owned.get(vaultUuid);
+                    String where = hit == null ? "?" : hit.vault().x + ", " + hit.vault().y + ", " + hit.vault().z;
+                    UUID owner = hit == null ? null : hit.ownerUuid();
+                    places.put(vaultUuid, vaultUuid + " at " + where + " (owner " + (owner == null ? "unknown" : owner) + ")");
+                }
+                // The index can lag behind a vault's items; the hits are decoded together to show what they hold now.
+                Map<UUID, Integer> held = new HashMap<>();
+                plugin.getItemDecodeService().decodeVaults(totals.keySet(), vaultService::listItems, totals.size(), batch -> {
+                    for (DecodedVault vault : batch) {
+                        if (vault.error() == null) held.put(vault.vaultUuid(), count(vault.contents(), material));
+                    }
+                }, () -> {
+                    ctx.sender().sendMessage("Vaults holding " + material.name() + " (most first):");
+                    for (Map.Entry<UUID, Integer> entry : totals.entrySet()) {
+                        Integer now = held.get(entry.getKey());
+                        String amount = now == null ? entry.getValue() + "x (unverified)"
+                                : now + "x" + (now.equals(entry.getValue()) ? "" : " (index: " + entry.getValue() + ")");
+                        ctx.sender().sendMessage("  " + amount + " in " + places.get(entry.getKey()));
+                    }
+                });
+            } catch (Exception ex) {
+                plugin.getLogger().log(Level.WARNING, "[StorageSubcommand] Item search failed", ex);
+                Bukkit.getScheduler().runTask(plugin, () -> ctx.sender().sendMessage("Item search failed: " + ex.getMessage()));
+            }
+        }, ctx.sender());
+    }
+
+    /** Total amount of {@code material} in decoded contents. */
+    private static int count(ItemStack[] contents, Material material) {
+        int total = 0;
+        for (ItemStack stack : contents) {
+            if (stack != null && stack.getType() == material) total += stack.getAmount();
+        }
+        return total;
+    }
+
+    private void restore(CommandContext ctx) {
+        String ownerIdentifier = ctx.require(1, "owner");
+        int dx = 0, dy = 0, dz = 0;
+        if (ctx.args().length > 2) {
+            if (ctx.args().length != 5) {
+                throw new IllegalArgumentException("Give all three offsets (dx dy dz) or none.");
+            }
+            dx = ctx.parseInt(ctx.args()[2], "dx");
+            dy = ctx.parseInt(ctx.args()[3], "dy");
+            dz = ctx.parseInt(ctx.args()[4], "dz");
+        }
+        int offsetX = dx, offsetY = dy, offsetZ = dz;
+
+        var plugin = VaultStoragePlugin.getInstance();
+        UniqueIdentifierResolver resolver = new UniqueIdentifierResolver(plugin.getMojangService(), plugin.getBedrockUniqueIdentifierRetriever());
+        resolver.resolveUuid(ownerIdentifier).thenAccept(ownerUuid -> {
+            if (ownerUuid == null) {
+                Bukkit.getScheduler().runTask(plugin, () -> ctx.sender().sendMessage("Could not resolve player: " + ownerIdentifier));
+                return;
+            }
+            plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, () -> {
+                List<UUID> vaultUuids;
+                try {
+                    vaultUuids = plugin.getVaultService().listByOwner(ownerUuid).stream().map(v -> v.uuid).toList();
+                } catch (Exception ex) {
+                    plugin.getLogger().log(Level.WARNING, "[StorageSubcommand] Could not list vaults of " + ownerUuid, ex);
+                    Bukkit.getScheduler().runTask(plugin, () -> ctx.sender().sendMessage("Restore failed: " + ex.getMessage()));
+                    return;
+                }
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    if (vaultUuids.isEmpty()) {
+                        ctx.sender().sendMessage(ownerIdentifier + " has no vaults.");
+                        return;
+                    }
+                    ctx.sender().sendMessage("Restoring " + vaultUuids.size() + " vault(s) of " + ownerIdentifier + "...");
+                    plugin.getPlacementService().placeBulkAsync(vaultUuids, offsetX, offsetY, offsetZ, null, result -> {
+                        VaultPlacementService.BulkProgress counts = result.progress();
+                        ctx.sender().sendMessage("Restored " + counts.placed() + "/" + counts.total() + " vault(s)"
+                                + (result.partial() > 0 ? ", " + result.partial() + " with items left in storage" : "")
+                                + (counts.failed() > 0 ? ", " + counts.failed() + " failed." : "."));
+                        int shown = 0;
+                        for (Map.Entry<UUID, String> failure : result.failures().entrySet()) {
+                            if (shown++ == 10) {
+                                ctx.sender().sendMessage("  ...");
+                                break;
+                            }
+                            ctx.sender().sendMessage("  " + failure.getKey() + ": " + failure.getValue());
+                        }
+                    });
+                });
+            }, ctx.sender());
+        });
+    }
+
+    @Override
+    public List<String> complete(CommandContext ctx) {
+        if (ctx.args().length == 1) {
+            return ctx.filter(List.of("migrate", "reindex", "find", "restore"), ctx.args()[0]);
+        }
+        if (ctx.args().length == 2 && "find".equalsIgnoreCase(ctx.args()[0])) {
+            List<String> names = new ArrayList<>();
+            for (Material material : Material.values()) {
+                if (material.isItem() && !material.isLegacy()) names.add(material.name());
+            }
+            return ctx.filter(names, ctx.args()[1]);
+        }
+        return List.of();
+    }
+}
@@ -6,12 +6,16 @@ import net.democracycraft.vault.internal.command.framework.CommandContext;
 import net.democracycraft.vault.internal.command.framework.Subcommand;
 import net.democracycraft.vault.internal.security.VaultPermission;
 import net.democracycraft.vault.internal.util.uuid.UniqueIdentifierResolver;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
 import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
 
 /**
  * /vault transfer <vaultId> <newOwnerUUID|playerName>
@@ -57,75 +61,77 @@ public class TransferSubcommand implements Subcommand {
         ctx.sender().sendMessage("Resolving vault and owner...");
         plugin.getLogger().info("[TransferSubcommand] Lookup initiated for vault: " + vaultId);
 
-        // Async work: verify vault exists and resolve owner UUID
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Check if vault exists
-                var vaultOpt = vaultService.get(vaultId);
-                if (vaultOpt.isEmpty()) {
-                    plugin.getLogger().warning("[TransferSubcommand] Vault not found for ID: " + vaultId + " (UUID format valid: " + vaultId.toString() + ")");
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        ctx.sender().sendMessage("✗ Vault not found with ID: " + vaultId);
-                        ctx.sender().sendMessage("  Debug: UUID format verified. Check if vault exists in database.");
-                    });
-                    return;
-                }
-
-                var vault = vaultOpt.get();
-                plugin.getLogger().info("[TransferSubcommand] Vault found: " + vaultId + " at world " + vault.worldUuid + " coords(" + vault.x + "," + vault.y + "," + vault.z + ")");
-
-                // Resolve owner UUID using the centralized resolver
-                UniqueIdentifierResolver resolver = new UniqueIdentifierResolver(plugin.getMojangService(), plugin.getBedrockUniqueIdentifierRetriever());
-                resolver.resolveUuid(ownerIdentifier).thenAccept(resolvedUUID -> {
+        // Lookup, owner resolution and the update run off the main thread; only the replies come back to it.
+        UniqueIdentifierResolver resolver = new UniqueIdentifierResolver(plugin.getMojangService(), plugin.getBedrockUniqueIdentifierRetriever());
+        vaultService.getAsync(vaultId)
+                .thenCompose(vaultOpt -> {
+                    if (vaultOpt.isEmpty()) {
+                        plugin.getLogger().warning("[TransferSubcommand] Vault not found for ID: " + vaultId + " (UUID format valid: " + vaultId.toString() + ")");
+                        throw new TransferAbort("✗ Vault not found with ID: " + vaultId,
+                                "  Debug: UUID format verified. Check if vault exists in database.");
+                    }
+                    var vault = vaultOpt.get();
+                    plugin.getLogger().info("[TransferSubcommand] Vault found: " + vaultId + " at world " + vault.worldUuid + " coords(" + vault.x + "," + vault.y + "," + vault.z + ")");
+                    return resolver.resolveUuid(ownerIdentifier);
+                })
+                .thenCompose(resolvedUUID -> {
                     if (resolvedUUID == null) {
                         plugin.getLogger().warning("[TransferSubcommand] Failed to resolve owner identifier: " + ownerIdentifier);
-                        Bukkit.getScheduler().runTask(plugin, () -> {
-                            ctx.sender().sendMessage("✗ Could not resolve player: " + ownerIdentifier);
-                        });
+                        throw new TransferAbort("✗ Could not resolve player: " + ownerIdentifier);
+                    }
+                    plugin.getLogger().info("[TransferSubcommand] Resolved owner " + ownerIdentifier + " to UUID: " + resolvedUUID);
+                    return performTransfer(plugin, vaultService, vaultId, resolvedUUID)
+                            .thenApply(oldOwner -> new String[] {
+                                    "✓ Vault " + vaultId + " ownership transferred:",
+                                    "  Old owner: " + (oldOwner != null ? oldOwner.toString() : "unknown"),
+                                    "  New owner: " + resolvedUUID
+                            });
+                })
+                .whenCompleteAsync((lines, error) -> {
+                    if (error == null) {
+                        for (String line : lines) ctx.sender().sendMessage(line);
+                        return;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof TransferAbort abort) {
+                        for (String line : abort.lines) ctx.sender().sendMessage(line);
+                    } else if (cause instanceof RejectedExecutionException) {
+                        ctx.sender().sendMessage(DatabaseExecutor.BUSY_MESSAGE);
                     } else {
-                        plugin.getLogger().info("[TransferSubcommand] Resolved owner " + ownerIdentifier + " to UUID: " + resolvedUUID);
-                        performTransfer(ctx, plugin, vaultService, vaultId, resolvedUUID);
+                        plugin.getLogger().log(Level.WARNING, "[TransferSubcommand] Transfer error for vault " + vaultId + ": " + cause.getMessage(), cause);
+                        ctx.sender().sendMessage("✗ Transfer failed: " + cause.getMessage());
                     }
-                });
-            }
-        }.runTaskAsynchronously(plugin);
+                }, plugin.getMainThreadExecutor().profiled("command.transfer.reply", ctx.sender().getName()));
     }
 
     /**
      * Performs the actual vault ownership transfer.
+     *
+     * @return the previous owner, or {@code null} if there was none
      */
-    private void performTransfer(
-            CommandContext ctx,
+    private CompletableFuture<UUID> performTransfer(
             VaultStoragePlugin plugin,
             VaultService vaultService,
             UUID vaultId,
             UUID newOwnerUUID) {
 
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                try {
-                    UUID oldOwner = vaultService.getOwner(vaultId);
-                    plugin.getLogger().info("[TransferSubcommand] Transferring vault " + vaultId + " from " + oldOwner + " to " + newOwnerUUID);
-                    vaultService.setOwner(vaultId, newOwnerUUID);
-                    plugin.getLogger().info("[TransferSubcommand] Transfer completed successfully");
-
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        String oldOwnerStr = oldOwner != null ? oldOwner.toString() : "unknown";
-                        ctx.sender().sendMessage("✓ Vault " + vaultId + " ownership transferred:");
-                        ctx.sender().sendMessage("  Old owner: " + oldOwnerStr);
-                        ctx.sender().sendMessage("  New owner: " + newOwnerUUID);
-                    });
-                } catch (Exception ex) {
-                    plugin.getLogger().warning("[TransferSubcommand] Transfer error for vault " + vaultId + " to " + newOwnerUUID + ": " + ex.getMessage());
-                    ex.printStackTrace();
-                    Bukkit.getScheduler().runTask(plugin, () -> {
-                        ctx.sender().sendMessage("✗ Transfer failed: " + ex.getMessage());
-                    });
-                }
-            }
-        }.runTaskAsynchronously(plugin);
+        return vaultService.getOwnerAsync(vaultId).thenCompose(oldOwner -> {
+            plugin.getLogger().info("[TransferSubcommand] Transferring vault " + vaultId + " from " + oldOwner + " to " + newOwnerUUID);
+            return vaultService.setOwnerAsync(vaultId, newOwnerUUID).thenApply(done -> {
+                plugin.getLogger().info("[TransferSubcommand] Transfer completed successfully");
+                return oldOwner;
+            });
+        });
+    }
+
+    /** Ends the transfer early with the given reply lines. */
+    private static final class TransferAbort extends RuntimeException {
+        private final String[] lines;
+
+        TransferAbort(String... lines) {
+            super(lines[0], null, false, false);
+            this.lines = lines;
+        }
     }
 
     @Override
@@ -0,0 +1,319 @@
+package net.democracycraft.vault.internal.database;
+
+import net.democracycraft.vault.internal.metrics.LatencyHistogram;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Plugin-owned executor for blocking JDBC work, in place of the server's shared async scheduler.
+ * <p>
+ * A fixed number of virtual worker threads take tasks from a bounded admission queue in {@link Priority} order, so
+ * interactive work runs ahead of durable writes and both ahead of background work. Background tasks are admitted
+ * only while their share of the queue has room, interactive ones up to the full capacity; anything beyond is
+ * rejected rather than queued without limit. Durable writes are never rejected and queue outside that capacity, so
+ * a burst of them (a bulk capture's flushes) neither gets interactive work rejected nor runs before it. Once the
+ * queue is more than half full the executor reports itself {@linkplain #isOverloaded() overloaded}, so producers of
+ * optional work can hold back, and logs the transition.
+ * <p>
+ * {@link #shutdown} stops admission and lets the queue drain for a bounded time. Durable writes still queued after
+ * that, or submitted later, run on the caller's thread; other queued tasks are dropped, and the futures of dropped
+ * {@link #submit}ted tasks fail with a {@link RejectedExecutionException}.
+ */
+public final class DatabaseExecutor {
+
+    /** Scheduling class of a task; lower ordinal runs first. */
+    public enum Priority {
+        /** Someone is waiting on the result: menus, commands, opening a vault. */
+        INTERACTIVE,
+        /** Writes of state that exists nowhere else (captured items, deleting a placed vault); never rejected. */
+        DURABLE,
+        /** Nobody is waiting: write-behind saves, sweeps, migrations, cleanup. */
+        BACKGROUND
+    }
+
+    /** Sent to a requester whose interactive task was rejected. */
+    public static final String BUSY_MESSAGE = "The vault database is busy right now; please try again in a moment.";
+
+    private final Logger logger;
+    private final int capacity;
+    private final int backgroundCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+    private final List<ArrayDeque<Queued>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private int queued;
+    private int active;
+    private boolean shuttingDown;
+    private boolean overloaded;
+
+    private final LatencyHistogram[] queueWait = new LatencyHistogram[Priority.values().length];
+    private final LongAdder[] rejected = new LongAdder[Priority.values().length];
+
+    /** {@code onDrop} runs if the task is dropped at shutdown instead of run. */
+    private record Queued(Runnable task, Runnable onDrop, long enqueuedNanos, Priority priority) {}
+
+    private static final Runnable NOTHING = () -> {};
+
+    /**
+     * @param threads            virtual worker threads, i.e. how many tasks run at once
+     * @param capacity           interactive and background tasks that may wait in the queue
+     * @param backgroundCapacity of those, how many may be background tasks
+     */
+    public DatabaseExecutor(@NotNull Logger logger, @NotNull MetricsRegistry metrics, int threads, int capacity, int backgroundCapacity) {
+        this.logger = logger;
+        this.capacity = Math.max(1, capacity);
+        this.backgroundCapacity = Math.clamp(backgroundCapacity, 1, this.capacity);
+        for (Priority priority : Priority.values()) {
+            String label = priority.name().toLowerCase(Locale.ROOT);
+            queues.add(new ArrayDeque<>());
+            queueWait[priority.ordinal()] = metrics.histogram("vault_db_executor_queue_wait_seconds", "priority", label);
+            rejected[priority.ordinal()] = metrics.counter("vault_db_executor_rejected_total", "priority", label);
+            metrics.gauge("vault_db_executor_queued", () -> queuedOf(priority), "priority", label);
+        }
+        metrics.gauge("vault_db_executor_active", () -> {
+            lock.lock();
+            try {
+                return active;
+            } finally {
+                lock.unlock();
+            }
+        });
+        var factory = Thread.ofVirtual().name("VaultStorage-db-", 0).factory();
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            Thread worker = factory.newThread(this::work);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues {@code task}.
+     *
+     * @return {@code false} if it was rejected because the queue is full for its priority or the executor is
+     * shutting down; the task will not run. Always {@code true} for {@link Priority#DURABLE}.
+     */
+    public boolean execute(@NotNull Priority priority, @NotNull Runnable task) {
+        return enqueue(priority, task, NOTHING);
+    }
+
+    private boolean enqueue(Priority priority, Runnable task, Runnable onDrop) {
+        boolean runHere = false;
+        lock.lock();
+        try {
+            if (priority == Priority.DURABLE) {
+                runHere = shuttingDown;
+            } else {
+                int limit = priority == Priority.INTERACTIVE ? capacity : backgroundCapacity;
+                int bounded = queued - queuedOfLocked(Priority.DURABLE);
+                if (shuttingDown || bounded >= capacity || queuedOfLocked(priority) >= limit) {
+                    rejected[priority.ordinal()].increment();
+                    return false;
+                }
+            }
+            if (!runHere) {
+                queues.get(priority.ordinal()).addLast(new Queued(task, onDrop, System.nanoTime(), priority));
+                queued++;
+                updateOverload();
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (runHere) task.run();
+        return true;
+    }
+
+    /**
+     * Queues {@code task}; if it is rejected, tells {@code requester} (when given) that the database is busy and logs
+     * the rejection otherwise.
+     *
+     * @return whether the task was queued
+     */
+    public boolean execute(@NotNull Priority priority, @NotNull Runnable task, @Nullable CommandSender requester) {
+        if (execute(priority, task)) return true;
+        if (requester != null) {
+            requester.sendMessage(BUSY_MESSAGE);
+        } else {
+            logger.warning("[DatabaseExecutor] Rejected a " + priority.name().toLowerCase(Locale.ROOT)
+                    + " task: " + (isShuttingDown() ? "shutting down." : "queue full."));
+        }
+        return false;
+    }
+
+    /**
+     * Queues {@code task} and returns its result; the future fails with a {@link RejectedExecutionException} if the
+     * task was rejected, or with whatever the task threw.
+     */
+    public <T> @NotNull CompletableFuture<T> submit(@NotNull Priority priority, @NotNull Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        boolean queuedOk = enqueue(priority, () -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }, () -> future.completeExceptionally(new RejectedExecutionException("Database executor shut down before the task ran")));
+        if (!queuedOk) future.completeExceptionally(new RejectedExecutionException("Database executor is " + (isShuttingDown() ? "shutting down" : "overloaded")));
+        return future;
+    }
+
+    /** An {@link Executor} view at {@code priority}; it throws {@link RejectedExecutionException} on rejection. */
+    public @NotNull Executor asExecutor(@NotNull Priority priority) {
+        return task -> {
+            if (!execute(priority, task)) throw new RejectedExecutionException("Database executor rejected a " + priority + " task");
+        };
+    }
+
+    /** Whether the queue is more than half full; producers of optional background work should hold back. */
+    public boolean isOverloaded() {
+        lock.lock();
+        try {
+            return overloaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isShuttingDown() {
+        lock.lock();
+        try {
+            return shuttingDown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops admitting tasks and waits up to {@code timeout} for the queued and running ones to finish. Durable tasks
+     * still queued then are run on this thread, after the running ones; the other queued tasks are dropped, failing
+     * their futures, and counted in the log. The workers are then interrupted. Call from {@code onDisable}, before
+     * the connection is closed.
+     */
+    public void shutdown(long timeout, @NotNull TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<Queued> durable = new ArrayList<>();
+        List<Queued> dropped = new ArrayList<>();
+        lock.lock();
+        try {
+            shuttingDown = true;
+            notEmpty.signalAll();
+            while (queued + active > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) break;
+                try {
+                    idle.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            for (ArrayDeque<Queued> queue : queues) {
+                for (Queued q : queue) (q.priority() == Priority.DURABLE ? durable : dropped).add(q);
+                queue.clear();
+            }
+            queued = 0;
+        } finally {
+            lock.unlock();
+        }
+        if (!durable.isEmpty()) {
+            logger.warning("[DatabaseExecutor] Shutdown timed out; running " + durable.size() + " queued durable write(s) before closing.");
+            for (Queued q : durable) {
+                try {
+                    q.task().run();
+                } catch (Throwable t) {
+                    logger.log(Level.SEVERE, "[DatabaseExecutor] Database task failed", t);
+                }
+            }
+        }
+        for (Thread worker : workers) worker.interrupt();
+        for (Queued q : dropped) q.onDrop().run();
+        if (!dropped.isEmpty()) {
+            logger.warning("[DatabaseExecutor] Shutdown timed out; dropped " + dropped.size() + " queued database task(s).");
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Queued next;
+            lock.lock();
+            try {
+                while (queued == 0 && !shuttingDown) notEmpty.await();
+                if (queued == 0) return;
+                next = poll();
+                queued--;
+                active++;
+                updateOverload();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            queueWait[next.priority().ordinal()].recordSince(next.enqueuedNanos());
+            try {
+                next.task().run();
+            } catch (Throwable t) {
+                logger.log(Level.SEVERE, "[DatabaseExecutor] Database task failed", t);
+            } finally {
+                lock.lock();
+                try {
+                    active--;
+                    if (queued + active == 0) idle.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private Queued poll() {
+        for (ArrayDeque<Queued> queue : queues) {
+            Queued q = queue.pollFirst();
+            if (q != null) return q;
+        }
+        throw new IllegalStateException("queued count out of sync");
+    }
+
+    /** Flips the overload flag with some hysteresis, logging each transition. Holds {@link #lock}. */
+    private void updateOverload() {
+        if (!overloaded && queued > capacity / 2) {
+            overloaded = true;
+            logger.warning("[DatabaseExecutor] Database queue is backing up (" + queued + "/" + capacity
+                    + " queued, " + active + " running); deferring optional background work.");
+        } else if (overloaded && queued <= capacity / 4) {
+            overloaded = false;
+            logger.info("[DatabaseExecutor] Database queue recovered (" + queued + " queued).");
+        }
+    }
+
+    private int queuedOf(Priority priority) {
+        lock.lock();
+        try {
+            return queuedOfLocked(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queuedOfLocked(Priority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+}
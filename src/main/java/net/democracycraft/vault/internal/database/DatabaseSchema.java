@@ -18,6 +18,12 @@ public class DatabaseSchema {
     private final AutoTable<WorldEntity> worlds;
     private final AutoTable<VaultOwnerEntity> vaultOwners;
     private final AutoTable<VaultItemEntity> vaultItems;
+    private final AutoTable<VaultContentsEntity> vaultContents;
+    private final AutoTable<ItemBlobEntity> itemBlobs;
+    private final AutoTable<VaultItemIndexEntity> vaultItemIndex;
+    private final AutoTable<AutoVaultJobEntity> autoVaultJobs;
+    private final AutoTable<HangingLocationEntity> hangingLocations;
+    private final AutoTable<HangingIndexRegionEntity> hangingIndexRegions;
 
     public DatabaseSchema(MySQLManager mysql) {
         this.mysql = mysql;
@@ -25,6 +31,12 @@ public class DatabaseSchema {
         this.worlds = new AutoTable<>(mysql, WorldEntity.class, "worlds", "uuid");
         this.vaultOwners = new AutoTable<>(mysql, VaultOwnerEntity.class, "vault_owners", "vaultUuid"); // PK is vaultUuid (1:1)
         this.vaultItems = new AutoTable<>(mysql, VaultItemEntity.class, "vault_items", "uuid");
+        this.vaultContents = new AutoTable<>(mysql, VaultContentsEntity.class, "vault_contents", "vaultUuid"); // packed layout, 1:1 with vaults
+        this.itemBlobs = new AutoTable<>(mysql, ItemBlobEntity.class, "item_blobs", "hash"); // deduplicated layout payloads
+        this.vaultItemIndex = new AutoTable<>(mysql, VaultItemIndexEntity.class, "vault_item_index", "uuid"); // per-slot content summary
+        this.autoVaultJobs = new AutoTable<>(mysql, AutoVaultJobEntity.class, "auto_vault_jobs", "uuid");
+        this.hangingLocations = new AutoTable<>(mysql, HangingLocationEntity.class, "hanging_locations", "uuid");
+        this.hangingIndexRegions = new AutoTable<>(mysql, HangingIndexRegionEntity.class, "hanging_index_regions", "uuid");
     }
 
     /** Creates all tables and adds necessary indexes/constraints. */
@@ -35,6 +47,12 @@ public class DatabaseSchema {
             worlds.createTable();
             vaultOwners.createTable();
             vaultItems.createTable();
+            vaultContents.createTable();
+            itemBlobs.createTable();
+            vaultItemIndex.createTable();
+            autoVaultJobs.createTable();
+            hangingLocations.createTable();
+            hangingIndexRegions.createTable();
         } catch (Exception e) {
             // continue to add constraints even if some exist; log and proceed
             mysql.withConnection(conn -> null);
@@ -62,6 +80,12 @@ public class DatabaseSchema {
             try (var st = conn.createStatement()) {
                 st.execute("ALTER TABLE `vaults` ADD COLUMN `blockData` TEXT NULL AFTER `material`");
             } catch (Exception ignored) {}
+            try (var st = conn.createStatement()) {
+                st.execute("ALTER TABLE `vault_items` ADD COLUMN `itemHash` CHAR(64) NULL AFTER `item`");
+            } catch (Exception ignored) {}
+            try (var st = conn.createStatement()) {
+                st.execute("ALTER TABLE `vault_contents` ADD COLUMN `minDataVersion` INT NOT NULL DEFAULT -1 AFTER `maxSlot`");
+            } catch (Exception ignored) {}
 
             // Foreign keys to worlds
             try (var st = conn.createStatement()) {
@@ -77,6 +101,14 @@ public class DatabaseSchema {
                 st.execute("ALTER TABLE `vault_items` ADD CONSTRAINT `fk_vi_vault` FOREIGN KEY (`vaultUuid`) REFERENCES `vaults`(`uuid`) ON DELETE CASCADE ON UPDATE RESTRICT");
             } catch (Exception ignored) {}
 
+            try (var st = conn.createStatement()) {
+                st.execute("ALTER TABLE `vault_contents` ADD CONSTRAINT `fk_vc_vault` FOREIGN KEY (`vaultUuid`) REFERENCES `vaults`(`uuid`) ON DELETE CASCADE ON UPDATE RESTRICT");
+            } catch (Exception ignored) {}
+
+            try (var st = conn.createStatement()) {
+                st.execute("ALTER TABLE `vault_item_index` ADD CONSTRAINT `fk_vii_vault` FOREIGN KEY (`vaultUuid`) REFERENCES `vaults`(`uuid`) ON DELETE CASCADE ON UPDATE RESTRICT");
+            } catch (Exception ignored) {}
+
             // Secondary indexes and uniques
             try (var st = conn.createStatement()) {
                 st.execute("ALTER TABLE `vault_items` ADD UNIQUE `uq_vi_slot` (`vaultUuid`,`slot`)");
@@ -86,6 +118,19 @@ public class DatabaseSchema {
                 st.execute("CREATE INDEX `idx_vo_owner` ON `vault_owners`(`ownerUuid`)");
             } catch (Exception ignored) {}
 
+            try (var st = conn.createStatement()) {
+                st.execute("CREATE INDEX `idx_vi_hash` ON `vault_items`(`itemHash`)");
+            } catch (Exception ignored) {}
+
+            try (var st = conn.createStatement()) {
+                // Covers "which vaults hold this material" with per-vault totals
+                st.execute("CREATE INDEX `idx_vii_material` ON `vault_item_index`(`material`,`vaultUuid`,`amount`)");
+            } catch (Exception ignored) {}
+
+            try (var st = conn.createStatement()) {
+                st.execute("CREATE INDEX `idx_hanging_loc` ON `hanging_locations`(`worldUuid`,`x`,`z`)");
+            } catch (Exception ignored) {}
+
             return null;
         });
     }
@@ -130,9 +175,18 @@ public class DatabaseSchema {
         }
     }
 
+    /** Connection manager backing these tables, for DAO queries that span several tables. */
+    public MySQLManager mysql() { return mysql; }
+
     // Getters for tables
     public AutoTable<VaultEntity> vaults() { return vaults; }
     public AutoTable<WorldEntity> worlds() { return worlds; }
     public AutoTable<VaultOwnerEntity> vaultOwners() { return vaultOwners; }
     public AutoTable<VaultItemEntity> vaultItems() { return vaultItems; }
+    public AutoTable<VaultContentsEntity> vaultContents() { return vaultContents; }
+    public AutoTable<ItemBlobEntity> itemBlobs() { return itemBlobs; }
+    public AutoTable<VaultItemIndexEntity> vaultItemIndex() { return vaultItemIndex; }
+    public AutoTable<AutoVaultJobEntity> autoVaultJobs() { return autoVaultJobs; }
+    public AutoTable<HangingLocationEntity> hangingLocations() { return hangingLocations; }
+    public AutoTable<HangingIndexRegionEntity> hangingIndexRegions() { return hangingIndexRegions; }
 }
@@ -0,0 +1,144 @@
+package net.democracycraft.vault.internal.database;
+
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Orders database work per key on top of the {@link DatabaseExecutor}: tasks that share a key run one at a time in
+ * submission order, while tasks with different keys run in parallel. The keys are {@linkplain #vault vaults} and,
+ * for work that picks or creates a vault on behalf of an owner (merges), {@linkplain #owner owners}.
+ * <p>
+ * A task with several keys waits for the earlier tasks of all of them. A task only reaches the database executor's
+ * queue once its turn has come, so nothing waits on a worker thread. A failed or rejected task fails its own future
+ * and does not hold up the tasks queued after it.
+ * <p>
+ * Never block on a keyed future from inside a task holding the same key: the later task waits for the current one.
+ */
+public final class KeyedSerialExecutor {
+
+    /** An ordering key; see {@link #vault} and {@link #owner}. */
+    public record Key(@NotNull String scope, @NotNull UUID id) {}
+
+    private final DatabaseExecutor executor;
+    private final Logger logger;
+    /** Last task submitted per key, until it completes. Guarded by {@code this}. */
+    private final Map<Key, CompletableFuture<?>> tails = new HashMap<>();
+    private final LongAdder waited;
+
+    public KeyedSerialExecutor(@NotNull DatabaseExecutor executor, @NotNull Logger logger, @NotNull MetricsRegistry metrics) {
+        this.executor = executor;
+        this.logger = logger;
+        this.waited = metrics.counter("vault_db_keyed_waited_total");
+        metrics.gauge("vault_db_keyed_keys", () -> {
+            synchronized (this) {
+                return tails.size();
+            }
+        });
+    }
+
+    public static @NotNull Key vault(@NotNull UUID vaultUuid) {
+        return new Key("vault", vaultUuid);
+    }
+
+    public static @NotNull Key owner(@NotNull UUID ownerUuid) {
+        return new Key("owner", ownerUuid);
+    }
+
+    /** The {@link #vault} keys of {@code vaultUuids}. */
+    public static @NotNull List<Key> vaults(@NotNull Collection<UUID> vaultUuids) {
+        List<Key> keys = new ArrayList<>(vaultUuids.size());
+        for (UUID vaultUuid : vaultUuids) keys.add(vault(vaultUuid));
+        return keys;
+    }
+
+    /** Runs {@code task} at {@code priority} once the earlier tasks of {@code key} are done. */
+    public <T> @NotNull CompletableFuture<T> submit(@NotNull DatabaseExecutor.Priority priority, @NotNull Key key, @NotNull Callable<T> task) {
+        return submit(priority, List.of(key), task);
+    }
+
+    /** Runs {@code task} at {@code priority} once the earlier tasks of every one of {@code keys} are done. */
+    public <T> @NotNull CompletableFuture<T> submit(@NotNull DatabaseExecutor.Priority priority, @NotNull Collection<Key> keys, @NotNull Callable<T> task) {
+        List<Key> distinct = List.copyOf(new LinkedHashSet<>(keys));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        List<CompletableFuture<?>> before = new ArrayList<>();
+        // Registering under every key at once keeps two multi-key tasks from each waiting on the other.
+        synchronized (this) {
+            for (Key key : distinct) {
+                CompletableFuture<?> tail = tails.put(key, result);
+                if (tail != null && !before.contains(tail)) before.add(tail);
+            }
+        }
+        CompletableFuture<T> run;
+        if (before.isEmpty()) {
+            run = executor.submit(priority, task);
+        } else {
+            waited.increment();
+            run = CompletableFuture.allOf(before.toArray(CompletableFuture[]::new))
+                    .handle((ignored, error) -> null)
+                    .thenCompose(ignored -> executor.submit(priority, task));
+        }
+        run.whenComplete((value, error) -> {
+            release(distinct, result);
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+        return result;
+    }
+
+    /** {@link #submit} for a task without a result. */
+    public @NotNull CompletableFuture<Void> run(@NotNull DatabaseExecutor.Priority priority, @NotNull Key key, @NotNull Runnable task) {
+        return run(priority, List.of(key), task);
+    }
+
+    /** {@link #submit} for a task without a result. */
+    public @NotNull CompletableFuture<Void> run(@NotNull DatabaseExecutor.Priority priority, @NotNull Collection<Key> keys, @NotNull Runnable task) {
+        return submit(priority, keys, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /** Fire-and-forget {@link #run}; failures are logged. */
+    public void execute(@NotNull DatabaseExecutor.Priority priority, @NotNull Key key, @NotNull Runnable task) {
+        execute(priority, key, task, null);
+    }
+
+    /**
+     * Fire-and-forget {@link #run}: if the task is rejected, tells {@code requester} (when given) that the database is
+     * busy; other failures are logged.
+     */
+    public void execute(@NotNull DatabaseExecutor.Priority priority, @NotNull Key key, @NotNull Runnable task, @Nullable CommandSender requester) {
+        run(priority, key, task).whenComplete((ignored, error) -> {
+            if (error == null) return;
+            if (error instanceof RejectedExecutionException && requester != null) {
+                requester.sendMessage(DatabaseExecutor.BUSY_MESSAGE);
+            } else {
+                logger.log(Level.WARNING, "[KeyedSerialExecutor] Database task for " + key.scope() + " " + key.id() + " failed", error);
+            }
+        });
+    }
+
+    private synchronized void release(List<Key> keys, CompletableFuture<?> finished) {
+        for (Key key : keys) tails.remove(key, finished);
+    }
+}
@@ -3,6 +3,8 @@ package net.democracycraft.vault.internal.database;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.metrics.LatencyHistogram;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
 import net.democracycraft.vault.internal.util.config.ConfigPaths;
 
 import java.sql.Connection;
@@ -10,6 +12,7 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Objects;
 import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Thin MySQL manager for obtaining JDBC connections and running small tasks asynchronously.
@@ -20,10 +23,17 @@ import java.util.logging.Level;
  * - Exposes a Gson instance for JSON serialization used by table helpers.
  * - Offers withConnection utility to safely execute code with the current connection.
  * - Offers withTransaction utility for atomic multi-statement operations.
+ * - Records into the plugin's {@link MetricsRegistry}: time spent waiting for the connection
+ *   ({@code vault_db_borrow_wait_seconds}) and time per statement by SQL verb ({@code vault_db_query_seconds}).
+ * - Runs background database work on a plugin-owned {@link DatabaseExecutor} (mysql.executor.*) rather than the
+ *   server's shared async scheduler; see {@link #executor()}. Work on one vault (or one owner's merges) is
+ *   ordered through {@link #keyedExecutor()}.
+ * - Optionally traces every statement through a {@link SqlTracer} (mysql.trace.*): slow-query log and repeated
+ *   statement (N+1) detection per logical operation.
  */
 public class MySQLManager {
 
-    final VaultStoragePlugin plugin;
+    private final Logger logger;
 
     /** A Gson instance with null serialization enabled. */
     public final Gson gson = new GsonBuilder().serializeNulls().create();
@@ -38,8 +48,15 @@ public class MySQLManager {
     private volatile Connection connection;
     private final Object connectionLock = new Object();
 
+    private final MetricsRegistry metrics;
+    private final LatencyHistogram borrowWait;
+    private final SqlTracer tracer;
+    private final DatabaseExecutor executor;
+    private final KeyedSerialExecutor keyedExecutor;
+
     public MySQLManager(VaultStoragePlugin plugin) {
-        this.plugin = Objects.requireNonNull(plugin, "plugin");
+        Objects.requireNonNull(plugin, "plugin");
+        this.logger = plugin.getLogger();
         var cfg = plugin.getConfig();
         this.host = Objects.requireNonNull(cfg.getString(ConfigPaths.MYSQL_HOST.getPath()), ConfigPaths.MYSQL_HOST.getPath());
         this.port = cfg.getInt(ConfigPaths.MYSQL_PORT.getPath());
@@ -47,6 +64,39 @@ public class MySQLManager {
         this.user = Objects.requireNonNull(cfg.getString(ConfigPaths.MYSQL_USER.getPath()), ConfigPaths.MYSQL_USER.getPath());
         this.password = Objects.requireNonNull(cfg.getString(ConfigPaths.MYSQL_PASSWORD.getPath()), ConfigPaths.MYSQL_PASSWORD.getPath());
         this.useSSL = cfg.getBoolean(ConfigPaths.MYSQL_USE_SSL.getPath());
+        this.metrics = Objects.requireNonNull(plugin.getMetrics(), "metrics");
+        this.borrowWait = metrics.histogram("vault_db_borrow_wait_seconds");
+        this.tracer = new SqlTracer(logger, metrics,
+                cfg.getLong(ConfigPaths.MYSQL_TRACE_SLOW_QUERY_MS.getPath(), 100L),
+                cfg.getInt(ConfigPaths.MYSQL_TRACE_REPEAT_THRESHOLD.getPath(), 10));
+        this.tracer.setEnabled(cfg.getBoolean(ConfigPaths.MYSQL_TRACE_ENABLED.getPath(), false));
+        this.executor = new DatabaseExecutor(logger, metrics,
+                cfg.getInt(ConfigPaths.MYSQL_EXECUTOR_THREADS.getPath(), 4),
+                cfg.getInt(ConfigPaths.MYSQL_EXECUTOR_QUEUE_CAPACITY.getPath(), 1000),
+                cfg.getInt(ConfigPaths.MYSQL_EXECUTOR_BACKGROUND_CAPACITY.getPath(), 750));
+        this.keyedExecutor = new KeyedSerialExecutor(executor, logger, metrics);
+    }
+
+    /**
+     * Manager over a connection opened by the caller, with no plugin or config behind it; for benchmarks and
+     * harnesses that run outside a server. It never reconnects. Logs to the {@code java.util.logging} logger named
+     * after this class. Metrics go to a registry of its own, see {@link #metrics()}; tracing starts disabled, see
+     * {@link #tracer()}. Call {@link DatabaseExecutor#shutdown} on {@link #executor()} when done.
+     */
+    public MySQLManager(Connection connection) {
+        this.logger = Logger.getLogger(MySQLManager.class.getName());
+        this.metrics = new MetricsRegistry();
+        this.borrowWait = metrics.histogram("vault_db_borrow_wait_seconds");
+        this.tracer = new SqlTracer(logger, metrics, 100L, 10);
+        this.executor = new DatabaseExecutor(logger, metrics, 4, 1000, 750);
+        this.keyedExecutor = new KeyedSerialExecutor(executor, logger, metrics);
+        this.connection = StatementMetrics.wrap(Objects.requireNonNull(connection, "connection"), metrics, tracer);
+        this.host = null;
+        this.port = 0;
+        this.database = null;
+        this.user = null;
+        this.password = null;
+        this.useSSL = false;
     }
 
     /** Ensures that the target database exists; creates it if missing. */
@@ -57,7 +107,7 @@ public class MySQLManager {
                 st.execute("CREATE DATABASE IF NOT EXISTS `" + database + "` DEFAULT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci");
             }
         } catch (SQLException ex) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to ensure database exists. Check credentials and privileges.", ex);
+            logger.log(Level.SEVERE, "Failed to ensure database exists. Check credentials and privileges.", ex);
         }
     }
 
@@ -68,15 +118,20 @@ public class MySQLManager {
         try {
             if (connection != null && !connection.isClosed()) return;
         } catch (SQLException ignored) {}
+        if (host == null) {
+            // Caller-supplied connection: nothing to reconnect to.
+            logger.warning("The connection passed to MySQLManager is closed; it is not reopened.");
+            return;
+        }
 
         final String url = "jdbc:mysql://" + host + ":" + port + "/" + database +
                 "?useSSL=" + useSSL + "&autoReconnect=true&characterEncoding=UTF-8&serverTimezone=UTC";
         try {
-            connection = DriverManager.getConnection(url, user, password);
-            plugin.getLogger().info("Connected to MySQL");
+            connection = StatementMetrics.wrap(DriverManager.getConnection(url, user, password), metrics, tracer);
+            logger.info("Connected to MySQL");
         } catch (SQLException ex) {
             connection = null; // ensure null on failure
-            plugin.getLogger().log(Level.SEVERE, "Failed to connect to MySQL (" + url + ") as '" + user + "'.", ex);
+            logger.log(Level.SEVERE, "Failed to connect to MySQL (" + url + ") as '" + user + "'.", ex);
         }
     }
 
@@ -92,9 +147,9 @@ public class MySQLManager {
     public void disconnect() {
         try {
             if (connection != null) connection.close();
-            plugin.getLogger().info("Disconnected from MySQL");
+            logger.info("Disconnected from MySQL");
         } catch (SQLException ex) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to disconnect MySQL", ex);
+            logger.log(Level.SEVERE, "Failed to disconnect MySQL", ex);
         }
     }
 
@@ -119,7 +174,9 @@ public class MySQLManager {
      * Thread-safe execution with a JDBC connection, returning a value.
      */
     public <R> R withConnection(IOFunction<Connection, R> fn) {
+        long waitStart = System.nanoTime();
         synchronized (connectionLock) {
+            borrowWait.recordSince(waitStart);
             Connection conn;
             try {
                 conn = getConnection();
@@ -127,10 +184,13 @@ public class MySQLManager {
                 // Re-throw with clearer context for callers
                 throw new RuntimeException("No MySQL connection available for operation.", e);
             }
+            SqlTracer.Scope call = tracer.enterCall();
             try {
                 return fn.apply(conn);
             } catch (Exception e) {
                 throw new RuntimeException(e);
+            } finally {
+                if (call != null) call.close();
             }
         }
     }
@@ -143,8 +203,11 @@ public class MySQLManager {
      * @return function result
      */
     public <R> R withTransaction(IOFunction<Connection, R> fn) {
+        long waitStart = System.nanoTime();
         synchronized (connectionLock) {
+            borrowWait.recordSince(waitStart);
             Connection conn = getConnection();
+            SqlTracer.Scope call = tracer.enterCall();
             boolean prevAutoCommit;
             try {
                 prevAutoCommit = conn.getAutoCommit();
@@ -161,15 +224,38 @@ public class MySQLManager {
                 }
             } catch (SQLException e) {
                 throw new RuntimeException("Failed to manage transaction state", e);
+            } finally {
+                if (call != null) call.close();
             }
         }
     }
 
+    /** The registry this manager records into. */
+    public MetricsRegistry metrics() {
+        return metrics;
+    }
+
+    /** Statement tracing for this manager's connection; toggled by /vault admin sql. */
+    public SqlTracer tracer() {
+        return tracer;
+    }
+
+    /** Executor for blocking database work; prefer it over the server's async scheduler. */
+    public DatabaseExecutor executor() {
+        return executor;
+    }
+
+    /** Per-vault / per-owner ordering on top of {@link #executor()}. */
+    public KeyedSerialExecutor keyedExecutor() {
+        return keyedExecutor;
+    }
+
     /**
-     * Runs a task asynchronously on the Bukkit scheduler (useful for DB writes).
+     * Runs a write on the {@link #executor()} without waiting for it. Such writes are
+     * {@linkplain DatabaseExecutor.Priority#DURABLE durable}: the caller has moved on, so they are never rejected.
      */
     public void runAsync(Runnable task) {
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+        executor.execute(DatabaseExecutor.Priority.DURABLE, task);
     }
 
     /**
@@ -0,0 +1,295 @@
+package net.democracycraft.vault.internal.database;
+
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Optional per-statement tracing for {@link MySQLManager}.
+ * <p>
+ * While enabled, every statement run through the manager's connection is recorded under its normalized shape
+ * (literals and {@code IN}/{@code VALUES} lists folded to {@code ?}) with its duration, row count and caller
+ * operation. Statements slower than the slow-query threshold are logged, and when one logical operation runs the
+ * same shape more than the repeat threshold, the operation is logged as a likely N+1 pattern.
+ * <p>
+ * A logical operation is an {@link #operation} scope on the calling thread, e.g. one menu load that makes many DAO
+ * calls. Outside a scope each {@code withConnection}/{@code withTransaction} call is its own operation, named after
+ * the first caller outside the database layer.
+ */
+public final class SqlTracer {
+
+    private static final int MAX_SHAPES = 512;
+    private static final int MAX_SHAPE_CACHE = 1024;
+    private static final int MAX_LOGGED_SQL = 300;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w`.])-?\\d+(?:\\.\\d+)?(?![\\w`])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(?i)(\\bVALUES\\s*\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /** Set once any tracer has been enabled; until then {@link #operation} skips the scope entirely. */
+    private static volatile boolean anyEnabled;
+
+    private final Logger logger;
+    private final MetricsRegistry metrics;
+
+    private volatile boolean enabled;
+    private volatile long slowThresholdNanos;
+    private volatile int repeatThreshold;
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+
+    SqlTracer(@NotNull Logger logger, @NotNull MetricsRegistry metrics, long slowThresholdMillis, int repeatThreshold) {
+        this.logger = logger;
+        this.metrics = metrics;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, slowThresholdMillis));
+        this.repeatThreshold = Math.max(1, repeatThreshold);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Turns tracing on or off for statements that start afterwards. Enabling clears the per-shape totals. */
+    public synchronized void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) shapes.clear();
+        this.enabled = enabled;
+        if (enabled) anyEnabled = true;
+    }
+
+    public long slowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public void setSlowThresholdMillis(long millis) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, millis));
+    }
+
+    public int repeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = Math.max(1, repeatThreshold);
+    }
+
+    /**
+     * Opens a logical operation on this thread; statements until {@link Scope#close} count towards it for the
+     * repeat check. Nested calls join the outer operation. Use with try-with-resources on the thread that issues
+     * the queries; work handed to another thread needs a scope of its own.
+     */
+    public static @NotNull Scope operation(@NotNull String name) {
+        if (!anyEnabled || CURRENT.get() != null) return Scope.JOINED;
+        Scope scope = new Scope(name);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /** Implicit operation for one manager call; {@code null} if disabled or an operation is already open. */
+    @Nullable Scope enterCall() {
+        if (!enabled || CURRENT.get() != null) return null;
+        Scope scope = new Scope(null);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /** The normalized shape of {@code sql}, cached for the statements this plugin prepares over and over. */
+    @NotNull String shapeOf(@NotNull String sql) {
+        String shape = shapeCache.get(sql);
+        if (shape != null) return shape;
+        shape = normalize(sql);
+        if (shapeCache.size() >= MAX_SHAPE_CACHE) shapeCache.clear();
+        shapeCache.put(sql, shape);
+        return shape;
+    }
+
+    /** Records the start of one execution of {@code shape}; counts towards the current operation at once. */
+    @NotNull Execution begin(@NotNull String shape) {
+        Scope scope = CURRENT.get();
+        String operation;
+        if (scope != null) {
+            scope.count(this, shape);
+            operation = scope.name();
+        } else {
+            operation = callerName();
+        }
+        return new Execution(shape, operation, System.nanoTime());
+    }
+
+    /** One traced statement execution; {@link #finish} once the row count is known. */
+    final class Execution {
+        final String shape;
+        final String operation;
+        final long startNanos;
+        private long elapsedNanos = -1L;
+        private boolean finished;
+
+        private Execution(String shape, String operation, long startNanos) {
+            this.shape = shape;
+            this.operation = operation;
+            this.startNanos = startNanos;
+        }
+
+        /** Marks the statement as returned from the driver; the time up to here is its duration. */
+        void executed() {
+            if (elapsedNanos < 0L) elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        /** Records the execution with {@code rows} rows read or affected, or {@code -1} if unknown. Idempotent. */
+        void finish(long rows) {
+            if (finished) return;
+            finished = true;
+            executed();
+            record(this, rows);
+        }
+    }
+
+    private void record(Execution execution, long rows) {
+        ShapeStats stats = shapes.get(execution.shape);
+        if (stats == null) {
+            stats = shapes.size() < MAX_SHAPES ? shapes.computeIfAbsent(execution.shape, s -> new ShapeStats())
+                    : shapes.computeIfAbsent("(other)", s -> new ShapeStats());
+        }
+        stats.add(execution.elapsedNanos, rows, execution.operation);
+        if (rows > 0) metrics.counter("vault_db_rows_total").add(rows);
+        if (execution.elapsedNanos > slowThresholdNanos) {
+            metrics.counter("vault_db_slow_queries_total").increment();
+            logger.log(Level.WARNING, String.format(Locale.ROOT, "[SqlTracer] Slow query: %.1f ms, %s rows, in %s: %s",
+                    execution.elapsedNanos / 1e6, rows < 0 ? "?" : Long.toString(rows), execution.operation, abbreviate(execution.shape)));
+        }
+    }
+
+    private void reportRepeats(Scope scope) {
+        int threshold = repeatThreshold;
+        for (Map.Entry<String, int[]> e : scope.counts.entrySet()) {
+            int times = e.getValue()[0];
+            if (times <= threshold) continue;
+            metrics.counter("vault_db_repeated_statements_total", "operation", scope.name()).increment();
+            logger.log(Level.WARNING, String.format(Locale.ROOT,
+                    "[SqlTracer] Possible N+1: %s ran the same statement %d times (threshold %d): %s",
+                    scope.name(), times, threshold, abbreviate(e.getKey())));
+        }
+    }
+
+    /**
+     * Summary for chat: state, thresholds, and the statement shapes with the most total time since enabling.
+     */
+    public @NotNull List<String> report(int top) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "SQL tracing %s, slow threshold %d ms, repeat threshold %d, %d shapes",
+                enabled ? "on" : "off", slowThresholdMillis(), repeatThreshold, shapes.size()));
+        List<Map.Entry<String, ShapeStats>> sorted = new ArrayList<>(shapes.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, ShapeStats> e) -> e.getValue().totalNanos()).reversed());
+        for (Map.Entry<String, ShapeStats> e : sorted.subList(0, Math.min(top, sorted.size()))) {
+            lines.add(" " + e.getValue().describe() + ": " + abbreviate(e.getKey()));
+        }
+        return lines;
+    }
+
+    /** Folds literals, whitespace, {@code IN (?, ?...)} and multi-row {@code VALUES} so that one call site has one shape. */
+    static @NotNull String normalize(@NotNull String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = WHITESPACE.matcher(s).replaceAll(" ").trim();
+        s = IN_LIST.matcher(s).replaceAll("IN (?...)");
+        s = VALUES_ROWS.matcher(s).replaceAll("$1, ...");
+        while (s.endsWith(";")) s = s.substring(0, s.length() - 1).trim();
+        return s;
+    }
+
+    private static String abbreviate(String shape) {
+        return shape.length() <= MAX_LOGGED_SQL ? shape : shape.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+
+    /** {@code Class#method} of the first caller outside the database layer and the JDK. */
+    private static String callerName() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> !isInfrastructure(f.getClassName()))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "#" + f.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static boolean isInfrastructure(String className) {
+        return className.startsWith("net.democracycraft.vault.internal.database.")
+                || className.startsWith("net.democracycraft.vault.internal.metrics.")
+                || className.startsWith("java.")
+                || className.startsWith("jdk.")
+                || className.startsWith("com.sun.proxy.");
+    }
+
+    /** A logical operation; see {@link #operation}. */
+    public static final class Scope implements AutoCloseable {
+
+        /** Returned for nested or untraced scopes; closing it does nothing. */
+        static final Scope JOINED = new Scope("(joined)");
+
+        private final String name;
+        private final Map<String, int[]> counts = new HashMap<>();
+        private String implicitName;
+        private SqlTracer tracer;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private String name() {
+            // Implicit scopes are named lazily: the stack walk only happens once a statement is traced.
+            if (name != null) return name;
+            return implicitName != null ? implicitName : (implicitName = callerName());
+        }
+
+        private void count(SqlTracer tracer, String shape) {
+            this.tracer = tracer;
+            counts.computeIfAbsent(shape, s -> new int[1])[0]++;
+        }
+
+        @Override
+        public void close() {
+            if (this == JOINED || CURRENT.get() != this) return;
+            CURRENT.remove();
+            if (tracer != null && tracer.enabled) tracer.reportRepeats(this);
+        }
+    }
+
+    private static final class ShapeStats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long rows;
+        private String lastOperation;
+
+        synchronized void add(long nanos, long rows, String operation) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            if (rows > 0) this.rows += rows;
+            lastOperation = operation;
+        }
+
+        synchronized long totalNanos() {
+            return totalNanos;
+        }
+
+        synchronized String describe() {
+            return String.format(Locale.ROOT, "%d runs, %.1f ms total, max %.2f ms, %d rows, last in %s",
+                    count, totalNanos / 1e6, maxNanos / 1e6, rows, lastOperation);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package net.democracycraft.vault.internal.database;
+
+import net.democracycraft.vault.internal.metrics.LatencyHistogram;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Times every statement run through a connection into {@code vault_db_query_seconds{type}}, where {@code type} is the
+ * statement's leading SQL verb (select, insert, update, delete, or other). {@link #wrap} returns a connection whose
+ * statements are proxies around the driver's own; everything but the {@code execute*} calls passes straight through.
+ * <p>
+ * While the {@link SqlTracer} is enabled, each execution is also traced; query results are wrapped so that the rows
+ * read can be counted, and the trace is finished when the result set is exhausted or closed.
+ */
+final class StatementMetrics {
+
+    private static final String[] TYPES = {"select", "insert", "update", "delete", "other"};
+
+    private final LatencyHistogram[] byType = new LatencyHistogram[TYPES.length];
+    private final SqlTracer tracer;
+
+    private StatementMetrics(MetricsRegistry metrics, SqlTracer tracer) {
+        for (int i = 0; i < TYPES.length; i++) byType[i] = metrics.histogram("vault_db_query_seconds", "type", TYPES[i]);
+        this.tracer = tracer;
+    }
+
+    /** Wraps {@code connection} so that its statements report into {@code metrics} and, while enabled, {@code tracer}. */
+    static @NotNull Connection wrap(@NotNull Connection connection, @NotNull MetricsRegistry metrics, @NotNull SqlTracer tracer) {
+        StatementMetrics timing = new StatementMetrics(metrics, tracer);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        // prepareStatement/prepareCall carry their SQL; createStatement gets it per execute call.
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return timing.statement(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement statement(Statement statement, Class<?> type, String preparedSql) {
+        int preparedType = preparedSql != null ? typeOf(preparedSql) : -1;
+        // The last traced query of this statement, finished on close if its result set never was.
+        SqlTracer.Execution[] pending = new SqlTracer.Execution[1];
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        if (pending[0] != null && method.getName().equals("close")) pending[0].finish(-1L);
+                        return invoke(statement, method, args);
+                    }
+                    String sql = preparedSql != null ? preparedSql
+                            : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                    int t = preparedType >= 0 ? preparedType : sql != null ? typeOf(sql) : TYPES.length - 1;
+                    if (tracer.isEnabled()) return traced(statement, method, args, sql, t, pending);
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        byType[t].recordSince(start);
+                    }
+                });
+    }
+
+    private Object traced(Statement statement, Method method, Object[] args, String sql, int type,
+                          SqlTracer.Execution[] pending) throws Throwable {
+        if (pending[0] != null) pending[0].finish(-1L);
+        SqlTracer.Execution execution = tracer.begin(sql != null ? tracer.shapeOf(sql) : "(batch)");
+        pending[0] = null;
+        Object result;
+        try {
+            result = invoke(statement, method, args);
+        } catch (Throwable t) {
+            execution.finish(-1L);
+            throw t;
+        } finally {
+            byType[type].recordSince(execution.startNanos);
+        }
+        execution.executed();
+        if (result instanceof ResultSet rs) {
+            pending[0] = execution;
+            return counting(rs, execution);
+        }
+        execution.finish(rowsOf(result));
+        return result;
+    }
+
+    /** {@code rs}, counting the rows read and finishing {@code execution} when exhausted or closed. */
+    private static ResultSet counting(ResultSet rs, SqlTracer.Execution execution) {
+        long[] rows = new long[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(rs, method, args);
+                    switch (method.getName()) {
+                        case "next" -> {
+                            if (Boolean.TRUE.equals(result)) rows[0]++;
+                            else execution.finish(rows[0]);
+                        }
+                        case "close" -> execution.finish(rows[0]);
+                        default -> { }
+                    }
+                    return result;
+                });
+    }
+
+    /** Rows affected as reported by an {@code execute*} result, or {@code -1} if it does not say. */
+    private static long rowsOf(Object result) {
+        if (result instanceof Integer n) return n;
+        if (result instanceof Long n) return n;
+        if (result instanceof int[] counts) {
+            long sum = 0;
+            for (int n : counts) if (n > 0) sum += n;
+            return sum;
+        }
+        if (result instanceof long[] counts) {
+            long sum = 0;
+            for (long n : counts) if (n > 0) sum += n;
+            return sum;
+        }
+        return -1L;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Index into {@link #TYPES} of the statement's leading verb. */
+    static int typeOf(String sql) {
+        int i = 0;
+        while (i < sql.length() && (Character.isWhitespace(sql.charAt(i)) || sql.charAt(i) == '(')) i++;
+        int end = i;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) end++;
+        String verb = sql.substring(i, end).toLowerCase(Locale.ROOT);
+        return switch (verb) {
+            case "select", "with" -> 0;
+            case "insert", "replace" -> 1;
+            case "update" -> 2;
+            case "delete" -> 3;
+            default -> 4;
+        };
+    }
+}
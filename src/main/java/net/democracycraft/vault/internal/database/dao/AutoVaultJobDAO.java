@@ -0,0 +1,66 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.entity.AutoVaultJobEntity;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Persistence for the auto-vault job queue. All methods are synchronous; call them off the main thread
+ * except during enable/disable.
+ */
+public record AutoVaultJobDAO(DatabaseSchema schema) {
+
+    /** Queued; waiting for its due time or a free sweep slot. */
+    public static final String STATUS_PENDING = "PENDING";
+    /** Started; {@link AutoVaultJobEntity#phase} and {@link AutoVaultJobEntity#chunkIndex} hold the checkpoint. */
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String PHASE_BLOCKS = "BLOCKS";
+    public static final String PHASE_HANGINGS = "HANGINGS";
+
+    public AutoVaultJobDAO(@NotNull DatabaseSchema schema) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+    }
+
+    /** Inserts or updates a job row by its id. */
+    public void save(@NotNull AutoVaultJobEntity job) {
+        Objects.requireNonNull(job, "job");
+        schema.autoVaultJobs().insertOrUpdateSync(job);
+    }
+
+    /**
+     * Replaces any queued (not yet started) job for the same region with {@code job}.
+     * A running sweep for the region is left untouched.
+     */
+    public void replacePending(@NotNull AutoVaultJobEntity job) {
+        Objects.requireNonNull(job, "job");
+        Map<String, Object> where = new LinkedHashMap<>();
+        where.put("worldUuid", job.worldUuid);
+        where.put("regionId", job.regionId);
+        where.put("status", STATUS_PENDING);
+        schema.autoVaultJobs().deleteWhereSync(where);
+        schema.autoVaultJobs().insertOrUpdateSync(job);
+    }
+
+    /** Deletes a finished or abandoned job. */
+    public void delete(@NotNull UUID jobUuid) {
+        Objects.requireNonNull(jobUuid, "jobUuid");
+        schema.autoVaultJobs().deleteWhereSync(Map.of("uuid", jobUuid));
+    }
+
+    /** Lists every persisted job ordered by due time. */
+    public @NotNull List<AutoVaultJobEntity> listAll() {
+        List<AutoVaultJobEntity> all = schema.autoVaultJobs().getAll(null);
+        all.sort((a, b) -> Long.compare(dueOf(a), dueOf(b)));
+        return all;
+    }
+
+    private static long dueOf(AutoVaultJobEntity job) {
+        return job.dueAtEpochMillis != null ? job.dueAtEpochMillis : 0L;
+    }
+}
@@ -0,0 +1,115 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Deduplicated layout: one {@code vault_items} row per slot, each referencing a shared {@code item_blobs} payload
+ * by hash. Identical stacks (cobblestone, diamonds, common tools) are stored once, and bulk writes of recurring
+ * items send only a refcount bump. Reads resolve payloads with a join, so opening a vault stays one query.
+ */
+public record DedupItemLayout(VaultContentsDAO contents, ItemBlobStore blobs) implements ItemLayout {
+
+    public static final String NAME = "deduplicated";
+
+    public DedupItemLayout(@NotNull VaultContentsDAO contents, @NotNull ItemBlobStore blobs) {
+        this.contents = Objects.requireNonNull(contents, "contents");
+        this.blobs = Objects.requireNonNull(blobs, "blobs");
+    }
+
+    @Override
+    public @NotNull String name() {
+        return NAME;
+    }
+
+    @Override
+    public void put(@NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items) {
+        if (items.isEmpty()) return;
+        contents.schema().mysql().withTransaction(conn -> {
+            put(conn, vaultUuid, items);
+            return null;
+        });
+    }
+
+    @Override
+    public void put(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items) throws SQLException {
+        if (items.isEmpty()) return;
+        unpack(conn, vaultUuid);
+        contents.upsertRows(conn, blobs.intern(conn, items));
+    }
+
+    @Override
+    public void remove(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) {
+        if (slots.isEmpty()) return;
+        contents.schema().mysql().withTransaction(conn -> {
+            remove(conn, vaultUuid, slots);
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) throws SQLException {
+        if (slots.isEmpty()) return;
+        unpack(conn, vaultUuid);
+        contents.deleteRows(conn, vaultUuid, slots);
+    }
+
+    @Override
+    public @NotNull List<VaultItemEntity> list(@NotNull UUID vaultUuid) {
+        return contents.schema().mysql().withConnection(conn -> {
+            List<VaultItemEntity> rows = contents.readRows(conn, vaultUuid, false);
+            if (!rows.isEmpty()) return rows;
+            List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, false);
+            return packed != null ? packed : rows;
+        });
+    }
+
+    @Override
+    public @NotNull List<VaultItemEntity> list(@NotNull UUID vaultUuid, int fromSlot, int toSlot) {
+        return contents.schema().mysql().withConnection(conn -> {
+            List<VaultItemEntity> rows = contents.readRows(conn, vaultUuid, fromSlot, toSlot);
+            if (!rows.isEmpty()) return rows;
+            List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, fromSlot, toSlot);
+            return packed != null ? packed : rows;
+        });
+    }
+
+    @Override
+    public boolean convert(@NotNull UUID vaultUuid) {
+        return contents.schema().mysql().withTransaction(conn -> {
+            boolean moved = unpack(conn, vaultUuid);
+            List<VaultItemEntity> inline = new ArrayList<>();
+            for (VaultItemEntity row : contents.readRows(conn, vaultUuid, true)) {
+                if (row.itemHash == null && row.item != null && row.item.length > 0) inline.add(row);
+            }
+            if (!inline.isEmpty()) {
+                contents.upsertRows(conn, blobs.intern(conn, inline));
+                moved = true;
+            }
+            return moved;
+        });
+    }
+
+    @Override
+    public @NotNull List<UUID> unconvertedAfter(@Nullable UUID afterUuid, int limit) {
+        return contents.undeduplicatedVaultsAfter(afterUuid, limit);
+    }
+
+    /** Moves a packed row, if any, into referencing rows. */
+    private boolean unpack(Connection conn, UUID vaultUuid) throws SQLException {
+        List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, true);
+        if (packed == null) return false;
+        contents.upsertRows(conn, blobs.intern(conn, packed));
+        contents.deletePacked(conn, vaultUuid);
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.entity.HangingIndexRegionEntity;
+import net.democracycraft.vault.internal.database.entity.HangingLocationEntity;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Persistence for the last-known-location index of protected hanging entities. All methods are
+ * synchronous; call them off the main thread.
+ */
+public record HangingLocationDAO(DatabaseSchema schema) {
+
+    /** Ids per IN (...) list in {@link #deleteAll}. */
+    private static final int MAX_IN_PARAMS = 500;
+
+    public HangingLocationDAO(@NotNull DatabaseSchema schema) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+    }
+
+    /** Inserts or refreshes the given index rows in one batch. */
+    public void saveAll(@NotNull Collection<HangingLocationEntity> locations) {
+        Objects.requireNonNull(locations, "locations");
+        schema.hangingLocations().insertBatchSync(locations);
+    }
+
+    /** Drops the index rows of the given entities, a few hundred per statement. */
+    public void deleteAll(@NotNull Collection<UUID> entityUuids) {
+        Objects.requireNonNull(entityUuids, "entityUuids");
+        if (entityUuids.isEmpty()) return;
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(entityUuids));
+        schema.mysql().withConnection(conn -> {
+            for (int from = 0; from < ids.size(); from += MAX_IN_PARAMS) {
+                List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_PARAMS));
+                String sql = "DELETE FROM `hanging_locations` WHERE `uuid` IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ");";
+                try (var st = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (UUID entityUuid : chunk) st.setString(index++, entityUuid.toString().toLowerCase());
+                    st.executeUpdate();
+                }
+            }
+            return null;
+        });
+    }
+
+    /** Whether a full hanging pass has recorded every hanging of the region in the index. */
+    public boolean isRegionIndexed(@NotNull UUID worldUuid, @NotNull String regionId) {
+        return schema.hangingIndexRegions().findBy("uuid", regionKey(worldUuid, regionId)) != null;
+    }
+
+    /** Records that a full hanging pass over the region has completed. */
+    public void markRegionIndexed(@NotNull UUID worldUuid, @NotNull String regionId) {
+        HangingIndexRegionEntity region = new HangingIndexRegionEntity();
+        region.uuid = regionKey(worldUuid, regionId);
+        region.worldUuid = worldUuid;
+        region.regionId = regionId;
+        region.indexedAtEpochMillis = System.currentTimeMillis();
+        schema.hangingIndexRegions().insertOrUpdateSync(region);
+    }
+
+    private static UUID regionKey(UUID worldUuid, String regionId) {
+        return UUID.nameUUIDFromBytes((worldUuid + ":" + regionId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Lists the index rows of {@code worldUuid} whose position lies within {@code box} (block-inclusive). */
+    public @NotNull List<HangingLocationEntity> listInBox(@NotNull UUID worldUuid, @NotNull BoundingBox box) {
+        Objects.requireNonNull(worldUuid, "worldUuid");
+        Objects.requireNonNull(box, "box");
+        Map<String, long[]> ranges = new LinkedHashMap<>();
+        ranges.put("x", new long[]{(long) Math.floor(box.getMinX()), (long) Math.floor(box.getMaxX())});
+        ranges.put("z", new long[]{(long) Math.floor(box.getMinZ()), (long) Math.floor(box.getMaxZ())});
+        return schema.hangingLocations().findAllWithin(Map.of("worldUuid", worldUuid), ranges);
+    }
+}
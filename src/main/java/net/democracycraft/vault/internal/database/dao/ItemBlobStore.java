@@ -0,0 +1,154 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import net.democracycraft.vault.internal.util.item.ItemSerialization;
+import org.jetbrains.annotations.NotNull;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Content-addressed item payloads ({@code item_blobs}) for the deduplicated layout. Payloads are keyed by the
+ * SHA-256 of their framed bytes and reference-counted by the {@code vault_items} rows that point at them.
+ * <p>An in-memory LRU set remembers hashes known to be stored, so writing a recurring item only bumps its
+ * refcount without sending the payload. The set is only a hint: if a remembered blob was collected meanwhile,
+ * the write falls back to inserting it again.</p>
+ */
+public class ItemBlobStore {
+
+    private final DatabaseSchema schema;
+    private final Set<String> knownHashes;
+
+    public ItemBlobStore(@NotNull DatabaseSchema schema, int cacheSize) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+        int capacity = Math.max(1, cacheSize);
+        this.knownHashes = Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        }));
+    }
+
+    /**
+     * Stores the payloads of {@code items} (one reference per row) and returns copies that reference them by hash
+     * instead of carrying bytes. Rows without a payload are copied unchanged. Runs on the caller's connection,
+     * inside its transaction.
+     */
+    public @NotNull List<VaultItemEntity> intern(@NotNull Connection conn, @NotNull Collection<VaultItemEntity> items) throws SQLException {
+        Map<String, byte[]> payloads = new LinkedHashMap<>();
+        Map<String, Integer> refs = new LinkedHashMap<>();
+        List<VaultItemEntity> out = new ArrayList<>(items.size());
+        for (VaultItemEntity row : items) {
+            VaultItemEntity copy = new VaultItemEntity();
+            copy.uuid = row.uuid;
+            copy.vaultUuid = row.vaultUuid;
+            copy.slot = row.slot;
+            copy.amount = row.amount;
+            if (row.item == null || row.item.length == 0) {
+                copy.item = row.item;
+            } else {
+                byte[] framed = ItemSerialization.isFramed(row.item) ? row.item : ItemSerialization.encode(row.item);
+                String hash = hash(framed);
+                payloads.putIfAbsent(hash, framed);
+                refs.merge(hash, 1, Integer::sum);
+                copy.itemHash = hash;
+            }
+            out.add(copy);
+        }
+        acquire(conn, payloads, refs);
+        return out;
+    }
+
+    /**
+     * Deletes up to {@code limit} blobs whose refcount dropped to zero and that no row references, then repairs
+     * the refcount of zero-count blobs that are still referenced. Synchronous; call it off the main thread.
+     *
+     * @return number of blobs deleted
+     */
+    public int collectGarbage(int limit) {
+        return schema.mysql().withConnection(conn -> {
+            int deleted;
+            try (var st = conn.prepareStatement("DELETE FROM `item_blobs` WHERE `refcount` <= 0"
+                    + " AND NOT EXISTS (SELECT 1 FROM `vault_items` i WHERE i.`itemHash` = `item_blobs`.`hash`) LIMIT ?;")) {
+                st.setInt(1, limit);
+                deleted = st.executeUpdate();
+            }
+            try (var st = conn.prepareStatement("UPDATE `item_blobs` SET `refcount` ="
+                    + " (SELECT COUNT(*) FROM `vault_items` i WHERE i.`itemHash` = `item_blobs`.`hash`) WHERE `refcount` <= 0 LIMIT ?;")) {
+                st.setInt(1, limit);
+                st.executeUpdate();
+            }
+            return deleted;
+        });
+    }
+
+    /** Whether any payload is stored, i.e. rows may still reference blobs. Synchronous; call it off the main thread. */
+    public boolean hasBlobs() {
+        return schema.mysql().withConnection(conn -> {
+            try (var st = conn.prepareStatement("SELECT 1 FROM `item_blobs` LIMIT 1;");
+                 var rs = st.executeQuery()) {
+                return rs.next();
+            }
+        });
+    }
+
+    /** Adds {@code refs} references per hash, inserting payloads not known to be stored. */
+    private void acquire(Connection conn, Map<String, byte[]> payloads, Map<String, Integer> refs) throws SQLException {
+        List<String> missing = new ArrayList<>();
+        MetricsRegistry metrics = schema.mysql().metrics();
+        try (var st = conn.prepareStatement("UPDATE `item_blobs` SET `refcount` = `refcount` + ? WHERE `hash` = ?;")) {
+            for (Map.Entry<String, Integer> ref : refs.entrySet()) {
+                boolean known = knownHashes.contains(ref.getKey());
+                metrics.cacheAccess("item_blob_hashes", known);
+                if (!known) {
+                    missing.add(ref.getKey());
+                    continue;
+                }
+                st.setInt(1, ref.getValue());
+                st.setString(2, ref.getKey());
+                if (st.executeUpdate() == 0) {
+                    knownHashes.remove(ref.getKey());
+                    missing.add(ref.getKey());
+                }
+            }
+        }
+        if (missing.isEmpty()) return;
+        String sql = "INSERT INTO `item_blobs` (`hash`, `bytes`, `refcount`, `createdAtEpochMillis`) VALUES (?, ?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE `refcount` = `refcount` + VALUES(`refcount`);";
+        long now = System.currentTimeMillis();
+        try (var st = conn.prepareStatement(sql)) {
+            for (String hash : missing) {
+                st.setString(1, hash);
+                st.setBytes(2, payloads.get(hash));
+                st.setInt(3, refs.get(hash));
+                st.setLong(4, now);
+                st.addBatch();
+            }
+            st.executeBatch();
+        }
+        knownHashes.addAll(missing);
+    }
+
+    /** SHA-256 hex of a framed payload. */
+    static String hash(byte[] framed) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(framed));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * How a vault's item slots are stored. {@link VaultDAOImpl} delegates its item methods here.
+ * <ul>
+ *   <li>{@link RowItemLayout} ({@code rows}): one {@code vault_items} row per slot.</li>
+ *   <li>{@link PackedItemLayout} ({@code packed}): one {@code vault_contents} row per vault.</li>
+ *   <li>{@link DedupItemLayout} ({@code deduplicated}): one {@code vault_items} row per slot referencing a shared
+ *       {@code item_blobs} payload.</li>
+ * </ul>
+ * Each layout reads a vault still stored in another layout as-is and moves it over on its first write, so the
+ * layout can be switched on a live database; {@link #convert} and {@link #unconvertedAfter} let a background
+ * migration finish the move. Per-slot rows stored by reference count as rows for the row layout: it reads them
+ * through the join and never inlines them. All methods are synchronous; call them off the main thread.
+ */
+public interface ItemLayout {
+
+    /** Config name of this layout. */
+    @NotNull String name();
+
+    /** Statement-level access shared by all layouts. */
+    @NotNull VaultContentsDAO contents();
+
+    /** Inserts or replaces the given slots of a vault. */
+    void put(@NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items);
+
+    /**
+     * {@link #put(UUID, Collection)} on the caller's connection, so several vaults can be written in one
+     * transaction the caller owns.
+     */
+    void put(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items) throws SQLException;
+
+    /** Empties the given slots in one transaction. */
+    void remove(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots);
+
+    /** {@link #remove(UUID, Collection)} on the caller's connection, inside a transaction the caller owns. */
+    void remove(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) throws SQLException;
+
+    /** All occupied slots of a vault, ordered by slot. */
+    @NotNull List<VaultItemEntity> list(@NotNull UUID vaultUuid);
+
+    /** Occupied slots of a vault in {@code fromSlot..toSlot} (inclusive), ordered by slot. */
+    @NotNull List<VaultItemEntity> list(@NotNull UUID vaultUuid, int fromSlot, int toSlot);
+
+    /** Moves a vault's contents from other layouts into this one. @return true if anything moved */
+    boolean convert(@NotNull UUID vaultUuid);
+
+    /** Next page of vaults still (partly) stored in another layout, in key order (keyset pagination). */
+    @NotNull List<UUID> unconvertedAfter(@Nullable UUID afterUuid, int limit);
+
+    /** Resolves a {@code storage.layout} config value; unknown values mean {@code rows}. */
+    static @NotNull ItemLayout of(@Nullable String name, @NotNull VaultContentsDAO contents, @NotNull ItemBlobStore blobs) {
+        String normalized = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case PackedItemLayout.NAME -> new PackedItemLayout(contents);
+            case DedupItemLayout.NAME -> new DedupItemLayout(contents, blobs);
+            default -> new RowItemLayout(contents);
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.entity.ItemBlobEntity;
+import net.democracycraft.vault.internal.database.entity.VaultContentsEntity;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.util.item.ItemSerialization;
+import net.democracycraft.vault.internal.util.item.PackedSlots;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Bulk maintenance queries over stored item BLOBs ({@code vault_items}, {@code item_blobs} and
+ * {@code vault_contents}) for background rewrite jobs. All methods are synchronous; call them off the main thread.
+ */
+public record ItemMaintenanceDAO(DatabaseSchema schema) {
+
+    public ItemMaintenanceDAO(@NotNull DatabaseSchema schema) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+    }
+
+    /**
+     * Next page of item rows not yet in a framed format, after {@code afterUuid} in primary-key order
+     * (keyset pagination). Only {@code uuid} and {@code item} are populated.
+     *
+     * @param afterUuid exclusive lower bound, or null to start from the beginning
+     * @param limit     max rows to return
+     */
+    public @NotNull List<VaultItemEntity> legacyPageAfter(@Nullable UUID afterUuid, int limit) {
+        String sql = "SELECT `uuid`, `item` FROM `vault_items`"
+                + " WHERE `uuid` > ? AND LEFT(`item`, 1) NOT IN (X'B0', X'B1', X'B2', X'B3', X'B4', X'B5')"
+                + " ORDER BY `uuid` LIMIT ?;";
+        return schema.mysql().withConnection(conn -> {
+            List<VaultItemEntity> out = new ArrayList<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, afterUuid == null ? "" : afterUuid.toString().toLowerCase());
+                st.setInt(2, limit);
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        VaultItemEntity row = new VaultItemEntity();
+                        row.uuid = UUID.fromString(rs.getString("uuid"));
+                        row.item = rs.getBytes("item");
+                        out.add(row);
+                    }
+                }
+            }
+            return out;
+        });
+    }
+
+    /**
+     * Replaces a row's item bytes only if they still equal {@code expected}, so a concurrent save always wins.
+     *
+     * @return true if the row was updated
+     */
+    public boolean replaceItem(@NotNull UUID rowUuid, @NotNull byte[] expected, @NotNull byte[] replacement) {
+        String sql = "UPDATE `vault_items` SET `item` = ? WHERE `uuid` = ? AND `item` = ?;";
+        return schema.mysql().withConnection(conn -> {
+            try (var st = conn.prepareStatement(sql)) {
+                st.setBytes(1, replacement);
+                st.setString(2, rowUuid.toString().toLowerCase());
+                st.setBytes(3, expected);
+                return st.executeUpdate() > 0;
+            }
+        });
+    }
+
+    /**
+     * Next page of inline item rows written before {@code dataVersion} (or carrying no data version), after
+     * {@code afterUuid} in primary-key order. Only {@code uuid} and {@code item} are populated.
+     */
+    public @NotNull List<VaultItemEntity> staleItemsAfter(@Nullable UUID afterUuid, int limit, int dataVersion) {
+        String sql = "SELECT `uuid`, `item` FROM `vault_items` WHERE `uuid` > ? AND `item` IS NOT NULL AND " + stale("item")
+                + " ORDER BY `uuid` LIMIT ?;";
+        return schema.mysql().withConnection(conn -> {
+            List<VaultItemEntity> out = new ArrayList<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, afterUuid == null ? "" : afterUuid.toString().toLowerCase());
+                st.setBytes(2, ItemSerialization.dataVersionBytes(dataVersion));
+                st.setInt(3, limit);
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        VaultItemEntity row = new VaultItemEntity();
+                        row.uuid = UUID.fromString(rs.getString("uuid"));
+                        row.item = rs.getBytes("item");
+                        out.add(row);
+                    }
+                }
+            }
+            return out;
+        });
+    }
+
+    /** Next page of shared item payloads written before {@code dataVersion}, after {@code afterHash} in key order. */
+    public @NotNull List<ItemBlobEntity> staleBlobsAfter(@Nullable String afterHash, int limit, int dataVersion) {
+        String sql = "SELECT `hash`, `bytes` FROM `item_blobs` WHERE `hash` > ? AND " + stale("bytes") + " ORDER BY `hash` LIMIT ?;";
+        return schema.mysql().withConnection(conn -> {
+            List<ItemBlobEntity> out = new ArrayList<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, afterHash == null ? "" : afterHash);
+                st.setBytes(2, ItemSerialization.dataVersionBytes(dataVersion));
+                st.setInt(3, limit);
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        ItemBlobEntity blob = new ItemBlobEntity();
+                        blob.hash = rs.getString("hash");
+                        blob.bytes = rs.getBytes("bytes");
+                        out.add(blob);
+                    }
+                }
+            }
+            return out;
+        });
+    }
+
+    /**
+     * Next page of packed vaults holding an item written before {@code dataVersion}, after {@code afterVault} in
+     * key order. Only {@code vaultUuid} and {@code contents} are populated.
+     */
+    public @NotNull List<VaultContentsEntity> stalePackedAfter(@Nullable UUID afterVault, int limit, int dataVersion) {
+        String sql = "SELECT `vaultUuid`, `contents` FROM `vault_contents` WHERE `vaultUuid` > ? AND `minDataVersion` < ?"
+                + " ORDER BY `vaultUuid` LIMIT ?;";
+        return schema.mysql().withConnection(conn -> {
+            List<VaultContentsEntity> out = new ArrayList<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, afterVault == null ? "" : afterVault.toString().toLowerCase());
+                st.setInt(2, dataVersion);
+                st.setInt(3, limit);
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        VaultContentsEntity row = new VaultContentsEntity();
+                        row.vaultUuid = UUID.fromString(rs.getString("vaultUuid"));
+                        row.contents = rs.getBytes("contents");
+                        out.add(row);
+                    }
+                }
+            }
+            return out;
+        });
+    }
+
+    /**
+     * Replaces a packed vault's contents with {@code items} only if the stored bytes still equal {@code expected},
+     * so a concurrent save always wins.
+     *
+     * @return true if the row was updated
+     */
+    public boolean replacePacked(@NotNull UUID vaultUuid, @NotNull byte[] expected, @NotNull List<VaultItemEntity> items) {
+        String sql = "UPDATE `vault_contents` SET `contents` = ?, `minDataVersion` = ? WHERE `vaultUuid` = ? AND `contents` = ?;";
+        return schema.mysql().withConnection(conn -> {
+            try (var st = conn.prepareStatement(sql)) {
+                st.setBytes(1, PackedSlots.pack(items));
+                st.setInt(2, PackedSlots.minDataVersion(items));
+                st.setString(3, vaultUuid.toString().toLowerCase());
+                st.setBytes(4, expected);
+                return st.executeUpdate() > 0;
+            }
+        });
+    }
+
+    /**
+     * Replaces a shared payload with its re-serialized form. Content addressing means the new bytes get a new hash:
+     * the new blob takes over the old one's references and referencing rows are repointed, in one transaction.
+     *
+     * @return true if the blob was replaced
+     */
+    public boolean replaceBlob(@NotNull String oldHash, @NotNull byte[] replacement) {
+        String newHash = ItemBlobStore.hash(replacement);
+        if (newHash.equals(oldHash)) return false;
+        return schema.mysql().withTransaction(conn -> {
+            int refcount;
+            try (var st = conn.prepareStatement("SELECT `refcount` FROM `item_blobs` WHERE `hash` = ? FOR UPDATE;")) {
+                st.setString(1, oldHash);
+                try (var rs = st.executeQuery()) {
+                    if (!rs.next()) return false;
+                    refcount = rs.getInt("refcount");
+                }
+            }
+            try (var st = conn.prepareStatement("INSERT INTO `item_blobs` (`hash`, `bytes`, `refcount`, `createdAtEpochMillis`)"
+                    + " VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE `refcount` = `refcount` + VALUES(`refcount`);")) {
+                st.setString(1, newHash);
+                st.setBytes(2, replacement);
+                st.setInt(3, refcount);
+                st.setLong(4, System.currentTimeMillis());
+                st.executeUpdate();
+            }
+            try (var st = conn.prepareStatement("UPDATE `vault_items` SET `itemHash` = ? WHERE `itemHash` = ?;")) {
+                st.setString(1, newHash);
+                st.setString(2, oldHash);
+                st.executeUpdate();
+            }
+            try (var st = conn.prepareStatement("DELETE FROM `item_blobs` WHERE `hash` = ?;")) {
+                st.setString(1, oldHash);
+                st.executeUpdate();
+            }
+            return true;
+        });
+    }
+
+    /** SQL predicate: {@code column} holds no data version, or one below the bound parameter (4-byte big-endian). */
+    private static String stale(String column) {
+        return "(LEFT(`" + column + "`, 1) NOT IN (X'B3', X'B4', X'B5') OR SUBSTRING(`" + column + "`, 2, 4) < ?)";
+    }
+}
@@ -0,0 +1,118 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Packed layout: a vault's whole contents in one {@code vault_contents} row, so opening a vault is a single
+ * primary-key read and saving it a single row write. A slot change rewrites the whole row (read-modify-write
+ * under a row lock); vaults hold at most a few dozen slots, so that costs less than per-slot round-trips.
+ */
+public record PackedItemLayout(VaultContentsDAO contents) implements ItemLayout {
+
+    public static final String NAME = "packed";
+
+    public PackedItemLayout(@NotNull VaultContentsDAO contents) {
+        this.contents = Objects.requireNonNull(contents, "contents");
+    }
+
+    @Override
+    public @NotNull String name() {
+        return NAME;
+    }
+
+    @Override
+    public void put(@NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items) {
+        if (items.isEmpty()) return;
+        contents.schema().mysql().withTransaction(conn -> {
+            put(conn, vaultUuid, items);
+            return null;
+        });
+    }
+
+    @Override
+    public void put(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items) throws SQLException {
+        if (items.isEmpty()) return;
+        TreeMap<Integer, VaultItemEntity> slots = load(conn, vaultUuid);
+        for (VaultItemEntity row : items) slots.put(row.slot, row);
+        contents.writePacked(conn, vaultUuid, slots.values());
+    }
+
+    @Override
+    public void remove(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) {
+        if (slots.isEmpty()) return;
+        contents.schema().mysql().withTransaction(conn -> {
+            remove(conn, vaultUuid, slots);
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) throws SQLException {
+        if (slots.isEmpty()) return;
+        // One read and at most one rewrite of the packed row, however many slots are emptied.
+        TreeMap<Integer, VaultItemEntity> packed = load(conn, vaultUuid);
+        boolean changed = false;
+        for (int slot : slots) changed |= packed.remove(slot) != null;
+        if (changed) {
+            contents.writePacked(conn, vaultUuid, packed.values());
+        }
+    }
+
+    @Override
+    public @NotNull List<VaultItemEntity> list(@NotNull UUID vaultUuid) {
+        return contents.schema().mysql().withConnection(conn -> {
+            List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, false);
+            return packed != null ? packed : contents.readRows(conn, vaultUuid, false);
+        });
+    }
+
+    @Override
+    public @NotNull List<VaultItemEntity> list(@NotNull UUID vaultUuid, int fromSlot, int toSlot) {
+        return contents.schema().mysql().withConnection(conn -> {
+            List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, fromSlot, toSlot);
+            return packed != null ? packed : contents.readRows(conn, vaultUuid, fromSlot, toSlot);
+        });
+    }
+
+    @Override
+    public boolean convert(@NotNull UUID vaultUuid) {
+        return contents.schema().mysql().withTransaction(conn -> {
+            List<VaultItemEntity> rows = contents.readRows(conn, vaultUuid, true);
+            if (rows.isEmpty()) return false;
+            TreeMap<Integer, VaultItemEntity> slots = load(conn, vaultUuid);
+            contents.writePacked(conn, vaultUuid, slots.values());
+            return true;
+        });
+    }
+
+    @Override
+    public @NotNull List<UUID> unconvertedAfter(@Nullable UUID afterUuid, int limit) {
+        return contents.rowVaultsAfter(afterUuid, limit);
+    }
+
+    /**
+     * Locks and reads a vault's slots, folding in (and deleting) any per-slot rows left from the row layout.
+     * Packed slots win over leftover rows for the same slot.
+     */
+    private TreeMap<Integer, VaultItemEntity> load(Connection conn, UUID vaultUuid) throws SQLException {
+        TreeMap<Integer, VaultItemEntity> slots = new TreeMap<>();
+        List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, true);
+        List<VaultItemEntity> rows = contents.readRows(conn, vaultUuid, true);
+        for (VaultItemEntity row : rows) slots.put(row.slot, row);
+        if (packed != null) {
+            for (VaultItemEntity row : packed) slots.put(row.slot, row);
+        }
+        if (!rows.isEmpty()) contents.deleteRows(conn, vaultUuid);
+        return slots;
+    }
+}
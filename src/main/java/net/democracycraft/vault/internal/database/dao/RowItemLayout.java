@@ -0,0 +1,99 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Per-slot layout: one {@code vault_items} row per occupied slot, unique on (vaultUuid, slot).
+ * Writes first unpack a leftover {@code vault_contents} row, which costs one primary-key lookup.
+ */
+public record RowItemLayout(VaultContentsDAO contents) implements ItemLayout {
+
+    public static final String NAME = "rows";
+
+    public RowItemLayout(@NotNull VaultContentsDAO contents) {
+        this.contents = Objects.requireNonNull(contents, "contents");
+    }
+
+    @Override
+    public @NotNull String name() {
+        return NAME;
+    }
+
+    @Override
+    public void put(@NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items) {
+        contents.schema().mysql().withTransaction(conn -> {
+            put(conn, vaultUuid, items);
+            return null;
+        });
+    }
+
+    @Override
+    public void put(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items) throws SQLException {
+        unpack(conn, vaultUuid);
+        contents.upsertRows(conn, items);
+    }
+
+    @Override
+    public void remove(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) {
+        if (slots.isEmpty()) return;
+        contents.schema().mysql().withTransaction(conn -> {
+            remove(conn, vaultUuid, slots);
+            return null;
+        });
+    }
+
+    @Override
+    public void remove(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) throws SQLException {
+        if (slots.isEmpty()) return;
+        unpack(conn, vaultUuid);
+        contents.deleteRows(conn, vaultUuid, slots);
+    }
+
+    @Override
+    public @NotNull List<VaultItemEntity> list(@NotNull UUID vaultUuid) {
+        return contents.schema().mysql().withConnection(conn -> {
+            List<VaultItemEntity> rows = contents.readRows(conn, vaultUuid, false);
+            if (!rows.isEmpty()) return rows;
+            List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, false);
+            return packed != null ? packed : rows;
+        });
+    }
+
+    @Override
+    public @NotNull List<VaultItemEntity> list(@NotNull UUID vaultUuid, int fromSlot, int toSlot) {
+        return contents.schema().mysql().withConnection(conn -> {
+            List<VaultItemEntity> rows = contents.readRows(conn, vaultUuid, fromSlot, toSlot);
+            if (!rows.isEmpty()) return rows;
+            List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, fromSlot, toSlot);
+            return packed != null ? packed : rows;
+        });
+    }
+
+    @Override
+    public boolean convert(@NotNull UUID vaultUuid) {
+        return contents.schema().mysql().withTransaction(conn -> unpack(conn, vaultUuid));
+    }
+
+    @Override
+    public @NotNull List<UUID> unconvertedAfter(@Nullable UUID afterUuid, int limit) {
+        return contents.packedVaultsAfter(afterUuid, limit);
+    }
+
+    /** Moves a packed row, if any, into per-slot rows. Packed slots keep their synthetic ids as row ids. */
+    private boolean unpack(Connection conn, UUID vaultUuid) throws SQLException {
+        List<VaultItemEntity> packed = contents.readPacked(conn, vaultUuid, true);
+        if (packed == null) return false;
+        contents.upsertRows(conn, packed);
+        contents.deletePacked(conn, vaultUuid);
+        return true;
+    }
+}
@@ -0,0 +1,261 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.util.item.PackedSlots;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Statement-level access to the item layouts: per-slot {@code vault_items} rows (inline or referencing an
+ * {@code item_blobs} payload) and packed {@code vault_contents} rows. Methods taking a {@link Connection} run on
+ * the caller's connection so {@link ItemLayout}s can compose them into one transaction. While {@code blobRefs} is
+ * set, every row write or delete releases the blob references of the rows it replaces. All methods are synchronous;
+ * call them off the main thread.
+ *
+ * @param blobRefs whether rows may reference {@code item_blobs} payloads: the deduplicated layout is configured, or
+ *                 blobs it stored are still around. Without it, row writes skip the reference release.
+ */
+public record VaultContentsDAO(DatabaseSchema schema, boolean blobRefs) {
+
+    public VaultContentsDAO(@NotNull DatabaseSchema schema, boolean blobRefs) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+        this.blobRefs = blobRefs;
+    }
+
+    /** Releases blob references on every row write, whatever the layout. */
+    public VaultContentsDAO(@NotNull DatabaseSchema schema) {
+        this(schema, true);
+    }
+
+    /**
+     * Slots of a vault's packed row, or null if the vault has no packed row.
+     * @param forUpdate lock the row until the surrounding transaction ends
+     */
+    public @Nullable List<VaultItemEntity> readPacked(@NotNull Connection conn, @NotNull UUID vaultUuid, boolean forUpdate) throws SQLException {
+        String sql = "SELECT `contents` FROM `vault_contents` WHERE `vaultUuid` = ?" + (forUpdate ? " FOR UPDATE;" : ";");
+        try (var st = conn.prepareStatement(sql)) {
+            st.setString(1, key(vaultUuid));
+            try (var rs = st.executeQuery()) {
+                return rs.next() ? PackedSlots.unpack(vaultUuid, rs.getBytes("contents")) : null;
+            }
+        }
+    }
+
+    /**
+     * Slots {@code fromSlot..toSlot} (inclusive) of a vault's packed row, or null if the vault has no packed row.
+     * The row is read whole, but only the payloads in range are returned for decoding.
+     */
+    public @Nullable List<VaultItemEntity> readPacked(@NotNull Connection conn, @NotNull UUID vaultUuid, int fromSlot, int toSlot) throws SQLException {
+        List<VaultItemEntity> packed = readPacked(conn, vaultUuid, false);
+        if (packed == null) return null;
+        List<VaultItemEntity> out = new ArrayList<>();
+        for (VaultItemEntity row : packed) {
+            if (row.slot >= fromSlot && row.slot <= toSlot) out.add(row);
+        }
+        return out;
+    }
+
+    /** Replaces a vault's packed row with {@code items}; an empty collection removes the row. */
+    public void writePacked(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<VaultItemEntity> items) throws SQLException {
+        if (items.isEmpty()) {
+            deletePacked(conn, vaultUuid);
+            return;
+        }
+        String sql = "INSERT INTO `vault_contents` (`vaultUuid`, `contents`, `slotCount`, `maxSlot`, `minDataVersion`, `updatedAtEpochMillis`)"
+                + " VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE `contents` = VALUES(`contents`), `slotCount` = VALUES(`slotCount`),"
+                + " `maxSlot` = VALUES(`maxSlot`), `minDataVersion` = VALUES(`minDataVersion`), `updatedAtEpochMillis` = VALUES(`updatedAtEpochMillis`);";
+        byte[] packed = PackedSlots.pack(items);
+        try (var st = conn.prepareStatement(sql)) {
+            st.setString(1, key(vaultUuid));
+            st.setBytes(2, packed);
+            st.setInt(3, items.size());
+            st.setInt(4, PackedSlots.maxSlot(items));
+            st.setInt(5, PackedSlots.minDataVersion(items));
+            st.setLong(6, System.currentTimeMillis());
+            st.executeUpdate();
+        }
+    }
+
+    public void deletePacked(@NotNull Connection conn, @NotNull UUID vaultUuid) throws SQLException {
+        try (var st = conn.prepareStatement("DELETE FROM `vault_contents` WHERE `vaultUuid` = ?;")) {
+            st.setString(1, key(vaultUuid));
+            st.executeUpdate();
+        }
+    }
+
+    /**
+     * A vault's per-slot rows, ordered by slot, with referenced payloads resolved into {@code item}
+     * ({@code itemHash} stays set on those rows).
+     * @param forUpdate lock the rows until the surrounding transaction ends
+     */
+    public @NotNull List<VaultItemEntity> readRows(@NotNull Connection conn, @NotNull UUID vaultUuid, boolean forUpdate) throws SQLException {
+        return readRows(conn, vaultUuid, "", forUpdate, 0, 0);
+    }
+
+    /** A vault's per-slot rows in {@code fromSlot..toSlot} (inclusive), ordered by slot, resolved like {@link #readRows}. */
+    public @NotNull List<VaultItemEntity> readRows(@NotNull Connection conn, @NotNull UUID vaultUuid, int fromSlot, int toSlot) throws SQLException {
+        return readRows(conn, vaultUuid, " AND i.`slot` BETWEEN ? AND ?", false, fromSlot, toSlot);
+    }
+
+    private List<VaultItemEntity> readRows(Connection conn, UUID vaultUuid, String slotFilter, boolean forUpdate, int fromSlot, int toSlot) throws SQLException {
+        String sql = "SELECT i.`uuid`, i.`slot`, i.`amount`, COALESCE(i.`item`, b.`bytes`) AS item, i.`itemHash`"
+                + " FROM `vault_items` i LEFT JOIN `item_blobs` b ON b.`hash` = i.`itemHash`"
+                + " WHERE i.`vaultUuid` = ?" + slotFilter + " ORDER BY i.`slot`" + (forUpdate ? " FOR UPDATE;" : ";");
+        List<VaultItemEntity> out = new ArrayList<>();
+        try (var st = conn.prepareStatement(sql)) {
+            st.setString(1, key(vaultUuid));
+            if (!slotFilter.isEmpty()) {
+                st.setInt(2, fromSlot);
+                st.setInt(3, toSlot);
+            }
+            try (var rs = st.executeQuery()) {
+                while (rs.next()) {
+                    VaultItemEntity row = new VaultItemEntity();
+                    row.uuid = UUID.fromString(rs.getString("uuid"));
+                    row.vaultUuid = vaultUuid;
+                    row.slot = rs.getInt("slot");
+                    row.amount = rs.getInt("amount");
+                    row.item = rs.getBytes("item");
+                    row.itemHash = rs.getString("itemHash");
+                    out.add(row);
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Highest occupied slot of a vault in any layout, -1 if empty. Reads no item data. */
+    public int maxSlot(@NotNull Connection conn, @NotNull UUID vaultUuid) throws SQLException {
+        String sql = "SELECT GREATEST(COALESCE((SELECT MAX(`slot`) FROM `vault_items` WHERE `vaultUuid` = ?), -1),"
+                + " COALESCE((SELECT `maxSlot` FROM `vault_contents` WHERE `vaultUuid` = ?), -1)) AS maxSlot;";
+        try (var st = conn.prepareStatement(sql)) {
+            st.setString(1, key(vaultUuid));
+            st.setString(2, key(vaultUuid));
+            try (var rs = st.executeQuery()) {
+                return rs.next() ? rs.getInt("maxSlot") : -1;
+            }
+        }
+    }
+
+    /**
+     * Inserts or updates the rows of one vault in one batch. An existing (vaultUuid, slot) row keeps its id and
+     * takes the new amount and item. A row is stored by reference only when {@code item} is null and
+     * {@code itemHash} is set (the caller already holds that reference); otherwise its bytes are stored inline.
+     */
+    public void upsertRows(@NotNull Connection conn, @NotNull Collection<VaultItemEntity> items) throws SQLException {
+        if (items.isEmpty()) return;
+        UUID vaultUuid = items.iterator().next().vaultUuid;
+        List<Integer> slots = new ArrayList<>(items.size());
+        for (VaultItemEntity row : items) slots.add(row.slot);
+        releaseRefs(conn, vaultUuid, slots);
+
+        String sql = "INSERT INTO `vault_items` (`uuid`, `vaultUuid`, `slot`, `amount`, `item`, `itemHash`) VALUES (?, ?, ?, ?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE `amount` = VALUES(`amount`), `item` = VALUES(`item`), `itemHash` = VALUES(`itemHash`);";
+        try (var st = conn.prepareStatement(sql)) {
+            for (VaultItemEntity row : items) {
+                boolean byReference = row.item == null && row.itemHash != null;
+                st.setString(1, key(row.uuid));
+                st.setString(2, key(row.vaultUuid));
+                st.setInt(3, row.slot);
+                st.setInt(4, row.amount);
+                st.setBytes(5, row.item);
+                st.setString(6, byReference ? row.itemHash : null);
+                st.addBatch();
+            }
+            st.executeBatch();
+        }
+    }
+
+    public void deleteRows(@NotNull Connection conn, @NotNull UUID vaultUuid) throws SQLException {
+        releaseRefs(conn, vaultUuid, null);
+        try (var st = conn.prepareStatement("DELETE FROM `vault_items` WHERE `vaultUuid` = ?;")) {
+            st.setString(1, key(vaultUuid));
+            st.executeUpdate();
+        }
+    }
+
+    /** Deletes the vault's rows in {@code slots} with one statement. */
+    public void deleteRows(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) throws SQLException {
+        if (slots.isEmpty()) return;
+        releaseRefs(conn, vaultUuid, slots);
+        String sql = "DELETE FROM `vault_items` WHERE `vaultUuid` = ? AND `slot` IN ("
+                + String.join(",", Collections.nCopies(slots.size(), "?")) + ");";
+        try (var st = conn.prepareStatement(sql)) {
+            int index = 1;
+            st.setString(index++, key(vaultUuid));
+            for (int slot : slots) st.setInt(index++, slot);
+            st.executeUpdate();
+        }
+    }
+
+    /**
+     * Decrements the refcount of every blob referenced by the vault's rows in {@code slots} (all rows if null),
+     * once per referencing row. Blobs reaching zero are left for {@link ItemBlobStore#collectGarbage}. Does
+     * nothing unless {@link #blobRefs}.
+     */
+    private void releaseRefs(Connection conn, UUID vaultUuid, @Nullable Collection<Integer> slots) throws SQLException {
+        if (!blobRefs) return;
+        String slotFilter = slots == null ? "" : " AND `slot` IN (" + String.join(",", Collections.nCopies(slots.size(), "?")) + ")";
+        // Correlated subqueries rather than MySQL's multi-table UPDATE ... JOIN, so that H2 (the benchmark database) runs it too.
+        String sql = "UPDATE `item_blobs` SET `refcount` = `refcount` - (SELECT COUNT(*) FROM `vault_items` r"
+                + " WHERE r.`itemHash` = `item_blobs`.`hash` AND r.`vaultUuid` = ?" + slotFilter + ")"
+                + " WHERE `hash` IN (SELECT `itemHash` FROM `vault_items` WHERE `vaultUuid` = ? AND `itemHash` IS NOT NULL" + slotFilter + ");";
+        try (var st = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int pass = 0; pass < 2; pass++) {
+                st.setString(index++, key(vaultUuid));
+                if (slots != null) {
+                    for (int slot : slots) st.setInt(index++, slot);
+                }
+            }
+            st.executeUpdate();
+        }
+    }
+
+    /** Next page of vaults that have a packed row, after {@code afterUuid} in key order (keyset pagination). */
+    public @NotNull List<UUID> packedVaultsAfter(@Nullable UUID afterUuid, int limit) {
+        return vaultPage("SELECT `vaultUuid` FROM `vault_contents` WHERE `vaultUuid` > ? ORDER BY `vaultUuid` LIMIT ?;", afterUuid, limit);
+    }
+
+    /** Next page of vaults that have per-slot rows, after {@code afterUuid} in key order (keyset pagination). */
+    public @NotNull List<UUID> rowVaultsAfter(@Nullable UUID afterUuid, int limit) {
+        return vaultPage("SELECT DISTINCT `vaultUuid` FROM `vault_items` WHERE `vaultUuid` > ? ORDER BY `vaultUuid` LIMIT ?;", afterUuid, limit);
+    }
+
+    /**
+     * Next page of vaults with inline per-slot rows or a packed row, i.e. not (fully) deduplicated, after
+     * {@code afterUuid} in key order (keyset pagination).
+     */
+    public @NotNull List<UUID> undeduplicatedVaultsAfter(@Nullable UUID afterUuid, int limit) {
+        return vaultPage("SELECT `vaultUuid` FROM (SELECT `vaultUuid` FROM `vault_items` WHERE `itemHash` IS NULL"
+                + " UNION SELECT `vaultUuid` FROM `vault_contents`) t WHERE `vaultUuid` > ? ORDER BY `vaultUuid` LIMIT ?;", afterUuid, limit);
+    }
+
+    private List<UUID> vaultPage(String sql, UUID afterUuid, int limit) {
+        return schema.mysql().withConnection(conn -> {
+            List<UUID> out = new ArrayList<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, afterUuid == null ? "" : key(afterUuid));
+                st.setInt(2, limit);
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) out.add(UUID.fromString(rs.getString("vaultUuid")));
+                }
+            }
+            return out;
+        });
+    }
+
+    private static String key(UUID uuid) {
+        return uuid.toString().toLowerCase();
+    }
+}
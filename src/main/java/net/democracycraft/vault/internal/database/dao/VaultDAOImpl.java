@@ -6,12 +6,28 @@ import net.democracycraft.vault.internal.database.entity.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
 
-public record VaultDAOImpl(DatabaseSchema schema) implements VaultDAO {
+/**
+ * @param index item summary index kept in step with item writes, or null to skip index maintenance
+ */
+public record VaultDAOImpl(DatabaseSchema schema, ItemLayout items, @Nullable VaultItemIndexDAO index) implements VaultDAO {
 
-    public VaultDAOImpl(@NotNull DatabaseSchema schema) {
+    /** Ids per IN (...) list in bulk queries. */
+    private static final int MAX_IN_PARAMS = 500;
+
+    public VaultDAOImpl(@NotNull DatabaseSchema schema, @NotNull ItemLayout items, @Nullable VaultItemIndexDAO index) {
         this.schema = Objects.requireNonNull(schema, "schema");
+        this.items = Objects.requireNonNull(items, "items");
+        this.index = index;
+    }
+
+    /** Uses the per-slot row layout. */
+    public VaultDAOImpl(@NotNull DatabaseSchema schema) {
+        this(schema, new RowItemLayout(new VaultContentsDAO(schema)), new VaultItemIndexDAO(schema));
     }
 
     @Override
@@ -40,6 +56,41 @@ public record VaultDAOImpl(DatabaseSchema schema) implements VaultDAO {
         schema.vaultOwners().insertOrUpdateSync(owner);
     }
 
+    @Override
+    public void createVaults(@NotNull List<NewVault> vaults) {
+        Objects.requireNonNull(vaults, "vaults");
+        if (vaults.isEmpty()) return;
+        List<VaultEntity> rows = new ArrayList<>(vaults.size());
+        List<VaultOwnerEntity> owners = new ArrayList<>(vaults.size());
+        for (NewVault created : vaults) {
+            Objects.requireNonNull(created.vault().uuid, "vault.uuid");
+            rows.add(created.vault());
+            VaultOwnerEntity owner = new VaultOwnerEntity();
+            owner.vaultUuid = created.vault().uuid;
+            owner.ownerUuid = created.ownerUuid();
+            owners.add(owner);
+            for (VaultItemEntity row : created.items()) {
+                row.vaultUuid = created.vault().uuid;
+                if (row.uuid == null) row.uuid = UUID.randomUUID();
+            }
+        }
+        List<IndexRows> indexed = new ArrayList<>(vaults.size());
+        for (NewVault created : vaults) {
+            IndexRows entries = describe(created.vault().uuid, created.items());
+            if (entries != null) indexed.add(entries);
+        }
+        // The batch inserts run on the transaction's connection (same thread, same lock), so they join it.
+        schema.mysql().withTransaction(conn -> {
+            schema.vaults().insertBatchSync(rows);
+            schema.vaultOwners().insertBatchSync(owners);
+            for (NewVault created : vaults) {
+                if (!created.items().isEmpty()) items.put(conn, created.vault().uuid, created.items());
+            }
+            for (IndexRows entries : indexed) entries.write(index, conn);
+            return null;
+        });
+    }
+
     @Override
     public @Nullable VaultEntity getVault(@NotNull UUID vaultUuid) {
         Objects.requireNonNull(vaultUuid, "vaultUuid");
@@ -61,7 +112,81 @@ public record VaultDAOImpl(DatabaseSchema schema) implements VaultDAO {
     @Override
     public void deleteVault(@NotNull UUID vaultUuid) {
         Objects.requireNonNull(vaultUuid, "vaultUuid");
-        schema.vaults().deleteById(vaultUuid);
+        // Release shared item blob references before the FK cascade drops the rows holding them. Synchronous, so
+        // that callers ordering work on this vault (KeyedSerialExecutor) see the delete done when their task ends.
+        schema.mysql().withTransaction(conn -> {
+            items.contents().deleteRows(conn, vaultUuid);
+            schema.vaults().deleteWhereSync(Map.of("uuid", vaultUuid));
+            return null;
+        });
+    }
+
+    @Override
+    public @NotNull Map<UUID, OwnedVault> getVaultsWithOwners(@NotNull Collection<UUID> vaultUuids) {
+        Objects.requireNonNull(vaultUuids, "vaultUuids");
+        if (vaultUuids.isEmpty()) return Map.of();
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(vaultUuids));
+        return schema.mysql().withConnection(conn -> {
+            Map<UUID, OwnedVault> out = new LinkedHashMap<>();
+            for (int from = 0; from < ids.size(); from += MAX_IN_PARAMS) {
+                List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_PARAMS));
+                String sql = "SELECT v.*, o.`ownerUuid` FROM `vaults` v LEFT JOIN `vault_owners` o ON o.`vaultUuid` = v.`uuid`"
+                        + " WHERE v.`uuid` IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ");";
+                try (var st = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (UUID vaultUuid : chunk) st.setString(index++, vaultUuid.toString().toLowerCase());
+                    try (var rs = st.executeQuery()) {
+                        while (rs.next()) {
+                            VaultEntity vault = readVault(rs);
+                            out.put(vault.uuid, new OwnedVault(vault, uuidOrNull(rs.getString("ownerUuid"))));
+                        }
+                    }
+                }
+            }
+            return out;
+        });
+    }
+
+    @Override
+    public void deleteVaults(@NotNull Collection<UUID> vaultUuids) {
+        Objects.requireNonNull(vaultUuids, "vaultUuids");
+        if (vaultUuids.isEmpty()) return;
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(vaultUuids));
+        // Shared item blob references are released first; the FK cascade then drops owners, items and index rows.
+        schema.mysql().withTransaction(conn -> {
+            for (UUID vaultUuid : ids) items.contents().deleteRows(conn, vaultUuid);
+            for (int from = 0; from < ids.size(); from += MAX_IN_PARAMS) {
+                List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_PARAMS));
+                String sql = "DELETE FROM `vaults` WHERE `uuid` IN (" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ");";
+                try (var st = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (UUID vaultUuid : chunk) st.setString(index++, vaultUuid.toString().toLowerCase());
+                    st.executeUpdate();
+                }
+            }
+            return null;
+        });
+    }
+
+    /** Maps the {@code vaults} columns of the current row. */
+    private static VaultEntity readVault(ResultSet rs) throws SQLException {
+        VaultEntity vault = new VaultEntity();
+        vault.uuid = UUID.fromString(rs.getString("uuid"));
+        vault.worldUuid = uuidOrNull(rs.getString("worldUuid"));
+        vault.x = rs.getInt("x");
+        vault.y = rs.getInt("y");
+        vault.z = rs.getInt("z");
+        vault.material = rs.getString("material");
+        vault.blockData = rs.getString("blockData");
+        vault.status = rs.getString("status");
+        vault.type = rs.getString("type");
+        vault.createdAtEpochMillis = rs.getObject("createdAtEpochMillis", Long.class);
+        vault.updatedAtEpochMillis = rs.getObject("updatedAtEpochMillis", Long.class);
+        return vault;
+    }
+
+    private static @Nullable UUID uuidOrNull(@Nullable String value) {
+        return value == null || value.isBlank() ? null : UUID.fromString(value);
     }
 
     @Override
@@ -84,13 +209,18 @@ public record VaultDAOImpl(DatabaseSchema schema) implements VaultDAO {
     @Override
     public @NotNull List<VaultEntity> listByOwner(@NotNull UUID ownerUuid) {
         Objects.requireNonNull(ownerUuid, "ownerUuid");
-        List<VaultOwnerEntity> owners = schema.vaultOwners().findAllBy("ownerUuid", ownerUuid, null);
-        List<VaultEntity> out = new ArrayList<>(owners.size());
-        for (VaultOwnerEntity vaultOwnerEntity : owners) {
-            VaultEntity vaultEntity = schema.vaults().findBy("uuid", vaultOwnerEntity.vaultUuid);
-            if (vaultEntity != null) out.add(vaultEntity);
-        }
-        return out;
+        // One join over idx_vo_owner rather than a vault lookup per owned row.
+        String sql = "SELECT v.* FROM `vault_owners` o JOIN `vaults` v ON v.`uuid` = o.`vaultUuid` WHERE o.`ownerUuid` = ?;";
+        return schema.mysql().withConnection(conn -> {
+            List<VaultEntity> out = new ArrayList<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, ownerUuid.toString().toLowerCase());
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) out.add(readVault(rs));
+                }
+            }
+            return out;
+        });
     }
 
     @Override
@@ -125,26 +255,17 @@ public record VaultDAOImpl(DatabaseSchema schema) implements VaultDAO {
     @Override
     public void putItem(@NotNull UUID vaultUuid, int slot, int amount, byte[] itemBytes) {
         Objects.requireNonNull(vaultUuid, "vaultUuid");
-        Map<String, Object> where = new LinkedHashMap<>();
-        where.put("vaultUuid", vaultUuid);
-        where.put("slot", slot);
-        List<VaultItemEntity> rows = schema.vaultItems().findAllByMany(where, null);
-        VaultItemEntity itemEntity;
-        if (rows.isEmpty()) {
-            itemEntity = new VaultItemEntity();
-            itemEntity.uuid = UUID.randomUUID();
-            itemEntity.vaultUuid = vaultUuid;
-            itemEntity.slot = slot;
-        } else {
-            itemEntity = rows.getFirst();
-        }
+        VaultItemEntity itemEntity = new VaultItemEntity();
+        itemEntity.uuid = UUID.randomUUID();
+        itemEntity.vaultUuid = vaultUuid;
+        itemEntity.slot = slot;
         itemEntity.amount = amount;
         itemEntity.item = itemBytes;
-        schema.vaultItems().insertOrUpdateSync(itemEntity);
+        write(vaultUuid, List.of(itemEntity));
     }
 
     /**
-     * Batch insert/update items for a vault.
+     * Batch insert/update items for a vault in one transaction of the configured {@link ItemLayout}.
      * Strategy: generate synthetic UUIDs; rely on unique (vaultUuid,slot) to trigger ON DUPLICATE KEY UPDATE.
      */
     @Override
@@ -157,21 +278,122 @@ public record VaultDAOImpl(DatabaseSchema schema) implements VaultDAO {
             if (row.vaultUuid == null) row.vaultUuid = vaultUuid;
             if (row.uuid == null) row.uuid = UUID.randomUUID();
         }
-        schema.vaultItems().insertBatchSync(items);
+        write(vaultUuid, items);
     }
 
     @Override
     public void removeItem(@NotNull UUID vaultUuid, int slot) {
         Objects.requireNonNull(vaultUuid, "vaultUuid");
-        Map<String, Object> where = new LinkedHashMap<>();
-        where.put("vaultUuid", vaultUuid);
-        where.put("slot", slot);
-        schema.vaultItems().deleteWhereSync(where);
+        erase(vaultUuid, List.of(slot));
+    }
+
+    @Override
+    public void removeItems(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) {
+        Objects.requireNonNull(vaultUuid, "vaultUuid");
+        Objects.requireNonNull(slots, "slots");
+        if (slots.isEmpty()) return;
+        // One transaction and one statement (one packed rewrite) for the whole batch.
+        erase(vaultUuid, List.copyOf(new LinkedHashSet<>(slots)));
+    }
+
+    /** Writes slots and their index entries in one transaction, so the index never disagrees with committed items. */
+    private void write(UUID vaultUuid, Collection<VaultItemEntity> rows) {
+        IndexRows entries = describe(vaultUuid, rows);
+        schema.mysql().withTransaction(conn -> {
+            items.put(conn, vaultUuid, rows);
+            if (entries != null) entries.write(index, conn);
+            return null;
+        });
+    }
+
+    /** Empties slots and drops their index entries in one transaction. */
+    private void erase(UUID vaultUuid, Collection<Integer> slots) {
+        schema.mysql().withTransaction(conn -> {
+            items.remove(conn, vaultUuid, slots);
+            if (index != null) index.remove(conn, vaultUuid, slots);
+            return null;
+        });
+    }
+
+    /**
+     * Index entries for slots about to be written, or null without an index. Rows serialized by the plugin carry
+     * their index summary; others are decoded here, before the write takes the connection. Slots whose payload
+     * cannot be decoded are dropped from the index.
+     */
+    private @Nullable IndexRows describe(UUID vaultUuid, Collection<VaultItemEntity> rows) {
+        if (index == null || rows.isEmpty()) return null;
+        List<VaultItemIndexEntity> entries = new ArrayList<>(rows.size());
+        List<Integer> unreadable = new ArrayList<>();
+        for (VaultItemEntity row : rows) {
+            VaultItemIndexEntity entry = VaultItemIndexDAO.describe(vaultUuid, row);
+            if (entry != null) entries.add(entry);
+            else unreadable.add(row.slot);
+        }
+        return new IndexRows(vaultUuid, entries, unreadable);
+    }
+
+    /** Index changes of one item write; applied on the write's connection. */
+    private record IndexRows(UUID vaultUuid, List<VaultItemIndexEntity> entries, List<Integer> unreadable) {
+        void write(VaultItemIndexDAO index, Connection conn) throws SQLException {
+            index.remove(conn, vaultUuid, unreadable);
+            index.upsert(conn, entries);
+        }
     }
 
     @Override
     public @NotNull List<VaultItemEntity> listItems(@NotNull UUID vaultUuid) {
         Objects.requireNonNull(vaultUuid, "vaultUuid");
-        return schema.vaultItems().findAllBy("vaultUuid", vaultUuid, "slot");
+        return items.list(vaultUuid);
+    }
+
+    @Override
+    public @NotNull List<VaultItemEntity> listItems(@NotNull UUID vaultUuid, int fromSlot, int toSlot) {
+        Objects.requireNonNull(vaultUuid, "vaultUuid");
+        if (toSlot < fromSlot) return List.of();
+        return items.list(vaultUuid, fromSlot, toSlot);
+    }
+
+    @Override
+    public int maxSlot(@NotNull UUID vaultUuid) {
+        Objects.requireNonNull(vaultUuid, "vaultUuid");
+        return schema.mysql().withConnection(conn -> items.contents().maxSlot(conn, vaultUuid));
+    }
+
+    @Override
+    public @NotNull Map<UUID, Integer> maxSlotsByOwner(@NotNull UUID ownerUuid) {
+        Objects.requireNonNull(ownerUuid, "ownerUuid");
+        // Covers both item layouts, so vaults not yet migrated are counted correctly.
+        String sql = "SELECT v.`uuid` AS vaultUuid,"
+                + " GREATEST(COALESCE(MAX(i.`slot`), -1), COALESCE(MAX(c.`maxSlot`), -1)) AS maxSlot FROM `vault_owners` o"
+                + " JOIN `vaults` v ON v.`uuid` = o.`vaultUuid`"
+                + " LEFT JOIN `vault_items` i ON i.`vaultUuid` = v.`uuid`"
+                + " LEFT JOIN `vault_contents` c ON c.`vaultUuid` = v.`uuid`"
+                + " WHERE o.`ownerUuid` = ?"
+                + " GROUP BY v.`uuid`, v.`createdAtEpochMillis`"
+                + " ORDER BY v.`createdAtEpochMillis` IS NULL, v.`createdAtEpochMillis`;";
+        return schema.mysql().withConnection(conn -> {
+            Map<UUID, Integer> out = new LinkedHashMap<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, ownerUuid.toString().toLowerCase());
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        out.put(UUID.fromString(rs.getString("vaultUuid")), rs.getInt("maxSlot"));
+                    }
+                }
+            }
+            return out;
+        });
+    }
+
+    @Override
+    public @NotNull Map<UUID, Integer> findVaultsContaining(@NotNull String material, int limit) {
+        Objects.requireNonNull(material, "material");
+        return index == null ? Map.of() : index.vaultsContaining(material, limit);
+    }
+
+    @Override
+    public @NotNull Map<UUID, Integer> countItems(@NotNull Collection<UUID> vaultUuids) {
+        Objects.requireNonNull(vaultUuids, "vaultUuids");
+        return index == null ? Map.of() : index.slotCounts(vaultUuids);
     }
 }
@@ -0,0 +1,246 @@
+package net.democracycraft.vault.internal.database.dao;
+
+import net.democracycraft.vault.internal.database.DatabaseSchema;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.database.entity.VaultItemIndexEntity;
+import net.democracycraft.vault.internal.util.item.ItemSerialization;
+import net.democracycraft.vault.internal.util.item.PackedSlots;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Access to {@code vault_item_index}, the per-slot material/amount/name summary of every vault. The index is
+ * written alongside the item layouts by {@link VaultDAOImpl} and answers content queries without reading or
+ * decoding item payloads. Methods taking a {@link Connection} run on the caller's connection. All methods are
+ * synchronous; call them off the main thread.
+ */
+public record VaultItemIndexDAO(DatabaseSchema schema) {
+
+    /** Longest stored display name; matches the VARCHAR(255) column. */
+    private static final int MAX_NAME_LENGTH = 255;
+    /** Vaults per IN (...) list in {@link #slotCounts}. */
+    private static final int MAX_IN_PARAMS = 500;
+
+    public VaultItemIndexDAO(@NotNull DatabaseSchema schema) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+    }
+
+    /**
+     * Index entry for a stored slot, or null if its payload is empty or cannot be decoded. Uses the summary noted
+     * by {@link #summarize} when there is one; otherwise decodes the item, running the DataFixer on items stored
+     * by an older version.
+     */
+    public static @Nullable VaultItemIndexEntity describe(@NotNull UUID vaultUuid, @NotNull VaultItemEntity row) {
+        if (row.item == null || row.item.length == 0) return null;
+        String material = row.material;
+        String displayName = row.displayName;
+        if (material == null || displayName == null) {
+            ItemStack stack;
+            try {
+                stack = ItemSerialization.fromBytes(row.item);
+            } catch (RuntimeException ex) {
+                return null;
+            }
+            if (stack == null || stack.getType().isAir()) return null;
+            material = stack.getType().name();
+            displayName = displayName(stack);
+        }
+        VaultItemIndexEntity entry = new VaultItemIndexEntity();
+        entry.uuid = PackedSlots.slotId(vaultUuid, row.slot);
+        entry.vaultUuid = vaultUuid;
+        entry.slot = row.slot;
+        entry.material = material;
+        entry.amount = row.amount;
+        entry.displayName = displayName;
+        return entry;
+    }
+
+    /** Notes {@code stack}'s index summary on the row serialized from it, so {@link #describe} need not decode it. */
+    public static void summarize(@NotNull VaultItemEntity row, @NotNull ItemStack stack) {
+        row.material = stack.getType().name();
+        row.displayName = displayName(stack);
+    }
+
+    /**
+     * Normalized name of a stack for searching: the custom name as lower-case plain text with whitespace
+     * collapsed, or the material name in words ("netherite ingot") when it has none.
+     */
+    public static @NotNull String displayName(@NotNull ItemStack stack) {
+        String name = null;
+        ItemMeta meta = stack.getItemMeta();
+        if (meta != null && meta.hasDisplayName() && meta.displayName() != null) {
+            name = PlainTextComponentSerializer.plainText().serialize(meta.displayName());
+        }
+        if (name == null || name.isBlank()) {
+            name = stack.getType().name().replace('_', ' ');
+        }
+        name = name.toLowerCase(Locale.ROOT).strip().replaceAll("\\s+", " ");
+        return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+    }
+
+    /** Inserts or replaces the given entries of one vault in one batch. */
+    public void upsert(@NotNull Connection conn, @NotNull Collection<VaultItemIndexEntity> entries) throws SQLException {
+        if (entries.isEmpty()) return;
+        String sql = "INSERT INTO `vault_item_index` (`uuid`, `vaultUuid`, `slot`, `material`, `amount`, `displayName`) VALUES (?, ?, ?, ?, ?, ?)"
+                + " ON DUPLICATE KEY UPDATE `material` = VALUES(`material`), `amount` = VALUES(`amount`), `displayName` = VALUES(`displayName`);";
+        try (var st = conn.prepareStatement(sql)) {
+            for (VaultItemIndexEntity entry : entries) {
+                st.setString(1, key(entry.uuid));
+                st.setString(2, key(entry.vaultUuid));
+                st.setInt(3, entry.slot);
+                st.setString(4, entry.material);
+                st.setInt(5, entry.amount);
+                st.setString(6, entry.displayName);
+                st.addBatch();
+            }
+            st.executeBatch();
+        }
+    }
+
+    /** Removes the entries of the given slots of a vault. */
+    public void remove(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) throws SQLException {
+        if (slots.isEmpty()) return;
+        String sql = "DELETE FROM `vault_item_index` WHERE `vaultUuid` = ? AND `slot` IN ("
+                + String.join(",", Collections.nCopies(slots.size(), "?")) + ");";
+        try (var st = conn.prepareStatement(sql)) {
+            int index = 1;
+            st.setString(index++, key(vaultUuid));
+            for (int slot : slots) st.setInt(index++, slot);
+            st.executeUpdate();
+        }
+    }
+
+    /** Replaces every entry of a vault with {@code entries}. */
+    public void replace(@NotNull Connection conn, @NotNull UUID vaultUuid, @NotNull Collection<VaultItemIndexEntity> entries) throws SQLException {
+        try (var st = conn.prepareStatement("DELETE FROM `vault_item_index` WHERE `vaultUuid` = ?;")) {
+            st.setString(1, key(vaultUuid));
+            st.executeUpdate();
+        }
+        upsert(conn, entries);
+    }
+
+    /**
+     * Rebuilds a vault's entries from its stored items, read through {@code layout}; the entries are replaced in one
+     * transaction.
+     * @return number of indexed slots
+     */
+    public int rebuild(@NotNull UUID vaultUuid, @NotNull ItemLayout layout) {
+        // Decoded between the read and the write, so the connection is not held while items are decoded.
+        List<VaultItemIndexEntity> entries = new ArrayList<>();
+        for (VaultItemEntity row : layout.list(vaultUuid)) {
+            VaultItemIndexEntity entry = describe(vaultUuid, row);
+            if (entry != null) entries.add(entry);
+        }
+        return schema.mysql().withTransaction(conn -> {
+            replace(conn, vaultUuid, entries);
+            return entries.size();
+        });
+    }
+
+    /**
+     * Rebuilds a vault's entries from rows that are already decoded, {@code contents[slot]} being the stack of each
+     * row; rows without a stack are left out. The entries are replaced in one transaction.
+     * @return number of indexed slots
+     */
+    public int rebuild(@NotNull UUID vaultUuid, @NotNull List<VaultItemEntity> rows, @NotNull ItemStack[] contents) {
+        List<VaultItemIndexEntity> entries = new ArrayList<>();
+        for (VaultItemEntity row : rows) {
+            ItemStack stack = row.slot >= 0 && row.slot < contents.length ? contents[row.slot] : null;
+            if (stack == null || stack.getType().isAir()) continue;
+            summarize(row, stack);
+            VaultItemIndexEntity entry = describe(vaultUuid, row);
+            if (entry != null) entries.add(entry);
+        }
+        return schema.mysql().withTransaction(conn -> {
+            replace(conn, vaultUuid, entries);
+            return entries.size();
+        });
+    }
+
+    /**
+     * Vaults holding a material, mapped to the total amount they hold, largest first.
+     * @param material Material name, e.g. {@code NETHERITE_INGOT}
+     */
+    public @NotNull Map<UUID, Integer> vaultsContaining(@NotNull String material, int limit) {
+        String sql = "SELECT `vaultUuid`, SUM(`amount`) AS total FROM `vault_item_index` WHERE `material` = ?"
+                + " GROUP BY `vaultUuid` ORDER BY total DESC LIMIT ?;";
+        return schema.mysql().withConnection(conn -> {
+            Map<UUID, Integer> out = new LinkedHashMap<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, material.toUpperCase(Locale.ROOT));
+                st.setInt(2, limit);
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) out.put(UUID.fromString(rs.getString("vaultUuid")), rs.getInt("total"));
+                }
+            }
+            return out;
+        });
+    }
+
+    /**
+     * Number of occupied slots of each given vault; vaults without entries are absent from the result.
+     * Queries in chunks of {@value #MAX_IN_PARAMS} vaults.
+     */
+    public @NotNull Map<UUID, Integer> slotCounts(@NotNull Collection<UUID> vaultUuids) {
+        if (vaultUuids.isEmpty()) return Map.of();
+        List<UUID> ids = List.copyOf(vaultUuids);
+        return schema.mysql().withConnection(conn -> {
+            Map<UUID, Integer> out = new LinkedHashMap<>();
+            for (int from = 0; from < ids.size(); from += MAX_IN_PARAMS) {
+                List<UUID> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_PARAMS));
+                String sql = "SELECT `vaultUuid`, COUNT(*) AS n FROM `vault_item_index` WHERE `vaultUuid` IN ("
+                        + String.join(",", Collections.nCopies(chunk.size(), "?")) + ") GROUP BY `vaultUuid`;";
+                try (var st = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (UUID vaultUuid : chunk) st.setString(index++, key(vaultUuid));
+                    try (var rs = st.executeQuery()) {
+                        while (rs.next()) out.put(UUID.fromString(rs.getString("vaultUuid")), rs.getInt("n"));
+                    }
+                }
+            }
+            return out;
+        });
+    }
+
+    /**
+     * Next page of vaults that store items, after {@code afterUuid} in key order (keyset pagination). Covers every
+     * item layout.
+     * @param unindexedOnly only vaults without any index entries
+     */
+    public @NotNull List<UUID> storedVaultsAfter(@Nullable UUID afterUuid, int limit, boolean unindexedOnly) {
+        String sql = "SELECT `vaultUuid` FROM (SELECT `vaultUuid` FROM `vault_items` UNION SELECT `vaultUuid` FROM `vault_contents`) t"
+                + " WHERE `vaultUuid` > ?"
+                + (unindexedOnly ? " AND NOT EXISTS (SELECT 1 FROM `vault_item_index` x WHERE x.`vaultUuid` = t.`vaultUuid`)" : "")
+                + " ORDER BY `vaultUuid` LIMIT ?;";
+        return schema.mysql().withConnection(conn -> {
+            List<UUID> out = new ArrayList<>();
+            try (var st = conn.prepareStatement(sql)) {
+                st.setString(1, afterUuid == null ? "" : key(afterUuid));
+                st.setInt(2, limit);
+                try (var rs = st.executeQuery()) {
+                    while (rs.next()) out.add(UUID.fromString(rs.getString("vaultUuid")));
+                }
+            }
+            return out;
+        });
+    }
+
+    private static String key(UUID uuid) {
+        return uuid.toString().toLowerCase();
+    }
+}
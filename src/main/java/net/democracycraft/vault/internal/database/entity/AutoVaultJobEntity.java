@@ -0,0 +1,22 @@
+package net.democracycraft.vault.internal.database.entity;
+
+import java.util.UUID;
+
+/**
+ * Persisted auto-vault sweep for a region, so queued and in-progress sweeps survive restarts.
+ * Synthetic UUID as PK; several rows may exist for the same (worldUuid, regionId) when a sweep is
+ * running and a newer one is queued behind it.
+ */
+public class AutoVaultJobEntity {
+    public UUID uuid;          // PK (job id)
+    public UUID worldUuid;     // world the region lives in
+    public String regionId;    // WorldGuard region id (lower-case)
+    public UUID initiatorUuid; // new occupant; vault creator and exempt from vaulting
+    public Long dueAtEpochMillis; // earliest time the sweep may start
+    public String status;      // PENDING or RUNNING
+    public String phase;       // BLOCKS or HANGINGS (meaningful while RUNNING)
+    public int chunkIndex;     // chunks of the current phase below this index are done
+    public Long createdAtEpochMillis;
+
+    public AutoVaultJobEntity() {}
+}
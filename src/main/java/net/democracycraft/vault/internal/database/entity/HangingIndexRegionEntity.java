@@ -0,0 +1,16 @@
+package net.democracycraft.vault.internal.database.entity;
+
+import java.util.UUID;
+
+/**
+ * A region whose hangings have all been recorded in the hanging location index by one full hanging pass.
+ * Later sweeps of the region only load the chunks the index points at.
+ */
+public class HangingIndexRegionEntity {
+    public UUID uuid;      // PK (name-based UUID of "worldUuid:regionId")
+    public UUID worldUuid; // world the region lives in
+    public String regionId; // WorldGuard region id (lower-case)
+    public Long indexedAtEpochMillis;
+
+    public HangingIndexRegionEntity() {}
+}
@@ -0,0 +1,19 @@
+package net.democracycraft.vault.internal.database.entity;
+
+import java.util.UUID;
+
+/**
+ * Last known block position of a Bolt-protected item frame or painting.
+ * Bolt only resolves entity protections for loaded entities; this index lets a sweep find the
+ * chunks that may hold protected hangings without loading the whole region.
+ */
+public class HangingLocationEntity {
+    public UUID uuid;      // PK (entity UUID, equals the Bolt EntityProtection id)
+    public UUID worldUuid; // world the entity was last seen in
+    public int x;          // block coordinates of the entity when last seen
+    public int y;
+    public int z;
+    public Long updatedAtEpochMillis;
+
+    public HangingLocationEntity() {}
+}
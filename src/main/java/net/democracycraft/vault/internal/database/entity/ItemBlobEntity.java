@@ -0,0 +1,14 @@
+package net.democracycraft.vault.internal.database.entity;
+
+/**
+ * Content-addressed item payload shared by every {@link VaultItemEntity} row that references it through
+ * {@code itemHash} (deduplicated storage layout).
+ */
+public class ItemBlobEntity {
+    public String hash;    // PK, SHA-256 hex of bytes
+    public byte[] bytes;   // framed item payload (BLOB)
+    public int refcount;   // number of vault_items rows referencing this blob; <= 0 means collectable
+    public Long createdAtEpochMillis;
+
+    public ItemBlobEntity() {}
+}
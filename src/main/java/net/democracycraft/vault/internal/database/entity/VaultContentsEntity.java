@@ -0,0 +1,18 @@
+package net.democracycraft.vault.internal.database.entity;
+
+import java.util.UUID;
+
+/**
+ * Whole contents of a vault in the packed storage layout: one row per vault holding every slot in a
+ * single length-prefixed array (see {@code PackedSlots}), instead of one {@link VaultItemEntity} row per slot.
+ */
+public class VaultContentsEntity {
+    public UUID vaultUuid;   // PK, FK -> VaultEntity.uuid
+    public byte[] contents;  // packed slot array (MEDIUMBLOB)
+    public int slotCount;    // number of occupied slots in contents
+    public int maxSlot;      // highest occupied slot, -1 when empty; lets slot queries skip the BLOB
+    public int minDataVersion; // oldest item data version in contents, -1 if any item carries none
+    public Long updatedAtEpochMillis;
+
+    public VaultContentsEntity() {}
+}
@@ -11,7 +11,12 @@ public class VaultItemEntity {
     public UUID vaultUuid; // FK -> VaultEntity.uuid
     public int slot;       // slot index in the vault
     public int amount;     // stack amount
-    public byte[] item;    // serialized ItemStack (BLOB)
+    public byte[] item;    // serialized ItemStack (BLOB); null when stored by reference
+    public String itemHash; // item_blobs.hash of the payload in the deduplicated layout, else null
+    // Item index summary noted when the row is serialized from a live ItemStack, so indexing need not decode
+    // the payload again; not persisted here (see VaultItemIndexDAO#summarize).
+    public transient String material;
+    public transient String displayName;
 
     public VaultItemEntity() {}
 }
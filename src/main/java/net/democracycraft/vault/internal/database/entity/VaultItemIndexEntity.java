@@ -0,0 +1,19 @@
+package net.democracycraft.vault.internal.database.entity;
+
+import java.util.UUID;
+
+/**
+ * Denormalized summary of one occupied vault slot, kept next to the item payload so content queries
+ * (which vaults hold a material, how full a vault is, name searches) never decode item BLOBs.
+ * Derived data: rebuilt from the stored items whenever it is missing.
+ */
+public class VaultItemIndexEntity {
+    public UUID uuid;           // PK, PackedSlots.slotId(vaultUuid, slot)
+    public UUID vaultUuid;      // FK -> VaultEntity.uuid
+    public int slot;            // slot index in the vault
+    public String material;     // Material name, e.g. NETHERITE_INGOT
+    public int amount;          // stack amount
+    public String displayName;  // lower-case plain-text custom name, else the material name in words
+
+    public VaultItemIndexEntity() {}
+}
@@ -274,6 +274,52 @@ public class AutoTable<T> extends AbstractTable {
         });
     }
 
+    /**
+     * Returns all rows matching equality conditions in 'where' whose numeric fields in 'ranges'
+     * fall within the given inclusive {min, max} bounds.
+     */
+    public List<T> findAllWithin(Map<String, Object> where, Map<String, long[]> ranges) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM `" + tableName + "`");
+        List<String> conds = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (where != null) {
+            for (Map.Entry<String, Object> e : where.entrySet()) {
+                ensureFieldExists(e.getKey());
+                conds.add("`" + e.getKey() + "` = ?");
+                params.add(e.getValue());
+            }
+        }
+        if (ranges != null) {
+            for (Map.Entry<String, long[]> e : ranges.entrySet()) {
+                ensureFieldExists(e.getKey());
+                conds.add("`" + e.getKey() + "` BETWEEN ? AND ?");
+                params.add(e.getValue()[0]);
+                params.add(e.getValue()[1]);
+            }
+        }
+        if (!conds.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conds));
+        }
+        sql.append(";");
+        return mysql.withConnection(conn -> {
+            List<T> out = new ArrayList<>();
+            try (PreparedStatement st = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    Object v = params.get(i);
+                    Object queryValue = v;
+                    if (v instanceof UUID) {
+                        queryValue = v.toString().trim().toLowerCase();
+                    } else if (v instanceof String) {
+                        queryValue = ((String) v).trim();
+                    }
+                    st.setObject(i + 1, queryValue);
+                }
+                try (ResultSet rs = st.executeQuery()) { while (rs.next()) out.add(buildFromResultSet(rs)); }
+            }
+            return out;
+        });
+    }
+
     /** Returns all rows with an optional LIMIT. */
     public List<T> getAll(Integer limit) {
         String base = "SELECT * FROM `" + tableName + "`";
@@ -30,6 +30,7 @@ public final class Column<T> {
             return switch (name) {
                 case "uuid" -> "VARCHAR(36)";
                 case "state" -> "TEXT";
+                case "hash", "itemHash" -> "CHAR(64)"; // SHA-256 hex
                 default -> "VARCHAR(255)";
             };
         }
@@ -39,7 +40,10 @@ public final class Column<T> {
         if (type == float.class || type == Float.class) return "FLOAT";
         if (type == boolean.class || type == Boolean.class) return "BOOLEAN";
         if (type == UUID.class) return "VARCHAR(36)";
-        if (type == byte[].class) return "BLOB";
+        if (type == byte[].class) {
+            // A packed vault holds every slot in one value; BLOB's 64 KiB is too small for that.
+            return "contents".equals(name) ? "MEDIUMBLOB" : "BLOB";
+        }
         // Fallback to JSON for complex types
         return "JSON";
     }
@@ -0,0 +1,141 @@
+package net.democracycraft.vault.internal.listener;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.api.service.BoltService;
+import net.democracycraft.vault.internal.database.dao.HangingLocationDAO;
+import net.democracycraft.vault.internal.database.entity.HangingLocationEntity;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ItemFrame;
+import org.bukkit.entity.Painting;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.hanging.HangingBreakEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Keeps the last-known-location index of Bolt-protected item frames and paintings current. Entities are
+ * recorded when their chunk's entities load or unload (which also covers hangings protected while loaded)
+ * and dropped when they break. Writes run asynchronously as background database work; writes the executor turns
+ * away while it is overloaded are kept, newest per entity, and retried until they are accepted, so the index does
+ * not drift from the world.
+ */
+public final class HangingLocationListener implements Listener {
+
+    private static final long RETRY_TICKS = 100L;
+    /** Marks a deferred delete in {@link #deferred}. */
+    private static final HangingLocationEntity DELETE = new HangingLocationEntity();
+
+    private final VaultStoragePlugin plugin;
+    private final HangingLocationDAO dao;
+    /** Writes turned away by the executor, by entity: the row to save, or {@link #DELETE}. Main thread only. */
+    private final Map<UUID, HangingLocationEntity> deferred = new LinkedHashMap<>();
+    private boolean retryScheduled;
+
+    public HangingLocationListener(@NotNull VaultStoragePlugin plugin, @NotNull HangingLocationDAO dao) {
+        this.plugin = plugin;
+        this.dao = dao;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        record(event.getEntities());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        record(event.getEntities());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHangingBreak(HangingBreakEvent event) {
+        if (!(event.getEntity() instanceof ItemFrame) && !(event.getEntity() instanceof Painting)) {
+            return;
+        }
+        Map<UUID, HangingLocationEntity> writes = new LinkedHashMap<>();
+        writes.put(event.getEntity().getUniqueId(), DELETE);
+        write(writes);
+    }
+
+    private void record(@NotNull List<Entity> entities) {
+        BoltService bolt = plugin.getBoltService();
+        if (bolt == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Map<UUID, HangingLocationEntity> rows = new LinkedHashMap<>();
+        for (Entity entity : entities) {
+            if (!(entity instanceof ItemFrame) && !(entity instanceof Painting)) continue;
+            if (bolt.getOwner(entity) == null) continue;
+            HangingLocationEntity row = new HangingLocationEntity();
+            row.uuid = entity.getUniqueId();
+            row.worldUuid = entity.getWorld().getUID();
+            row.x = entity.getLocation().getBlockX();
+            row.y = entity.getLocation().getBlockY();
+            row.z = entity.getLocation().getBlockZ();
+            row.updatedAtEpochMillis = now;
+            rows.put(row.uuid, row);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        write(rows);
+    }
+
+    /** Saves or deletes the given rows; queued behind the deferred writes, if any, to keep their order. */
+    private void write(Map<UUID, HangingLocationEntity> writes) {
+        if (!deferred.isEmpty()) {
+            writes.forEach((uuid, row) -> {
+                deferred.remove(uuid);
+                deferred.put(uuid, row);
+            });
+            return;
+        }
+        if (!submit(writes)) defer(writes);
+    }
+
+    /** Hands {@code writes} to the database executor; {@code false} if it turned them away. */
+    private boolean submit(Map<UUID, HangingLocationEntity> writes) {
+        List<HangingLocationEntity> saves = new ArrayList<>();
+        List<UUID> deletes = new ArrayList<>();
+        writes.forEach((uuid, row) -> {
+            if (row == DELETE) deletes.add(uuid);
+            else saves.add(row);
+        });
+        return plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.BACKGROUND, () -> {
+            try {
+                if (!deletes.isEmpty()) dao.deleteAll(deletes);
+                if (!saves.isEmpty()) dao.saveAll(saves);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "[HangingLocationListener] Failed to update " + writes.size() + " hanging location(s).", ex);
+            }
+        });
+    }
+
+    /** Keeps {@code writes} for the retry, without replacing newer deferred writes of the same entities. */
+    private void defer(Map<UUID, HangingLocationEntity> writes) {
+        writes.forEach(deferred::putIfAbsent);
+        plugin.getMetrics().counter("vault_hanging_index_deferred_total").add(writes.size());
+        if (retryScheduled) return;
+        retryScheduled = true;
+        new ProfiledRunnable("hanging.index.retry") {
+            @Override protected void runProfiled() {
+                retryScheduled = false;
+                Map<UUID, HangingLocationEntity> retry = new LinkedHashMap<>(deferred);
+                deferred.clear();
+                if (!submit(retry)) defer(retry);
+            }
+        }.runTaskLater(plugin, RETRY_TICKS);
+    }
+}
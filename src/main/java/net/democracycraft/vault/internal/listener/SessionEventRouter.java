@@ -0,0 +1,165 @@
+package net.democracycraft.vault.internal.listener;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.metrics.MainThreadProfiler;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import net.democracycraft.vault.internal.session.VaultSessionManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one listener behind capture/placement sessions and open vault inventories. It is registered once at startup
+ * and hands each event to the handler bound for the player involved, if any, with a single map lookup; binding and
+ * unbinding a handler never touches Bukkit's handler lists.
+ * <p>
+ * A player has at most one {@link SessionHandler}, bound while a capture or placement session waits for clicks
+ * and dropped when the player quits, and at most one {@link InventoryHandler}, bound to the vault inventory the
+ * player has open. Inventory events only reach the handler while that inventory is the top one of the view.
+ * Handlers run timed by the {@link MainThreadProfiler} as {@code listener.SessionEventRouter#<method>}.
+ * <p>
+ * Session handlers see interactions at {@link EventPriority#LOWEST} with cancelled events included, so a session
+ * claims its clicks before protection plugins act on them.
+ */
+public final class SessionEventRouter implements Listener {
+
+    /** Click handling of one capture or placement session. */
+    public interface SessionHandler {
+        void onInteract(@NotNull PlayerInteractEvent event);
+
+        default void onInteractEntity(@NotNull PlayerInteractEntityEvent event) {}
+    }
+
+    /** Click, drag and close handling of one open vault inventory. */
+    public interface InventoryHandler {
+        default void onClick(@NotNull InventoryClickEvent event) {}
+
+        default void onDrag(@NotNull InventoryDragEvent event) {}
+
+        void onClose(@NotNull InventoryCloseEvent event);
+    }
+
+    private record InventoryRoute(Inventory inventory, InventoryHandler handler) {}
+
+    private final MainThreadProfiler profiler;
+    private final Map<UUID, SessionHandler> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, InventoryRoute> inventories = new ConcurrentHashMap<>();
+
+    public SessionEventRouter(@NotNull MainThreadProfiler profiler, @NotNull MetricsRegistry metrics) {
+        this.profiler = profiler;
+        metrics.gauge("vault_event_router_handlers", sessions::size, "kind", "session");
+        metrics.gauge("vault_event_router_handlers", inventories::size, "kind", "inventory");
+    }
+
+    /** Routes {@code playerId}'s interactions to {@code handler}, replacing the handler bound before. */
+    public void bindSession(@NotNull UUID playerId, @NotNull SessionHandler handler) {
+        sessions.put(playerId, handler);
+    }
+
+    /** Stops routing to {@code handler}; does nothing if another handler has been bound since. */
+    public void unbindSession(@NotNull UUID playerId, @NotNull SessionHandler handler) {
+        sessions.remove(playerId, handler);
+    }
+
+    /**
+     * Routes {@code playerId}'s events on {@code inventory} to {@code handler}. Bind once the inventory is open:
+     * opening it closes the previous one, and that close event still has to reach the previous handler.
+     */
+    public void bindInventory(@NotNull UUID playerId, @NotNull Inventory inventory, @NotNull InventoryHandler handler) {
+        inventories.put(playerId, new InventoryRoute(inventory, handler));
+    }
+
+    /** Stops routing {@code playerId}'s events on {@code inventory}; a route to another inventory is kept. */
+    public void unbindInventory(@NotNull UUID playerId, @NotNull Inventory inventory) {
+        inventories.computeIfPresent(playerId, (id, route) -> route.inventory() == inventory ? null : route);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = false)
+    public void onInteract(PlayerInteractEvent event) {
+        SessionHandler handler = sessions.get(event.getPlayer().getUniqueId());
+        if (handler == null) return;
+        long token = profiler.begin("listener.SessionEventRouter#onInteract", event.getPlayer().getName());
+        try {
+            handler.onInteract(event);
+        } finally {
+            profiler.end(token);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = false)
+    public void onInteractEntity(PlayerInteractEntityEvent event) {
+        SessionHandler handler = sessions.get(event.getPlayer().getUniqueId());
+        if (handler == null) return;
+        long token = profiler.begin("listener.SessionEventRouter#onInteractEntity", event.getPlayer().getName());
+        try {
+            handler.onInteractEntity(event);
+        } finally {
+            profiler.end(token);
+        }
+    }
+
+    @EventHandler
+    public void onClick(InventoryClickEvent event) {
+        InventoryHandler handler = route(event.getWhoClicked().getUniqueId(), event.getView().getTopInventory());
+        if (handler == null) return;
+        long token = profiler.begin("listener.SessionEventRouter#onClick", event.getWhoClicked().getName());
+        try {
+            handler.onClick(event);
+        } finally {
+            profiler.end(token);
+        }
+    }
+
+    @EventHandler
+    public void onDrag(InventoryDragEvent event) {
+        InventoryHandler handler = route(event.getWhoClicked().getUniqueId(), event.getView().getTopInventory());
+        if (handler == null) return;
+        long token = profiler.begin("listener.SessionEventRouter#onDrag", event.getWhoClicked().getName());
+        try {
+            handler.onDrag(event);
+        } finally {
+            profiler.end(token);
+        }
+    }
+
+    @EventHandler
+    public void onClose(InventoryCloseEvent event) {
+        InventoryHandler handler = route(event.getPlayer().getUniqueId(), event.getInventory());
+        if (handler == null) return;
+        long token = profiler.begin("listener.SessionEventRouter#onClose", event.getPlayer().getName());
+        try {
+            handler.onClose(event);
+        } finally {
+            profiler.end(token);
+        }
+    }
+
+    /**
+     * Ends the player's capture or placement session, so a rejoin starts in {@link VaultSessionManager.Mode#NONE}
+     * instead of a mode whose handler is gone. The inventory route stays: the server closes the player's inventory
+     * after the quit event, and that close event still saves the vault.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        UUID playerId = event.getPlayer().getUniqueId();
+        VaultStoragePlugin.getInstance().getSessionManager().end(playerId);
+        sessions.remove(playerId);
+    }
+
+    private InventoryHandler route(UUID playerId, Inventory inventory) {
+        InventoryRoute route = inventories.get(playerId);
+        return route != null && route.inventory() == inventory ? route.handler() : null;
+    }
+}
@@ -0,0 +1,281 @@
+package net.democracycraft.vault.internal.metrics;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.plugin.EventExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Attributes main-thread time spent in this plugin's tasks and event handlers to named operations.
+ * <p>
+ * Work is bracketed with {@link #begin}/{@link #end} (or run through {@link #run}, the {@code wrap} helpers or
+ * {@link ProfiledRunnable}). While enabled, each execution is timed into {@code vault_main_thread_seconds{operation}},
+ * the plugin's total per server tick is kept for the last {@value #WINDOW_TICKS} ticks, and an execution longer than
+ * the slow threshold is logged with its context and the main thread's stack as sampled while it was still running.
+ * Nested operations are timed on their own but count once towards the tick total.
+ * <p>
+ * While disabled, {@link #begin} returns after one volatile read and {@link #end} after one comparison, so the
+ * brackets can stay in place permanently. Executions off the main thread are not timed.
+ */
+public final class MainThreadProfiler {
+
+    /** Returned by {@link #begin} when nothing is being timed; {@link #end} ignores it. */
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final int WINDOW_TICKS = 200;
+
+    private final Logger logger;
+    private final MetricsRegistry metrics;
+
+    private volatile boolean enabled;
+    private volatile long slowThresholdNanos;
+
+    // Main-thread only.
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private final Map<String, LatencyHistogram> byOperation = new HashMap<>();
+    private final Map<String, long[]> operationTotals = new HashMap<>();
+
+    // Written on the main thread, read by the metrics dump; a torn read only skews one sample.
+    private final long[] tickNanos = new long[WINDOW_TICKS];
+    private final int[] tickNumbers = new int[WINDOW_TICKS];
+
+    /** Outermost running execution, watched for the slow-call stack sample. */
+    private volatile Frame outermost;
+    private volatile Thread mainThread;
+    private volatile Thread watchdog;
+
+    private static final class Frame {
+        final String operation;
+        final Object context;
+        final long startNanos;
+        volatile StackTraceElement[] sample;
+        volatile long sampledAfterNanos;
+
+        Frame(String operation, Object context, long startNanos) {
+            this.operation = operation;
+            this.context = context;
+            this.startNanos = startNanos;
+        }
+    }
+
+    public MainThreadProfiler(@NotNull Logger logger, @NotNull MetricsRegistry metrics, long slowThresholdMillis) {
+        this.logger = logger;
+        this.metrics = metrics;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, slowThresholdMillis));
+        metrics.gauge("vault_main_thread_tick_seconds", () -> windowAverageNanos() / 1e9, "stat", "avg");
+        metrics.gauge("vault_main_thread_tick_seconds", () -> windowMaxNanos() / 1e9, "stat", "max");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns timing on or off; takes effect for executions that begin afterwards. Enabling resets the per-operation
+     * totals of {@link #report}. Call on the main thread.
+     */
+    public synchronized void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) return;
+        this.enabled = enabled;
+        if (enabled) {
+            operationTotals.clear();
+            watchdog = new Thread(this::watch, "VaultStorage-profiler");
+            watchdog.setDaemon(true);
+            watchdog.start();
+        } else if (watchdog != null) {
+            LockSupport.unpark(watchdog);
+            watchdog = null;
+        }
+    }
+
+    public long slowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public void setSlowThresholdMillis(long millis) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, millis));
+    }
+
+    /**
+     * Starts timing {@code operation}. {@code context} (a player, a location, a vault id...) is only turned into
+     * text if the execution turns out slow. Pair with {@link #end} in a {@code finally} block.
+     *
+     * @return a token for {@link #end}
+     */
+    public long begin(@NotNull String operation, @Nullable Object context) {
+        if (!enabled || !Bukkit.isPrimaryThread()) return NOT_TIMED;
+        long now = System.nanoTime();
+        Frame frame = new Frame(operation, context, now);
+        if (frames.isEmpty()) {
+            mainThread = Thread.currentThread();
+            outermost = frame;
+        }
+        frames.push(frame);
+        return now;
+    }
+
+    /** Stops the timing started by the {@link #begin} call that returned {@code token}. */
+    public void end(long token) {
+        if (token == NOT_TIMED) return;
+        long elapsed = System.nanoTime() - token;
+        Frame frame = frames.poll();
+        if (frame == null) return;
+        byOperation.computeIfAbsent(frame.operation, op -> metrics.histogram("vault_main_thread_seconds", "operation", op)).record(elapsed);
+        long[] totals = operationTotals.computeIfAbsent(frame.operation, op -> new long[2]);
+        totals[0]++;
+        totals[1] += elapsed;
+        if (frames.isEmpty()) {
+            outermost = null;
+            addToTick(elapsed);
+        }
+        if (elapsed > slowThresholdNanos) logSlow(frame, elapsed);
+    }
+
+    /** Runs {@code task} timed as {@code operation}. */
+    public void run(@NotNull String operation, @Nullable Object context, @NotNull Runnable task) {
+        long token = begin(operation, context);
+        try {
+            task.run();
+        } finally {
+            end(token);
+        }
+    }
+
+    /** {@code task}, timed as {@code operation} whenever it runs. */
+    public @NotNull Runnable wrap(@NotNull String operation, @Nullable Object context, @NotNull Runnable task) {
+        return () -> run(operation, context, task);
+    }
+
+    /** {@code callback}, timed as {@code operation} whenever it runs; the argument is the context. */
+    public <T> @NotNull Consumer<T> wrap(@NotNull String operation, @NotNull Consumer<T> callback) {
+        return value -> {
+            long token = begin(operation, value);
+            try {
+                callback.accept(value);
+            } finally {
+                end(token);
+            }
+        };
+    }
+
+    /** {@code executor}, timed as {@code operation}; events that are not an {@code eventClass} pass untimed. */
+    public @NotNull EventExecutor wrapHandler(@NotNull String operation, @NotNull Class<? extends Event> eventClass, @NotNull EventExecutor executor) {
+        return (listener, event) -> {
+            if (!enabled || !eventClass.isInstance(event)) {
+                executor.execute(listener, event);
+                return;
+            }
+            long token = begin(operation, event.getEventName());
+            try {
+                executor.execute(listener, event);
+            } finally {
+                end(token);
+            }
+        };
+    }
+
+    /**
+     * Summary for chat: state, the plugin's main-thread time per tick over the window, and the operations with
+     * the most total time since enabling.
+     */
+    public @NotNull List<String> report(int top) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "Profiler %s, slow threshold %d ms; per tick over the last %d ticks: avg %.3f ms, max %.3f ms",
+                enabled ? "on" : "off", slowThresholdMillis(), WINDOW_TICKS, windowAverageNanos() / 1e6, windowMaxNanos() / 1e6));
+        List<Map.Entry<String, long[]>> ops = new ArrayList<>(operationTotals.entrySet());
+        ops.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed());
+        for (Map.Entry<String, long[]> e : ops.subList(0, Math.min(top, ops.size()))) {
+            LatencyHistogram h = byOperation.get(e.getKey());
+            lines.add(String.format(Locale.ROOT, " %s: %d runs, %.1f ms total, p99 %.2f ms, max %.2f ms",
+                    e.getKey(), e.getValue()[0], e.getValue()[1] / 1e6, h.quantileSeconds(0.99) * 1e3, h.maxSeconds() * 1e3));
+        }
+        return lines;
+    }
+
+    private void addToTick(long nanos) {
+        int tick = Bukkit.getCurrentTick();
+        int slot = Math.floorMod(tick, WINDOW_TICKS);
+        if (tickNumbers[slot] != tick) {
+            tickNumbers[slot] = tick;
+            tickNanos[slot] = 0L;
+        }
+        tickNanos[slot] += nanos;
+    }
+
+    /** Mean over the ticks of the window, counting ticks in which the plugin ran nothing as zero. */
+    private double windowAverageNanos() {
+        int now = Bukkit.getCurrentTick();
+        long sum = 0;
+        for (int i = 0; i < WINDOW_TICKS; i++) {
+            if (now - tickNumbers[i] < WINDOW_TICKS) sum += tickNanos[i];
+        }
+        return (double) sum / WINDOW_TICKS;
+    }
+
+    private long windowMaxNanos() {
+        int now = Bukkit.getCurrentTick();
+        long max = 0;
+        for (int i = 0; i < WINDOW_TICKS; i++) {
+            if (now - tickNumbers[i] < WINDOW_TICKS) max = Math.max(max, tickNanos[i]);
+        }
+        return max;
+    }
+
+    /** Samples the main thread's stack once per execution that outlives the threshold. */
+    private void watch() {
+        while (enabled && Thread.currentThread() == watchdog) {
+            long threshold = slowThresholdNanos;
+            Frame frame = outermost;
+            Thread main = mainThread;
+            if (frame != null && main != null && frame.sample == null) {
+                long running = System.nanoTime() - frame.startNanos;
+                if (running > threshold) {
+                    StackTraceElement[] stack = main.getStackTrace();
+                    if (outermost == frame) {
+                        frame.sampledAfterNanos = running;
+                        frame.sample = stack;
+                    }
+                }
+            }
+            LockSupport.parkNanos(Math.max(TimeUnit.MILLISECONDS.toNanos(2), threshold / 4));
+        }
+    }
+
+    private void logSlow(Frame frame, long elapsed) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[MainThreadProfiler] ").append(frame.operation).append(" took ")
+                .append(String.format(Locale.ROOT, "%.1f ms", elapsed / 1e6))
+                .append(" on the main thread (threshold ").append(slowThresholdMillis()).append(" ms)");
+        if (frame.context != null) {
+            String context;
+            try {
+                context = String.valueOf(frame.context);
+            } catch (RuntimeException e) {
+                context = frame.context.getClass().getName();
+            }
+            sb.append(", context: ").append(context);
+        }
+        StackTraceElement[] stack = frame.sample;
+        if (stack != null) {
+            sb.append("\nMain thread after ").append(String.format(Locale.ROOT, "%.1f ms", frame.sampledAfterNanos / 1e6)).append(':');
+            for (StackTraceElement element : stack) sb.append("\n\tat ").append(element);
+        } else {
+            sb.append(" (nested, or finished before a stack sample was taken)");
+        }
+        logger.log(Level.WARNING, sb.toString());
+    }
+}
@@ -0,0 +1,271 @@
+package net.democracycraft.vault.internal.metrics;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.democracycraft.vault.internal.database.SqlTracer;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * In-process operation metrics: counters, gauges and {@link LatencyHistogram}s, each identified by a name and
+ * optional label pairs ({@code "method", "createVault"}). Metrics are created on first use and live for the
+ * registry's lifetime; every method is safe from any thread. Names follow Prometheus conventions
+ * ({@code vault_} prefix, {@code _total} for counters, {@code _seconds} for histograms), so
+ * {@link #toPrometheus()} can be scraped as-is; {@link #toJson()} carries the same figures.
+ */
+public final class MetricsRegistry {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final ConcurrentMap<MetricKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricKey, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /** A metric name plus its label pairs, in the order given. */
+    private record MetricKey(String name, List<String> labels) {
+        static MetricKey of(String name, String... labels) {
+            Objects.requireNonNull(name, "name");
+            if (labels.length % 2 != 0) throw new IllegalArgumentException("Labels must be name/value pairs: " + name);
+            return new MetricKey(name, List.of(labels));
+        }
+
+        String labelText() {
+            if (labels.isEmpty()) return "";
+            StringBuilder sb = new StringBuilder("{");
+            for (int i = 0; i < labels.size(); i += 2) {
+                if (i > 0) sb.append(',');
+                sb.append(labels.get(i)).append("=\"").append(escape(labels.get(i + 1))).append('"');
+            }
+            return sb.append('}').toString();
+        }
+
+        String labelText(String extraName, String extraValue) {
+            List<String> all = new ArrayList<>(labels);
+            all.add(extraName);
+            all.add(extraValue);
+            return new MetricKey(name, all).labelText();
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+
+    /** Gauge whose value is pushed by the caller. */
+    private static final class SettableGauge implements DoubleSupplier {
+        private volatile double value;
+
+        @Override public double getAsDouble() {
+            return value;
+        }
+    }
+
+    /** The counter {@code name} with the given label pairs. */
+    public @NotNull LongAdder counter(@NotNull String name, String... labels) {
+        return counters.computeIfAbsent(MetricKey.of(name, labels), k -> new LongAdder());
+    }
+
+    /** The histogram {@code name} with the given label pairs. */
+    public @NotNull LatencyHistogram histogram(@NotNull String name, String... labels) {
+        return histograms.computeIfAbsent(MetricKey.of(name, labels), k -> new LatencyHistogram());
+    }
+
+    /** Registers (or replaces) a gauge read each time the metrics are rendered. */
+    public void gauge(@NotNull String name, @NotNull DoubleSupplier value, String... labels) {
+        gauges.put(MetricKey.of(name, labels), Objects.requireNonNull(value, "value"));
+    }
+
+    /** Sets a gauge to {@code value}, creating it on first use. */
+    public void set(@NotNull String name, double value, String... labels) {
+        DoubleSupplier gauge = gauges.computeIfAbsent(MetricKey.of(name, labels), k -> new SettableGauge());
+        if (gauge instanceof SettableGauge settable) settable.value = value;
+    }
+
+    /**
+     * Counts one lookup in the cache {@code cache} as {@code vault_cache_requests_total{cache,result}}, and keeps
+     * {@code vault_cache_hit_ratio{cache}} up to date.
+     */
+    public void cacheAccess(@NotNull String cache, boolean hit) {
+        counter("vault_cache_requests_total", "cache", cache, "result", hit ? "hit" : "miss").increment();
+        MetricKey ratio = MetricKey.of("vault_cache_hit_ratio", "cache", cache);
+        if (!gauges.containsKey(ratio)) {
+            LongAdder hits = counter("vault_cache_requests_total", "cache", cache, "result", "hit");
+            LongAdder misses = counter("vault_cache_requests_total", "cache", cache, "result", "miss");
+            gauges.putIfAbsent(ratio, () -> {
+                long h = hits.sum(), total = h + misses.sum();
+                return total == 0 ? 0.0 : (double) h / total;
+            });
+        }
+    }
+
+    /**
+     * Wraps {@code target} so that every call through {@code api} is timed into the histogram {@code name}
+     * labelled with the method name; calls that throw also count into {@code <name>_errors_total}. The wrapper
+     * rethrows the target's exceptions unchanged. Each call is also one {@link SqlTracer#operation} named
+     * {@code <Api>#<method>}, so the statements of one DAO call are checked for repeats together.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @NotNull T timed(@NotNull Class<T> api, @NotNull T target, @NotNull String name) {
+        Objects.requireNonNull(target, "target");
+        String errors = name.endsWith("_seconds") ? name.substring(0, name.length() - "_seconds".length()) + "_errors_total" : name + "_errors_total";
+        Map<Method, LatencyHistogram> byMethod = new ConcurrentHashMap<>();
+        Map<Method, String> operations = new ConcurrentHashMap<>();
+        return (T) Proxy.newProxyInstance(api.getClassLoader(), new Class<?>[]{api}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) return method.invoke(target, args);
+            LatencyHistogram histogram = byMethod.computeIfAbsent(method, m -> histogram(name, "method", m.getName()));
+            long start = System.nanoTime();
+            try (SqlTracer.Scope ignored = SqlTracer.operation(
+                    operations.computeIfAbsent(method, m -> api.getSimpleName() + "#" + m.getName()))) {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                counter(errors, "method", method.getName()).increment();
+                throw e.getCause();
+            } finally {
+                histogram.recordSince(start);
+            }
+        });
+    }
+
+    /** Prometheus text exposition format (version 0.0.4); histograms are rendered as summaries. */
+    public @NotNull String toPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        String typed = null;
+        for (Map.Entry<MetricKey, LongAdder> e : sorted(counters)) {
+            typed = typeLine(out, typed, e.getKey().name(), "counter");
+            out.append(e.getKey().name()).append(e.getKey().labelText()).append(' ').append(e.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<MetricKey, DoubleSupplier> e : sorted(gauges)) {
+            typed = typeLine(out, typed, e.getKey().name(), "gauge");
+            out.append(e.getKey().name()).append(e.getKey().labelText()).append(' ').append(number(read(e.getValue()))).append('\n');
+        }
+        for (Map.Entry<MetricKey, LatencyHistogram> e : sorted(histograms)) {
+            MetricKey key = e.getKey();
+            LatencyHistogram h = e.getValue();
+            typed = typeLine(out, typed, key.name(), "summary");
+            for (double q : QUANTILES) {
+                out.append(key.name()).append(key.labelText("quantile", Double.toString(q))).append(' ')
+                        .append(number(h.quantileSeconds(q))).append('\n');
+            }
+            out.append(key.name()).append("_sum").append(key.labelText()).append(' ').append(number(h.sumSeconds())).append('\n');
+            out.append(key.name()).append("_count").append(key.labelText()).append(' ').append(h.count()).append('\n');
+        }
+        for (Map.Entry<MetricKey, LatencyHistogram> e : sorted(histograms)) {
+            String maxName = e.getKey().name() + "_max";
+            typed = typeLine(out, typed, maxName, "gauge");
+            out.append(maxName).append(e.getKey().labelText()).append(' ').append(number(e.getValue().maxSeconds())).append('\n');
+        }
+        return out.toString();
+    }
+
+    /** The same figures as {@link #toPrometheus()}, as a pretty-printed JSON document. */
+    public @NotNull String toJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("timestampEpochMillis", System.currentTimeMillis());
+        JsonArray counterArray = new JsonArray();
+        for (Map.Entry<MetricKey, LongAdder> e : sorted(counters)) {
+            JsonObject o = entry(e.getKey());
+            o.addProperty("value", e.getValue().sum());
+            counterArray.add(o);
+        }
+        JsonArray gaugeArray = new JsonArray();
+        for (Map.Entry<MetricKey, DoubleSupplier> e : sorted(gauges)) {
+            JsonObject o = entry(e.getKey());
+            o.addProperty("value", read(e.getValue()));
+            gaugeArray.add(o);
+        }
+        JsonArray histogramArray = new JsonArray();
+        for (Map.Entry<MetricKey, LatencyHistogram> e : sorted(histograms)) {
+            LatencyHistogram h = e.getValue();
+            JsonObject o = entry(e.getKey());
+            o.addProperty("count", h.count());
+            o.addProperty("sum", h.sumSeconds());
+            o.addProperty("p50", h.quantileSeconds(0.5));
+            o.addProperty("p90", h.quantileSeconds(0.9));
+            o.addProperty("p99", h.quantileSeconds(0.99));
+            o.addProperty("max", h.maxSeconds());
+            histogramArray.add(o);
+        }
+        root.add("counters", counterArray);
+        root.add("gauges", gaugeArray);
+        root.add("histograms", histogramArray);
+        return new GsonBuilder().setPrettyPrinting().serializeSpecialFloatingPointValues().create().toJson(root);
+    }
+
+    /**
+     * One human-readable line per metric, for chat and the console: counters and gauges with their value,
+     * histograms with count, p50, p99 and max in milliseconds. Only metrics whose name contains {@code filter}
+     * (case-insensitive) are listed; a null or empty filter lists everything.
+     */
+    public @NotNull List<String> summary(String filter) {
+        String needle = filter == null ? "" : filter.toLowerCase(Locale.ROOT);
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<MetricKey, LongAdder> e : sorted(counters)) {
+            if (e.getKey().name().contains(needle)) lines.add(e.getKey().name() + e.getKey().labelText() + " = " + e.getValue().sum());
+        }
+        for (Map.Entry<MetricKey, DoubleSupplier> e : sorted(gauges)) {
+            if (e.getKey().name().contains(needle)) {
+                lines.add(e.getKey().name() + e.getKey().labelText() + " = " + String.format(Locale.ROOT, "%.3f", read(e.getValue())));
+            }
+        }
+        for (Map.Entry<MetricKey, LatencyHistogram> e : sorted(histograms)) {
+            if (!e.getKey().name().contains(needle)) continue;
+            LatencyHistogram h = e.getValue();
+            lines.add(String.format(Locale.ROOT, "%s%s n=%d p50=%.2fms p99=%.2fms max=%.2fms",
+                    e.getKey().name(), e.getKey().labelText(), h.count(),
+                    h.quantileSeconds(0.5) * 1e3, h.quantileSeconds(0.99) * 1e3, h.maxSeconds() * 1e3));
+        }
+        return lines;
+    }
+
+    private static <V> List<Map.Entry<MetricKey, V>> sorted(Map<MetricKey, V> metrics) {
+        List<Map.Entry<MetricKey, V>> entries = new ArrayList<>(metrics.entrySet());
+        entries.sort(Comparator.comparing((Map.Entry<MetricKey, V> e) -> e.getKey().name())
+                .thenComparing(e -> String.join("\u0000", e.getKey().labels())));
+        return entries;
+    }
+
+    private static String typeLine(StringBuilder out, String previous, String name, String type) {
+        if (!name.equals(previous)) out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return name;
+    }
+
+    private static JsonObject entry(MetricKey key) {
+        JsonObject o = new JsonObject();
+        o.addProperty("name", key.name());
+        if (!key.labels().isEmpty()) {
+            JsonObject labels = new JsonObject();
+            for (int i = 0; i < key.labels().size(); i += 2) labels.addProperty(key.labels().get(i), key.labels().get(i + 1));
+            o.add("labels", labels);
+        }
+        return o;
+    }
+
+    /** A gauge's value; a supplier that fails reads as NaN rather than breaking the whole dump. */
+    private static double read(DoubleSupplier gauge) {
+        try {
+            return gauge.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String number(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,39 @@
+package net.democracycraft.vault.internal.metrics;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link BukkitRunnable} whose every main-thread run is timed by the plugin's {@link MainThreadProfiler} under a
+ * fixed operation name. Subclasses implement {@link #runProfiled()} instead of {@code run()}.
+ */
+public abstract class ProfiledRunnable extends BukkitRunnable {
+
+    private final String operation;
+    private final Object context;
+
+    protected ProfiledRunnable(@NotNull String operation) {
+        this(operation, null);
+    }
+
+    /** {@code context} is only turned into text when a run is logged as slow. */
+    protected ProfiledRunnable(@NotNull String operation, @Nullable Object context) {
+        this.operation = operation;
+        this.context = context;
+    }
+
+    @Override
+    public final void run() {
+        MainThreadProfiler profiler = VaultStoragePlugin.getInstance().getProfiler();
+        long token = profiler.begin(operation, context);
+        try {
+            runProfiled();
+        } finally {
+            profiler.end(token);
+        }
+    }
+
+    protected abstract void runProfiled();
+}
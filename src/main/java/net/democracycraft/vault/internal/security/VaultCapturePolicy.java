@@ -15,7 +15,9 @@ import org.bukkit.util.BoundingBox;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -127,11 +129,56 @@ public final class VaultCapturePolicy {
         return evaluateBlockPolicy(actor, supportingBlock, originalOwner, false);
     }
 
+    /**
+     * Evaluates {@link #evaluate(Player, Block)} for many blocks at once, returning decisions in input order.
+     * The override permission is checked once, and region participation is computed once per distinct
+     * (owner, regions) pair, since neighbouring blocks of one build almost always share both. Main thread only.
+     */
+    public static List<Decision> evaluateAll(Player actor, List<Block> blocks) {
+        BoltService bolt = VaultStoragePlugin.getInstance().getBoltService();
+        boolean hasOverride = VaultPermission.ACTION_PLACE_OVERRIDE.has(actor);
+        Map<String, RegionParticipation> participations = new HashMap<>();
+        List<Decision> out = new ArrayList<>(blocks.size());
+        for (Block block : blocks) {
+            UUID originalOwner = null;
+            if (bolt != null) {
+                try {
+                    originalOwner = bolt.getOwner(block);
+                } catch (Throwable t) {
+                    VaultStoragePlugin.getInstance().getLogger().warning("[VaultCapturePolicy] Error obtaining Bolt owner for block in "
+                            + formatBlock(block) + ": " + t.getClass().getSimpleName() + " - " + t.getMessage());
+                }
+            }
+            List<VaultRegion> regions = regionsAt(block);
+            StringBuilder key = new StringBuilder(String.valueOf(originalOwner));
+            for (VaultRegion region : regions) key.append('|').append(region.id());
+            UUID owner = originalOwner;
+            RegionParticipation participation = participations.computeIfAbsent(key.toString(),
+                    k -> computeRegionParticipation(actor, block, owner, regions));
+            out.add(decide(actor, originalOwner, hasOverride, participation, false));
+        }
+        return out;
+    }
+
     private static Decision evaluateBlockPolicy(Player actor, Block block, UUID originalOwner, boolean hangableRestricted) {
         boolean hasOverride = VaultPermission.ACTION_PLACE_OVERRIDE.has(actor);
+        RegionParticipation participation = computeRegionParticipation(actor, block, originalOwner, regionsAt(block));
+        return decide(actor, originalOwner, hasOverride, participation, hangableRestricted);
+    }
+
+    /**
+     * Capture decision from already resolved inputs: the block's Bolt owner, the override permission and the
+     * regions at the block. The part of {@link #evaluate(Player, Block)} that needs no server (benchmarks);
+     * {@code block} is only used in log messages.
+     */
+    static Decision evaluateRegions(Player actor, Block block, UUID originalOwner, boolean hasOverride, List<VaultRegion> regions) {
+        return decide(actor, originalOwner, hasOverride, computeRegionParticipation(actor, block, originalOwner, regions), false);
+    }
+
+    private static Decision decide(Player actor, UUID originalOwner, boolean hasOverride,
+                                   RegionParticipation participation, boolean hangableRestricted) {
         boolean actorIsContainerOwner = originalOwner != null && originalOwner.equals(actor.getUniqueId());
 
-        RegionParticipation participation = computeRegionParticipation(actor, block, originalOwner);
         boolean actorParticipantAny = participation.actorParticipantAny();
         boolean containerOwnerParticipantAny = participation.containerOwnerParticipantAny();
         boolean inAnyRegion = participation.inAnyRegion();
@@ -183,25 +230,28 @@ public final class VaultCapturePolicy {
     private record RegionParticipation(boolean inAnyRegion, boolean actorParticipantAny,
                                        boolean containerOwnerParticipantAny, List<RegionStatus> perRegionDebug) {}
 
-    /** Scans WorldGuard regions at the block and computes actor/owner participation flags. */
-    private static RegionParticipation computeRegionParticipation(Player actor, Block block, UUID originalOwner) {
+    /** WorldGuard regions at the block; empty when WorldGuard is unavailable or the lookup fails. */
+    private static List<VaultRegion> regionsAt(Block block) {
         WorldGuardService wgs = VaultStoragePlugin.getInstance().getWorldGuardService();
+        if (wgs == null) return List.of();
+        try {
+            return wgs.getRegionsAt(block);
+        } catch (Throwable t) {
+            VaultStoragePlugin.getInstance().getLogger().warning("[VaultCapturePolicy] Error obtaining WorldGuard regions for block in "
+                    + formatBlock(block) + ": " + t.getClass().getSimpleName() + " - " + t.getMessage());
+            return List.of();
+        }
+    }
 
+    /** Computes actor/owner participation flags over the regions at the block. */
+    private static RegionParticipation computeRegionParticipation(Player actor, Block block, UUID originalOwner, List<VaultRegion> regions) {
         boolean actorParticipantAny = false;
         boolean containerOwnerParticipantAny = false;
         boolean inAnyRegion = false;
         List<RegionStatus> perRegionDebug = List.of();
 
-        if (wgs != null) {
-            List<VaultRegion> regions = List.of();
-            try {
-                regions = wgs.getRegionsAt(block);
-            } catch (Throwable t) {
-                VaultStoragePlugin.getInstance().getLogger().warning("[VaultCapturePolicy] Error obtaining WorldGuard regions for block in "
-                        + formatBlock(block) + ": " + t.getClass().getSimpleName() + " - " + t.getMessage());
-            }
-
-            inAnyRegion = !regions.isEmpty();
+        if (!regions.isEmpty()) {
+            inAnyRegion = true;
             UUID actorUuid = actor.getUniqueId();
             List<RegionStatus> debugList = new ArrayList<>();
 
@@ -275,7 +325,7 @@ public final class VaultCapturePolicy {
 
         boolean hasOverride = VaultPermission.ACTION_PLACE_OVERRIDE.has(actor);
         boolean actorIsContainerOwner = originalOwner != null && originalOwner.equals(actor.getUniqueId());
-        RegionParticipation participation = computeRegionParticipation(actor, containerBlock, originalOwner);
+        RegionParticipation participation = computeRegionParticipation(actor, containerBlock, originalOwner, regionsAt(containerBlock));
 
         // Same region gate as capture, but no Bolt-owner requirement.
         boolean allowed = (participation.inAnyRegion() && participation.actorParticipantAny()) || hasOverride;
@@ -4,11 +4,19 @@ import net.democracycraft.vault.VaultStoragePlugin;
 import net.democracycraft.vault.api.region.VaultRegion;
 import net.democracycraft.vault.api.service.BoltService;
 import net.democracycraft.vault.api.service.WorldGuardService;
+import net.democracycraft.vault.internal.database.dao.AutoVaultJobDAO;
+import net.democracycraft.vault.internal.database.dao.HangingLocationDAO;
+import net.democracycraft.vault.internal.database.entity.HangingLocationEntity;
+import net.democracycraft.vault.internal.database.entity.AutoVaultJobEntity;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
 import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.hanging.HangingSlotAllocator;
 import net.democracycraft.vault.internal.util.minimessage.MiniMessageUtil;
 import net.democracycraft.vault.internal.util.region.RegionKey;
 import net.democracycraft.vault.internal.util.scan.OfflineRegionScanner;
 import net.democracycraft.vault.internal.util.scan.OfflineRegionScanner.DisplacedContainer;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.World;
@@ -17,40 +25,109 @@ import org.bukkit.entity.Hanging;
 import org.bukkit.entity.ItemFrame;
 import org.bukkit.entity.Painting;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.BoundingBox;
 import org.jetbrains.annotations.NotNull;
+import org.popcraft.bolt.protection.EntityProtection;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Function;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.stream.Stream;
 
 /**
  * Schedules and runs the delayed, batched auto-vaulting of Bolt-locked containers (and, when enabled,
  * item frames and paintings) when a region's owner/tenant changes. A lock is vaulted when its Bolt owner
  * is not in the allowed set ({new occupant} plus the region's WorldGuard owners/members). Runs on the
  * main thread; chunk loads are async.
+ * <p>Sweeps are persisted in {@code auto_vault_jobs} with their due time and initiator, re-armed by
+ * {@link #resume()} on enable, and started in due-time order with at most {@code auto-vault.max-concurrent-sweeps}
+ * running at once. A running sweep checkpoints the index of the first unfinished chunk of its current pass,
+ * so after a restart it resumes from that chunk instead of starting over.</p>
  */
 public class AutoVaultService {
 
     private final VaultStoragePlugin plugin;
-    // Main-thread only: populated from the Realty event handler and the scheduled sweep task.
-    private final Map<RegionKey, BukkitTask> pending = new HashMap<>();
+    private final AutoVaultJobDAO jobs;
+    private final HangingLocationDAO hangingLocations;
 
-    public AutoVaultService(@NotNull VaultStoragePlugin plugin) {
+    // Main-thread only: populated from the Realty event handler, the resume pass and the sweep tasks.
+    /** Delay timers of queued jobs, by job id. */
+    private final Map<UUID, BukkitTask> timers = new HashMap<>();
+    /** Queued (not yet started) job per region; a resubmit replaces it. */
+    private final Map<RegionKey, AutoVaultJobEntity> pendingByRegion = new HashMap<>();
+    /** Jobs whose due time has passed, waiting for a free sweep slot. */
+    private final PriorityQueue<AutoVaultJobEntity> ready = new PriorityQueue<>(
+            Comparator.comparingLong((AutoVaultJobEntity j) -> j.dueAtEpochMillis != null ? j.dueAtEpochMillis : 0L));
+    /** Sweeps currently running, by job id. */
+    private final Map<UUID, Sweep> running = new HashMap<>();
+
+    public AutoVaultService(@NotNull VaultStoragePlugin plugin, @NotNull AutoVaultJobDAO jobs,
+                            @NotNull HangingLocationDAO hangingLocations) {
         this.plugin = plugin;
+        this.jobs = jobs;
+        this.hangingLocations = hangingLocations;
+        // Sizes only; read from the async metrics dump, where a slightly stale value is fine.
+        MetricsRegistry metrics = plugin.getMetrics();
+        metrics.gauge("vault_auto_vault_queue_depth", () -> pendingByRegion.size(), "state", "waiting");
+        metrics.gauge("vault_auto_vault_queue_depth", () -> ready.size(), "state", "ready");
+        metrics.gauge("vault_auto_vault_queue_depth", () -> running.size(), "state", "running");
+    }
+
+    /**
+     * Re-arms every persisted job: queued jobs wait for the rest of their delay, interrupted sweeps are
+     * queued to resume from their checkpoint. Call once from {@code onEnable}.
+     */
+    public void resume() {
+        List<AutoVaultJobEntity> persisted;
+        try {
+            persisted = jobs.listAll();
+        } catch (RuntimeException ex) {
+            plugin.getLogger().log(Level.WARNING, "[AutoVaultService] Failed to load persisted auto-vault jobs.", ex);
+            return;
+        }
+        int resumed = 0;
+        for (AutoVaultJobEntity job : persisted) {
+            if (AutoVaultJobDAO.STATUS_RUNNING.equals(job.status)) {
+                ready.add(job);
+                resumed++;
+            } else {
+                RegionKey key = new RegionKey(job.worldUuid, job.regionId);
+                AutoVaultJobEntity previous = pendingByRegion.put(key, job);
+                if (previous != null) {
+                    // Only the newest queued sweep per region counts; drop older duplicates.
+                    disarm(previous);
+                    deleteAsync(previous);
+                }
+                arm(job);
+            }
+        }
+        if (!persisted.isEmpty()) {
+            plugin.getLogger().info("[AutoVaultService] Re-armed " + persisted.size() + " auto-vault job(s) (" + resumed + " resuming).");
+        }
+        pump();
     }
 
     /**
      * Schedules an auto-vault sweep of {@code regionId} after the configured grace delay.
-     * Cancels any pending sweep already queued for the same region+world.
+     * Replaces any sweep already queued for the same region+world; a sweep already running is left to finish, and
+     * this one starts after it.
      *
      * @param worldId   world the region lives in
      * @param regionId  WorldGuard region id
@@ -62,18 +139,89 @@ public class AutoVaultService {
         }
         RegionKey key = new RegionKey(worldId, regionId);
         long delayTicks = Math.max(0L, plugin.getConfig().getLong(ConfigPaths.AUTOVAULT_DELAY_TICKS.getPath(), 1200L));
+        long now = System.currentTimeMillis();
+
+        AutoVaultJobEntity job = new AutoVaultJobEntity();
+        job.uuid = UUID.randomUUID();
+        job.worldUuid = key.worldId();
+        job.regionId = key.regionId();
+        job.initiatorUuid = initiator;
+        job.dueAtEpochMillis = now + delayTicks * 50L;
+        job.status = AutoVaultJobDAO.STATUS_PENDING;
+        job.phase = AutoVaultJobDAO.PHASE_BLOCKS;
+        job.chunkIndex = 0;
+        job.createdAtEpochMillis = now;
+
+        AutoVaultJobEntity previous = pendingByRegion.put(key, job);
+        if (previous != null) {
+            disarm(previous);
+        }
+        AutoVaultJobEntity snapshot = snapshot(job);
+        plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.DURABLE, () -> {
+            try {
+                jobs.replacePending(snapshot);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "[AutoVaultService] Failed to persist auto-vault job for region " + key.regionId(), ex);
+            }
+        });
+        arm(job);
+    }
 
-        BukkitTask task = new BukkitRunnable() {
-            @Override public void run() {
-                // A fired task is always the current pending entry (a resubmit cancels the prior one).
-                pending.remove(key);
-                runSweep(key, initiator);
+    /** Starts the delay timer of a queued job; a job already due is moved to the ready queue. */
+    private void arm(@NotNull AutoVaultJobEntity job) {
+        long due = job.dueAtEpochMillis != null ? job.dueAtEpochMillis : 0L;
+        long delayTicks = Math.max(0L, (due - System.currentTimeMillis()) / 50L);
+        BukkitTask task = new ProfiledRunnable("autovault.due", job.regionId) {
+            @Override protected void runProfiled() {
+                timers.remove(job.uuid);
+                pendingByRegion.remove(new RegionKey(job.worldUuid, job.regionId), job);
+                ready.add(job);
+                pump();
             }
         }.runTaskLater(plugin, delayTicks);
-        BukkitTask previous = pending.put(key, task);
-        if (previous != null) {
-            previous.cancel();
+        timers.put(job.uuid, task);
+    }
+
+    /** Cancels a queued job's timer and removes it from the ready queue. */
+    private void disarm(@NotNull AutoVaultJobEntity job) {
+        BukkitTask task = timers.remove(job.uuid);
+        if (task != null) {
+            task.cancel();
+        }
+        ready.remove(job);
+    }
+
+    /**
+     * Starts ready jobs in due-time order while sweep slots are free. A job whose region already has a sweep running
+     * waits for that sweep to end, so one region is never swept twice at once.
+     */
+    private void pump() {
+        int maxConcurrent = Math.max(1, plugin.getConfig().getInt(ConfigPaths.AUTOVAULT_MAX_CONCURRENT_SWEEPS.getPath(), 1));
+        List<AutoVaultJobEntity> waiting = new ArrayList<>();
+        while (running.size() < maxConcurrent && !ready.isEmpty()) {
+            AutoVaultJobEntity job = ready.poll();
+            if (isSweeping(new RegionKey(job.worldUuid, job.regionId))) {
+                waiting.add(job);
+                continue;
+            }
+            if (!AutoVaultJobDAO.STATUS_RUNNING.equals(job.status)) {
+                job.status = AutoVaultJobDAO.STATUS_RUNNING;
+                job.phase = AutoVaultJobDAO.PHASE_BLOCKS;
+                job.chunkIndex = 0;
+                saveAsync(job);
+            }
+            Sweep sweep = new Sweep(job);
+            running.put(job.uuid, sweep);
+            sweep.start();
+        }
+        ready.addAll(waiting);
+    }
+
+    private boolean isSweeping(@NotNull RegionKey key) {
+        for (Sweep sweep : running.values()) {
+            if (sweep.key.equals(key)) return true;
         }
+        return false;
     }
 
     /**
@@ -91,7 +239,7 @@ public class AutoVaultService {
             if (!sent.compareAndSet(false, true)) {
                 return;
             }
-            Bukkit.getScheduler().runTask(plugin, () -> {
+            Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("autovault.notify", initiator, () -> {
                 Player occupant = Bukkit.getPlayer(initiator);
                 if (occupant == null) {
                     return;
@@ -101,129 +249,479 @@ public class AutoVaultService {
                     return;
                 }
                 occupant.sendMessage(MiniMessageUtil.parseOrPlain(template));
-            });
+            }));
         };
     }
 
-    private void runSweep(@NotNull RegionKey key, @NotNull UUID initiator) {
-        World world = Bukkit.getWorld(key.worldId());
-        if (world == null) {
-            return;
+    /**
+     * One running sweep: the block pass, then the hanging pass, each walking the region's chunks in index order
+     * and checkpointing the first unfinished chunk index. Main-thread only.
+     */
+    private final class Sweep {
+        private final AutoVaultJobEntity job;
+        private final RegionKey key;
+        private ChunkPacer<?> pacer;
+        private boolean stopped;
+        /** Merge targets for this sweep's hangings; created on first use. */
+        private HangingSlotAllocator hangingSlots;
+        private final long startedNanos = System.nanoTime();
+
+        private Sweep(@NotNull AutoVaultJobEntity job) {
+            this.job = job;
+            this.key = new RegionKey(job.worldUuid, job.regionId);
         }
-        WorldGuardService wgs = plugin.getWorldGuardService();
-        if (wgs == null) {
-            return;
+
+        private void start() {
+            World world = Bukkit.getWorld(key.worldId());
+            WorldGuardService wgs = plugin.getWorldGuardService();
+            if (world == null || wgs == null) {
+                finish();
+                return;
+            }
+            VaultRegion region = wgs.getRegionById(key.regionId(), world);
+            if (region == null) {
+                // Region was deleted during the delay window; nothing to sweep.
+                finish();
+                return;
+            }
+
+            Set<UUID> allowed = new HashSet<>();
+            allowed.addAll(region.owners());
+            allowed.addAll(region.members());
+            allowed.add(job.initiatorUuid);
+
+            // Shared across both passes so the occupant is messaged at most once per sweep.
+            Runnable onVaulted = vaultedNotifier(job.initiatorUuid);
+            ChunkGrid grid = new ChunkGrid(region.boundingBox());
+
+            if (AutoVaultJobDAO.PHASE_HANGINGS.equals(job.phase)) {
+                hangingPass(grid, region.boundingBox(), allowed, onVaulted);
+                return;
+            }
+            // Streamed tile by tile in grid order, so chunk loads start before the region is fully enumerated.
+            Stream<OfflineRegionScanner.ChunkScan> scans = OfflineRegionScanner.scanByChunk(key.worldId(), region.boundingBox(), allowed,
+                    tile -> grid.indexOf(tile.chunkX(), tile.chunkZ()) >= job.chunkIndex);
+            Iterator<ChunkBatch<DisplacedContainer>> batches = scans == null
+                    ? Collections.emptyIterator()
+                    : scans.map(scan -> new ChunkBatch<>(grid.indexOf(scan.chunkX(), scan.chunkZ()), scan.chunkX(), scan.chunkZ(), scan.displaced()))
+                            .iterator();
+            vaultBlocks(batches, onVaulted, () -> {
+                job.phase = AutoVaultJobDAO.PHASE_HANGINGS;
+                job.chunkIndex = 0;
+                saveAsync(job);
+                hangingPass(grid, region.boundingBox(), allowed, onVaulted);
+            });
         }
-        VaultRegion region = wgs.getRegionById(key.regionId(), world);
-        if (region == null) {
-            // Region was deleted during the delay window; nothing to sweep.
-            return;
+
+        private void hangingPass(@NotNull ChunkGrid grid, @NotNull BoundingBox box, @NotNull Set<UUID> allowed, @NotNull Runnable onVaulted) {
+            if (!plugin.getConfig().getBoolean(ConfigPaths.AUTOVAULT_INCLUDE_HANGINGS.getPath(), true)) {
+                finish();
+                return;
+            }
+            vaultHangings(grid, box, allowed, onVaulted, this::finish);
         }
 
-        Set<UUID> allowed = new HashSet<>();
-        allowed.addAll(region.owners());
-        allowed.addAll(region.members());
-        allowed.add(initiator);
+        /** Vaults each displaced container, loading each chunk once, asynchronously. */
+        private void vaultBlocks(@NotNull Iterator<ChunkBatch<DisplacedContainer>> batches, @NotNull Runnable onVaulted, @NotNull Runnable onComplete) {
+            VaultCaptureService captureService = plugin.getCaptureService();
+            runPaced(batches,
+                    (world, chunk, displaced) -> {
+                        List<CompletableFuture<Void>> saves = new ArrayList<>(displaced.size());
+                        for (DisplacedContainer dc : displaced) {
+                            // Tolerant of blocks changed since the scan (non-containers just drop their protection).
+                            saves.add(captureService.captureOfflineAsync(world.getBlockAt(dc.x(), dc.y(), dc.z()), job.initiatorUuid, dc.owner(), onVaulted));
+                        }
+                        return CompletableFuture.allOf(saves.toArray(new CompletableFuture[0]));
+                    },
+                    onComplete);
+        }
 
-        // Shared across both passes so the occupant is messaged at most once per sweep.
-        Runnable onVaulted = vaultedNotifier(initiator);
+        /**
+         * Vaults displaced item frames and paintings across the region. Only chunks that may hold a protected
+         * hanging are loaded: those of Bolt entity protections currently loaded in the box, plus those recorded
+         * in the hanging location index. Index rows for hangings that are gone or were vaulted are dropped.
+         * <p>
+         * The index only knows hangings whose chunk has loaded since it was introduced, so the first pass over a
+         * region loads every chunk of it once, recording the hangings it finds, and then marks the region indexed.
+         */
+        private void vaultHangings(@NotNull ChunkGrid grid, @NotNull BoundingBox box, @NotNull Set<UUID> allowed,
+                                   @NotNull Runnable onVaulted, @NotNull Runnable onComplete) {
+            World world = Bukkit.getWorld(key.worldId());
+            if (world == null) {
+                abandon();
+                return;
+            }
+            // Bolt resolves entity protections only for loaded entities; their chunks are known right away.
+            Map<UUID, long[]> candidates = new HashMap<>();
+            for (EntityProtection protection : plugin.getBoltService().getEntityProtections(world, box)) {
+                Entity entity = world.getEntity(protection.getId());
+                if (entity instanceof ItemFrame || entity instanceof Painting) {
+                    candidates.put(entity.getUniqueId(), new long[]{entity.getLocation().getBlockX() >> 4, entity.getLocation().getBlockZ() >> 4});
+                }
+            }
+            boolean queued = plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.BACKGROUND, () -> {
+                List<HangingLocationEntity> indexed;
+                boolean covered;
+                try {
+                    covered = hangingLocations.isRegionIndexed(key.worldId(), key.regionId());
+                    indexed = hangingLocations.listInBox(key.worldId(), box);
+                } catch (RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[AutoVaultService] Failed to read hanging locations for region " + key.regionId(), ex);
+                    covered = false;
+                    indexed = List.of();
+                }
+                List<HangingLocationEntity> rows = indexed;
+                boolean fullPass = !covered;
+                Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("autovault.hangings.plan", key, () -> {
+                    if (stopped) return;
+                    for (HangingLocationEntity row : rows) {
+                        candidates.putIfAbsent(row.uuid, new long[]{row.x >> 4, row.z >> 4});
+                    }
+                    List<ChunkBatch<UUID>> batches = grid.batch(new ArrayList<>(candidates.keySet()),
+                            id -> (int) candidates.get(id)[0], id -> (int) candidates.get(id)[1], job.chunkIndex);
+                    ChunkWork<UUID> work = (w, chunk, expected) -> inspectHangings(chunk, expected, allowed, onVaulted);
+                    if (!fullPass) {
+                        runPaced(batches.iterator(), work, onComplete);
+                        return;
+                    }
+                    plugin.getLogger().info("[AutoVaultService] Hanging index does not cover region " + key.regionId()
+                            + " yet; loading its " + grid.size() + " chunk(s) once to record its hangings.");
+                    runPaced(grid.every(batches, job.chunkIndex), work, () -> {
+                        markIndexedAsync();
+                        onComplete.run();
+                    });
+                }));
+            });
+            if (!queued) {
+                // The database is backed up; try the whole phase again shortly rather than skip unloaded hangings.
+                Bukkit.getScheduler().runTaskLater(plugin, plugin.getProfiler().wrap("autovault.hangings.retry", key, () -> {
+                    if (!stopped) vaultHangings(grid, box, allowed, onVaulted, onComplete);
+                }), 100L);
+            }
+        }
 
-        List<DisplacedContainer> displaced = OfflineRegionScanner.scan(key.worldId(), region.boundingBox(), allowed);
-        if (displaced != null && !displaced.isEmpty()) {
-            vaultBlocks(key.worldId(), displaced, initiator, onVaulted);
+        /**
+         * Vaults the displaced protected hangings in a loaded chunk, records the ones that stay in the hanging
+         * location index and drops stale index rows.
+         *
+         * @return completes once the vaulted hangings are stored
+         */
+        private CompletableFuture<Void> inspectHangings(@NotNull Chunk chunk, @NotNull List<UUID> expected, @NotNull Set<UUID> allowed, @NotNull Runnable onVaulted) {
+            if (hangingSlots == null) {
+                hangingSlots = new HangingSlotAllocator(plugin.getVaultService());
+            }
+            VaultCaptureService captureService = plugin.getCaptureService();
+            BoltService bolt = plugin.getBoltService();
+            Set<UUID> stale = new HashSet<>(expected);
+            List<HangingLocationEntity> kept = new ArrayList<>();
+            long now = System.currentTimeMillis();
+            List<CompletableFuture<Void>> saves = new ArrayList<>();
+            for (Entity entity : chunk.getEntities()) {
+                if (!(entity instanceof ItemFrame) && !(entity instanceof Painting)) continue;
+                UUID owner = bolt.getOwner(entity);
+                if (owner == null) continue;
+                if (allowed.contains(owner)) {
+                    stale.remove(entity.getUniqueId());
+                    HangingLocationEntity row = new HangingLocationEntity();
+                    row.uuid = entity.getUniqueId();
+                    row.worldUuid = key.worldId();
+                    row.x = entity.getLocation().getBlockX();
+                    row.y = entity.getLocation().getBlockY();
+                    row.z = entity.getLocation().getBlockZ();
+                    row.updatedAtEpochMillis = now;
+                    kept.add(row);
+                    continue;
+                }
+                saves.add(captureService.captureHangingOfflineAsync((Hanging) entity, owner, job.initiatorUuid, hangingSlots, onVaulted));
+            }
+            if (!stale.isEmpty() || !kept.isEmpty()) {
+                plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.BACKGROUND, () -> {
+                    try {
+                        if (!stale.isEmpty()) hangingLocations.deleteAll(stale);
+                        if (!kept.isEmpty()) hangingLocations.saveAll(kept);
+                    } catch (RuntimeException ex) {
+                        plugin.getLogger().log(Level.WARNING, "[AutoVaultService] Failed to update hanging locations.", ex);
+                    }
+                });
+            }
+            return CompletableFuture.allOf(saves.toArray(new CompletableFuture[0]));
+        }
+
+        /** Records that this sweep's full hanging pass covered the region; a later sweep repeats it if this fails. */
+        private void markIndexedAsync() {
+            plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.DURABLE, () -> {
+                try {
+                    hangingLocations.markRegionIndexed(key.worldId(), key.regionId());
+                } catch (RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[AutoVaultService] Failed to mark region " + key.regionId() + " as hanging-indexed.", ex);
+                }
+            });
         }
-        if (plugin.getConfig().getBoolean(ConfigPaths.AUTOVAULT_INCLUDE_HANGINGS.getPath(), true)) {
-            vaultHangings(key.worldId(), region.boundingBox(), allowed, initiator, onVaulted);
+
+        private <T> void runPaced(@NotNull Iterator<ChunkBatch<T>> batches, @NotNull ChunkWork<T> work, @NotNull Runnable onComplete) {
+            ChunkPacer<T> chunkPacer = new ChunkPacer<>(this, batches, work, onComplete);
+            pacer = chunkPacer;
+            chunkPacer.runTaskTimer(plugin, 1L, 1L);
+        }
+
+        /** Advances the persisted checkpoint to {@code lowWater} if it moved forward. */
+        private void checkpoint(int lowWater) {
+            if (lowWater > job.chunkIndex) {
+                job.chunkIndex = lowWater;
+                saveAsync(job);
+            }
+        }
+
+        /** Sweep completed (or has nothing left to do): drop the job and free the slot. */
+        private void finish() {
+            stopped = true;
+            running.remove(job.uuid);
+            plugin.getMetrics().histogram("vault_auto_vault_sweep_seconds").recordSince(startedNanos);
+            deleteAsync(job);
+            pump();
         }
-    }
 
-    /** Vaults each displaced container, loading its chunk asynchronously. */
-    private void vaultBlocks(@NotNull UUID worldId, @NotNull List<DisplacedContainer> displaced, @NotNull UUID initiator,
-                             @NotNull Runnable onVaulted) {
-        VaultCaptureService captureService = plugin.getCaptureService();
-        forEachChunkPaced(worldId, displaced,
-                dc -> new int[]{dc.x() >> 4, dc.z() >> 4},
-                (world, chunk, dc) ->
-                        // Tolerant of blocks changed since the scan (non-containers just drop their protection).
-                        captureService.captureOfflineAsync(world.getBlockAt(dc.x(), dc.y(), dc.z()), initiator, dc.owner(), onVaulted));
+        /** Sweep cannot continue now (world unloaded): keep the job persisted and free the slot. */
+        private void abandon() {
+            stopped = true;
+            running.remove(job.uuid);
+            pump();
+        }
+
+        /** Stops the sweep during shutdown, persisting its checkpoint synchronously. */
+        private void stop() {
+            stopped = true;
+            if (pacer != null) {
+                pacer.cancel();
+                // Scheduling is unavailable while disabling, so fold the checkpoint into the synchronous save below.
+                job.chunkIndex = Math.max(job.chunkIndex, pacer.lowWaterMark());
+            }
+            try {
+                jobs.save(snapshot(job));
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "[AutoVaultService] Failed to checkpoint auto-vault job " + job.uuid, ex);
+            }
+        }
     }
 
     /**
-     * Vaults displaced item frames and paintings across the region. Entity protections are not indexed
-     * by coordinate, so every chunk in the region's bounds is loaded and its hanging entities inspected.
+     * Runs a sweep's work for each batch, pulled lazily in index order, loading the batch's chunk asynchronously and keeping at most
+     * {@code scan.batch-size} loads in flight. The work runs on the main thread once that chunk is loaded.
+     * A chunk is completed once the captures its work started are stored, so a checkpoint never skips a chunk whose
+     * items are still only in memory; the lowest unfinished batch index is checkpointed every
+     * {@code auto-vault.checkpoint-interval-chunks} completed chunks, and the pass ends once every capture is stored. If the world unloads the sweep is abandoned, keeping its job for the next enable.
+     * No new chunk is started while the {@link DatabaseExecutor} reports itself overloaded.
      */
-    private void vaultHangings(@NotNull UUID worldId, @NotNull BoundingBox box, @NotNull Set<UUID> allowed, @NotNull UUID initiator,
-                               @NotNull Runnable onVaulted) {
-        VaultCaptureService captureService = plugin.getCaptureService();
-        BoltService bolt = plugin.getBoltService();
-
-        List<int[]> chunks = new ArrayList<>();
-        int minChunkX = (int) Math.floor(box.getMinX()) >> 4;
-        int minChunkZ = (int) Math.floor(box.getMinZ()) >> 4;
-        int maxChunkX = (int) Math.floor(box.getMaxX()) >> 4;
-        int maxChunkZ = (int) Math.floor(box.getMaxZ()) >> 4;
-        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
-            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
-                chunks.add(new int[]{cx, cz});
-            }
-        }
-
-        forEachChunkPaced(worldId, chunks,
-                coords -> coords,
-                (world, chunk, coords) -> {
-                    for (Entity entity : chunk.getEntities()) {
-                        if (!(entity instanceof ItemFrame) && !(entity instanceof Painting)) continue;
-                        UUID owner = bolt.getOwner(entity);
-                        if (owner == null || allowed.contains(owner)) continue;
-                        captureService.captureHangingOfflineAsync((Hanging) entity, owner, initiator, onVaulted);
+    private final class ChunkPacer<T> extends ProfiledRunnable {
+        private final Sweep sweep;
+        private final Iterator<ChunkBatch<T>> batches;
+        private final ChunkWork<T> work;
+        private final Runnable onComplete;
+        private final int maxInFlight;
+        private final int checkpointEvery;
+        /** Next batch to start, pulled ahead of time so its index bounds the checkpoint; null once exhausted. */
+        private ChunkBatch<T> next;
+        private int sinceCheckpoint = 0;
+        // Indices of batches whose chunk load is pending; mutated only on the main thread.
+        private final TreeSet<Integer> inFlight = new TreeSet<>();
+        // Indices of loaded batches whose captures are not yet stored; mutated only on the main thread.
+        private final TreeSet<Integer> saving = new TreeSet<>();
+        private final LongAdder chunkLoads = plugin.getMetrics().counter("vault_chunk_loads_total", "source", "auto_vault");
+
+        private ChunkPacer(@NotNull Sweep sweep, @NotNull Iterator<ChunkBatch<T>> batches, @NotNull ChunkWork<T> work, @NotNull Runnable onComplete) {
+            super("autovault.pacer", sweep.key);
+            this.sweep = sweep;
+            this.batches = batches;
+            this.work = work;
+            this.onComplete = onComplete;
+            this.maxInFlight = Math.max(1, plugin.getConfig().getInt(ConfigPaths.SCAN_BATCH_SIZE.getPath(), 50));
+            this.checkpointEvery = Math.max(1, plugin.getConfig().getInt(ConfigPaths.AUTOVAULT_CHECKPOINT_INTERVAL_CHUNKS.getPath(), 16));
+            this.next = batches.hasNext() ? batches.next() : null;
+        }
+
+        @Override protected void runProfiled() {
+            if (sweep.stopped) {
+                this.cancel();
+                return;
+            }
+            World world = Bukkit.getWorld(sweep.key.worldId());
+            if (world == null) {
+                this.cancel();
+                sweep.checkpoint(lowWaterMark());
+                sweep.abandon();
+                return;
+            }
+            // Each loaded chunk queues capture writes; hold back while the database executor is backed up.
+            boolean overloaded = plugin.getDatabaseExecutor().isOverloaded();
+            while (next != null && inFlight.size() < maxInFlight && !overloaded) {
+                ChunkBatch<T> batch = next;
+                next = batches.hasNext() ? batches.next() : null;
+                inFlight.add(batch.index());
+                if (!world.isChunkLoaded(batch.chunkX(), batch.chunkZ())) chunkLoads.increment();
+                world.getChunkAtAsync(batch.chunkX(), batch.chunkZ()).thenAccept(chunk -> {
+                    inFlight.remove(batch.index());
+                    if (sweep.stopped) return;
+                    saving.add(batch.index());
+                    CompletableFuture<Void> saved;
+                    long token = plugin.getProfiler().begin("autovault.chunk", sweep.key);
+                    try {
+                        saved = work.run(world, chunk, batch.items());
+                    } catch (RuntimeException ex) {
+                        saved = CompletableFuture.failedFuture(ex);
+                    } finally {
+                        plugin.getProfiler().end(token);
                     }
+                    // Failed saves are logged by the capture service; the chunk is done either way.
+                    saved.whenComplete((ignored, error) -> Bukkit.getScheduler().runTask(plugin,
+                            plugin.getProfiler().wrap("autovault.chunk.saved", sweep.key, () -> stored(batch.index()))));
                 });
+            }
+            if (next == null && inFlight.isEmpty() && saving.isEmpty()) {
+                this.cancel();
+                sweep.pacer = null;
+                onComplete.run();
+            }
+        }
+
+        private void stored(int index) {
+            saving.remove(index);
+            if (sweep.stopped) return;
+            if (++sinceCheckpoint >= checkpointEvery) {
+                sinceCheckpoint = 0;
+                sweep.checkpoint(lowWaterMark());
+            }
+        }
+
+        /** First batch index not yet completed (loading, saving or not started). */
+        private int lowWaterMark() {
+            int low = next != null ? next.index() : Integer.MAX_VALUE;
+            if (!inFlight.isEmpty()) low = Math.min(low, inFlight.first());
+            if (!saving.isEmpty()) low = Math.min(low, saving.first());
+            return low;
+        }
     }
 
+    /** A chunk to load and the items to process in it; {@code index} is the chunk's position in the region grid. */
+    private record ChunkBatch<T>(int index, int chunkX, int chunkZ, List<T> items) {}
+
     /**
-     * Runs {@code work} for each item, loading the chunk given by {@code chunkOf} asynchronously and keeping
-     * at most {@code scan.batch-size} loads in flight. {@code work} runs on the main thread once that chunk is
-     * loaded. Stops if the world unloads.
+     * Row-major chunk grid over a region's bounding box. A chunk's index depends only on the box, so it stays
+     * stable across restarts and serves as the checkpoint unit for both passes.
      */
-    private <T> void forEachChunkPaced(@NotNull UUID worldId, @NotNull List<T> items,
-                                       @NotNull Function<T, int[]> chunkOf, @NotNull ChunkWork<T> work) {
-        final int maxInFlight = Math.max(1, plugin.getConfig().getInt(ConfigPaths.SCAN_BATCH_SIZE.getPath(), 50));
-
-        new BukkitRunnable() {
-            int index = 0;
-            int inFlight = 0; // pending async chunk loads; mutated only on the main thread
-
-            @Override public void run() {
-                World world = Bukkit.getWorld(worldId);
-                if (world == null) {
-                    this.cancel();
-                    return;
-                }
-                while (index < items.size() && inFlight < maxInFlight) {
-                    T item = items.get(index);
-                    index++;
-                    int[] chunkCoords = chunkOf.apply(item);
-                    inFlight++;
-                    world.getChunkAtAsync(chunkCoords[0], chunkCoords[1]).thenAccept(chunk -> {
-                        inFlight--;
-                        work.run(world, chunk, item);
-                    });
+    private static final class ChunkGrid {
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int width;
+        private final int depth;
+
+        private ChunkGrid(@NotNull BoundingBox box) {
+            this.minChunkX = (int) Math.floor(box.getMinX()) >> 4;
+            this.minChunkZ = (int) Math.floor(box.getMinZ()) >> 4;
+            this.width = ((int) Math.floor(box.getMaxX()) >> 4) - minChunkX + 1;
+            this.depth = ((int) Math.floor(box.getMaxZ()) >> 4) - minChunkZ + 1;
+        }
+
+        private int indexOf(int chunkX, int chunkZ) {
+            return (chunkX - minChunkX) * depth + (chunkZ - minChunkZ);
+        }
+
+        private int size() {
+            return width * depth;
+        }
+
+        /**
+         * Lazily yields every chunk of the grid in index order from {@code fromIndex}: the matching batch of
+         * {@code batches} where there is one, otherwise an empty batch.
+         */
+        private <T> @NotNull Iterator<ChunkBatch<T>> every(@NotNull List<ChunkBatch<T>> batches, int fromIndex) {
+            Map<Integer, ChunkBatch<T>> byIndex = new HashMap<>();
+            for (ChunkBatch<T> batch : batches) byIndex.put(batch.index(), batch);
+            return new Iterator<>() {
+                private int index = Math.max(0, fromIndex);
+
+                @Override public boolean hasNext() {
+                    return index < size();
                 }
-                if (index >= items.size() && inFlight == 0) {
-                    this.cancel();
+
+                @Override public ChunkBatch<T> next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    int i = index++;
+                    ChunkBatch<T> batch = byIndex.get(i);
+                    return batch != null ? batch : new ChunkBatch<>(i, minChunkX + i / depth, minChunkZ + i % depth, List.of());
                 }
+            };
+        }
+
+        /** Groups {@code items} by chunk in index order, skipping chunks below {@code fromIndex}. */
+        private <T> @NotNull List<ChunkBatch<T>> batch(@NotNull List<T> items, @NotNull ToIntFunction<T> chunkX,
+                                                       @NotNull ToIntFunction<T> chunkZ, int fromIndex) {
+            TreeMap<Integer, ChunkBatch<T>> byIndex = new TreeMap<>();
+            for (T item : items) {
+                int cx = chunkX.applyAsInt(item);
+                int cz = chunkZ.applyAsInt(item);
+                int index = indexOf(cx, cz);
+                if (index < fromIndex) continue;
+                byIndex.computeIfAbsent(index, i -> new ChunkBatch<>(i, cx, cz, new ArrayList<>())).items().add(item);
             }
-        }.runTaskTimer(plugin, 1L, 1L);
+            return new ArrayList<>(byIndex.values());
+        }
     }
 
     @FunctionalInterface
     private interface ChunkWork<T> {
-        void run(World world, Chunk chunk, T item);
+        /** @return completes once the chunk's captures are stored */
+        CompletableFuture<Void> run(World world, Chunk chunk, List<T> items);
     }
 
-    /** Cancels all pending sweeps. Call from {@code onDisable}. */
+    private void saveAsync(@NotNull AutoVaultJobEntity job) {
+        AutoVaultJobEntity snapshot = snapshot(job);
+        plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.DURABLE, () -> {
+            try {
+                jobs.save(snapshot);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "[AutoVaultService] Failed to save auto-vault job " + snapshot.uuid, ex);
+            }
+        });
+    }
+
+    private void deleteAsync(@NotNull AutoVaultJobEntity job) {
+        UUID jobUuid = job.uuid;
+        plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.DURABLE, () -> {
+            try {
+                jobs.delete(jobUuid);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "[AutoVaultService] Failed to delete auto-vault job " + jobUuid, ex);
+            }
+        });
+    }
+
+    /** Copies a job so async writes never observe main-thread mutations mid-statement. */
+    private static @NotNull AutoVaultJobEntity snapshot(@NotNull AutoVaultJobEntity job) {
+        AutoVaultJobEntity copy = new AutoVaultJobEntity();
+        copy.uuid = job.uuid;
+        copy.worldUuid = job.worldUuid;
+        copy.regionId = job.regionId;
+        copy.initiatorUuid = job.initiatorUuid;
+        copy.dueAtEpochMillis = job.dueAtEpochMillis;
+        copy.status = job.status;
+        copy.phase = job.phase;
+        copy.chunkIndex = job.chunkIndex;
+        copy.createdAtEpochMillis = job.createdAtEpochMillis;
+        return copy;
+    }
+
+    /**
+     * Cancels pending timers and stops running sweeps, checkpointing them synchronously so they resume on the
+     * next enable. Queued jobs stay persisted as-is. Call from {@code onDisable} before the database disconnects.
+     */
     public void shutdown() {
-        pending.values().forEach(BukkitTask::cancel);
-        pending.clear();
+        timers.values().forEach(BukkitTask::cancel);
+        timers.clear();
+        pendingByRegion.clear();
+        ready.clear();
+        for (Sweep sweep : List.copyOf(running.values())) {
+            sweep.stop();
+        }
+        running.clear();
     }
 }
@@ -3,7 +3,10 @@ package net.democracycraft.vault.internal.service;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.api.data.ProtectedBlockRef;
 import net.democracycraft.vault.api.service.BoltService;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.scan.ChunkTiles;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -17,6 +20,9 @@ import org.popcraft.bolt.protection.EntityProtection;
 import org.popcraft.bolt.protection.Protection;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 /**
  * Service implementation that integrates with Bolt to query and manage block protections.
@@ -231,6 +237,121 @@ public class BoltServiceImp implements BoltService {
         return protectedBlocks;
     }
 
+    @Override
+    public @NotNull List<ProtectedBlockRef> getProtectedBlockRefs(@NotNull UUID playerUUID, @NotNull BoundingBox boundingBox, @NotNull World world) {
+        Objects.requireNonNull(playerUUID, "playerUUID");
+        return refs(boundingBox, world, playerUUID);
+    }
+
+    @Override
+    public @NotNull List<ProtectedBlockRef> getProtectedBlockRefsIn(@NotNull BoundingBox boundingBox, @NotNull World world) {
+        return refs(boundingBox, world, null);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<List<Block>> getProtectedBlocksAsync(@NotNull UUID playerUUID, @NotNull BoundingBox boundingBox, @NotNull World world) {
+        return resolveBlocksAsync(world, getProtectedBlockRefs(playerUUID, boundingBox, world));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<List<Block>> getProtectedBlocksInAsync(@NotNull BoundingBox boundingBox, @NotNull World world) {
+        return resolveBlocksAsync(world, getProtectedBlockRefsIn(boundingBox, world));
+    }
+
+    /** Block protections in the box (owned by {@code owner} when non-null) within world height, in tile order. */
+    private List<ProtectedBlockRef> refs(@NotNull BoundingBox boundingBox, @NotNull World world, @Nullable UUID owner) {
+        Objects.requireNonNull(boundingBox, "boundingBox");
+        Objects.requireNonNull(world, "world");
+        UUID worldUuid = world.getUID();
+        List<ProtectedBlockRef> out = new ArrayList<>();
+        streamProtections(world, boundingBox).forEach(protection -> {
+            if (!(protection instanceof BlockProtection bp)) return;
+            if (owner != null && !owner.equals(bp.getOwner())) return;
+            if (bp.getY() < world.getMinHeight() || bp.getY() >= world.getMaxHeight()) return;
+            out.add(new ProtectedBlockRef(worldUuid, bp.getX(), bp.getY(), bp.getZ(), bp.getOwner(), bp.getType()));
+        });
+        return out;
+    }
+
+    /**
+     * Loads each chunk holding a ref once via {@link World#getChunkAtAsync}, keeping at most {@code scan.batch-size}
+     * loads in flight, and resolves the refs' blocks in chunk-grouped order.
+     */
+    private CompletableFuture<List<Block>> resolveBlocksAsync(@NotNull World world, @NotNull List<ProtectedBlockRef> refs) {
+        if (refs.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        Map<Long, List<ProtectedBlockRef>> byChunk = new LinkedHashMap<>();
+        for (ProtectedBlockRef ref : refs) {
+            byChunk.computeIfAbsent(((long) ref.chunkX() << 32) | (ref.chunkZ() & 0xFFFFFFFFL), k -> new ArrayList<>()).add(ref);
+        }
+        int maxInFlight = Math.max(1, plugin.getConfig().getInt(ConfigPaths.SCAN_BATCH_SIZE.getPath(), 50));
+        ChunkGroupResolver resolver = new ChunkGroupResolver(world, new ArrayList<>(byChunk.values()), refs.size(), maxInFlight);
+        resolver.pump();
+        return resolver.result;
+    }
+
+    /** Chunk-grouped block resolution state. Main-thread only: getChunkAtAsync completes on the main thread. */
+    private static final class ChunkGroupResolver {
+        private final World world;
+        private final List<List<ProtectedBlockRef>> groups;
+        private final List<List<Block>> resolved;
+        private final int totalRefs;
+        private final int maxInFlight;
+        private final CompletableFuture<List<Block>> result = new CompletableFuture<>();
+        private final LongAdder chunkLoads = VaultStoragePlugin.getInstance().getMetrics().counter("vault_chunk_loads_total", "source", "bolt");
+        private int next = 0;
+        private int inFlight = 0;
+        private int remaining;
+        private boolean pumping = false;
+
+        private ChunkGroupResolver(World world, List<List<ProtectedBlockRef>> groups, int totalRefs, int maxInFlight) {
+            this.world = world;
+            this.groups = groups;
+            this.resolved = new ArrayList<>(Collections.nCopies(groups.size(), null));
+            this.totalRefs = totalRefs;
+            this.maxInFlight = maxInFlight;
+            this.remaining = groups.size();
+        }
+
+        private void pump() {
+            // Loads of already-loaded chunks complete inside the loop; the outer loop continues for them.
+            if (pumping) return;
+            pumping = true;
+            while (!result.isDone() && next < groups.size() && inFlight < maxInFlight) {
+                int i = next++;
+                inFlight++;
+                List<ProtectedBlockRef> group = groups.get(i);
+                if (!world.isChunkLoaded(group.getFirst().chunkX(), group.getFirst().chunkZ())) chunkLoads.increment();
+                world.getChunkAtAsync(group.getFirst().chunkX(), group.getFirst().chunkZ())
+                        .whenComplete((chunk, error) -> VaultStoragePlugin.getInstance().getProfiler()
+                                .run("bolt.resolveChunk", world.getName(), () -> onLoaded(i, group, chunk, error)));
+            }
+            pumping = false;
+        }
+
+        private void onLoaded(int i, List<ProtectedBlockRef> group, Chunk chunk, Throwable error) {
+            inFlight--;
+            if (result.isDone()) return;
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            List<Block> blocks = new ArrayList<>(group.size());
+            for (ProtectedBlockRef ref : group) {
+                blocks.add(chunk.getBlock(ref.x() & 15, ref.y(), ref.z() & 15));
+            }
+            resolved.set(i, blocks);
+            if (--remaining == 0) {
+                List<Block> all = new ArrayList<>(totalRefs);
+                resolved.forEach(all::addAll);
+                result.complete(all);
+            } else {
+                pump();
+            }
+        }
+    }
+
     /**
      * Removes a protection for the given block using BoltAPI.
      *
@@ -268,4 +389,24 @@ public class BoltServiceImp implements BoltService {
     public Collection<Protection> getProtections(BoundingBox boundingBox, World world) {
         return api.findProtections(world, boundingBox);
     }
+
+    @Override
+    public Stream<Protection> streamProtections(@NotNull World world, @NotNull BoundingBox boundingBox) {
+        Objects.requireNonNull(world, "world");
+        Objects.requireNonNull(boundingBox, "boundingBox");
+        // Entity protections can straddle tile edges; block protections belong to exactly one chunk.
+        Set<UUID> seenEntities = new HashSet<>();
+        return ChunkTiles.of(boundingBox).flatMap(tile -> {
+            Collection<Protection> protections = api.findProtections(world, tile.box());
+            if (protections == null || protections.isEmpty()) {
+                return Stream.empty();
+            }
+            return protections.stream().filter(protection -> {
+                if (protection instanceof BlockProtection bp) {
+                    return tile.containsBlock(bp.getX(), bp.getZ());
+                }
+                return !(protection instanceof EntityProtection ep) || seenEntities.add(ep.getId());
+            });
+        });
+    }
 }
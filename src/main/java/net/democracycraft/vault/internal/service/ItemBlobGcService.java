@@ -0,0 +1,53 @@
+package net.democracycraft.vault.internal.service;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.database.dao.ItemBlobStore;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.scheduler.BackgroundJob;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Level;
+
+/**
+ * Background garbage collector for shared item payloads of the deduplicated layout. Deletes one batch of
+ * unreferenced {@code item_blobs} per run of a {@link BackgroundJob}. Runs regardless of the configured layout,
+ * so blobs left behind after switching away from deduplication are reclaimed as their vaults move over.
+ */
+public class ItemBlobGcService {
+
+    private final VaultStoragePlugin plugin;
+    private final ItemBlobStore blobs;
+    private BackgroundJob job;
+
+    public ItemBlobGcService(@NotNull VaultStoragePlugin plugin, @NotNull ItemBlobStore blobs) {
+        this.plugin = plugin;
+        this.blobs = blobs;
+    }
+
+    /** Starts the collector. Call once from {@code onEnable}. */
+    public void start() {
+        int batchSize = Math.max(1, plugin.getConfig().getInt(ConfigPaths.STORAGE_DEDUP_GC_BATCH_SIZE.getPath(), 500));
+        long periodTicks = Math.max(20L, plugin.getConfig().getLong(ConfigPaths.STORAGE_DEDUP_GC_PERIOD_TICKS.getPath(), 1200L));
+
+        this.job = new BackgroundJob(plugin, plugin.getDatabaseExecutor(), plugin.getMetrics(), "ItemBlobGcService", periodTicks, () -> {
+            try {
+                int deleted = blobs.collectGarbage(batchSize);
+                if (deleted > 0) {
+                    plugin.getLogger().fine("[ItemBlobGcService] Deleted " + deleted + " unreferenced item blob(s).");
+                }
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "[ItemBlobGcService] Collection failed; will retry.", ex);
+            }
+            return true;
+        });
+        job.start(periodTicks);
+    }
+
+    /** Stops the collector. Call from {@code onDisable} before the database disconnects. */
+    public void shutdown() {
+        if (job != null) {
+            job.stop();
+            job = null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package net.democracycraft.vault.internal.service;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.database.dao.ItemMaintenanceDAO;
+import net.democracycraft.vault.internal.database.entity.ItemBlobEntity;
+import net.democracycraft.vault.internal.database.entity.VaultContentsEntity;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.item.ItemSerialization;
+import net.democracycraft.vault.internal.util.item.PackedSlots;
+import net.democracycraft.vault.internal.util.scheduler.BackgroundJob;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Background job that re-serializes stored items written at an older Minecraft data version (or with no recorded
+ * version) at the server's current one, so vault opens and placements no longer run the DataFixer on them.
+ * Stale items are found by the data version in their frame header, without decoding. Walks inline
+ * {@code vault_items} rows, then shared {@code item_blobs}, then packed {@code vault_contents}, in
+ * keyset-paginated batches run as a {@link BackgroundJob}. Rewrites are compare-and-set, so they never clobber a
+ * concurrent save.
+ */
+public class ItemDataUpgradeService {
+
+    private enum Phase { ITEMS, BLOBS, PACKED }
+
+    private final VaultStoragePlugin plugin;
+    private final ItemMaintenanceDAO dao;
+    private BackgroundJob job;
+
+    public ItemDataUpgradeService(@NotNull VaultStoragePlugin plugin, @NotNull ItemMaintenanceDAO dao) {
+        this.plugin = plugin;
+        this.dao = dao;
+    }
+
+    /** Starts the job if enabled in config. Call once from {@code onEnable}. */
+    public void start() {
+        if (!plugin.getConfig().getBoolean(ConfigPaths.STORAGE_UPGRADE_ENABLED.getPath(), true)) {
+            return;
+        }
+        int batchSize = Math.max(1, plugin.getConfig().getInt(ConfigPaths.STORAGE_UPGRADE_BATCH_SIZE.getPath(), 100));
+        long periodTicks = Math.max(1L, plugin.getConfig().getLong(ConfigPaths.STORAGE_UPGRADE_PERIOD_TICKS.getPath(), 20L));
+        int dataVersion = ItemSerialization.currentDataVersion();
+
+        this.job = new BackgroundJob(plugin, plugin.getDatabaseExecutor(), plugin.getMetrics(), "ItemDataUpgradeService", periodTicks, new BackgroundJob.Step() {
+            Phase phase = Phase.ITEMS;
+            UUID uuidCursor = null;
+            String hashCursor = null;
+            long upgraded = 0;
+
+            @Override public boolean run() {
+                try {
+                    boolean more = switch (phase) {
+                        case ITEMS -> upgradeItems();
+                        case BLOBS -> upgradeBlobs();
+                        case PACKED -> upgradePacked();
+                    };
+                    if (more) return true;
+                } catch (RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[ItemDataUpgradeService] Batch failed; will retry.", ex);
+                    return true;
+                }
+                switch (phase) {
+                    case ITEMS -> phase = Phase.BLOBS;
+                    case BLOBS -> {
+                        phase = Phase.PACKED;
+                        uuidCursor = null;
+                    }
+                    case PACKED -> {
+                        if (upgraded > 0) {
+                            plugin.getLogger().info("[ItemDataUpgradeService] Upgraded " + upgraded
+                                    + " stored item(s) to data version " + dataVersion + ".");
+                        }
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            private boolean upgradeItems() {
+                List<VaultItemEntity> page = dao.staleItemsAfter(uuidCursor, batchSize, dataVersion);
+                for (VaultItemEntity row : page) {
+                    uuidCursor = row.uuid;
+                    byte[] current = reserialize(row.item, row.uuid);
+                    if (current != null && dao.replaceItem(row.uuid, row.item, current)) upgraded++;
+                }
+                return !page.isEmpty();
+            }
+
+            private boolean upgradeBlobs() {
+                List<ItemBlobEntity> page = dao.staleBlobsAfter(hashCursor, batchSize, dataVersion);
+                for (ItemBlobEntity blob : page) {
+                    hashCursor = blob.hash;
+                    byte[] current = reserialize(blob.bytes, blob.hash);
+                    if (current != null && dao.replaceBlob(blob.hash, current)) upgraded++;
+                }
+                return !page.isEmpty();
+            }
+
+            private boolean upgradePacked() {
+                // A packed row holds up to a few dozen items; keep batches comparable in item count.
+                List<VaultContentsEntity> page = dao.stalePackedAfter(uuidCursor, Math.max(1, batchSize / 27), dataVersion);
+                for (VaultContentsEntity packed : page) {
+                    uuidCursor = packed.vaultUuid;
+                    List<VaultItemEntity> slots = PackedSlots.unpack(packed.vaultUuid, packed.contents);
+                    int changed = 0;
+                    for (VaultItemEntity slot : slots) {
+                        if (slot.item == null || slot.item.length == 0) continue;
+                        if (ItemSerialization.dataVersion(slot.item) >= dataVersion) continue;
+                        byte[] current = reserialize(slot.item, packed.vaultUuid);
+                        if (current != null) {
+                            slot.item = current;
+                            changed++;
+                        }
+                    }
+                    if (changed > 0 && dao.replacePacked(packed.vaultUuid, packed.contents, slots)) upgraded += changed;
+                }
+                return !page.isEmpty();
+            }
+        });
+        job.start(periodTicks);
+    }
+
+    /** Decodes (running the DataFixer) and re-encodes at the current data version; null if unreadable. */
+    private byte[] reserialize(byte[] stored, Object source) {
+        try {
+            ItemStack stack = ItemSerialization.fromBytes(stored);
+            return stack == null ? null : ItemSerialization.toBytes(stack);
+        } catch (RuntimeException ex) {
+            // Leave unreadable payloads untouched; the read path surfaces them.
+            plugin.getLogger().log(Level.FINE, "[ItemDataUpgradeService] Skipped item " + source, ex);
+            return null;
+        }
+    }
+
+    /** Stops the job. Call from {@code onDisable} before the database disconnects. */
+    public void shutdown() {
+        if (job != null) {
+            job.stop();
+            job = null;
+        }
+    }
+}
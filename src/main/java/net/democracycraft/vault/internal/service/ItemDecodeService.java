@@ -0,0 +1,175 @@
+package net.democracycraft.vault.internal.service;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.item.ItemSerialization;
+import net.democracycraft.vault.internal.util.item.ParallelDecoder;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.logging.Level;
+
+/**
+ * Parallel item deserialization for bulk reads (placing many vaults, audits, exports). Item rows are decoded by a
+ * {@link ParallelDecoder} running {@link ItemSerialization#fromBytes} on a dedicated pool, never on the main thread
+ * or the scheduler's async workers. {@link #decodeVaults} streams many vaults through it with a bounded number in
+ * flight and hands finished vaults to the main thread in batches; {@link #decodeAll} does the same for a caller
+ * that is already off the main thread.
+ */
+public class ItemDecodeService {
+
+    /** One decoded vault: its rows and {@code contents[slot]}, or the failure that prevented loading or decoding it. */
+    public record DecodedVault(@NotNull UUID vaultUuid, @Nullable List<VaultItemEntity> rows, @Nullable ItemStack[] contents,
+                               @Nullable Throwable error) {}
+
+    private final VaultStoragePlugin plugin;
+    private final ParallelDecoder<ItemStack> decoder;
+    private final int maxInFlight;
+
+    public ItemDecodeService(@NotNull VaultStoragePlugin plugin) {
+        this.plugin = plugin;
+        int configured = plugin.getConfig().getInt(ConfigPaths.STORAGE_DECODE_PARALLELISM.getPath(), 0);
+        // The pool shares the machine with the server's own threads; half the cores, capped at four, by default.
+        int parallelism = configured > 0 ? configured : Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        this.decoder = new ParallelDecoder<>(parallelism, "VaultStorage-decode", ItemSerialization::fromBytes);
+        int inFlight = plugin.getConfig().getInt(ConfigPaths.STORAGE_DECODE_MAX_IN_FLIGHT.getPath(), 0);
+        this.maxInFlight = inFlight > 0 ? inFlight : parallelism * 4;
+    }
+
+    /**
+     * Decodes one vault's rows into an array indexed by slot, sized to the highest slot. Safe to call from any thread;
+     * the future completes on a decode thread.
+     */
+    public @NotNull CompletableFuture<ItemStack[]> decode(@NotNull List<VaultItemEntity> rows) {
+        int size = 0;
+        List<byte[]> payloads = new ArrayList<>(rows.size());
+        for (VaultItemEntity row : rows) {
+            size = Math.max(size, row.slot + 1);
+            payloads.add(row.item);
+        }
+        int length = size;
+        return decoder.submit(payloads).thenApply(stacks -> {
+            ItemStack[] contents = new ItemStack[length];
+            for (int i = 0; i < rows.size(); i++) {
+                int slot = rows.get(i).slot;
+                if (slot >= 0) contents[slot] = stacks.get(i);
+            }
+            return contents;
+        });
+    }
+
+    /**
+     * Loads and decodes many vaults, at most {@code storage.decode.max-in-flight} at a time. {@code loader} runs on
+     * one database executor worker (it is expected to query the database); decoding runs on the decode pool.
+     * Finished vaults are delivered to {@code onBatch} on the main thread, {@code batchSize} at a time in completion
+     * order, and {@code onComplete} runs right after the last batch, in the same main-thread task; with
+     * {@code batchSize} at least the number of vaults that is a single hand-off. A vault that fails to load or decode
+     * is delivered with its error instead of stopping the run; if the database executor refuses the run, every
+     * vault is delivered with a {@link RejectedExecutionException}.
+     */
+    public void decodeVaults(@NotNull Collection<UUID> vaults, @NotNull Function<UUID, List<VaultItemEntity>> loader, int batchSize,
+                             @NotNull Consumer<List<DecodedVault>> onBatch, @Nullable Runnable onComplete) {
+        int flushAt = Math.max(1, batchSize);
+        List<UUID> order = List.copyOf(vaults);
+        if (order.isEmpty()) {
+            deliver(List.of(), true, onBatch, onComplete);
+            return;
+        }
+        boolean queued = plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, () -> {
+            List<DecodedVault> ready = new ArrayList<>(Math.min(flushAt, order.size()));
+            AtomicInteger remaining = new AtomicInteger(order.size());
+            stream(order, loader, (decoded, index) -> {
+                List<DecodedVault> batch = null;
+                boolean last;
+                synchronized (ready) {
+                    ready.add(decoded);
+                    last = remaining.decrementAndGet() == 0;
+                    if (last || ready.size() >= flushAt) {
+                        batch = new ArrayList<>(ready);
+                        ready.clear();
+                    }
+                }
+                if (batch != null) deliver(batch, last, onBatch, onComplete);
+            });
+        });
+        if (!queued) {
+            RejectedExecutionException busy = new RejectedExecutionException(DatabaseExecutor.BUSY_MESSAGE);
+            deliver(order.stream().map(vaultUuid -> new DecodedVault(vaultUuid, null, null, busy)).toList(), true, onBatch, onComplete);
+        }
+    }
+
+    /**
+     * Loads and decodes many vaults like {@link #decodeVaults}, but blocks until all are done and returns them in the
+     * order given. For callers already off the main thread, such as background jobs on a database executor worker;
+     * {@code loader} runs on the calling thread.
+     */
+    public @NotNull List<DecodedVault> decodeAll(@NotNull Collection<UUID> vaults, @NotNull Function<UUID, List<VaultItemEntity>> loader) {
+        List<UUID> order = List.copyOf(vaults);
+        DecodedVault[] out = new DecodedVault[order.size()];
+        stream(order, loader, (decoded, index) -> out[index] = decoded).join();
+        return Arrays.asList(out);
+    }
+
+    /**
+     * Loads each vault on the calling thread and decodes it on the pool, waiting for a permit whenever
+     * {@link #maxInFlight} vaults are loaded but not yet decoded. {@code sink} gets each vault with its index in
+     * {@code order}, on a decode thread, or on the calling thread if loading failed.
+     *
+     * @return completes once {@code sink} has seen every vault
+     */
+    private CompletableFuture<Void> stream(List<UUID> order, Function<UUID, List<VaultItemEntity>> loader, ObjIntConsumer<DecodedVault> sink) {
+        Semaphore permits = new Semaphore(maxInFlight);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(order.size());
+        for (int i = 0; i < order.size(); i++) {
+            UUID vaultUuid = order.get(i);
+            int index = i;
+            permits.acquireUninterruptibly();
+            List<VaultItemEntity> rows = null;
+            CompletableFuture<ItemStack[]> decoded;
+            try {
+                rows = loader.apply(vaultUuid);
+                decoded = decode(rows);
+            } catch (RuntimeException ex) {
+                decoded = CompletableFuture.failedFuture(ex);
+            }
+            List<VaultItemEntity> loaded = rows;
+            pending.add(decoded.handle((contents, error) -> {
+                permits.release();
+                if (error != null) {
+                    plugin.getLogger().log(Level.WARNING, "[ItemDecodeService] Failed to decode vault " + vaultUuid, error);
+                }
+                sink.accept(error == null ? new DecodedVault(vaultUuid, loaded, contents, null)
+                        : new DecodedVault(vaultUuid, loaded, null, error), index);
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]));
+    }
+
+    private void deliver(List<DecodedVault> batch, boolean last, Consumer<List<DecodedVault>> onBatch, @Nullable Runnable onComplete) {
+        plugin.getMainThreadExecutor().profiled("decode.batch", batch.size()).execute(() -> {
+            if (!batch.isEmpty()) onBatch.accept(batch);
+            if (last && onComplete != null) onComplete.run();
+        });
+    }
+
+    /** Stops the decode pool. Call from {@code onDisable}. */
+    public void shutdown() {
+        decoder.close();
+    }
+}
@@ -0,0 +1,111 @@
+package net.democracycraft.vault.internal.service;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.database.dao.ItemLayout;
+import net.democracycraft.vault.internal.database.dao.VaultItemIndexDAO;
+import net.democracycraft.vault.internal.service.ItemDecodeService.DecodedVault;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.scheduler.BackgroundJob;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Builds the {@code vault_item_index} from stored items. At startup it fills in vaults that have no index entries
+ * yet (vaults saved before the index existed); {@link #rebuild} re-derives the entries of every vault. Walks vaults
+ * in keyset-paginated batches as a {@link BackgroundJob}, one transaction per vault, so vaults stay usable while it
+ * runs.
+ */
+public class ItemIndexService {
+
+    private final VaultStoragePlugin plugin;
+    private final VaultItemIndexDAO index;
+    private final ItemLayout layout;
+    private BackgroundJob job;
+
+    public ItemIndexService(@NotNull VaultStoragePlugin plugin, @NotNull VaultItemIndexDAO index, @NotNull ItemLayout layout) {
+        this.plugin = plugin;
+        this.index = index;
+        this.layout = layout;
+    }
+
+    public boolean isRunning() {
+        return job != null && job.isRunning();
+    }
+
+    /** Indexes vaults that have no index entries. Call once from {@code onEnable}. */
+    public void start() {
+        run(null, true);
+    }
+
+    /**
+     * Rebuilds the index entries of every vault. {@code reporter} is told when it completes.
+     * @return false if an index job is already running
+     */
+    public boolean rebuild(@NotNull CommandSender reporter) {
+        if (isRunning()) return false;
+        run(reporter, false);
+        return true;
+    }
+
+    private void run(@Nullable CommandSender reporter, boolean unindexedOnly) {
+        int batchSize = Math.max(1, plugin.getConfig().getInt(ConfigPaths.STORAGE_INDEX_BATCH_SIZE.getPath(), 50));
+        long periodTicks = Math.max(1L, plugin.getConfig().getLong(ConfigPaths.STORAGE_INDEX_PERIOD_TICKS.getPath(), 20L));
+
+        this.job = new BackgroundJob(plugin, plugin.getDatabaseExecutor(), plugin.getMetrics(), "ItemIndexService", periodTicks, new BackgroundJob.Step() {
+            UUID cursor = null;
+            long indexed = 0;
+            long failed = 0;
+
+            @Override public boolean run() {
+                List<UUID> page;
+                try {
+                    page = index.storedVaultsAfter(cursor, batchSize, unindexedOnly);
+                } catch (RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[ItemIndexService] Batch read failed; will retry.", ex);
+                    return true;
+                }
+                if (page.isEmpty()) {
+                    String summary = "Indexed the items of " + indexed + " vault(s)"
+                            + (failed > 0 ? ", " + failed + " failed (see log)." : ".");
+                    if (indexed > 0 || failed > 0 || reporter != null) {
+                        plugin.getLogger().info("[ItemIndexService] " + summary);
+                    }
+                    if (reporter != null) Bukkit.getScheduler().runTask(plugin, () -> reporter.sendMessage(summary));
+                    return false;
+                }
+                // The page is decoded on the decode pool, several vaults at once. A vault with an unreadable item
+                // fails as a whole there, so it is indexed row by row instead, which leaves out just that item.
+                for (DecodedVault vault : plugin.getItemDecodeService().decodeAll(page, layout::list)) {
+                    cursor = vault.vaultUuid();
+                    try {
+                        if (vault.error() == null) {
+                            index.rebuild(vault.vaultUuid(), vault.rows(), vault.contents());
+                        } else {
+                            index.rebuild(vault.vaultUuid(), layout);
+                        }
+                        indexed++;
+                    } catch (RuntimeException ex) {
+                        failed++;
+                        plugin.getLogger().log(Level.WARNING, "[ItemIndexService] Failed to index vault " + vault.vaultUuid(), ex);
+                    }
+                }
+                return true;
+            }
+        });
+        job.start(1L);
+    }
+
+    /** Stops the job. Call from {@code onDisable} before the database disconnects. */
+    public void shutdown() {
+        if (job != null) {
+            job.stop();
+            job = null;
+        }
+    }
+}
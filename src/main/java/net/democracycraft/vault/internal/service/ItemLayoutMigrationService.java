@@ -0,0 +1,94 @@
+package net.democracycraft.vault.internal.service;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.database.dao.ItemLayout;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.scheduler.BackgroundJob;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Moves every vault still stored in the other item layout into the configured {@link ItemLayout}. Walks the
+ * other layout's table in keyset-paginated batches as a {@link BackgroundJob}; each vault converts in its own
+ * transaction, so players can keep using vaults while it runs and an interrupted migration simply resumes on the
+ * next start.
+ */
+public class ItemLayoutMigrationService {
+
+    private final VaultStoragePlugin plugin;
+    private final ItemLayout layout;
+    private BackgroundJob job;
+
+    public ItemLayoutMigrationService(@NotNull VaultStoragePlugin plugin, @NotNull ItemLayout layout) {
+        this.plugin = plugin;
+        this.layout = layout;
+    }
+
+    /** Target layout of this migration. */
+    public @NotNull ItemLayout layout() {
+        return layout;
+    }
+
+    public boolean isRunning() {
+        return job != null && job.isRunning();
+    }
+
+    /**
+     * Starts the migration. {@code reporter} is told when it completes.
+     * @return false if a migration is already running
+     */
+    public boolean start(@NotNull CommandSender reporter) {
+        if (isRunning()) return false;
+        int batchSize = Math.max(1, plugin.getConfig().getInt(ConfigPaths.STORAGE_MIGRATION_BATCH_SIZE.getPath(), 50));
+        long periodTicks = Math.max(1L, plugin.getConfig().getLong(ConfigPaths.STORAGE_MIGRATION_PERIOD_TICKS.getPath(), 20L));
+        plugin.getLogger().info("[ItemLayoutMigrationService] Migrating vault contents to the '" + layout.name() + "' layout.");
+
+        this.job = new BackgroundJob(plugin, plugin.getDatabaseExecutor(), plugin.getMetrics(), "ItemLayoutMigrationService", periodTicks, new BackgroundJob.Step() {
+            UUID cursor = null;
+            long converted = 0;
+            long failed = 0;
+
+            @Override public boolean run() {
+                List<UUID> page;
+                try {
+                    page = layout.unconvertedAfter(cursor, batchSize);
+                } catch (RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[ItemLayoutMigrationService] Batch read failed; will retry.", ex);
+                    return true;
+                }
+                if (page.isEmpty()) {
+                    String summary = "Converted " + converted + " vault(s) to the '" + layout.name() + "' layout"
+                            + (failed > 0 ? ", " + failed + " failed (see log)." : ".");
+                    plugin.getLogger().info("[ItemLayoutMigrationService] " + summary);
+                    Bukkit.getScheduler().runTask(plugin, () -> reporter.sendMessage(summary));
+                    return false;
+                }
+                for (UUID vaultUuid : page) {
+                    cursor = vaultUuid;
+                    try {
+                        if (layout.convert(vaultUuid)) converted++;
+                    } catch (RuntimeException ex) {
+                        failed++;
+                        plugin.getLogger().log(Level.WARNING, "[ItemLayoutMigrationService] Failed to convert vault " + vaultUuid, ex);
+                    }
+                }
+                return true;
+            }
+        });
+        job.start(1L);
+        return true;
+    }
+
+    /** Stops the migration. Call from {@code onDisable} before the database disconnects. */
+    public void shutdown() {
+        if (job != null) {
+            job.stop();
+            job = null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.democracycraft.vault.internal.service;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.database.dao.ItemMaintenanceDAO;
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.item.ItemSerialization;
+import net.democracycraft.vault.internal.util.scheduler.BackgroundJob;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Background job that rewrites legacy (unframed) {@code vault_items} BLOBs into the framed, compressed
+ * {@link ItemSerialization} format. Walks the table in keyset-paginated batches as a {@link BackgroundJob}, so the
+ * database is never hit with more than one batch at a time and batches wait while it is busy. Rewrites are
+ * byte-level (no ItemStack deserialization) and compare-and-set, so they never clobber a concurrent save.
+ */
+public class ItemRecompressionService {
+
+    private final VaultStoragePlugin plugin;
+    private final ItemMaintenanceDAO dao;
+    private BackgroundJob job;
+
+    public ItemRecompressionService(@NotNull VaultStoragePlugin plugin, @NotNull ItemMaintenanceDAO dao) {
+        this.plugin = plugin;
+        this.dao = dao;
+    }
+
+    /** Starts the job if enabled in config. Call once from {@code onEnable}. */
+    public void start() {
+        if (!plugin.getConfig().getBoolean(ConfigPaths.STORAGE_RECOMPRESS_ENABLED.getPath(), true)) {
+            return;
+        }
+        int batchSize = Math.max(1, plugin.getConfig().getInt(ConfigPaths.STORAGE_RECOMPRESS_BATCH_SIZE.getPath(), 200));
+        long periodTicks = Math.max(1L, plugin.getConfig().getLong(ConfigPaths.STORAGE_RECOMPRESS_PERIOD_TICKS.getPath(), 20L));
+
+        this.job = new BackgroundJob(plugin, plugin.getDatabaseExecutor(), plugin.getMetrics(), "ItemRecompressionService", periodTicks, new BackgroundJob.Step() {
+            UUID cursor = null;
+            long rewritten = 0;
+            long savedBytes = 0;
+
+            @Override public boolean run() {
+                List<VaultItemEntity> page;
+                try {
+                    page = dao.legacyPageAfter(cursor, batchSize);
+                } catch (RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[ItemRecompressionService] Batch read failed; will retry.", ex);
+                    return true;
+                }
+                if (page.isEmpty()) {
+                    if (rewritten > 0) {
+                        plugin.getLogger().info("[ItemRecompressionService] Recompressed " + rewritten
+                                + " item row(s), saving " + (savedBytes / 1024) + " KiB.");
+                    }
+                    return false;
+                }
+                for (VaultItemEntity row : page) {
+                    cursor = row.uuid;
+                    if (row.item == null || row.item.length == 0 || ItemSerialization.isFramed(row.item)) continue;
+                    try {
+                        byte[] framed = ItemSerialization.encode(row.item);
+                        if (dao.replaceItem(row.uuid, row.item, framed)) {
+                            rewritten++;
+                            savedBytes += row.item.length - framed.length;
+                        }
+                    } catch (RuntimeException ex) {
+                        // Leave unreadable payloads untouched; the read path surfaces them.
+                        plugin.getLogger().log(Level.FINE, "[ItemRecompressionService] Skipped row " + row.uuid, ex);
+                    }
+                }
+                return true;
+            }
+        });
+        job.start(periodTicks);
+    }
+
+    /** Stops the job. Call from {@code onDisable} before the database disconnects. */
+    public void shutdown() {
+        if (job != null) {
+            job.stop();
+            job = null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package net.democracycraft.vault.internal.service;
+
+import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.util.scheduler.BackgroundJob;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.logging.Level;
+
+/**
+ * Periodically writes the plugin's {@link MetricsRegistry} to {@code metrics.prom} (Prometheus text format, for a
+ * node-exporter textfile collector or similar) or {@code metrics.json} in the plugin data folder, as a
+ * {@link BackgroundJob}, so dumps wait their turn behind database work under load. Each dump replaces the file
+ * atomically, so readers never see a partial one.
+ */
+public class MetricsExportService {
+
+    private final VaultStoragePlugin plugin;
+    private final MetricsRegistry metrics;
+    private BackgroundJob job;
+
+    public MetricsExportService(@NotNull VaultStoragePlugin plugin, @NotNull MetricsRegistry metrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+    }
+
+    /** Starts the dump timer if {@code metrics.enabled}. Call once from {@code onEnable}. */
+    public void start() {
+        if (!plugin.getConfig().getBoolean(ConfigPaths.METRICS_ENABLED.getPath(), true)) return;
+        long periodTicks = 20L * Math.max(5L, plugin.getConfig().getLong(ConfigPaths.METRICS_DUMP_INTERVAL_SECONDS.getPath(), 60L));
+
+        this.job = new BackgroundJob(plugin, plugin.getDatabaseExecutor(), metrics, "MetricsExportService", periodTicks, () -> {
+            try {
+                dump();
+            } catch (IOException ex) {
+                plugin.getLogger().log(Level.WARNING, "[MetricsExportService] Failed to write metrics; will retry.", ex);
+            }
+            return true;
+        });
+        job.start(periodTicks);
+    }
+
+    /**
+     * Writes the metrics file now, in the configured format.
+     *
+     * @return the file written
+     */
+    public @NotNull Path dump() throws IOException {
+        boolean json = "json".equals(plugin.getConfig().getString(ConfigPaths.METRICS_FORMAT.getPath(), "prometheus").toLowerCase(Locale.ROOT));
+        Path folder = plugin.getDataFolder().toPath();
+        Files.createDirectories(folder);
+        Path target = folder.resolve(json ? "metrics.json" : "metrics.prom");
+        Path temp = folder.resolve(target.getFileName() + ".tmp");
+        Files.writeString(temp, json ? metrics.toJson() : metrics.toPrometheus(), StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+
+    /** Stops the job and writes a last dump. Call from {@code onDisable}. */
+    public void shutdown() {
+        if (job == null) return;
+        job.stop();
+        job = null;
+        try {
+            dump();
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[MetricsExportService] Failed to write final metrics.", ex);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.democracycraft.vault.internal.service;
 
 import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.api.dao.VaultDAO;
 import net.democracycraft.vault.api.data.Dto;
 import net.democracycraft.vault.api.event.PlayerVaultEvent;
 import net.democracycraft.vault.api.service.BoltService;
@@ -12,25 +13,21 @@ import net.democracycraft.vault.internal.util.item.ItemSerialization;
 import net.democracycraft.vault.internal.util.uuid.UniqueIdentifierResolver;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.*;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Hanging;
 import org.bukkit.entity.ItemFrame;
 import org.bukkit.entity.Painting;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.EventPriority;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.block.data.type.WallSign;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -38,18 +35,27 @@ import org.jetbrains.annotations.Nullable;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.logging.Level;
+import net.democracycraft.vault.internal.database.entity.VaultEntity;
 import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.database.dao.VaultItemIndexDAO;
 import net.democracycraft.vault.internal.security.VaultCapturePolicy;
 import net.democracycraft.vault.internal.security.VaultPermission;
 import net.democracycraft.vault.internal.session.VaultSessionManager;
 import net.democracycraft.vault.internal.session.VaultSessionManager.Mode;
+import net.democracycraft.vault.internal.listener.SessionEventRouter.SessionHandler;
+import net.democracycraft.vault.internal.util.hanging.HangingSlotAllocator;
 import net.democracycraft.vault.internal.util.hanging.HangingVaultSupport;
 import net.democracycraft.vault.internal.util.minimessage.MiniMessageUtil;
 import net.democracycraft.vault.internal.util.yml.AutoYML;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
 import net.democracycraft.vault.internal.util.config.DataFolder;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.database.KeyedSerialExecutor;
 import org.jspecify.annotations.NonNull;
 
 /**
@@ -105,20 +111,25 @@ public class VaultCaptureService {
     /**
      * Determines if the given block is a container and if its effective inventory is empty.
      * For non-container blocks returns true (treated as empty capture behavior).
-     * <p>For chests, uses the combined {@link Chest#getBlockInventory()} ensuring double chests are evaluated as a whole.</p>
+     * <p>For chests, only the clicked half's {@link Chest#getBlockInventory()} is evaluated.</p>
      * <p>Empty definition: no non-null ItemStack whose type != AIR and amount > 0.</p>
      * @param block target block
      * @return true if empty (or not a container), false otherwise
      */
     public boolean isContainerEmpty(Block block) {
-        if (!(block.getState() instanceof Container c)) {
+        // Non-snapshot state: reads the live block entity without copying it and its inventory.
+        if (!(block.getState(false) instanceof Container c)) {
             // Non-container: treat as empty so capture logic will produce no vault
             return true;
         }
+        return isContainerEmpty(c);
+    }
+
+    /** {@link #isContainerEmpty(Block)} for an already resolved container state. */
+    private static boolean isContainerEmpty(Container c) {
         // Note: checking getBlockInventory() on a Double Chest returns ONLY the half belonging to this block,
         // which is exactly what we need for split-logic.
-        Inventory inv = (c instanceof Chest chest) ? chest.getBlockInventory() : c.getInventory();
-        for (ItemStack stack : inv.getContents()) {
+        for (ItemStack stack : captureInventory(c).getContents()) {
             if (stack == null) continue;
             if (stack.getType() == Material.AIR) continue;
             if (stack.getAmount() <= 0) continue;
@@ -127,6 +138,11 @@ public class VaultCaptureService {
         return true;
     }
 
+    /** Inventory a capture takes from: the block's own half for chests, the whole inventory otherwise. */
+    private static Inventory captureInventory(Container container) {
+        return (container instanceof Chest chest) ? chest.getBlockInventory() : container.getInventory();
+    }
+
     /**
      * Captures the given container block's inventory and metadata into a new Vault.
      * Contract:
@@ -142,14 +158,20 @@ public class VaultCaptureService {
 
     /** Player-free variant of {@link #captureFromBlock(Player, Block)}; the vault is owned by {@code vaultOwnerUuid}. */
     public VaultImp captureFromBlock(UUID vaultOwnerUuid, Block block) {
-        if (!(block.getState() instanceof Container container)) {
+        if (!(block.getState(false) instanceof Container container)) {
             throw new IllegalArgumentException("Target block is not a container.");
         }
-        Inventory captureInv = (container instanceof Chest chest) ? chest.getBlockInventory() : container.getInventory();
-        List<ItemStack> stacks = Arrays.stream(captureInv.getContents())
-                .filter(Objects::nonNull)
-                .filter(is -> is.getType() != Material.AIR && is.getAmount() > 0)
-                .collect(Collectors.toList());
+        return captureFromContainer(vaultOwnerUuid, block, container);
+    }
+
+    /** Captures {@code block} using a container state the caller already resolved for it. Main thread only. */
+    private VaultImp captureFromContainer(UUID vaultOwnerUuid, Block block, Container container) {
+        Inventory captureInv = captureInventory(container);
+        ItemStack[] contents = captureInv.getContents();
+        List<ItemStack> stacks = new ArrayList<>(contents.length);
+        for (ItemStack is : contents) {
+            if (is != null && is.getType() != Material.AIR && is.getAmount() > 0) stacks.add(is);
+        }
 
         // Clear inventory and remove block
         captureInv.clear();
@@ -198,15 +220,16 @@ public class VaultCaptureService {
         UUID finalOwner = originalOwner != null ? originalOwner : finalOwnerFallback;
 
         // 1. Non-container path: treat as empty capture (remove protection)
-        if (!(block.getState() instanceof Container container)) {
+        // One non-snapshot state serves the emptiness check and the capture itself.
+        if (!(block.getState(false) instanceof Container container)) {
             if (bolt != null) {
                 try { bolt.removeProtection(block); } catch (Throwable ignored) {}
             }
             return new CaptureOutcome(true, true, null, originalOwner, finalOwner, List.of());
         }
 
-        List<Block> otherHalves = getHalves(block, container);
-        boolean targetIsEmpty = isContainerEmpty(block);
+        List<Block> otherHalves = getHalves(block);
+        boolean targetIsEmpty = isContainerEmpty(container);
 
         // Double Chest Logic: Check the state of the other half if it exists
         if (!otherHalves.isEmpty()) {
@@ -262,32 +285,42 @@ public class VaultCaptureService {
         }
 
         // VaultImp owner carries the capturing identity; persistence uses CaptureOutcome.finalOwner().
-        VaultImp vault = captureFromBlock(finalOwnerFallback, block);
+        VaultImp vault = captureFromContainer(finalOwnerFallback, block, container);
 
         return new CaptureOutcome(false, true, vault, originalOwner, finalOwner, List.copyOf(reProtected));
     }
 
-    private static @NotNull List<Block> getHalves(Block block, Container container) {
-        List<Block> otherHalves = new ArrayList<>();
-        if (container instanceof Chest chest) {
-            InventoryHolder holder = chest.getInventory().getHolder();
-            if (holder instanceof DoubleChest dc) {
-                InventoryHolder leftHolder = dc.getLeftSide();
-                InventoryHolder rightHolder = dc.getRightSide();
-                Chest left = (leftHolder instanceof Chest l) ? l : null;
-                Chest right = (rightHolder instanceof Chest r) ? r : null;
-                if (left != null && right != null) {
-                    Block leftBlock = left.getBlock();
-                    Block rightBlock = right.getBlock();
-                    if (block.equals(leftBlock)) {
-                        otherHalves.add(rightBlock);
-                    } else if (block.equals(rightBlock)) {
-                        otherHalves.add(leftBlock);
-                    }
-                }
-            }
+    /**
+     * The other half of a double chest, resolved from block data alone: a chest's {@code type} and {@code facing}
+     * locate its partner, so no inventory holder or DoubleChest snapshot is built. Empty for anything else.
+     */
+    private static @NotNull List<Block> getHalves(Block block) {
+        if (!(block.getBlockData() instanceof org.bukkit.block.data.type.Chest data)
+                || data.getType() == org.bukkit.block.data.type.Chest.Type.SINGLE) {
+            return List.of();
         }
-        return otherHalves;
+        BlockFace facing = data.getFacing();
+        // Mirrors ChestBlock#getConnectedDirection: a LEFT half connects clockwise of its facing, RIGHT counter-clockwise.
+        BlockFace toOther = data.getType() == org.bukkit.block.data.type.Chest.Type.LEFT ? clockwise(facing) : clockwise(facing).getOppositeFace();
+        Block other = block.getRelative(toOther);
+        if (other.getType() != block.getType()
+                || !(other.getBlockData() instanceof org.bukkit.block.data.type.Chest otherData)
+                || otherData.getFacing() != facing
+                || otherData.getType() == data.getType()
+                || otherData.getType() == org.bukkit.block.data.type.Chest.Type.SINGLE) {
+            return List.of();
+        }
+        return List.of(other);
+    }
+
+    private static BlockFace clockwise(BlockFace face) {
+        return switch (face) {
+            case NORTH -> BlockFace.EAST;
+            case EAST -> BlockFace.SOUTH;
+            case SOUTH -> BlockFace.WEST;
+            case WEST -> BlockFace.NORTH;
+            default -> face;
+        };
     }
 
     /**
@@ -357,7 +390,7 @@ public class VaultCaptureService {
 
     /**
      * Starts an interactive capture session for the given player using provided texts.
-     * - Installs a per-player dynamic listener listening for left/right clicks.
+     * - Binds a click handler for the player in the plugin's event router, listening for left/right clicks.
      * - Shows an action bar with live vaultability.
      * - Applies VaultCapturePolicy on right-click; performs capture & DB persistence.
      * - Session stays active for multiple captures until canceled with left-click.
@@ -378,16 +411,13 @@ public class VaultCaptureService {
             }
         }
 
-        final BukkitTask[] actionbarTask = new BukkitTask[1];
         final boolean[] busy = new boolean[]{false};
         // Cooldown: block cancellation for a short period after capture to prevent phantom events from other plugins
         final long[] cancelCooldownUntil = new long[]{0L};
 
-        session.getDynamicListener().setListener(new Listener() {
-            @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = false)
-            public void onInteract(PlayerInteractEvent event) {
-                if (!event.getPlayer().getUniqueId().equals(actor.getUniqueId())) return;
-
+        SessionHandler handler = new SessionHandler() {
+            @Override
+            public void onInteract(@NotNull PlayerInteractEvent event) {
                 // Ignore off-hand events to prevent duplicate processing
                 if (event.getHand() == EquipmentSlot.OFF_HAND) return;
 
@@ -404,9 +434,8 @@ public class VaultCaptureService {
                         return; // Ignore this left-click, still in cooldown
                     }
                     event.setCancelled(true);
-                    session.getDynamicListener().stop();
-                    if (actionbarTask[0] != null) actionbarTask[0].cancel();
-                    session.clearActionBarTask();
+                    session.stopListening();
+                    session.clearActionBar();
                     session.switchTo(Mode.NONE);
                     actor.sendMessage(MiniMessageUtil.parseOrPlain(texts.captureCancelled));
                     return;
@@ -508,10 +537,10 @@ public class VaultCaptureService {
                 ensureValidOwnerUUID(finalOwner, actor).thenAccept(validatedOwner -> {
                     if (validatedOwner == null) {
 
-                        new BukkitRunnable(){
+                        new ProfiledRunnable("capture.ownerInvalid", actor.getName()) {
 
                             @Override
-                            public void run() {
+                            protected void runProfiled() {
                                 actor.sendMessage(MiniMessageUtil.parseOrPlain(
                                         "<red>Error: Could not determine vault owner. Capture aborted.</red>"
                                 ));
@@ -526,45 +555,34 @@ public class VaultCaptureService {
                         return;
                     }
 
-                    new BukkitRunnable() {
-                        @Override public void run() {
-                            var vaultService = plugin.getVaultService();
-                            UUID worldId = finalCaptureBlock.getWorld().getUID();
-                            UUID newId;
-                            {
-                                var created = vaultService.createVault(worldId, actor.getUniqueId(), finalCaptureBlock.getX(), finalCaptureBlock.getY(), finalCaptureBlock.getZ(), validatedOwner,
-                                        vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
-                                        vault.blockDataString());
-                                newId = created.uuid;
+                    // Vault, owner and items are stored in one transaction; the rest continues on the main thread.
+                    plugin.getVaultService().createVaultWithItemsAsync(finalCaptureBlock.getWorld().getUID(), actor.getUniqueId(),
+                                    finalCaptureBlock.getX(), finalCaptureBlock.getY(), finalCaptureBlock.getZ(), validatedOwner,
+                                    vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
+                                    vault.blockDataString(), toItemBatch(null, vault.contents()))
+                            .whenCompleteAsync((created, error) -> {
+                                busy[0] = false;
+                                if (error != null) {
+                                    reportSaveFailure(actor, finalCaptureBlock, vault, error);
+                                    return;
+                                }
+                                UUID newId = created.uuid;
                                 plugin.getLogger().info(
                                     "[VaultCaptureService] Vault created successfully: ID=" + newId + " Owner=" + validatedOwner + " for player " + actor.getName()
                                 );
-                            }
-                            List<VaultItemEntity> batch = toItemBatch(newId, vault.contents());
-                            if (!batch.isEmpty()) {
-                                vaultService.putItems(newId, batch);
-                            }
-                            new BukkitRunnable() {
-                                @Override public void run() {
-                                    var dto = new VaultDtoImp(newId, validatedOwner, List.of(),
-                                            vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
-                                            null, System.currentTimeMillis());
-                                    VaultStoragePlugin.getInstance().getSessionManager().getOrCreate(actor.getUniqueId()).setLastVaultDto(dto);
-                                    actor.sendMessage(MiniMessageUtil.parseOrPlain(texts.capturedOk));
-
-                                    new PlayerVaultEvent(actor, vault).callEvent();
+                                var dto = new VaultDtoImp(newId, validatedOwner, List.of(),
+                                        vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
+                                        null, System.currentTimeMillis());
+                                VaultStoragePlugin.getInstance().getSessionManager().getOrCreate(actor.getUniqueId()).setLastVaultDto(dto);
+                                actor.sendMessage(MiniMessageUtil.parseOrPlain(texts.capturedOk));
 
-                                    busy[0] = false;
-                                }
-                            }.runTask(plugin);
-                        }
-                    }.runTaskAsynchronously(plugin);
+                                new PlayerVaultEvent(actor, vault).callEvent();
+                            }, plugin.getMainThreadExecutor().profiled("capture.saved", actor.getName()));
                 });
             }
 
-            @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = false)
-            public void onInteractEntity(PlayerInteractEntityEvent event) {
-                if (!event.getPlayer().getUniqueId().equals(actor.getUniqueId())) return;
+            @Override
+            public void onInteractEntity(@NotNull PlayerInteractEntityEvent event) {
                 if (event.getHand() == EquipmentSlot.OFF_HAND) return;
                 if (session.getMode() != Mode.CAPTURE) return;
                 if (busy[0]) return;
@@ -604,8 +622,8 @@ public class VaultCaptureService {
                 cancelCooldownUntil[0] = System.currentTimeMillis() + 100L;
                 ensureValidOwnerUUID(decision.containerOwner(), actor).thenAccept(validatedOwner -> {
                     if (validatedOwner == null) {
-                        new BukkitRunnable() {
-                            @Override public void run() {
+                        new ProfiledRunnable("capture.hanging.ownerInvalid", actor.getName()) {
+                            @Override protected void runProfiled() {
                                 actor.sendMessage(MiniMessageUtil.parseOrPlain(
                                         "<red>Error: Could not determine vault owner. Capture aborted.</red>"
                                 ));
@@ -615,77 +633,65 @@ public class VaultCaptureService {
                         return;
                     }
 
-                    new BukkitRunnable() {
-                        @Override public void run() {
-                            var plugin = VaultStoragePlugin.getInstance();
-                            UUID vaultUuid = persistHangingStacks(stacks, validatedOwner, actor.getUniqueId(), supporting);
-
-                            new BukkitRunnable() {
-                                @Override public void run() {
-                                    if (hang.isValid()) {
-                                        hang.remove();
-                                    }
-                                    Material vm = stacks.get(0).getType();
-                                    VaultImp vaultEvt = new VaultImp(
-                                            validatedOwner,
-                                            vaultUuid,
-                                            stacks,
-                                            vm,
-                                            supporting.getLocation(),
-                                            Instant.now(),
-                                            supporting.getBlockData().getAsString()
-                                    );
-                                    VaultStoragePlugin.getInstance().getSessionManager().getOrCreate(actor.getUniqueId())
-                                            .setLastVaultDto(new VaultDtoImp(vaultUuid, validatedOwner, List.of(),
-                                                    vm.name(), null, System.currentTimeMillis()));
-                                    actor.sendMessage(MiniMessageUtil.parseOrPlain(texts.capturedOk));
-                                    new PlayerVaultEvent(actor, vaultEvt).callEvent();
-                                    busy[0] = false;
+                    // Ordered per owner: two merges must not pick the same free slots of one vault.
+                    VaultStoragePlugin.getInstance().getKeyedExecutor().execute(DatabaseExecutor.Priority.DURABLE, KeyedSerialExecutor.owner(validatedOwner), () -> {
+                        var plugin = VaultStoragePlugin.getInstance();
+                        UUID vaultUuid = persistHangingStacks(stacks, validatedOwner, actor.getUniqueId(), supporting);
+
+                        new ProfiledRunnable("capture.hanging.saved", vaultUuid) {
+                            @Override protected void runProfiled() {
+                                if (hang.isValid()) {
+                                    hang.remove();
                                 }
-                            }.runTask(plugin);
-                        }
-                    }.runTaskAsynchronously(VaultStoragePlugin.getInstance());
+                                Material vm = stacks.get(0).getType();
+                                VaultImp vaultEvt = new VaultImp(
+                                        validatedOwner,
+                                        vaultUuid,
+                                        stacks,
+                                        vm,
+                                        supporting.getLocation(),
+                                        Instant.now(),
+                                        supporting.getBlockData().getAsString()
+                                );
+                                VaultStoragePlugin.getInstance().getSessionManager().getOrCreate(actor.getUniqueId())
+                                        .setLastVaultDto(new VaultDtoImp(vaultUuid, validatedOwner, List.of(),
+                                                vm.name(), null, System.currentTimeMillis()));
+                                actor.sendMessage(MiniMessageUtil.parseOrPlain(texts.capturedOk));
+                                new PlayerVaultEvent(actor, vaultEvt).callEvent();
+                                busy[0] = false;
+                            }
+                        }.runTask(plugin);
+                    });
                 });
             }
-        });
-
-        actionbarTask[0] = new BukkitRunnable() {
-            @Override public void run() {
-                if (!actor.isOnline()) {
-                    cancel();
-                    return;
-                }
-                Block target = actor.getTargetBlockExact(6);
-                if (target == null) {
-                    actor.sendActionBar(MiniMessageUtil.parseOrPlain(texts.actionBarIdle));
-                    return;
-                }
-                ChestShopService chestShop = VaultStoragePlugin.getInstance().getChestShopService();
-                if (chestShop.isAvailable() && chestShop.isShopSign(target)) {
-                    Block container = resolveAttachedContainerBlock(target);
-                    if (container != null) target = container;
-                }
-                var boltSvc = VaultStoragePlugin.getInstance().getBoltService();
-                UUID owner = boltSvc != null ? boltSvc.getOwner(target) : null;
-                String ownerName = ownerDisplayNameAsync(owner);
-
-                VaultCapturePolicy.Decision decision = VaultCapturePolicy.evaluate(actor, target);
-                String vaultable = decision.allowed() ? texts.actionBarVaultableYes : texts.actionBarVaultableNo;
-                String regionsList = decision.regionStatuses().stream().map(VaultCapturePolicy.RegionStatus::regionId).sorted().reduce((a,b)->a+", "+b).orElse("");
-                String reasonSegment = getReasonSegment(decision, ownerName, regionsList, texts);
-                String adminTag = decision.hasOverride() ? texts.actionBarAdminModeTag : "";
-                Map<String,String> ph = Map.of(
-                        "%owner%", ownerName,
-                        "%vaultable%", vaultable,
-                        "%reasonSegment%", reasonSegment,
-                        "%admin%", adminTag
-                );
-                actor.sendActionBar(MiniMessageUtil.parseOrPlain(texts.actionBarContainer, ph));
+        };
+
+        session.showActionBar("capture.actionbar", target -> {
+            if (target == null) return MiniMessageUtil.parseOrPlain(texts.actionBarIdle);
+            ChestShopService chestShop = VaultStoragePlugin.getInstance().getChestShopService();
+            if (chestShop.isAvailable() && chestShop.isShopSign(target)) {
+                Block container = resolveAttachedContainerBlock(target);
+                if (container != null) target = container;
             }
-        }.runTaskTimer(VaultStoragePlugin.getInstance(), 0L, 5L);
-        session.setActionBarTask(actionbarTask[0]);
+            var boltSvc = VaultStoragePlugin.getInstance().getBoltService();
+            UUID owner = boltSvc != null ? boltSvc.getOwner(target) : null;
+            String ownerName = ownerDisplayNameAsync(owner);
+
+            VaultCapturePolicy.Decision decision = VaultCapturePolicy.evaluate(actor, target);
+            String vaultable = decision.allowed() ? texts.actionBarVaultableYes : texts.actionBarVaultableNo;
+            String regionsList = decision.regionStatuses().stream().map(VaultCapturePolicy.RegionStatus::regionId).sorted().reduce((a,b)->a+", "+b).orElse("");
+            String reasonSegment = getReasonSegment(decision, ownerName, regionsList, texts);
+            String adminTag = decision.hasOverride() ? texts.actionBarAdminModeTag : "";
+            Map<String,String> ph = Map.of(
+                    "%owner%", ownerName,
+                    "%vaultable%", vaultable,
+                    "%reasonSegment%", reasonSegment,
+                    "%admin%", adminTag
+            );
+            return MiniMessageUtil.parseOrPlain(texts.actionBarContainer, ph);
+        });
 
-        session.getDynamicListener().start();
+        session.listen(handler);
     }
 
     /** Simple in-memory cache for UUID->username for actionbar display. */
@@ -698,6 +704,7 @@ public class VaultCaptureService {
     private static String ownerDisplayNameAsync(UUID uuid) {
         if (uuid == null) return cfg().actionBarUnprotectedOwner;
         String cached = NAME_CACHE.get(uuid);
+        VaultStoragePlugin.getInstance().getMetrics().cacheAccess("owner_names", cached != null);
         if (cached != null) return cached;
         String fallback = uuid.toString().substring(0, 8);
         // Async resolve and cache using CompletableFuture API
@@ -741,7 +748,7 @@ public class VaultCaptureService {
     };
 
     private static boolean isSignBlock(@NotNull Block block) {
-        return block.getState() instanceof Sign;
+        return block.getState(false) instanceof Sign;
     }
 
     /** Unlocks and removes the given shop signs, notifying ChestShop. {@code actor} may be null for automated captures. Must run on the main thread. */
@@ -761,7 +768,7 @@ public class VaultCaptureService {
 
         if (signBlock.getBlockData() instanceof WallSign wallSign) {
             Block attached = signBlock.getRelative(wallSign.getFacing().getOppositeFace());
-            if (attached.getState() instanceof Container) {
+            if (attached.getState(false) instanceof Container) {
                 return attached;
             }
         }
@@ -769,7 +776,7 @@ public class VaultCaptureService {
         // Conservative fallback for non-wall signs: check immediate neighbors.
         for (BlockFace face : ADJACENT_FACES) {
             Block neighbor = signBlock.getRelative(face);
-            if (neighbor.getState() instanceof Container) {
+            if (neighbor.getState(false) instanceof Container) {
                 return neighbor;
             }
         }
@@ -820,53 +827,308 @@ public class VaultCaptureService {
                 return;
             }
 
-            new BukkitRunnable(){
-                @Override public void run() {
-                    VaultService vaultService = plugin.getVaultService();
-                    UUID worldId = block.getWorld().getUID();
-                    UUID newId;
-                    {
-                        var created = vaultService.createVault(worldId, actor.getUniqueId(), block.getX(), block.getY(), block.getZ(), validatedOwner,
-                                vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
-                                vault.blockDataString());
-                        newId = created.uuid;
+            plugin.getVaultService().createVaultWithItemsAsync(block.getWorld().getUID(), actor.getUniqueId(),
+                            block.getX(), block.getY(), block.getZ(), validatedOwner,
+                            vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
+                            vault.blockDataString(), toItemBatch(null, vault.contents()))
+                    .whenCompleteAsync((created, error) -> {
+                        if (error != null) {
+                            reportSaveFailure(actor, block, vault, error);
+                            onDoneMain.accept(false);
+                            return;
+                        }
+                        UUID newId = created.uuid;
                         plugin.getLogger().info(
                             "[VaultCaptureService] Direct vault created: ID=" + newId + " Owner=" + validatedOwner + " for player " + actor.getName()
                         );
+                        VaultStoragePlugin.getInstance().getSessionManager().getOrCreate(actor.getUniqueId())
+                                .setLastVaultDto(new VaultDtoImp(newId, validatedOwner, List.of(),
+                                        vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
+                                        null, System.currentTimeMillis()));
+                        actor.sendMessage(MiniMessageUtil.parseOrPlain(texts.capturedOk));
+                        new PlayerVaultEvent(actor, vault).callEvent();
+                        onDoneMain.accept(true);
+                    }, plugin.getMainThreadExecutor().profiled("capture.direct.saved", actor.getName()));
+        });
+    }
+
+    /** Running counts of a {@link #captureBulkAsync bulk capture}. */
+    public record BulkProgress(int processed, int total, int captured, int emptied, int skipped, int denied) {}
+
+    /**
+     * Outcome of a {@link #captureBulkAsync bulk capture}: final counts, and how many captured vaults were stored.
+     * {@code persisted < progress.captured()} means some vaults could not be saved (see the server log).
+     */
+    public record BulkResult(@NotNull BulkProgress progress, int persisted) {}
+
+    /** Bulk captures in progress, by actor; main thread only. */
+    private final Map<UUID, BulkCapture> bulkCaptures = new HashMap<>();
+
+    /**
+     * Captures many blocks as one pipelined operation. Blocks are grouped by chunk; each chunk is loaded
+     * asynchronously, its blocks are re-validated with {@link VaultCapturePolicy#evaluateAll} in one pass, and
+     * they are captured on the main thread in slices of at most {@code capture.bulk-tick-budget-ms} per tick.
+     * The vaults captured in a slice are serialized and stored in one transaction right after it, so a crash or
+     * disable mid-run can only lose the slice being stored.
+     * <p>{@code onProgress} runs on the main thread after each slice; {@code onDoneMain} runs once everything is
+     * stored. Must be called on the main thread.</p>
+     * @return false if {@code actor} already has a bulk capture running (nothing is started)
+     */
+    public boolean captureBulkAsync(@NotNull Player actor, @NotNull List<Block> blocks,
+                                    @Nullable Consumer<BulkProgress> onProgress, @NotNull Consumer<BulkResult> onDoneMain) {
+        if (bulkCaptures.containsKey(actor.getUniqueId())) return false;
+        Map<BulkChunk, List<Block>> byChunk = new LinkedHashMap<>();
+        Set<Block> seen = new HashSet<>();
+        for (Block block : blocks) {
+            if (!seen.add(block)) continue;
+            byChunk.computeIfAbsent(new BulkChunk(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4),
+                    k -> new ArrayList<>()).add(block);
+        }
+        var plugin = VaultStoragePlugin.getInstance();
+        long budgetMs = Math.max(1L, plugin.getConfig().getLong(ConfigPaths.CAPTURE_BULK_TICK_BUDGET_MS.getPath(), 5L));
+        BulkCapture capture = new BulkCapture(actor, new ArrayList<>(byChunk.values()), seen.size(), budgetMs * 1_000_000L, onProgress, onDoneMain);
+        bulkCaptures.put(actor.getUniqueId(), capture);
+        capture.runTaskTimer(plugin, 1L, 1L);
+        return true;
+    }
+
+    /**
+     * Stops running bulk captures and stores what they captured so far. Call from {@code onDisable}, before the
+     * database executor drains.
+     */
+    public void shutdown() {
+        for (BulkCapture capture : List.copyOf(bulkCaptures.values())) capture.abort();
+        bulkCaptures.clear();
+    }
+
+    private record BulkChunk(UUID worldId, int chunkX, int chunkZ) {}
+
+    /** A block captured by a bulk run, waiting to be stored. */
+    private record BulkCaptured(UUID worldId, int x, int y, int z, VaultImp vault, UUID finalOwner) {}
+
+    /** The vault row built for a {@link BulkCaptured}. */
+    private record BulkRow(BulkCaptured captured, VaultDAO.NewVault row) {}
+
+    /** Main-thread pacer of {@link #captureBulkAsync}: one chunk group at a time, within a per-tick time budget. */
+    private final class BulkCapture extends ProfiledRunnable {
+        private final Player actor;
+        private final List<List<Block>> groups;
+        private final int total;
+        private final long budgetNanos;
+        private final Consumer<BulkProgress> onProgress;
+        private final Consumer<BulkResult> onDoneMain;
+        /** Captured since the last {@link #flush}. */
+        private final List<BulkCaptured> captured = new ArrayList<>();
+        /** One per flush: the rows it stored. */
+        private final List<CompletableFuture<List<BulkRow>>> flushes = new ArrayList<>();
+        private int capturedCount;
+        private int nextGroup = 0;
+        private List<Block> group;
+        private List<VaultCapturePolicy.Decision> decisions;
+        private int position;
+        private boolean loading;
+        private int processed, emptied, skipped, denied;
+
+        private BulkCapture(Player actor, List<List<Block>> groups, int total, long budgetNanos,
+                            Consumer<BulkProgress> onProgress, Consumer<BulkResult> onDoneMain) {
+            super("capture.bulk", actor.getName());
+            this.actor = actor;
+            this.groups = groups;
+            this.total = total;
+            this.budgetNanos = budgetNanos;
+            this.onProgress = onProgress;
+            this.onDoneMain = onDoneMain;
+        }
+
+        @Override protected void runProfiled() {
+            if (loading) return;
+            if (!actor.isOnline()) {
+                // Stop mutating the world; whatever was already captured must still be stored.
+                finish();
+                return;
+            }
+            long deadline = System.nanoTime() + budgetNanos;
+            do {
+                if (group == null) {
+                    if (nextGroup >= groups.size()) {
+                        finish();
+                        return;
+                    }
+                    group = groups.get(nextGroup++);
+                    decisions = null;
+                    position = 0;
+                    Block first = group.getFirst();
+                    World world = first.getWorld();
+                    if (!world.isChunkLoaded(first.getX() >> 4, first.getZ() >> 4)) {
+                        // Resume with this group once the chunk is in; getChunkAtAsync completes on the main thread.
+                        loading = true;
+                        VaultStoragePlugin.getInstance().getMetrics().counter("vault_chunk_loads_total", "source", "capture").increment();
+                        world.getChunkAtAsync(first.getX() >> 4, first.getZ() >> 4).whenComplete((chunk, error) -> loading = false);
+                        break;
                     }
-                    List<VaultItemEntity> batch = toItemBatch(newId, vault.contents());
-                    if (!batch.isEmpty()) vaultService.putItems(newId, batch);
+                }
+                if (decisions == null) {
+                    decisions = VaultCapturePolicy.evaluateAll(actor, group);
+                }
+                captureOne(group.get(position), decisions.get(position));
+                processed++;
+                if (++position >= group.size()) group = null;
+            } while (System.nanoTime() < deadline);
+            flush();
+            if (onProgress != null) onProgress.accept(progress());
+        }
+
+        private void captureOne(Block block, VaultCapturePolicy.Decision decision) {
+            if (!decision.allowed()) {
+                denied++;
+                return;
+            }
+            CaptureOutcome outcome = captureWithDoubleChestSupport(block, decision.containerOwner(), actor.getUniqueId(), null);
+            if (outcome.empty()) {
+                if (outcome.protectionRemoved()) emptied++;
+                else skipped++;
+                return;
+            }
+            captured.add(new BulkCaptured(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ(),
+                    outcome.vault(), outcome.finalOwner()));
+            capturedCount++;
+        }
 
-                    new BukkitRunnable(){
-                        @Override public void run() {
+        private BulkProgress progress() {
+            return new BulkProgress(processed, total, capturedCount, emptied, skipped, denied);
+        }
+
+        /** Stores the vaults captured since the last flush, in one transaction; their containers are already empty. */
+        private void flush() {
+            if (captured.isEmpty()) return;
+            List<BulkCaptured> slice = List.copyOf(captured);
+            captured.clear();
+            flushes.add(VaultStoragePlugin.getInstance().getDatabaseExecutor().submit(DatabaseExecutor.Priority.DURABLE,
+                    () -> persistBulk(actor, toNewVaults(actor, slice))));
+        }
+
+        /** Stops capturing, for {@code onDisable}: what was captured is stored; no report is sent. */
+        private void abort() {
+            try { this.cancel(); } catch (IllegalStateException ignored) {}
+            flush();
+        }
+
+        private void finish() {
+            this.cancel();
+            flush();
+            BulkProgress counts = progress();
+            var plugin = VaultStoragePlugin.getInstance();
+            CompletableFuture.allOf(flushes.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+                List<BulkRow> stored = new ArrayList<>();
+                for (CompletableFuture<List<BulkRow>> flush : flushes) {
+                    if (!flush.isCompletedExceptionally()) stored.addAll(flush.join());
+                }
+                if (error != null) {
+                    plugin.getLogger().log(Level.SEVERE, "[VaultCaptureService] Storing part of the bulk capture by " + actor.getName() + " failed", error);
+                }
+                new ProfiledRunnable("capture.bulk.done", actor.getName()) {
+                    @Override protected void runProfiled() {
+                        bulkCaptures.remove(actor.getUniqueId());
+                        for (BulkRow row : stored) new PlayerVaultEvent(actor, row.captured().vault()).callEvent();
+                        if (!stored.isEmpty()) {
+                            VaultDAO.NewVault last = stored.getLast().row();
                             VaultStoragePlugin.getInstance().getSessionManager().getOrCreate(actor.getUniqueId())
-                                    .setLastVaultDto(new VaultDtoImp(newId, validatedOwner, List.of(),
-                                            vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
-                                            null, System.currentTimeMillis()));
-                            actor.sendMessage(MiniMessageUtil.parseOrPlain(texts.capturedOk));
-                            new PlayerVaultEvent(actor, vault).callEvent();
-                            onDoneMain.accept(true);
+                                    .setLastVaultDto(new VaultDtoImp(last.vault().uuid, last.ownerUuid(), List.of(),
+                                            last.vault().material, null, System.currentTimeMillis()));
                         }
-                    }.runTask(plugin);
+                        onDoneMain.accept(new BulkResult(counts, stored.size()));
+                    }
+                }.runTask(plugin);
+            });
+        }
+    }
+
+    /**
+     * Builds the vault rows of a bulk capture, serializing their items; runs on an async thread. Owners that are not
+     * valid UUIDs are resolved like {@link #captureDirectAsync} does; vaults whose owner cannot be resolved are
+     * logged and dropped.
+     */
+    private List<BulkRow> toNewVaults(Player actor, List<BulkCaptured> captured) {
+        var plugin = VaultStoragePlugin.getInstance();
+        UUID fallbackOwner = null;
+        boolean fallbackResolved = false;
+        List<BulkRow> batch = new ArrayList<>(captured.size());
+        for (BulkCaptured c : captured) {
+            UUID owner = c.finalOwner();
+            if (!UniqueIdentifierResolver.isValidUUID(owner)) {
+                // Every invalid owner resolves to the same fallback (the actor's identity); look it up once.
+                if (!fallbackResolved) {
+                    fallbackOwner = ensureValidOwnerUUID(owner, actor).join();
+                    fallbackResolved = true;
                 }
-            }.runTaskAsynchronously(plugin);
-        });
+                owner = fallbackOwner;
+                if (owner == null) {
+                    plugin.getLogger().warning("[VaultCaptureService] Bulk capture by " + actor.getName() + " dropped the vault at "
+                            + c.x() + "," + c.y() + "," + c.z() + " - could not validate owner UUID");
+                    continue;
+                }
+            }
+            VaultEntity entity = new VaultEntity();
+            entity.uuid = UUID.randomUUID();
+            entity.worldUuid = c.worldId();
+            entity.x = c.x();
+            entity.y = c.y();
+            entity.z = c.z();
+            entity.material = c.vault().blockMaterial() == null ? null : c.vault().blockMaterial().name();
+            entity.blockData = c.vault().blockDataString();
+            batch.add(new BulkRow(c, new VaultDAO.NewVault(entity, owner, toItemBatch(entity.uuid, c.vault().contents()))));
+        }
+        return batch;
+    }
+
+    /**
+     * Stores a bulk capture in one transaction. If that fails, retries vault by vault so one bad row does not lose
+     * the whole batch. Runs on an async thread; returns the rows stored.
+     */
+    private List<BulkRow> persistBulk(Player actor, List<BulkRow> batch) {
+        if (batch.isEmpty()) return List.of();
+        var plugin = VaultStoragePlugin.getInstance();
+        VaultService vaultService = plugin.getVaultService();
+        try {
+            vaultService.createVaults(actor.getUniqueId(), batch.stream().map(BulkRow::row).toList());
+            plugin.getLogger().info("[VaultCaptureService] Bulk capture by " + actor.getName() + " created " + batch.size() + " vault(s).");
+            return batch;
+        } catch (RuntimeException ex) {
+            plugin.getLogger().log(Level.WARNING, "[VaultCaptureService] Bulk capture of " + batch.size()
+                    + " vault(s) by " + actor.getName() + " failed as one transaction; storing them one by one.", ex);
+        }
+        List<BulkRow> persisted = new ArrayList<>(batch.size());
+        for (BulkRow bulkRow : batch) {
+            VaultDAO.NewVault entry = bulkRow.row();
+            VaultEntity v = entry.vault();
+            try {
+                vaultService.createVaults(actor.getUniqueId(), List.of(entry));
+                persisted.add(bulkRow);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.SEVERE, "[VaultCaptureService] Could not store captured vault at "
+                        + v.x + "," + v.y + "," + v.z + " owner=" + entry.ownerUuid() + " (" + entry.items().size() + " item(s)).", ex);
+            }
+        }
+        return persisted;
     }
 
     /**
      * Offline-safe capture: no live {@link Player} and no policy evaluation; the caller decides what to vault.
      * The vault is owned by {@code boltOwner} (falls back to {@code initiatorUuid} when null) and created by
-     * {@code initiatorUuid}. Must be called on the main thread; persistence runs async (fire-and-forget).
+     * {@code initiatorUuid}. Must be called on the main thread; persistence runs async.
+     *
+     * @return completes once the vault is stored, or right away if nothing was captured; a failed save is logged
+     * and completes it exceptionally
      */
-    public void captureOfflineAsync(@NotNull Block block,
-                                    @NotNull UUID initiatorUuid,
-                                    UUID boltOwner,
-                                    @NotNull Runnable onVaulted) {
+    public @NotNull CompletableFuture<Void> captureOfflineAsync(@NotNull Block block,
+                                                                @NotNull UUID initiatorUuid,
+                                                                UUID boltOwner,
+                                                                @NotNull Runnable onVaulted) {
         var plugin = VaultStoragePlugin.getInstance();
 
         CaptureOutcome outcome = captureWithDoubleChestSupport(block, boltOwner, initiatorUuid, null);
         if (outcome.empty()) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         // Drop any ChestShop sign left on the now-captured container.
@@ -884,56 +1146,68 @@ public class VaultCaptureService {
                     "[VaultCaptureService] Offline capture aborted at " + block.getWorld().getName() + ":"
                             + block.getX() + "," + block.getY() + "," + block.getZ()
                             + " - invalid vault owner UUID: " + finalOwner);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         VaultImp vault = outcome.vault();
-        new BukkitRunnable() {
-            @Override public void run() {
-                VaultService vaultService = plugin.getVaultService();
-                UUID worldId = block.getWorld().getUID();
-                var created = vaultService.createVault(worldId, initiatorUuid, block.getX(), block.getY(), block.getZ(), finalOwner,
-                        vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
-                        vault.blockDataString());
-                UUID newId = created.uuid;
-                plugin.getLogger().info(
-                        "[VaultCaptureService] Offline vault created: ID=" + newId + " owner=" + finalOwner + " initiator=" + initiatorUuid);
-
-                List<VaultItemEntity> batch = toItemBatch(newId, vault.contents());
-                if (!batch.isEmpty()) vaultService.putItems(newId, batch);
-                // No PlayerVaultEvent: this is an automated capture. Signal the occupant notifier that a vault was made.
-                onVaulted.run();
+        CompletableFuture<Void> saved = plugin.getDatabaseExecutor().submit(DatabaseExecutor.Priority.DURABLE, () -> {
+            VaultService vaultService = plugin.getVaultService();
+            UUID worldId = block.getWorld().getUID();
+            var created = vaultService.createVault(worldId, initiatorUuid, block.getX(), block.getY(), block.getZ(), finalOwner,
+                    vault.blockMaterial() == null ? null : vault.blockMaterial().name(),
+                    vault.blockDataString());
+            UUID newId = created.uuid;
+            plugin.getLogger().info(
+                    "[VaultCaptureService] Offline vault created: ID=" + newId + " owner=" + finalOwner + " initiator=" + initiatorUuid);
+
+            List<VaultItemEntity> batch = toItemBatch(newId, vault.contents());
+            if (!batch.isEmpty()) vaultService.putItems(newId, batch);
+            // No PlayerVaultEvent: this is an automated capture. Signal the occupant notifier that a vault was made.
+            onVaulted.run();
+            return null;
+        });
+        return saved.whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.SEVERE, "[VaultCaptureService] Offline capture at " + block.getWorld().getName() + ":"
+                        + block.getX() + "," + block.getY() + "," + block.getZ() + " could not be stored", error);
             }
-        }.runTaskAsynchronously(plugin);
+        });
     }
 
     /**
      * Offline-safe capture of a Bolt-locked hanging entity (item frame or painting) with no live
      * {@link Player} and no policy evaluation. Its contents (the frame/painting plus any displayed item)
-     * are stored in a vault owned by {@code boltOwner}, merged into an existing vault when one has room,
-     * and the entity is removed (which also disposes its Bolt protection).
+     * are stored in a vault owned by {@code boltOwner}, merged into an existing vault when one has room
+     * (slots reserved through the sweep's {@code slots} allocator), and the entity is removed (which also
+     * disposes its Bolt protection).
      * <p>Must be called on the main thread with the entity loaded; persistence runs async.</p>
+     *
+     * @return completes once the stacks are stored, or right away if the hanging holds nothing; a failed save is
+     * logged and completes it exceptionally
      */
-    public void captureHangingOfflineAsync(@NotNull Hanging hang, @NotNull UUID boltOwner, @NotNull UUID initiatorUuid,
-                                           @NotNull Runnable onVaulted) {
+    public @NotNull CompletableFuture<Void> captureHangingOfflineAsync(@NotNull Hanging hang, @NotNull UUID boltOwner, @NotNull UUID initiatorUuid,
+                                                                       @NotNull HangingSlotAllocator slots, @NotNull Runnable onVaulted) {
         List<ItemStack> stacks = HangingVaultSupport.itemStacksFrom(hang);
         if (stacks.isEmpty()) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
 
         var plugin = VaultStoragePlugin.getInstance();
         Block supporting = HangingVaultSupport.resolveSupportingBlock(hang);
-        new BukkitRunnable() {
-            @Override public void run() {
-                persistHangingStacks(stacks, boltOwner, initiatorUuid, supporting);
-                onVaulted.run();
-                new BukkitRunnable() {
-                    @Override public void run() {
-                        if (hang.isValid()) hang.remove();
-                    }
-                }.runTask(plugin);
+        CompletableFuture<Void> saved = plugin.getKeyedExecutor().run(DatabaseExecutor.Priority.DURABLE, KeyedSerialExecutor.owner(boltOwner), () -> {
+            persistHangingStacks(stacks, boltOwner, initiatorUuid, supporting, slots);
+            onVaulted.run();
+            new ProfiledRunnable("capture.hanging.remove") {
+                @Override protected void runProfiled() {
+                    if (hang.isValid()) hang.remove();
+                }
+            }.runTask(plugin);
+        });
+        return saved.whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "[VaultCaptureService] Hanging capture for owner " + boltOwner + " could not be stored", error);
             }
-        }.runTaskAsynchronously(plugin);
+        });
     }
 
     /**
@@ -942,8 +1216,7 @@ public class VaultCaptureService {
      * returns the target vault id.
      */
     private UUID persistHangingStacks(@NotNull List<ItemStack> stacks, @NotNull UUID boltOwner, @NotNull UUID creatorUuid, @NotNull Block supporting) {
-        var plugin = VaultStoragePlugin.getInstance();
-        VaultService vaultService = plugin.getVaultService();
+        VaultService vaultService = VaultStoragePlugin.getInstance().getVaultService();
         var target = HangingVaultSupport.findFirstVaultWithSpace(vaultService, boltOwner, stacks.size());
         UUID vaultUuid;
         int startSlot;
@@ -951,17 +1224,74 @@ public class VaultCaptureService {
             vaultUuid = target.get().vaultUuid();
             startSlot = target.get().startSlot();
         } else {
-            // Persisted material must be a block; placement uses Block#setType (item names are invalid).
-            var created = vaultService.createVault(supporting.getWorld().getUID(), creatorUuid,
-                    supporting.getX(), supporting.getY(), supporting.getZ(), boltOwner, Material.CHEST.name(), null);
-            vaultUuid = created.uuid;
+            vaultUuid = createHangingVault(boltOwner, creatorUuid, supporting);
             startSlot = 0;
-            plugin.getLogger().info("[VaultCaptureService] Hanging capture created vault ID=" + vaultUuid + " owner=" + boltOwner);
         }
         vaultService.putItems(vaultUuid, toItemBatch(vaultUuid, stacks, startSlot));
         return vaultUuid;
     }
 
+    /**
+     * Like {@link #persistHangingStacks(List, UUID, UUID, Block)}, but the target slots come from a sweep-scoped
+     * allocator, so concurrent merges for one owner never overlap and cost no per-merge queries.
+     */
+    private UUID persistHangingStacks(@NotNull List<ItemStack> stacks, @NotNull UUID boltOwner, @NotNull UUID creatorUuid,
+                                      @NotNull Block supporting, @NotNull HangingSlotAllocator slots) {
+        VaultService vaultService = VaultStoragePlugin.getInstance().getVaultService();
+        var target = slots.allocate(boltOwner, stacks.size(), () -> createHangingVault(boltOwner, creatorUuid, supporting));
+        vaultService.putItems(target.vaultUuid(), toItemBatch(target.vaultUuid(), stacks, target.startSlot()));
+        return target.vaultUuid();
+    }
+
+    /** Creates an empty vault for hanging contents anchored at {@code supporting}; returns its id. */
+    private UUID createHangingVault(@NotNull UUID boltOwner, @NotNull UUID creatorUuid, @NotNull Block supporting) {
+        var plugin = VaultStoragePlugin.getInstance();
+        // Persisted material must be a block; placement uses Block#setType (item names are invalid).
+        var created = plugin.getVaultService().createVault(supporting.getWorld().getUID(), creatorUuid,
+                supporting.getX(), supporting.getY(), supporting.getZ(), boltOwner, Material.CHEST.name(), null);
+        plugin.getLogger().info("[VaultCaptureService] Hanging capture created vault ID=" + created.uuid + " owner=" + boltOwner);
+        return created.uuid;
+    }
+
+    /**
+     * Logs a failed capture save, gives the captured items back and tells {@code actor}. The capture already cleared
+     * and removed the block, so it is put back if its spot is still free and refilled; whatever does not fit is
+     * dropped at the block's location. Main thread.
+     */
+    private static void reportSaveFailure(Player actor, Block block, VaultImp vault, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        VaultStoragePlugin.getInstance().getLogger().log(Level.SEVERE,
+                "[VaultCaptureService] Could not store the vault captured by " + actor.getName() + " at "
+                        + block.getWorld().getName() + ":" + block.getX() + "," + block.getY() + "," + block.getZ()
+                        + "; returning its " + vault.contents().size() + " stacks to the block", cause);
+        returnItems(block, vault);
+        actor.sendMessage(MiniMessageUtil.parseOrPlain(
+                "<red>Error: The vault could not be saved. Capture aborted and the items were returned.</red>"));
+    }
+
+    /** Restores {@code vault}'s block at {@code block} if it is still air and puts its items back. Main thread. */
+    private static void returnItems(Block block, VaultImp vault) {
+        if (block.getType().isAir() && vault.blockMaterial() != null) {
+            try {
+                if (vault.blockDataString() != null) {
+                    block.setBlockData(Bukkit.createBlockData(vault.blockDataString()), false);
+                } else {
+                    block.setType(vault.blockMaterial(), false);
+                }
+            } catch (IllegalArgumentException ignored) {
+                // Unparsable block data: the items are dropped below instead.
+            }
+        }
+        Collection<ItemStack> leftover = vault.contents();
+        if (block.getState(false) instanceof Container container) {
+            leftover = container.getInventory().addItem(vault.contents().toArray(new ItemStack[0])).values();
+        }
+        var at = block.getLocation().add(0.5, 0.5, 0.5);
+        for (ItemStack item : leftover) {
+            block.getWorld().dropItemNaturally(at, item);
+        }
+    }
+
     /** Serializes a vault's contents into persistable item rows starting at slot 0, skipping empty slots. */
     private static List<VaultItemEntity> toItemBatch(UUID vaultId, List<ItemStack> items) {
         return toItemBatch(vaultId, items, 0);
@@ -978,6 +1308,7 @@ public class VaultCaptureService {
             vie.slot = slot++;
             vie.amount = itemStack.getAmount();
             vie.item = ItemSerialization.toBytes(itemStack);
+            VaultItemIndexDAO.summarize(vie, itemStack);
             batch.add(vie);
         }
         return batch;
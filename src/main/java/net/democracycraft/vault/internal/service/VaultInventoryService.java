@@ -6,29 +6,45 @@ import net.democracycraft.vault.api.ui.ParentMenu;
 import net.democracycraft.vault.internal.ui.LoadingMenu;
 import net.democracycraft.vault.internal.ui.VaultAction;
 import net.democracycraft.vault.internal.util.item.ItemSerialization;
-import net.democracycraft.vault.internal.util.listener.DynamicListener;
+import net.democracycraft.vault.internal.listener.SessionEventRouter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import net.democracycraft.vault.internal.database.dao.VaultItemIndexDAO;
 import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.database.KeyedSerialExecutor;
 
 /**
  * Service to open a virtual inventory for a Vault with a specific action mode.
- * Uses VaultService to load/persist items asynchronously.
+ * Uses VaultService to load/persist items asynchronously. Vaults larger than a double chest are shown in pages
+ * that are fetched by slot range and saved independently.
  */
 public class VaultInventoryService {
 
+    /** Largest vault shown as one page (a double chest). */
+    private static final int SINGLE_PAGE_SLOTS = 54;
+    /** Vault slots per page of a larger vault; the bottom row holds navigation. */
+    private static final int PAGED_SLOTS = 45;
+    private static final int PREV_SLOT = 45;
+    private static final int PAGE_SLOT = 49;
+    private static final int NEXT_SLOT = 53;
+
     /** Opens a virtual inventory for the given vault id and action. */
     public void openVirtualInventory(Player player, UUID vaultId, VaultAction action) {
         openVirtualInventory(player, vaultId, action, null, null);
@@ -51,69 +67,104 @@ public class VaultInventoryService {
                     "%player%", player.getName(),
                     "%vault%", String.valueOf(vaultId)
             );
-            Bukkit.getScheduler().runTask(plugin, () -> new LoadingMenu(player, parentMenu, ph).open());
+            Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("inventory.loading", vaultId, () -> new LoadingMenu(player, parentMenu, ph).open()));
         }
-        new BukkitRunnable() {
-            @Override public void run() {
-                VaultService vaultService = plugin.getVaultService();
-                var mojangService = plugin.getMojangService();
-                var entityOpt = vaultService.get(vaultId);
-                if (entityOpt.isEmpty()) {
-                    new BukkitRunnable() {
-                        @Override public void run() {
-                            player.sendMessage("Vault not found.");
-                        }
-                    }.runTask(plugin);
-                    return;
-                }
-                UUID ownerUuid = vaultService.getOwner(vaultId);
-                var items = vaultService.listItems(vaultId);
-                int maxSlot = items.stream().mapToInt(it -> it.slot).max().orElse(-1);
-                int invSize = Math.min(54, Math.max(9, ((Math.max(maxSlot + 1, 9) + 8) / 9) * 9));
-                ItemStack[] contents = new ItemStack[invSize];
-                Arrays.fill(contents, null);
-                for (var it : items) {
-                    if (it.slot >= 0 && it.slot < invSize) contents[it.slot] = ItemSerialization.fromBytes(it.item);
-                }
+        // Ordered with other work on this vault, so the view never shows contents from before a pending save.
+        plugin.getKeyedExecutor().run(DatabaseExecutor.Priority.INTERACTIVE, KeyedSerialExecutor.vault(vaultId), () -> {
+            VaultService vaultService = plugin.getVaultService();
+            var mojangService = plugin.getMojangService();
+            var entityOpt = vaultService.get(vaultId);
+            if (entityOpt.isEmpty()) {
+                new ProfiledRunnable("inventory.notFound", player.getName()) {
+                    @Override protected void runProfiled() {
+                        if (parentMenu != null) player.closeDialog();
+                        player.sendMessage("Vault not found.");
+                    }
+                }.runTask(plugin);
+                return;
+            }
+            UUID ownerUuid = vaultService.getOwner(vaultId);
+            // Only the first page is fetched and decoded up front; further pages load on demand.
+            int maxSlot = vaultService.maxSlot(vaultId);
+            int pageSize = maxSlot < SINGLE_PAGE_SLOTS ? pageSizeFor(maxSlot) : PAGED_SLOTS;
+            int pageCount = maxSlot < SINGLE_PAGE_SLOTS ? 1 : maxSlot / PAGED_SLOTS + 1;
+            int invSize = pageCount == 1 ? pageSize : SINGLE_PAGE_SLOTS;
+            ItemStack[] contents = loadPage(vaultService, vaultId, 0, pageSize);
 
-                // Resolve owner name asynchronously using CompletableFuture, then open inventory on main thread
-                if (ownerUuid != null && mojangService != null) {
-                    mojangService.getName(ownerUuid).thenAccept(resolvedName -> {
-                        String ownerDisplay = (resolvedName != null && !resolvedName.isBlank())
-                                ? resolvedName
-                                : ownerUuid.toString();
-                        Bukkit.getScheduler().runTask(plugin, () ->
-                                openOnMain(player, vaultId, ownerDisplay, action, contents, invSize, reopenCallback));
-                    });
-                } else {
-                    String ownerDisplay = ownerUuid != null ? ownerUuid.toString() : "Unknown";
-                    Bukkit.getScheduler().runTask(plugin, () ->
-                            openOnMain(player, vaultId, ownerDisplay, action, contents, invSize, reopenCallback));
-                }
+            // Resolve owner name asynchronously using CompletableFuture, then open inventory on main thread
+            if (ownerUuid != null && mojangService != null) {
+                mojangService.getName(ownerUuid).thenAccept(resolvedName -> {
+                    String ownerDisplay = (resolvedName != null && !resolvedName.isBlank())
+                            ? resolvedName
+                            : ownerUuid.toString();
+                    Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("inventory.open", vaultId, () ->
+                            openOnMain(player, vaultId, ownerDisplay, action, contents, invSize, pageSize, pageCount, reopenCallback)));
+                });
+            } else {
+                String ownerDisplay = ownerUuid != null ? ownerUuid.toString() : "Unknown";
+                Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("inventory.open", vaultId, () ->
+                        openOnMain(player, vaultId, ownerDisplay, action, contents, invSize, pageSize, pageCount, reopenCallback)));
+            }
+        }).whenComplete((ignored, error) -> {
+            if (error == null) return;
+            if (!(error instanceof RejectedExecutionException)) {
+                plugin.getLogger().log(Level.WARNING, "[VaultInventoryService] Could not open vault " + vaultId, error);
             }
-        }.runTaskAsynchronously(plugin);
+            // Scheduled after the loading dialog's task, so it is closed rather than left on screen.
+            new ProfiledRunnable("inventory.failed", player.getName()) {
+                @Override protected void runProfiled() {
+                    if (parentMenu != null) player.closeDialog();
+                    player.sendMessage(error instanceof RejectedExecutionException ? DatabaseExecutor.BUSY_MESSAGE : "Could not open the vault.");
+                }
+            }.runTask(plugin);
+        });
+    }
+
+    /** Slot count of a single-page view showing slots 0..maxSlot: whole rows, 1 to 6 of them. */
+    private static int pageSizeFor(int maxSlot) {
+        return Math.min(SINGLE_PAGE_SLOTS, Math.max(9, ((Math.max(maxSlot + 1, 9) + 8) / 9) * 9));
     }
 
-    private void openOnMain(Player player, UUID vaultId, String ownerDisplay, VaultAction action, ItemStack[] contents, int size, Runnable reopenCallback) {
+    /** Fetches and decodes one page (vault slots {@code page * pageSize} onward). Blocking; call off the main thread. */
+    private static ItemStack[] loadPage(VaultService vaultService, UUID vaultId, int page, int pageSize) {
+        int first = page * pageSize;
+        ItemStack[] contents = new ItemStack[pageSize];
+        for (var it : vaultService.listItems(vaultId, first, first + pageSize - 1)) {
+            int index = it.slot - first;
+            if (index >= 0 && index < pageSize) contents[index] = ItemSerialization.fromBytes(it.item);
+        }
+        return contents;
+    }
+
+    private void openOnMain(Player player, UUID vaultId, String ownerDisplay, VaultAction action, ItemStack[] firstPage,
+                            int size, int pageSize, int pageCount, Runnable reopenCallback) {
+        var plugin = VaultStoragePlugin.getInstance();
         Component title = Component.text("Owner: ", NamedTextColor.WHITE)
                 .append(Component.text(ownerDisplay, NamedTextColor.GOLD))
                 .append(Component.text(" - " + action.name(), NamedTextColor.GRAY));
 
         Inventory inv = Bukkit.createInventory(null, size, title);
-        for (int i = 0; i < Math.min(size, contents.length); i++) {
-            ItemStack it = contents[i];
-            if (it != null) inv.setItem(i, it.clone());
-        }
-
-        // Use a standalone DynamicListener to avoid overwriting the session's listener
-        // (which may be in use by capture/placement modes).
-        DynamicListener dyn = new DynamicListener();
+        PagedView view = new PagedView(plugin, vaultId, inv, pageSize, pageCount);
+        view.show(0, firstPage);
 
-        Listener listener = new Listener() {
-            @EventHandler
-            public void onClick(InventoryClickEvent event) {
-                if (!event.getWhoClicked().getUniqueId().equals(player.getUniqueId())) return;
-                if (event.getView().getTopInventory() != inv) return;
+        SessionEventRouter router = plugin.getEventRouter();
+        SessionEventRouter.InventoryHandler handler = new SessionEventRouter.InventoryHandler() {
+            @Override
+            public void onClick(@NotNull InventoryClickEvent event) {
+                if (view.loading) {
+                    event.setCancelled(true);
+                    return;
+                }
+                if (event.getClickedInventory() == inv && event.getSlot() >= pageSize) {
+                    // Navigation row
+                    event.setCancelled(true);
+                    int target = event.getSlot() == PREV_SLOT ? view.page - 1 : event.getSlot() == NEXT_SLOT ? view.page + 1 : view.page;
+                    if (target != view.page && target >= 0 && target < pageCount) {
+                        if (action == VaultAction.EDIT) view.save();
+                        view.go(target);
+                    }
+                    return;
+                }
                 switch (action) {
                     case VIEW -> event.setCancelled(true);
                     case COPY -> {
@@ -136,59 +187,168 @@ public class VaultInventoryService {
                     }
                 }
             }
-            @EventHandler
-            public void onDrag(InventoryDragEvent event) {
-                if (!event.getWhoClicked().getUniqueId().equals(player.getUniqueId())) return;
-                if (event.getView().getTopInventory() != inv) return;
-                if (action == VaultAction.VIEW) {
+            @Override
+            public void onDrag(@NotNull InventoryDragEvent event) {
+                if (action == VaultAction.VIEW || view.loading) {
                     event.setCancelled(true);
                 } else if (action == VaultAction.COPY) {
                     boolean affectsTop = event.getRawSlots().stream().anyMatch(slot -> slot < inv.getSize());
                     if (affectsTop) event.setCancelled(true);
+                } else {
+                    boolean affectsNavigation = event.getRawSlots().stream().anyMatch(slot -> slot >= pageSize && slot < inv.getSize());
+                    if (affectsNavigation) event.setCancelled(true);
                 }
             }
-            @EventHandler
-            public void onClose(InventoryCloseEvent event) {
-                if (!event.getPlayer().getUniqueId().equals(player.getUniqueId())) return;
-                if (event.getInventory() != inv) return;
-                if (action == VaultAction.EDIT) {
-                    ItemStack[] newContents = inv.getContents();
-                    new BukkitRunnable() {
-                        @Override public void run() {
-                            saveToDb(vaultId, newContents);
-                        }
-                    }.runTaskAsynchronously(VaultStoragePlugin.getInstance());
-                }
-                dyn.close();  // Use close() to fully clean up the standalone listener
+            @Override
+            public void onClose(@NotNull InventoryCloseEvent event) {
+                if (action == VaultAction.EDIT && !view.loading) view.save();
+                view.closed = true;
+                router.unbindInventory(player.getUniqueId(), inv);
                 if (reopenCallback != null) {
-                    Bukkit.getScheduler().runTask(VaultStoragePlugin.getInstance(), reopenCallback);
+                    Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("inventory.reopen", vaultId, reopenCallback));
                 }
             }
         };
 
-        dyn.setListener(listener);
-        dyn.start();
-        player.openInventory(inv);
+        // Bound after opening: opening closes any vault inventory already open, whose handler must see that close.
+        if (player.openInventory(inv) != null) router.bindInventory(player.getUniqueId(), inv, handler);
     }
 
-    private void saveToDb(UUID vaultId, ItemStack[] contents) {
-        VaultService vs = VaultStoragePlugin.getInstance().getVaultService();
-        var existing = vs.listItems(vaultId);
-        for (var row : existing) vs.removeItem(vaultId, row.slot);
-        // Batch re-insert items to minimize DB round-trips
-        List<VaultItemEntity> batch = new ArrayList<>();
-        for (int i = 0; i < contents.length; i++) {
-            ItemStack it = contents[i];
-            if (it == null) continue;
-            VaultItemEntity vie = new VaultItemEntity();
-            vie.vaultUuid = vaultId;
-            vie.slot = i;
-            vie.amount = it.getAmount();
-            vie.item = ItemSerialization.toBytes(it);
-            batch.add(vie);
+    /**
+     * Page state of one open vault inventory. Vaults up to {@value #SINGLE_PAGE_SLOTS} slots show as a single page;
+     * larger ones show {@value #PAGED_SLOTS} slots per page above a navigation row. Decoded pages are cached for
+     * the life of the view, and the next page is fetched ahead of time. Database work is ordered per vault, so a
+     * page save always lands before a later load of the same page, and before anything else done to the vault
+     * afterwards (placing or deleting it, another view opening it).
+     * Fields are touched on the main thread only, except the cache.
+     */
+    private static final class PagedView {
+        private final VaultStoragePlugin plugin;
+        private final UUID vaultId;
+        private final Inventory inv;
+        private final int pageSize;
+        private final int pageCount;
+        /** Last known contents of each page, as loaded or as last saved. */
+        private final Map<Integer, ItemStack[]> cache = new java.util.concurrent.ConcurrentHashMap<>();
+        private int page;
+        private boolean loading;
+        private boolean closed;
+
+        private PagedView(VaultStoragePlugin plugin, UUID vaultId, Inventory inv, int pageSize, int pageCount) {
+            this.plugin = plugin;
+            this.vaultId = vaultId;
+            this.inv = inv;
+            this.pageSize = pageSize;
+            this.pageCount = pageCount;
+        }
+
+        /** Shows a page whose contents are at hand, then prefetches the next one. */
+        private void show(int target, ItemStack[] contents) {
+            page = target;
+            loading = false;
+            cache.put(target, contents);
+            for (int i = 0; i < pageSize; i++) {
+                ItemStack it = contents[i];
+                inv.setItem(i, it == null ? null : it.clone());
+            }
+            if (pageCount > 1) drawNavigation();
+            prefetch(target + 1);
+        }
+
+        /** Switches to a page, from the cache when possible, otherwise after loading it. */
+        private void go(int target) {
+            ItemStack[] cached = cache.get(target);
+            if (cached != null) {
+                show(target, cached);
+                return;
+            }
+            page = target;
+            loading = true;
+            for (int i = 0; i < pageSize; i++) inv.setItem(i, null);
+            drawNavigation();
+            enqueue(() -> {
+                ItemStack[] contents = cache.computeIfAbsent(target, p -> loadPage(plugin.getVaultService(), vaultId, p, pageSize));
+                Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("inventory.page", vaultId, () -> {
+                    if (!closed && page == target) show(target, contents);
+                }));
+            });
+        }
+
+        private void prefetch(int target) {
+            if (target >= pageCount || cache.containsKey(target)) return;
+            enqueue(() -> cache.computeIfAbsent(target, p -> loadPage(plugin.getVaultService(), vaultId, p, pageSize)));
+        }
+
+        /**
+         * Writes the shown page back: only slots that changed since it was loaded or last saved, in one batch
+         * of upserts and one of removals. Serialization happens off the main thread.
+         */
+        private void save() {
+            int current = page;
+            ItemStack[] before = cache.getOrDefault(current, new ItemStack[pageSize]);
+            ItemStack[] after = new ItemStack[pageSize];
+            for (int i = 0; i < pageSize; i++) {
+                ItemStack it = inv.getItem(i);
+                after[i] = it == null || it.getType().isAir() ? null : it.clone();
+            }
+            List<Integer> changed = new ArrayList<>();
+            for (int i = 0; i < pageSize; i++) {
+                if (!Objects.equals(before[i], after[i])) changed.add(i);
+            }
+            if (changed.isEmpty()) return;
+            cache.put(current, after);
+            int first = current * pageSize;
+            enqueue(() -> {
+                List<VaultItemEntity> batch = new ArrayList<>();
+                List<Integer> emptied = new ArrayList<>();
+                for (int i : changed) {
+                    ItemStack it = after[i];
+                    if (it == null) {
+                        emptied.add(first + i);
+                        continue;
+                    }
+                    VaultItemEntity vie = new VaultItemEntity();
+                    vie.vaultUuid = vaultId;
+                    vie.slot = first + i;
+                    vie.amount = it.getAmount();
+                    vie.item = ItemSerialization.toBytes(it);
+                    VaultItemIndexDAO.summarize(vie, it);
+                    batch.add(vie);
+                }
+                VaultService vs = plugin.getVaultService();
+                vs.removeItems(vaultId, emptied);
+                if (!batch.isEmpty()) vs.putItems(vaultId, batch);
+            });
         }
-        if (!batch.isEmpty()) {
-            vs.putItems(vaultId, batch);
+
+        private void drawNavigation() {
+            if (pageCount <= 1) return;
+            ItemStack filler = button(Material.GRAY_STAINED_GLASS_PANE, Component.empty());
+            for (int i = pageSize; i < inv.getSize(); i++) inv.setItem(i, filler);
+            if (page > 0) inv.setItem(PREV_SLOT, button(Material.ARROW, Component.text("Previous page", NamedTextColor.YELLOW)));
+            inv.setItem(PAGE_SLOT, button(Material.PAPER, Component.text("Page " + (page + 1) + "/" + pageCount
+                    + (loading ? " (loading...)" : ""), NamedTextColor.WHITE)));
+            if (page < pageCount - 1) inv.setItem(NEXT_SLOT, button(Material.ARROW, Component.text("Next page", NamedTextColor.YELLOW)));
+        }
+
+        private static ItemStack button(Material material, Component name) {
+            ItemStack stack = new ItemStack(material);
+            ItemMeta meta = stack.getItemMeta();
+            meta.displayName(name.decoration(TextDecoration.ITALIC, false));
+            stack.setItemMeta(meta);
+            return stack;
+        }
+
+        /** Queues a task behind earlier work on this vault; a failing task is logged and does not stall the others. */
+        private void enqueue(Runnable task) {
+            // Durable: this carries page saves, which must not be refused.
+            plugin.getKeyedExecutor().run(DatabaseExecutor.Priority.DURABLE, KeyedSerialExecutor.vault(vaultId), () -> {
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    plugin.getLogger().log(Level.WARNING, "[VaultInventoryService] Page task failed for vault " + vaultId, ex);
+                }
+            });
         }
     }
 }
@@ -1,11 +1,17 @@
 package net.democracycraft.vault.internal.service;
 
 import net.democracycraft.vault.VaultStoragePlugin;
+import net.democracycraft.vault.api.dao.VaultDAO;
 import net.democracycraft.vault.api.service.VaultService;
 import net.democracycraft.vault.api.service.BoltService;
 import net.democracycraft.vault.internal.database.entity.VaultEntity;
 import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
-import net.democracycraft.vault.internal.util.item.ItemSerialization;
+import net.democracycraft.vault.internal.service.ItemDecodeService.DecodedVault;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
+import net.democracycraft.vault.internal.metrics.MainThreadProfiler;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.database.KeyedSerialExecutor;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
@@ -17,12 +23,27 @@ import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.Chest;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 
 /**
  * Service responsible for placing a Vault back into the world.
@@ -36,103 +57,412 @@ public class VaultPlacementService {
      */
     public record Result(boolean success, String message) {}
 
+    /** Bulk placements still placing; main thread only. */
+    private final Set<BulkPlacer> bulkPlacers = new HashSet<>();
+
     /**
      * Places the vault identified by its database id at a custom target location (relative placement),
      * reconstructing state from DB. World modifications happen on main thread; DB on async.
-     * Deletes the vault record after success.
+     * Deletes the vault record after success; items that do not fit the placed container stay in the vault.
      * @param vaultUuid vault id
      * @param targetLoc location to place (must be in a loaded world)
      * @param callback result consumer (main thread), may be null
      */
     public void placeFromDatabaseRelativeAsync(UUID vaultUuid, Location targetLoc, Consumer<Result> callback) {
         var plugin = VaultStoragePlugin.getInstance();
-        new BukkitRunnable() {
-            @Override public void run() {
-                VaultService vaultService = plugin.getVaultService();
-                var opt = vaultService.get(vaultUuid);
-                if (opt.isEmpty()) {
-                    new BukkitRunnable(){
-                        @Override public void run()
-                        {
-                            if (callback!=null) callback.accept(new Result(false, "Vault not found."));
+        VaultService vaultService = plugin.getVaultService();
+        // Vault and owner in one query, then items; decoding stays on the decode pool and only placement and the
+        // callback touch the main thread.
+        vaultService.getWithOwnersAsync(List.of(vaultUuid))
+                .thenCompose(found -> {
+                    VaultDAO.OwnedVault owned = found.get(vaultUuid);
+                    if (owned == null) throw new PlacementAbort("Vault not found.");
+                    if (targetLoc.getWorld() == null) throw new PlacementAbort("Target world not available.");
+                    return vaultService.listItemsAsync(vaultUuid).thenCompose(rows -> plugin.getItemDecodeService().decode(rows)
+                            .thenApply(decoded -> new StoredVault(owned, new DecodedVault(vaultUuid, rows, decoded, null))));
+                })
+                .thenComposeAsync(stored -> {
+                    VaultEntity vaultEntity = stored.owned().vault();
+                    Set<Integer> overflowSlots = new HashSet<>();
+                    Result result = placeAt(blockMaterial(vaultEntity.material), Arrays.asList(stored.items().contents()), targetLoc,
+                            vaultEntity.blockData, overflowSlots);
+                    if (!result.success()) return CompletableFuture.completedFuture(result);
+                    // Recreate Bolt protection with original owner if present
+                    BoltService bolt = plugin.getBoltService();
+                    UUID ownerUuid = stored.owned().ownerUuid();
+                    if (bolt != null && ownerUuid != null) {
+                        Block placed = targetLoc.getBlock();
+                        try { bolt.createProtection(placed, ownerUuid); } catch (Throwable ignored) {}
+                    }
+                    // Delete the vault record, or keep just the overflow in it
+                    if (overflowSlots.isEmpty()) {
+                        return vaultService.deleteAsync(vaultUuid).handle((done, error) -> error == null ? result
+                                : storageFailure(vaultUuid, "the vault could not be deleted from storage; its items are duplicated.", error));
+                    }
+                    List<Integer> placedSlots = new ArrayList<>();
+                    for (VaultItemEntity row : stored.items().rows()) {
+                        if (!overflowSlots.contains(row.slot)) placedSlots.add(row.slot);
+                    }
+                    Result partial = new Result(true, result.message() + " " + overflowSlots.size()
+                            + " stack(s) did not fit and remain in the vault.");
+                    return vaultService.removeItemsAsync(vaultUuid, placedSlots).handle((done, error) -> error == null ? partial
+                            : storageFailure(vaultUuid, "the placed items could not be removed from storage; they are duplicated.", error));
+                }, plugin.getMainThreadExecutor().profiled("placement.place", vaultUuid))
+                .whenCompleteAsync((result, error) -> {
+                    Result reported = result;
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        if (cause instanceof PlacementAbort abort) {
+                            reported = new Result(false, abort.getMessage());
+                        } else if (cause instanceof RejectedExecutionException) {
+                            reported = new Result(false, DatabaseExecutor.BUSY_MESSAGE);
+                        } else {
+                            plugin.getLogger().log(Level.WARNING, "[VaultPlacementService] Placement of vault " + vaultUuid + " failed", cause);
+                            reported = new Result(false, "Placement failed: " + cause.getMessage());
                         }
-                    }.runTask(plugin);
-                    return;
-                }
-                VaultEntity vaultEntity = opt.get();
-                World world = targetLoc.getWorld();
-                if (world == null) {
-                    new BukkitRunnable(){
-                        @Override public void run()
-                        {
-                            if (callback!=null) callback.accept(new Result(false, "Target world not available."));
+                    }
+                    if (callback != null) callback.accept(reported);
+                }, plugin.getMainThreadExecutor().profiled("placement.callback", vaultUuid));
+    }
+
+    /**
+     * The failed {@link Result} of a placement whose blocks are already in the world but whose storage update
+     * failed, so the placed items are still in the vault as well.
+     */
+    private static Result storageFailure(UUID vaultUuid, String problem, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        VaultStoragePlugin.getInstance().getLogger().log(Level.SEVERE, "[VaultPlacementService] Placed vault " + vaultUuid
+                + ", but " + problem, cause);
+        return new Result(false, "Placed, but " + problem);
+    }
+
+    /** A vault read for {@link #placeFromDatabaseRelativeAsync}: its row and owner, and its decoded items. */
+    private record StoredVault(VaultDAO.OwnedVault owned, DecodedVault items) {}
+
+    /** Ends {@link #placeFromDatabaseRelativeAsync} early with a failed {@link Result}. */
+    private static final class PlacementAbort extends RuntimeException {
+        PlacementAbort(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /** Running counts of a {@link #placeBulkAsync bulk placement}. */
+    public record BulkProgress(int processed, int total, int placed, int failed) {}
+
+    /**
+     * Outcome of a {@link #placeBulkAsync bulk placement}: final counts, how many placed vaults kept items that did
+     * not fit, and the reason each failed vault was not placed.
+     */
+    public record BulkResult(@NotNull BulkProgress progress, int partial, @NotNull Map<UUID, String> failures) {}
+
+    /**
+     * Places many vaults back at their stored locations shifted by ({@code dx}, {@code dy}, {@code dz}), in their
+     * stored worlds. Vault rows and owners are fetched in one query; target chunks are loaded asynchronously in
+     * chunk-grouped order (at most {@code scan.batch-size} chunks ahead) while each group's items are read and
+     * decoded off the main thread. Placement runs on the main thread in slices of at most
+     * {@code capture.bulk-tick-budget-ms} per tick, and the vaults placed in a slice are deleted (or trimmed to the
+     * items that did not fit) right after it, so a crash or disable mid-run leaves at most one slice duplicated.
+     * Vaults that fail to place are left untouched; items that do not fit stay in their vault.
+     * <p>{@code onProgress} runs on the main thread after each slice and {@code callback} once at the end, after
+     * the last deletions; vaults placed but not deleted are reported among the failures.</p>
+     */
+    public void placeBulkAsync(@NotNull Collection<UUID> vaultUuids, int dx, int dy, int dz,
+                               @Nullable Consumer<BulkProgress> onProgress, @NotNull Consumer<BulkResult> callback) {
+        var plugin = VaultStoragePlugin.getInstance();
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(vaultUuids));
+        if (!plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, () -> {
+            Map<UUID, VaultDAO.OwnedVault> fetched;
+            try {
+                fetched = plugin.getVaultService().getWithOwners(ids);
+            } catch (RuntimeException ex) {
+                plugin.getLogger().log(Level.WARNING, "[VaultPlacementService] Bulk placement could not load " + ids.size() + " vault(s)", ex);
+                fetched = Map.of();
+            }
+            Map<UUID, VaultDAO.OwnedVault> found = fetched;
+            new ProfiledRunnable("placement.bulk.group") {
+                @Override protected void runProfiled() {
+                    Map<UUID, String> failures = new LinkedHashMap<>();
+                    Map<String, PlaceGroup> groups = new HashMap<>();
+                    for (UUID id : ids) {
+                        VaultDAO.OwnedVault owned = found.get(id);
+                        World world = owned == null || owned.vault().worldUuid == null ? null : Bukkit.getWorld(owned.vault().worldUuid);
+                        if (owned == null) {
+                            failures.put(id, "Vault not found.");
+                        } else if (world == null) {
+                            failures.put(id, "Target world not available.");
+                        } else {
+                            int cx = (owned.vault().x + dx) >> 4;
+                            int cz = (owned.vault().z + dz) >> 4;
+                            String key = world.getUID() + ":" + cx + ":" + cz;
+                            groups.computeIfAbsent(key, k -> new PlaceGroup(world, cx, cz)).vaults.add(owned);
                         }
-                    }.runTask(plugin);
-                    return;
+                    }
+                    long budgetMs = Math.max(1L, plugin.getConfig().getLong(ConfigPaths.CAPTURE_BULK_TICK_BUDGET_MS.getPath(), 5L));
+                    int window = Math.max(1, plugin.getConfig().getInt(ConfigPaths.SCAN_BATCH_SIZE.getPath(), 50));
+                    // Visit groups in (world, chunkX, chunkZ) order, so neighbouring chunks load together.
+                    List<PlaceGroup> ordered = new ArrayList<>(groups.values());
+                    ordered.sort(Comparator.comparing((PlaceGroup g) -> g.world.getUID())
+                            .thenComparingInt(g -> g.chunkX).thenComparingInt(g -> g.chunkZ));
+                    BulkPlacer placer = new BulkPlacer(ordered, ids.size(), failures, dx, dy, dz,
+                            budgetMs * 1_000_000L, window, onProgress, callback);
+                    bulkPlacers.add(placer);
+                    placer.runTaskTimer(plugin, 1L, 1L);
                 }
-                Material mat = null;
-                if (vaultEntity.material != null && !vaultEntity.material.isBlank()) {
-                    try { mat = Material.valueOf(vaultEntity.material); } catch (IllegalArgumentException ignored) {}
+            }.runTask(plugin);
+        })) {
+            Map<UUID, String> failures = new LinkedHashMap<>();
+            for (UUID id : ids) failures.put(id, DatabaseExecutor.BUSY_MESSAGE);
+            BulkResult busy = new BulkResult(new BulkProgress(ids.size(), ids.size(), 0, ids.size()), 0, failures);
+            Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("placement.bulk.done", null, () -> callback.accept(busy)));
+        }
+    }
+
+    /** Vaults whose targets share a chunk; its chunk load and item decode are started together. */
+    private static final class PlaceGroup {
+        private final World world;
+        private final int chunkX, chunkZ;
+        private final List<VaultDAO.OwnedVault> vaults = new ArrayList<>();
+        private CompletableFuture<Chunk> chunk;
+        private CompletableFuture<Map<UUID, DecodedVault>> loaded;
+
+        private PlaceGroup(World world, int chunkX, int chunkZ) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        private boolean ready() {
+            return chunk.isDone() && loaded.isDone();
+        }
+    }
+
+    /** Main-thread pacer of {@link #placeBulkAsync}: prefetches groups ahead and places within a per-tick budget. */
+    private final class BulkPlacer extends ProfiledRunnable {
+        private final List<PlaceGroup> groups;
+        private final int total;
+        private final Map<UUID, String> failures;
+        private final int dx, dy, dz;
+        private final long budgetNanos;
+        private final int window;
+        private final Consumer<BulkProgress> onProgress;
+        private final Consumer<BulkResult> callback;
+        /** Placed since the last {@link #flush}: vaults to delete, and vaults to trim to their overflow. */
+        private final List<UUID> emptied = new ArrayList<>();
+        private final Map<UUID, List<Integer>> partlyPlaced = new LinkedHashMap<>();
+        /** Placed vaults whose storage update failed; written by database workers. */
+        private final Map<UUID, String> unpersisted = new ConcurrentHashMap<>();
+        private final List<CompletableFuture<Void>> flushes = new ArrayList<>();
+        /** Placed vaults that kept items that did not fit. */
+        private final Set<UUID> partial = new HashSet<>();
+        private int started = 0;
+        private int current = 0;
+        private int position = 0;
+        private int placed = 0;
+
+        private BulkPlacer(List<PlaceGroup> groups, int total, Map<UUID, String> failures, int dx, int dy, int dz,
+                           long budgetNanos, int window, Consumer<BulkProgress> onProgress, Consumer<BulkResult> callback) {
+            super("placement.bulk", total + " vaults");
+            this.groups = groups;
+            this.total = total;
+            this.failures = failures;
+            this.dx = dx;
+            this.dy = dy;
+            this.dz = dz;
+            this.budgetNanos = budgetNanos;
+            this.window = window;
+            this.onProgress = onProgress;
+            this.callback = callback;
+        }
+
+        @Override protected void runProfiled() {
+            var plugin = VaultStoragePlugin.getInstance();
+            while (started < groups.size() && started - current < window) {
+                start(plugin, groups.get(started++));
+            }
+            long deadline = System.nanoTime() + budgetNanos;
+            while (current < groups.size() && System.nanoTime() < deadline) {
+                PlaceGroup group = groups.get(current);
+                if (!group.ready()) break;
+                if (group.chunk.isCompletedExceptionally()) {
+                    for (VaultDAO.OwnedVault owned : group.vaults) failures.put(owned.vault().uuid, "Could not load the target chunk.");
+                    finishGroup(plugin, group);
+                    continue;
                 }
-                if (mat == null || !mat.isBlock()) {
-                    // Safe default; also handles item-only material names (e.g. legacy vault rows).
-                    mat = Material.CHEST;
+                VaultDAO.OwnedVault owned = group.vaults.get(position);
+                placeOne(plugin, owned, group.loaded.join().get(owned.vault().uuid), group.world);
+                if (++position >= group.vaults.size()) finishGroup(plugin, group);
+            }
+            flush(plugin);
+            if (onProgress != null) onProgress.accept(progress());
+            if (current >= groups.size()) {
+                this.cancel();
+                bulkPlacers.remove(this);
+                report(plugin);
+            }
+        }
+
+        /** Stops placing, for {@code onDisable}: what was placed is already being persisted; no report is sent. */
+        private void abort(VaultStoragePlugin plugin) {
+            try { this.cancel(); } catch (IllegalStateException ignored) {}
+            flush(plugin);
+            for (int i = current; i < started; i++) {
+                PlaceGroup group = groups.get(i);
+                group.world.removePluginChunkTicket(group.chunkX, group.chunkZ, plugin);
+            }
+            plugin.getLogger().warning("[VaultPlacementService] Bulk placement stopped by shutdown after " + placed + "/" + total
+                    + " vault(s); the rest stay in storage.");
+        }
+
+        private void start(VaultStoragePlugin plugin, PlaceGroup group) {
+            if (!group.world.isChunkLoaded(group.chunkX, group.chunkZ)) {
+                plugin.getMetrics().counter("vault_chunk_loads_total", "source", "placement").increment();
+            }
+            group.chunk = group.world.getChunkAtAsync(group.chunkX, group.chunkZ).thenApply(chunk -> {
+                // Keep it loaded until the group is placed, however long earlier groups take.
+                chunk.addPluginChunkTicket(plugin);
+                return chunk;
+            });
+            CompletableFuture<Map<UUID, DecodedVault>> loaded = new CompletableFuture<>();
+            group.loaded = loaded;
+            List<UUID> vaults = group.vaults.stream().map(owned -> owned.vault().uuid).toList();
+            // The whole group comes back in one main-thread batch; failed vaults carry their error.
+            Map<UUID, DecodedVault> decoded = new HashMap<>();
+            plugin.getItemDecodeService().decodeVaults(vaults, plugin.getVaultService()::listItems, vaults.size(),
+                    batch -> batch.forEach(vault -> decoded.put(vault.vaultUuid(), vault)),
+                    () -> loaded.complete(decoded));
+        }
+
+        private void placeOne(VaultStoragePlugin plugin, VaultDAO.OwnedVault owned, DecodedVault items, World world) {
+            VaultEntity vault = owned.vault();
+            if (items == null || items.error() != null) {
+                failures.put(vault.uuid, items != null && items.error() instanceof RejectedExecutionException
+                        ? DatabaseExecutor.BUSY_MESSAGE : "Could not load the vault's items.");
+                return;
+            }
+            Location target = new Location(world, vault.x + dx, vault.y + dy, vault.z + dz);
+            Set<Integer> overflowSlots = new HashSet<>();
+            Result result = placeAt(blockMaterial(vault.material), Arrays.asList(items.contents()), target, vault.blockData, overflowSlots);
+            if (!result.success()) {
+                failures.put(vault.uuid, result.message());
+                return;
+            }
+            placed++;
+            BoltService bolt = plugin.getBoltService();
+            if (bolt != null && owned.ownerUuid() != null) {
+                try { bolt.createProtection(target.getBlock(), owned.ownerUuid()); } catch (Throwable ignored) {}
+            }
+            if (overflowSlots.isEmpty()) {
+                emptied.add(vault.uuid);
+            } else {
+                List<Integer> placedSlots = new ArrayList<>();
+                for (VaultItemEntity row : items.rows()) {
+                    if (!overflowSlots.contains(row.slot)) placedSlots.add(row.slot);
                 }
-                UUID ownerUuid = vaultService.getOwner(vaultUuid);
-                List<VaultItemEntity> rows = vaultService.listItems(vaultUuid);
-                List<ItemStack> contents = new ArrayList<>();
-                int maxSlot = -1;
-                for (VaultItemEntity row : rows) maxSlot = Math.max(maxSlot, row.slot);
-                int size = Math.max(0, maxSlot + 1);
-                for (int i=0;i<size;i++) contents.add(null);
-                for (VaultItemEntity row : rows) {
-                    ItemStack it = ItemSerialization.fromBytes(row.item);
-                    if (row.slot >=0 && row.slot < contents.size()) contents.set(row.slot, it);
+                partlyPlaced.put(vault.uuid, placedSlots);
+                partial.add(vault.uuid);
+            }
+        }
+
+        private void finishGroup(VaultStoragePlugin plugin, PlaceGroup group) {
+            group.world.removePluginChunkTicket(group.chunkX, group.chunkZ, plugin);
+            current++;
+            position = 0;
+        }
+
+        private BulkProgress progress() {
+            return new BulkProgress(placed + failures.size(), total, placed, failures.size());
+        }
+
+        /**
+         * Deletes the vaults placed since the last flush in one batch and trims partly placed ones, ordered after
+         * any pending work on them (e.g. a page save from someone viewing one of them). Failures are logged and
+         * reported at the end.
+         */
+        private void flush(VaultStoragePlugin plugin) {
+            if (emptied.isEmpty() && partlyPlaced.isEmpty()) return;
+            List<UUID> deletes = List.copyOf(emptied);
+            Map<UUID, List<Integer>> trims = new LinkedHashMap<>(partlyPlaced);
+            emptied.clear();
+            partlyPlaced.clear();
+            List<UUID> touched = new ArrayList<>(deletes);
+            touched.addAll(trims.keySet());
+            flushes.add(plugin.getKeyedExecutor().run(DatabaseExecutor.Priority.DURABLE, KeyedSerialExecutor.vaults(touched), () -> {
+                VaultService vaultService = plugin.getVaultService();
+                if (!deletes.isEmpty()) {
+                    try {
+                        vaultService.deleteAll(deletes);
+                    } catch (RuntimeException ex) {
+                        plugin.getLogger().log(Level.SEVERE, "[VaultPlacementService] Could not delete " + deletes.size()
+                                + " placed vault(s); their items are now both in the world and in storage: " + deletes, ex);
+                        for (UUID id : deletes) unpersisted.put(id, "Placed, but could not be deleted from storage; its items are duplicated.");
+                    }
                 }
-                // Build ephemeral Vault for placement (location overridden)
-                Material finalMat = mat;
-                String blockDataString = vaultEntity.blockData;
-                List<ItemStack> finalContents = contents.stream().map(it -> it == null ? null : it.clone()).toList();
-                new BukkitRunnable(){
-                    @Override public void run() {
-                        Result result = placeAt(finalMat, finalContents, targetLoc, blockDataString);
-                        if (!result.success()) {
-                            if (callback!=null) callback.accept(result);
-                            return;
-                        }
-                        // Recreate Bolt protection with original owner if present
-                        BoltService bolt = plugin.getBoltService();
-                        if (bolt != null && ownerUuid != null) {
-                            Block placed = targetLoc.getBlock();
-                            try { bolt.createProtection(placed, ownerUuid); } catch (Throwable ignored) {}
-                        }
-                        // Delete vault record then callback on main
-                        new BukkitRunnable(){
-                            @Override public void run(){
-                                try {
-                                    vaultService.delete(vaultUuid);
-                                } catch(Throwable ignored){}
-                                new BukkitRunnable(){
-                                    @Override public void run() {
-                                        if (callback!=null) {
-
-                                            callback.accept(result);
-                                        }
-                                    }
-                                }.runTask(plugin);
-                            }
-                        }.runTaskAsynchronously(plugin);
+                for (Map.Entry<UUID, List<Integer>> entry : trims.entrySet()) {
+                    try {
+                        vaultService.removeItems(entry.getKey(), entry.getValue());
+                    } catch (RuntimeException ex) {
+                        plugin.getLogger().log(Level.SEVERE, "[VaultPlacementService] Could not remove placed items from vault " + entry.getKey()
+                                + "; they are now both in the world and in storage.", ex);
+                        unpersisted.put(entry.getKey(), "Placed, but the placed items could not be removed from storage; they are duplicated.");
                     }
-                }.runTask(plugin);
-            }
-        }.runTaskAsynchronously(plugin);
+                }
+            }));
+        }
+
+        /** Reports on the main thread once every flush has finished. */
+        private void report(VaultStoragePlugin plugin) {
+            CompletableFuture.allOf(flushes.toArray(new CompletableFuture[0])).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    plugin.getLogger().log(Level.SEVERE, "[VaultPlacementService] A bulk placement storage update failed", error);
+                }
+                Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("placement.bulk.done", null, () -> {
+                    // A placed vault whose storage update failed counts as failed only, not also as placed or partial.
+                    Map<UUID, String> failed = new LinkedHashMap<>(failures);
+                    failed.putAll(unpersisted);
+                    int kept = placed - unpersisted.size();
+                    int partlyKept = (int) partial.stream().filter(id -> !unpersisted.containsKey(id)).count();
+                    BulkProgress counts = new BulkProgress(kept + failed.size(), total, kept, failed.size());
+                    callback.accept(new BulkResult(counts, partlyKept, failed));
+                }));
+            });
+        }
+    }
+
+    /**
+     * Stops running bulk placements, persisting what they placed so far. Call from {@code onDisable}, before the
+     * database executor drains.
+     */
+    public void shutdown() {
+        var plugin = VaultStoragePlugin.getInstance();
+        for (BulkPlacer placer : List.copyOf(bulkPlacers)) placer.abort(plugin);
+        bulkPlacers.clear();
+    }
+
+    /** Stored material name as a placeable block; chests for unknown or item-only names (e.g. legacy vault rows). */
+    private static Material blockMaterial(@Nullable String name) {
+        Material mat = null;
+        if (name != null && !name.isBlank()) {
+            try { mat = Material.valueOf(name); } catch (IllegalArgumentException ignored) {}
+        }
+        return mat == null || !mat.isBlock() ? Material.CHEST : mat;
     }
 
     /**
      * Core placement logic at arbitrary location with given material, contents and blockData.
      * If the block is a chest, it resets its facing/type so it doesn't merge into a double chest.
+     * Indices of {@code contents} that do not fit the container are added to {@code overflow} instead of being placed.
      */
-    private Result placeAt(Material mat, List<ItemStack> contents, Location loc, String blockDataString) {
+    private Result placeAt(Material mat, List<ItemStack> contents, Location loc, String blockDataString, Set<Integer> overflow) {
+        MainThreadProfiler profiler = VaultStoragePlugin.getInstance().getProfiler();
+        long profile = profiler.begin("placement.placeAt", loc);
+        try {
+            return placeAtUnprofiled(mat, contents, loc, blockDataString, overflow);
+        } finally {
+            profiler.end(profile);
+        }
+    }
+
+    private Result placeAtUnprofiled(Material mat, List<ItemStack> contents, Location loc, String blockDataString, Set<Integer> overflow) {
         if (mat == null) return new Result(false, "Material missing.");
         if (loc == null || loc.getWorld() == null) return new Result(false, "Invalid location.");
 
@@ -168,10 +498,11 @@ public class VaultPlacementService {
             int size = inv.getSize();
             int i = 0;
 
-            for (ItemStack it : contents) {
+            for (int slot = 0; slot < contents.size(); slot++) {
+                ItemStack it = contents.get(slot);
                 if (it == null) continue;
                 if (i >= size) {
-                    world.dropItemNaturally(loc, it.clone());
+                    overflow.add(slot);
                     continue;
                 }
                 inv.setItem(i++, it.clone());
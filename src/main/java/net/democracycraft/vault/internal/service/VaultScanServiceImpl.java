@@ -30,6 +30,7 @@ public class VaultScanServiceImpl implements VaultScanService {
             long ttlSeconds = VaultStoragePlugin.getInstance().getConfig().getLong(ConfigPaths.SCAN_CACHE_TTL_SECONDS.getPath(), 60);
             if (Instant.now().isBefore(entry.timestamp.plusSeconds(ttlSeconds))) {
                 // Cache hit and valid
+                VaultStoragePlugin.getInstance().getMetrics().cacheAccess("scan_results", true);
                 callback.accept(entry.results);
                 return;
             } else {
@@ -38,6 +39,8 @@ public class VaultScanServiceImpl implements VaultScanService {
             }
         }
 
+        VaultStoragePlugin.getInstance().getMetrics().cacheAccess("scan_results", false);
+
         // Check if a scan is already in progress for this key
         synchronized (pendingScans) {
             if (pendingScans.containsKey(key)) {
@@ -6,6 +6,8 @@ import net.democracycraft.vault.VaultStoragePlugin;
 import net.democracycraft.vault.api.dao.VaultDAO;
 import net.democracycraft.vault.api.region.VaultRegion;
 import net.democracycraft.vault.api.service.VaultService;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.database.KeyedSerialExecutor;
 import net.democracycraft.vault.internal.database.entity.VaultEntity;
 import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
 import net.democracycraft.vault.internal.util.minimessage.MiniMessageUtil;
@@ -18,6 +20,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import net.democracycraft.vault.internal.util.yml.AutoYML;
 import net.democracycraft.vault.internal.util.config.DataFolder;
 import net.democracycraft.vault.internal.config.MailConfig;
@@ -45,7 +49,36 @@ public record VaultServiceImpl(VaultDAO dao) implements VaultService {
         vaultEntity.createdAtEpochMillis = now;
         vaultEntity.updatedAtEpochMillis = now;
         dao.createVault(vaultEntity, ownerUuid);
+        mailOwner(actor, ownerUuid, worldUuid, x, y, z);
+        return vaultEntity;
+    }
+
+    @Override
+    public @NotNull List<VaultEntity> createVaults(@NotNull UUID actor, @NotNull List<VaultDAO.NewVault> vaults) {
+        Objects.requireNonNull(actor, "actor");
+        Objects.requireNonNull(vaults, "vaults");
+        long now = System.currentTimeMillis();
+        List<VaultEntity> created = new ArrayList<>(vaults.size());
+        for (VaultDAO.NewVault entry : vaults) {
+            VaultEntity vaultEntity = entry.vault();
+            if (vaultEntity.uuid == null) vaultEntity.uuid = UUID.randomUUID();
+            if (vaultEntity.createdAtEpochMillis == null) vaultEntity.createdAtEpochMillis = now;
+            vaultEntity.updatedAtEpochMillis = now;
+            created.add(vaultEntity);
+        }
+        dao.createVaults(vaults);
+        // One mail per recipient rather than one per vault; it names the region of their first vault.
+        Set<UUID> mailed = new HashSet<>();
+        for (VaultDAO.NewVault entry : vaults) {
+            if (!mailed.add(entry.ownerUuid())) continue;
+            VaultEntity v = entry.vault();
+            mailOwner(actor, entry.ownerUuid(), v.worldUuid, v.x, v.y, v.z);
+        }
+        return created;
+    }
 
+    /** Sends the configured "vault created" mail from {@code actor} to {@code ownerUuid}, if both are known to Essentials. */
+    private void mailOwner(@NotNull UUID actor, @NotNull UUID ownerUuid, @NotNull UUID worldUuid, int x, int y, int z) {
         Essentials essentials = VaultStoragePlugin.getInstance().getEssentials();
         User sender = essentials.getUser(actor);
 
@@ -53,7 +86,7 @@ public record VaultServiceImpl(VaultDAO dao) implements VaultService {
 
         User recipient = essentials.getUser(ownerUuid);
         if(sender == null || recipient == null) {
-            return vaultEntity;
+            return;
         }
         String senderName = sender.getName();
         String recipientName = recipient.getName();
@@ -70,8 +103,6 @@ public record VaultServiceImpl(VaultDAO dao) implements VaultService {
                 .serialize(MiniMessageUtil.parseOrPlain(cfg.vaultCreatedMessage, placeholders));
 
         VaultStoragePlugin.getInstance().getMailService().sendMail(recipient, sender, message);
-
-        return vaultEntity;
     }
 
     private void addRegionPlaceHolder(@NotNull UUID worldUuid, int x, int y, int z, Map<String, String> placeholders) {
@@ -113,6 +144,18 @@ public record VaultServiceImpl(VaultDAO dao) implements VaultService {
         dao.deleteVault(vaultUuid);
     }
 
+    @Override
+    public @NotNull Map<UUID, VaultDAO.OwnedVault> getWithOwners(@NotNull Collection<UUID> vaultUuids) {
+        Objects.requireNonNull(vaultUuids, "vaultUuids");
+        return dao.getVaultsWithOwners(vaultUuids);
+    }
+
+    @Override
+    public void deleteAll(@NotNull Collection<UUID> vaultUuids) {
+        Objects.requireNonNull(vaultUuids, "vaultUuids");
+        dao.deleteVaults(vaultUuids);
+    }
+
     @Override
     public void setOwner(@NotNull UUID vaultUuid, @NotNull UUID ownerUuid) {
         Objects.requireNonNull(vaultUuid, "vaultUuid");
@@ -174,10 +217,143 @@ public record VaultServiceImpl(VaultDAO dao) implements VaultService {
         dao.removeItem(vaultUuid, slot);
     }
 
+    @Override
+    public void removeItems(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) {
+        Objects.requireNonNull(vaultUuid, "vaultUuid");
+        Objects.requireNonNull(slots, "slots");
+        dao.removeItems(vaultUuid, slots);
+    }
+
     @Override
     public @NotNull List<VaultItemEntity> listItems(@NotNull UUID vaultUuid) {
         Objects.requireNonNull(vaultUuid, "vaultUuid");
         return dao.listItems(vaultUuid);
     }
 
+    @Override
+    public @NotNull List<VaultItemEntity> listItems(@NotNull UUID vaultUuid, int fromSlot, int toSlot) {
+        Objects.requireNonNull(vaultUuid, "vaultUuid");
+        return dao.listItems(vaultUuid, fromSlot, toSlot);
+    }
+
+    @Override
+    public int maxSlot(@NotNull UUID vaultUuid) {
+        Objects.requireNonNull(vaultUuid, "vaultUuid");
+        return dao.maxSlot(vaultUuid);
+    }
+
+    @Override
+    public @NotNull Map<UUID, Integer> maxSlotsByOwner(@NotNull UUID ownerUuid) {
+        Objects.requireNonNull(ownerUuid, "ownerUuid");
+        return dao.maxSlotsByOwner(ownerUuid);
+    }
+
+    @Override
+    public @NotNull Map<UUID, Integer> findVaultsContaining(@NotNull String material, int limit) {
+        Objects.requireNonNull(material, "material");
+        return dao.findVaultsContaining(material, limit);
+    }
+
+    @Override
+    public @NotNull Map<UUID, Integer> countItems(@NotNull Collection<UUID> vaultUuids) {
+        Objects.requireNonNull(vaultUuids, "vaultUuids");
+        return dao.countItems(vaultUuids);
+    }
+
+    // Async facade: reads queue as interactive work, writes as durable work (see DatabaseExecutor.Priority). Calls on
+    // a vault are ordered per vault, so a read sees the writes submitted before it (see KeyedSerialExecutor).
+
+    @Override
+    public @NotNull CompletableFuture<Optional<VaultEntity>> getAsync(@NotNull UUID vaultUuid) {
+        return read(KeyedSerialExecutor.vault(vaultUuid), () -> get(vaultUuid));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Map<UUID, VaultDAO.OwnedVault>> getWithOwnersAsync(@NotNull Collection<UUID> vaultUuids) {
+        return read(KeyedSerialExecutor.vaults(vaultUuids), () -> getWithOwners(vaultUuids));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<UUID> getOwnerAsync(@NotNull UUID vaultUuid) {
+        return read(KeyedSerialExecutor.vault(vaultUuid), () -> getOwner(vaultUuid));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<List<VaultEntity>> listByOwnerAsync(@NotNull UUID ownerUuid) {
+        return read(KeyedSerialExecutor.owner(ownerUuid), () -> listByOwner(ownerUuid));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<List<VaultEntity>> listInWorldAsync(@NotNull UUID worldUuid) {
+        // Spans many vaults and owners; not ordered against any of them.
+        return read(List.of(), () -> listInWorld(worldUuid));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<List<VaultItemEntity>> listItemsAsync(@NotNull UUID vaultUuid) {
+        return read(KeyedSerialExecutor.vault(vaultUuid), () -> listItems(vaultUuid));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<List<VaultItemEntity>> listItemsAsync(@NotNull UUID vaultUuid, int fromSlot, int toSlot) {
+        return read(KeyedSerialExecutor.vault(vaultUuid), () -> listItems(vaultUuid, fromSlot, toSlot));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Map<UUID, Integer>> countItemsAsync(@NotNull Collection<UUID> vaultUuids) {
+        return read(KeyedSerialExecutor.vaults(vaultUuids), () -> countItems(vaultUuids));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<VaultEntity> createVaultWithItemsAsync(@NotNull UUID worldUuid, @NotNull UUID actor, int x, int y, int z,
+                                                                            @NotNull UUID ownerUuid, @Nullable String material,
+                                                                            @Nullable String blockData, @NotNull List<VaultItemEntity> items) {
+        Objects.requireNonNull(worldUuid, "worldUuid");
+        Objects.requireNonNull(ownerUuid, "ownerUuid");
+        Objects.requireNonNull(items, "items");
+        VaultEntity vaultEntity = new VaultEntity();
+        vaultEntity.uuid = UUID.randomUUID();
+        vaultEntity.worldUuid = worldUuid;
+        vaultEntity.x = x;
+        vaultEntity.y = y;
+        vaultEntity.z = z;
+        vaultEntity.material = material;
+        vaultEntity.blockData = blockData;
+        VaultDAO.NewVault entry = new VaultDAO.NewVault(vaultEntity, ownerUuid, items);
+        return VaultStoragePlugin.getInstance().getKeyedExecutor().submit(DatabaseExecutor.Priority.DURABLE,
+                List.of(KeyedSerialExecutor.vault(vaultEntity.uuid), KeyedSerialExecutor.owner(ownerUuid)),
+                () -> createVaults(actor, List.of(entry)).getFirst());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> setOwnerAsync(@NotNull UUID vaultUuid, @NotNull UUID ownerUuid) {
+        return write(List.of(KeyedSerialExecutor.vault(vaultUuid), KeyedSerialExecutor.owner(ownerUuid)), () -> setOwner(vaultUuid, ownerUuid));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> deleteAsync(@NotNull UUID vaultUuid) {
+        return write(List.of(KeyedSerialExecutor.vault(vaultUuid)), () -> delete(vaultUuid));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> putItemsAsync(@NotNull UUID vaultUuid, @NotNull List<VaultItemEntity> items) {
+        return write(List.of(KeyedSerialExecutor.vault(vaultUuid)), () -> putItems(vaultUuid, items));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> removeItemsAsync(@NotNull UUID vaultUuid, @NotNull Collection<Integer> slots) {
+        return write(List.of(KeyedSerialExecutor.vault(vaultUuid)), () -> removeItems(vaultUuid, slots));
+    }
+
+    private static <T> CompletableFuture<T> read(KeyedSerialExecutor.Key key, Callable<T> query) {
+        return read(List.of(key), query);
+    }
+
+    private static <T> CompletableFuture<T> read(List<KeyedSerialExecutor.Key> keys, Callable<T> query) {
+        return VaultStoragePlugin.getInstance().getKeyedExecutor().submit(DatabaseExecutor.Priority.INTERACTIVE, keys, query);
+    }
+
+    private static CompletableFuture<Void> write(List<KeyedSerialExecutor.Key> keys, Runnable update) {
+        return VaultStoragePlugin.getInstance().getKeyedExecutor().run(DatabaseExecutor.Priority.DURABLE, keys, update);
+    }
 }
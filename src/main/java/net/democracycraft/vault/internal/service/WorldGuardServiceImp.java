@@ -17,6 +17,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * WorldGuard-backed service to resolve regions without maintaining an internal cache.
@@ -27,10 +28,22 @@ import java.util.*;
  */
 public class WorldGuardServiceImp implements WorldGuardService {
 
-    private final RegionContainer regionContainer;
+    private final Function<World, Map<String, ProtectedRegion>> regionSource;
 
     public WorldGuardServiceImp() {
-        this.regionContainer = WorldGuard.getInstance().getPlatform().getRegionContainer();
+        RegionContainer regionContainer = WorldGuard.getInstance().getPlatform().getRegionContainer();
+        this.regionSource = world -> {
+            RegionManager manager = regionContainer.get(BukkitAdapter.adapt(world));
+            return manager == null ? null : manager.getRegions();
+        };
+    }
+
+    /**
+     * Service over a caller-supplied region lookup instead of WorldGuard's platform, so it runs without a server
+     * (benchmarks). {@code regionSource} returns a world's regions by id, or null if WorldGuard does not manage it.
+     */
+    WorldGuardServiceImp(@NotNull Function<World, Map<String, ProtectedRegion>> regionSource) {
+        this.regionSource = Objects.requireNonNull(regionSource, "regionSource");
     }
 
     /**
@@ -69,14 +82,13 @@ public class WorldGuardServiceImp implements WorldGuardService {
     public @NotNull List<VaultRegion> getRegionsIn(@NotNull World world) {
         Objects.requireNonNull(world, "world");
 
-        com.sk89q.worldedit.world.World weWorld = BukkitAdapter.adapt(world);
-        RegionManager manager = regionContainer.get(weWorld);
-        if (manager == null) {
+        Map<String, ProtectedRegion> worldRegions = regionSource.apply(world);
+        if (worldRegions == null) {
             return List.of();
         }
 
-        List<VaultRegion> regions = new ArrayList<>(manager.getRegions().size());
-        for (Map.Entry<String, ProtectedRegion> entry : manager.getRegions().entrySet()) {
+        List<VaultRegion> regions = new ArrayList<>(worldRegions.size());
+        for (Map.Entry<String, ProtectedRegion> entry : worldRegions.entrySet()) {
 
             regions.add(buildVaultRegion(entry.getValue().getId(), entry.getValue()));
         }
@@ -0,0 +1,182 @@
+package net.democracycraft.vault.internal.session;
+
+import net.democracycraft.vault.internal.metrics.MainThreadProfiler;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Drives the action bars of all capture and placement sessions from one timer, instead of one task per player.
+ * <p>
+ * Each player is visited once every {@code period} ticks, and players are spread evenly over those ticks, so that
+ * many sessions do not all ray trace in the same tick. A visit only ray traces when the player has moved or turned
+ * since the last one, and only calls the session's {@link Renderer} when the targeted block changed or the last
+ * render is {@code refresh} ticks old; otherwise it resends the last action bar, which keeps it from fading. Players
+ * who went offline are dropped on their next visit.
+ * <p>
+ * Main thread only. Each render is timed by the {@link MainThreadProfiler} under the operation given to {@link #show}.
+ */
+public final class ActionBarTicker extends BukkitRunnable {
+
+    /** Renders the action bar for the block the player is looking at, or for {@code null} if none is within reach. */
+    @FunctionalInterface
+    public interface Renderer {
+        @NotNull Component render(@Nullable Block target);
+    }
+
+    private static final int REACH = 6;
+
+    private static final class Entry {
+        final UUID playerId;
+        final String operation;
+        final Renderer renderer;
+        final int phase;
+        World world;
+        double x, y, z;
+        float yaw, pitch;
+        Block target;
+        Component rendered;
+        long renderedTick;
+
+        Entry(UUID playerId, String operation, Renderer renderer, int phase) {
+            this.playerId = playerId;
+            this.operation = operation;
+            this.renderer = renderer;
+            this.phase = phase;
+        }
+    }
+
+    private final Plugin plugin;
+    private final MainThreadProfiler profiler;
+    private final int period;
+    private final int refresh;
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    /** Entries by phase; phase {@code i} is visited on the ticks where {@code tick % period == i}. */
+    private final List<Map<UUID, Entry>> phases = new ArrayList<>();
+    private long tick;
+
+    private final LongAdder renders;
+    private final LongAdder raytraces;
+    private final LongAdder reused;
+
+    /**
+     * @param periodTicks  ticks between two updates of one player's action bar
+     * @param refreshTicks ticks after which a player who has not moved is rendered again anyway
+     */
+    public ActionBarTicker(@NotNull Plugin plugin, @NotNull MainThreadProfiler profiler, @NotNull MetricsRegistry metrics,
+                           int periodTicks, int refreshTicks) {
+        this.plugin = plugin;
+        this.profiler = profiler;
+        this.period = Math.max(1, periodTicks);
+        this.refresh = Math.max(this.period, refreshTicks);
+        for (int i = 0; i < period; i++) phases.add(new HashMap<>());
+        this.renders = metrics.counter("vault_actionbar_renders_total");
+        this.raytraces = metrics.counter("vault_actionbar_raytraces_total");
+        this.reused = metrics.counter("vault_actionbar_reused_total");
+        metrics.gauge("vault_actionbar_sessions", entries::size);
+    }
+
+    /** Starts the timer. Call once from {@code onEnable}. */
+    public void start() {
+        runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /** Shows {@code renderer}'s action bar to the player from the next visit on, replacing the one shown before. */
+    public void show(@NotNull UUID playerId, @NotNull String operation, @NotNull Renderer renderer) {
+        clear(playerId);
+        int phase = 0;
+        for (int i = 1; i < period; i++) {
+            if (phases.get(i).size() < phases.get(phase).size()) phase = i;
+        }
+        Entry entry = new Entry(playerId, operation, renderer, phase);
+        entries.put(playerId, entry);
+        phases.get(phase).put(playerId, entry);
+    }
+
+    /** Stops updating the player's action bar. */
+    public void clear(@NotNull UUID playerId) {
+        Entry entry = entries.remove(playerId);
+        if (entry != null) phases.get(entry.phase).remove(playerId);
+    }
+
+    @Override
+    public void run() {
+        tick++;
+        Map<UUID, Entry> due = phases.get((int) (tick % period));
+        if (due.isEmpty()) return;
+        profiler.run("session.actionbar", due.size(), () -> {
+            // Copied, since a render may end a session.
+            for (Entry entry : List.copyOf(due.values())) {
+                if (entries.get(entry.playerId) != entry) continue;
+                try {
+                    visit(entry);
+                } catch (Throwable t) {
+                    plugin.getLogger().log(Level.WARNING, "[ActionBarTicker] Failed to update the action bar of " + entry.playerId, t);
+                }
+            }
+        });
+    }
+
+    private void visit(Entry entry) {
+        Player player = Bukkit.getPlayer(entry.playerId);
+        if (player == null || !player.isOnline()) {
+            clear(entry.playerId);
+            return;
+        }
+        Location at = player.getLocation();
+        boolean moved = entry.rendered == null || at.getWorld() != entry.world
+                || at.getX() != entry.x || at.getY() != entry.y || at.getZ() != entry.z
+                || at.getYaw() != entry.yaw || at.getPitch() != entry.pitch;
+        if (moved) {
+            entry.world = at.getWorld();
+            entry.x = at.getX();
+            entry.y = at.getY();
+            entry.z = at.getZ();
+            entry.yaw = at.getYaw();
+            entry.pitch = at.getPitch();
+            raytraces.increment();
+            Block target = player.getTargetBlockExact(REACH);
+            if (!Objects.equals(target, entry.target)) {
+                entry.target = target;
+                entry.rendered = null;
+            }
+        }
+        if (entry.rendered == null || tick - entry.renderedTick >= refresh) {
+            renders.increment();
+            long token = profiler.begin(entry.operation, player.getName());
+            try {
+                entry.rendered = entry.renderer.render(entry.target);
+            } finally {
+                profiler.end(token);
+            }
+            entry.renderedTick = tick;
+        } else {
+            reused.increment();
+        }
+        player.sendActionBar(entry.rendered);
+    }
+
+    /** Stops the timer. Call from {@code onDisable}. */
+    public void shutdown() {
+        try { cancel(); } catch (IllegalStateException ignored) {}
+        entries.clear();
+        for (Map<UUID, Entry> phase : phases) phase.clear();
+    }
+}
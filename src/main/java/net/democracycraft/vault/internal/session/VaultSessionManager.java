@@ -2,9 +2,9 @@ package net.democracycraft.vault.internal.session;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import net.democracycraft.vault.VaultStoragePlugin;
 import net.democracycraft.vault.api.data.VaultDto;
-import net.democracycraft.vault.internal.util.listener.DynamicListener;
-import org.bukkit.scheduler.BukkitTask;
+import net.democracycraft.vault.internal.listener.SessionEventRouter.SessionHandler;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -14,8 +14,8 @@ import java.util.UUID;
  * Manages per-player interaction sessions (capture/placement) and last resulting VaultDto.
  * <p>
  * Provides:
- * - A dynamic Bukkit listener container per player.
- * - A single, managed action bar task to avoid leaks across modes.
+ * - A click handler per player, routed by the plugin's {@link net.democracycraft.vault.internal.listener.SessionEventRouter}.
+ * - A single action bar per player, updated by the plugin's shared {@link ActionBarTicker}.
  * - A simple mode flag to enforce mutual exclusion between flows.
  */
 public class VaultSessionManager {
@@ -23,14 +23,29 @@ public class VaultSessionManager {
     public enum Mode { NONE, CAPTURE, PLACEMENT }
 
     public static class Session {
-        private final DynamicListener dynamicListener = new DynamicListener();
+        private final UUID playerId;
+        private SessionHandler handler;
         private VaultDto lastVaultDto;
-        private BukkitTask actionBarTask;
         private Mode mode = Mode.NONE;
         private long lastScanTime = 0;
 
-        /** Returns the dynamic listener holder for this session. */
-        public DynamicListener getDynamicListener() { return dynamicListener; }
+        Session(UUID playerId) { this.playerId = playerId; }
+
+        /** Routes the player's clicks to {@code handler} until {@link #stopListening()} or the next mode switch. */
+        public void listen(SessionHandler handler) {
+            stopListening();
+            this.handler = handler;
+            VaultStoragePlugin.getInstance().getEventRouter().bindSession(playerId, handler);
+        }
+
+        /** Stops routing the player's clicks to this session's handler. */
+        public void stopListening() {
+            if (handler != null) {
+                VaultStoragePlugin.getInstance().getEventRouter().unbindSession(playerId, handler);
+                handler = null;
+            }
+        }
+
         /** Returns the last created or interacted vault DTO for convenience. */
         public VaultDto getLastVaultDto() { return lastVaultDto; }
         public void setLastVaultDto(VaultDto dto) { this.lastVaultDto = dto; }
@@ -44,24 +59,23 @@ public class VaultSessionManager {
          */
         public void switchTo(Mode newMode) {
             if (this.mode == newMode) return;
-            // Stop listener and clear actionbar to avoid overlap
-            dynamicListener.stop();
-            clearActionBarTask();
+            // Stop listening and clear actionbar to avoid overlap
+            stopListening();
+            clearActionBar();
             this.mode = newMode;
         }
 
-        /** Registers the action bar task, cancelling a previous one if present. */
-        public void setActionBarTask(org.bukkit.scheduler.BukkitTask task) {
-            clearActionBarTask();
-            this.actionBarTask = task;
+        /**
+         * Shows the action bar rendered by {@code renderer}, timed as {@code operation}, replacing a previous one,
+         * until {@link #clearActionBar()} or the next mode switch.
+         */
+        public void showActionBar(String operation, ActionBarTicker.Renderer renderer) {
+            VaultStoragePlugin.getInstance().getActionBarTicker().show(playerId, operation, renderer);
         }
 
-        /** Cancels and clears the current action bar task if any. */
-        public void clearActionBarTask() {
-            if (this.actionBarTask != null) {
-                try { this.actionBarTask.cancel(); } catch (Throwable ignored) {}
-                this.actionBarTask = null;
-            }
+        /** Stops updating this session's action bar, if any. */
+        public void clearActionBar() {
+            VaultStoragePlugin.getInstance().getActionBarTicker().clear(playerId);
         }
 
         public long getLastScanTime() { return lastScanTime; }
@@ -72,7 +86,7 @@ public class VaultSessionManager {
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
     public Session getOrCreate(UUID playerId) {
-        return sessions.computeIfAbsent(playerId, id -> new Session());
+        return sessions.computeIfAbsent(playerId, id -> new Session(id));
     }
 
     public Session get(UUID playerId) { return sessions.get(playerId); }
@@ -80,8 +94,8 @@ public class VaultSessionManager {
     public void end(UUID playerId) {
         Session s = sessions.remove(playerId);
         if (s != null) {
-            s.getDynamicListener().close();
-            s.clearActionBarTask();
+            s.stopListening();
+            s.clearActionBar();
         }
     }
 
@@ -14,8 +14,10 @@ import net.democracycraft.vault.internal.service.VaultInventoryService;
 import net.democracycraft.vault.internal.util.config.DataFolder;
 import net.democracycraft.vault.internal.util.minimessage.MiniMessageUtil;
 import net.democracycraft.vault.internal.util.yml.AutoYML;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.database.KeyedSerialExecutor;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.time.Duration;
 import java.util.*;
@@ -150,22 +152,20 @@ public class VaultActionMenu extends ChildMenuImp {
                 }
                 actor.sendMessage(MiniMessageUtil.parseOrPlain(cfg.deleteLoading));
                 var plugin = VaultStoragePlugin.getInstance();
-                new BukkitRunnable() {
-                    @Override public void run() {
-                        final boolean ok = deleteVault(plugin);
-
-                        new BukkitRunnable() {
-                            @Override public void run() {
-                                actor.sendMessage(MiniMessageUtil.parseOrPlain(ok ? cfg.deleteOk : cfg.deleteFail));
-                                if (getParentMenu() instanceof ParentMenuImp parent) {
-                                    new VaultListMenu(actor, parent, uiContext, "").open();
-                                } else {
-                                    actor.closeDialog();
-                                }
+                plugin.getKeyedExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, KeyedSerialExecutor.vault(vaultId), () -> {
+                    final boolean ok = deleteVault(plugin);
+
+                    new ProfiledRunnable("menu.action.deleted", actor.getName()) {
+                        @Override protected void runProfiled() {
+                            actor.sendMessage(MiniMessageUtil.parseOrPlain(ok ? cfg.deleteOk : cfg.deleteFail));
+                            if (getParentMenu() instanceof ParentMenuImp parent) {
+                                new VaultListMenu(actor, parent, uiContext, "").open();
+                            } else {
+                                actor.closeDialog();
                             }
-                        }.runTask(plugin);
-                    }
-                }.runTaskAsynchronously(plugin);
+                        }
+                    }.runTask(plugin);
+                }, actor);
             });
         }
 
@@ -8,11 +8,13 @@ import net.democracycraft.vault.VaultStoragePlugin;
 import net.democracycraft.vault.api.data.Dto;
 import net.democracycraft.vault.api.service.VaultService;
 import net.democracycraft.vault.api.ui.AutoDialog;
+import net.democracycraft.vault.internal.database.SqlTracer;
 import net.democracycraft.vault.internal.util.minimessage.MiniMessageUtil;
 import net.democracycraft.vault.internal.util.yml.AutoYML;
 import net.democracycraft.vault.internal.util.config.DataFolder;
 import net.democracycraft.vault.internal.util.uuid.UniqueIdentifierResolver;
 import net.democracycraft.vault.internal.database.entity.VaultEntity;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -33,7 +35,7 @@ public class VaultListMenu extends ChildMenuImp {
     private final String query;
     private final List<Entry> entries;
 
-    private record Entry(UUID id, String ownerName, int indexWithinOwner) {}
+    private record Entry(UUID id, String ownerName, int indexWithinOwner, int itemCount) {}
 
     /** Configuration DTO for menu texts. */
     public static class Config implements Dto, Serializable {
@@ -52,8 +54,9 @@ public class VaultListMenu extends ChildMenuImp {
          * Placeholders:
          * - %owner%: resolved owner name or UUID
          * - %index%: 1-based index among this owner's vaults within the result set
+         * - %items%: number of occupied slots
          */
-        public String itemFormat = "<white>%owner%</white><gray>'s Vault #</gray><white>%index%</white>";
+        public String itemFormat = "<white>%owner%</white><gray>'s Vault #</gray><white>%index%</white> <dark_gray>(%items% items)</dark_gray>";
     }
 
     private static final String HEADER = String.join("\n",
@@ -63,7 +66,8 @@ public class VaultListMenu extends ChildMenuImp {
             "- %query% -> current search query",
             "Placeholders for itemFormat:",
             "- %owner% -> owner name or UUID",
-            "- %index% -> 1-based index among the owner's vaults"
+            "- %index% -> 1-based index among the owner's vaults",
+            "- %items% -> number of occupied slots"
     );
 
     /** AutoYML handler to persist this menu's configuration. */
@@ -120,7 +124,8 @@ public class VaultListMenu extends ChildMenuImp {
                 builder.addBody(DialogBody.plainMessage(MiniMessageUtil.parseOrPlain(cfg.noneFound, phQuery)));
             } else {
                 for (Entry e : entries) {
-                    Map<String, String> ph = Map.of("%owner%", e.ownerName(), "%index%", String.valueOf(e.indexWithinOwner()));
+                    Map<String, String> ph = Map.of("%owner%", e.ownerName(), "%index%", String.valueOf(e.indexWithinOwner()),
+                            "%items%", String.valueOf(e.itemCount()));
                     Component label = MiniMessageUtil.parseOrPlain(cfg.itemFormat, ph);
                     builder.button(label, ctx -> new VaultActionMenu(ctx.player(), (ParentMenuImp) getParentMenu(), uiContext, e.id()).open());
                 }
@@ -161,7 +166,7 @@ public class VaultListMenu extends ChildMenuImp {
                 }
             } else {
                 // UUID_STRING case: search async
-                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, () -> {
                     VaultService vs = plugin.getVaultService();
 
                     if(sq.value() == null){
@@ -177,7 +182,7 @@ public class VaultListMenu extends ChildMenuImp {
                     }
 
                     loadVaultsAsync(plugin, vaults);
-                });
+                }, p);
             }
         }
     }
@@ -186,7 +191,7 @@ public class VaultListMenu extends ChildMenuImp {
         resolver.resolveUuid(query).thenAccept(resolvedUUID -> {
             SearchStrategy.SearchQuery sq = SearchStrategy.fromResolvedUsername(resolvedUUID);
 
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, () -> {
                 VaultService vs = plugin.getVaultService();
                 List<VaultEntity> vaults;
 
@@ -197,7 +202,7 @@ public class VaultListMenu extends ChildMenuImp {
                 }
 
                 loadVaultsAsync(plugin, vaults);
-            });
+            }, getPlayer());
         });
     }
 
@@ -211,9 +216,17 @@ public class VaultListMenu extends ChildMenuImp {
         List<CompletableFuture<Void>> nameFutures = new ArrayList<>();
         Set<UUID> uniqueOwners = new HashSet<>();
 
-        for (var v : vaults) {
-            UUID ownerUuid = vs.getOwner(v.uuid);
-            if (ownerUuid != null) uniqueOwners.add(ownerUuid);
+        Map<UUID, Integer> itemCounts;
+        try (var op = SqlTracer.operation("menu.list.owners")) {
+            for (var v : vaults) {
+                UUID ownerUuid = vs.getOwner(v.uuid);
+                if (ownerUuid != null) uniqueOwners.add(ownerUuid);
+            }
+
+            // Slot counts for all listed vaults in one query over the item index
+            List<UUID> vaultIds = new ArrayList<>(vaults.size());
+            for (var v : vaults) vaultIds.add(v.uuid);
+            itemCounts = vs.countItems(vaultIds);
         }
 
         for (UUID ownerUuid : uniqueOwners) {
@@ -232,18 +245,20 @@ public class VaultListMenu extends ChildMenuImp {
                 .thenRun(() -> {
                     Map<UUID,Integer> ownerCounts = new ConcurrentHashMap<>();
                     List<Entry> out = new ArrayList<>();
-                    for (var v : vaults) {
-                        UUID ownerUuid = vs.getOwner(v.uuid);
-                        String name = "Unknown";
-                        if (ownerUuid != null) {
-                            String resolved = resolvedNames.get(ownerUuid);
-                            name = (resolved != null) ? resolved : ownerUuid.toString().substring(0,8);
+                    try (var op = SqlTracer.operation("menu.list.entries")) {
+                        for (var v : vaults) {
+                            UUID ownerUuid = vs.getOwner(v.uuid);
+                            String name = "Unknown";
+                            if (ownerUuid != null) {
+                                String resolved = resolvedNames.get(ownerUuid);
+                                name = (resolved != null) ? resolved : ownerUuid.toString().substring(0,8);
+                            }
+                            int idx = ownerCounts.merge(ownerUuid == null ? new UUID(0,0) : ownerUuid, 1, Integer::sum);
+                            out.add(new Entry(v.uuid, name, idx, itemCounts.getOrDefault(v.uuid, 0)));
                         }
-                        int idx = ownerCounts.merge(ownerUuid == null ? new UUID(0,0) : ownerUuid, 1, Integer::sum);
-                        out.add(new Entry(v.uuid, name, idx));
                     }
-                    Bukkit.getScheduler().runTask(plugin, () ->
-                            new VaultListMenu(p, (ParentMenuImp) getParentMenu(), uiContext, query, out).open());
+                    Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("menu.list.loaded", p.getName(), () ->
+                            new VaultListMenu(p, (ParentMenuImp) getParentMenu(), uiContext, query, out).open()));
                 });
     }
 
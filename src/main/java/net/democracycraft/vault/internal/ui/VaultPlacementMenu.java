@@ -12,20 +12,20 @@ import net.democracycraft.vault.internal.security.VaultPermission;
 import net.democracycraft.vault.internal.service.VaultPlacementService;
 import net.democracycraft.vault.internal.session.VaultSessionManager;
 import net.democracycraft.vault.internal.session.VaultSessionManager.Mode;
+import net.democracycraft.vault.internal.listener.SessionEventRouter.SessionHandler;
 import net.democracycraft.vault.internal.util.config.DataFolder;
 import net.democracycraft.vault.internal.util.minimessage.MiniMessageUtil;
 import net.democracycraft.vault.internal.util.yml.AutoYML;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.EquipmentSlot;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.Map;
 import java.util.UUID;
@@ -124,13 +124,10 @@ public class VaultPlacementMenu extends ChildMenuImp {
         VaultSessionManager.Session session = VaultStoragePlugin.getInstance().getSessionManager().getOrCreate(actor.getUniqueId());
         // Switch to PLACEMENT mode, cancelling any prior capture/placement state
         session.switchTo(Mode.PLACEMENT);
-        final BukkitTask[] actionbarTask = new BukkitTask[1];
-
-        session.getDynamicListener().setListener(new Listener() {
-            @EventHandler
-            public void onInteract(PlayerInteractEvent event) {
-                if (!event.getPlayer().getUniqueId().equals(actor.getUniqueId())) return;
 
+        SessionHandler handler = new SessionHandler() {
+            @Override
+            public void onInteract(@NotNull PlayerInteractEvent event) {
                 // Ignore off-hand events to prevent duplicate processing
                 if (event.getHand() == EquipmentSlot.OFF_HAND) return;
 
@@ -140,9 +137,8 @@ public class VaultPlacementMenu extends ChildMenuImp {
                 Action action = event.getAction();
                 if (action == Action.LEFT_CLICK_AIR || action == Action.LEFT_CLICK_BLOCK) {
                     event.setCancelled(true);
-                    session.getDynamicListener().stop();
-                    if (actionbarTask[0] != null) actionbarTask[0].cancel();
-                    session.clearActionBarTask();
+                    session.stopListening();
+                    session.clearActionBar();
                     session.switchTo(Mode.NONE);
                     actor.sendMessage(MiniMessageUtil.parseOrPlain(config.placementCancelled));
                     return; // Do NOT reopen menu
@@ -173,15 +169,14 @@ public class VaultPlacementMenu extends ChildMenuImp {
                 VaultPlacementService placement = VaultStoragePlugin.getInstance().getPlacementService();
                 new LoadingMenu(actor, getParentMenu(), Map.of("%player%", actor.getName(), "%vault%", String.valueOf(vaultId))).open();
                 // Stop session listener and actionbar (single placement then exit mode)
-                session.getDynamicListener().stop();
-                if (actionbarTask[0] != null) actionbarTask[0].cancel();
-                session.clearActionBarTask();
+                session.stopListening();
+                session.clearActionBar();
                 session.switchTo(Mode.NONE);
 
                 placement.placeFromDatabaseRelativeAsync(vaultId, targetLoc, result -> {
                     var plugin = VaultStoragePlugin.getInstance();
-                    new BukkitRunnable() {
-                        @Override public void run() {
+                    new ProfiledRunnable("menu.placement.placed", actor.getName()) {
+                        @Override protected void runProfiled() {
                             Map<String,String> placeHolders = Map.of("%msg%", result.message());
                             actor.sendMessage(MiniMessageUtil.parseOrPlain(result.success() ? config.placeOk : config.placeFail, placeHolders));
                             if (result.success()) {
@@ -193,32 +188,28 @@ public class VaultPlacementMenu extends ChildMenuImp {
                                     UUID worldId = actor.getWorld().getUID();
 
 
-                                    new BukkitRunnable() {
+                                    plugin.getDatabaseExecutor().execute(DatabaseExecutor.Priority.INTERACTIVE, () -> {
                                         boolean anyLeft;
-                                        @Override
-                                        public void run() {
-                                            if (context.filterOwner() != null) {
-                                                var owned = vaultService.listByOwner(context.filterOwner());
-                                                anyLeft = owned.stream().anyMatch(v -> worldId.equals(v.worldUuid));
-                                            } else {
-                                                anyLeft = !vaultService.listInWorld(worldId).isEmpty();
-                                            }
+                                        if (context.filterOwner() != null) {
+                                            var owned = vaultService.listByOwner(context.filterOwner());
+                                            anyLeft = owned.stream().anyMatch(v -> worldId.equals(v.worldUuid));
+                                        } else {
+                                            anyLeft = !vaultService.listInWorld(worldId).isEmpty();
+                                        }
 
-                                            new BukkitRunnable() {
-                                                @Override
-                                                public void run() {
-                                                    if (anyLeft) {
-                                                        new VaultListMenu(actor, (ParentMenuImp) getParentMenu(), context, "").open();
-                                                    } else {
-                                                        actor.sendMessage("You have no more vaults to place in this world.");
-                                                        actor.closeDialog();
-                                                    }
+                                        new ProfiledRunnable("menu.placement.reopen", actor.getName()) {
+                                            @Override
+                                            protected void runProfiled() {
+                                                if (anyLeft) {
+                                                    new VaultListMenu(actor, (ParentMenuImp) getParentMenu(), context, "").open();
+                                                } else {
+                                                    actor.sendMessage("You have no more vaults to place in this world.");
+                                                    actor.closeDialog();
                                                 }
-                                            }.runTask(plugin);
-
+                                            }
+                                        }.runTask(plugin);
 
-                                        }
-                                    }.runTaskAsynchronously(plugin);
+                                    }, actor);
 
                                 } catch (Throwable t) {
                                     // On error, fallback to list menu for recovery
@@ -232,36 +223,25 @@ public class VaultPlacementMenu extends ChildMenuImp {
                     }.runTask(plugin);
                 });
             }
-        });
+        };
 
         // Actionbar updater registered in session for cleanup when switching modes
-        actionbarTask[0] = new BukkitRunnable() {
-            @Override public void run() {
-                if (!actor.isOnline()) {
-                    cancel();
-                    return;
-                }
-                Block target = actor.getTargetBlockExact(6);
-                if (target == null) {
-                    actor.sendActionBar(MiniMessageUtil.parseOrPlain(config.actionBarIdle));
-                    return;
-                }
-                WorldGuardService wgs = VaultStoragePlugin.getInstance().getWorldGuardService();
-                boolean isParticipant = false;
-                if (wgs != null) {
-                    var regs = wgs.getRegionsAt(target);
-                    UUID viewer = actor.getUniqueId();
-                    isParticipant = regs.stream().anyMatch(r -> r.isPartOfRegion(viewer));
-                }
-                boolean hasOverride = VaultPermission.ACTION_PLACE_OVERRIDE.has(actor);
-                boolean allowed = isParticipant || hasOverride;
-                var ph = Map.of("%placeable%", allowed ? config.placeYes : config.placeNo);
-                actor.sendActionBar(MiniMessageUtil.parseOrPlain(config.actionBarTarget, ph));
+        session.showActionBar("placement.actionbar", target -> {
+            if (target == null) return MiniMessageUtil.parseOrPlain(config.actionBarIdle);
+            WorldGuardService wgs = VaultStoragePlugin.getInstance().getWorldGuardService();
+            boolean isParticipant = false;
+            if (wgs != null) {
+                var regs = wgs.getRegionsAt(target);
+                UUID viewer = actor.getUniqueId();
+                isParticipant = regs.stream().anyMatch(r -> r.isPartOfRegion(viewer));
             }
-        }.runTaskTimer(VaultStoragePlugin.getInstance(), 0L, 5L);
-        session.setActionBarTask(actionbarTask[0]);
+            boolean hasOverride = VaultPermission.ACTION_PLACE_OVERRIDE.has(actor);
+            boolean allowed = isParticipant || hasOverride;
+            var ph = Map.of("%placeable%", allowed ? config.placeYes : config.placeNo);
+            return MiniMessageUtil.parseOrPlain(config.actionBarTarget, ph);
+        });
 
-        session.getDynamicListener().start();
+        session.listen(handler);
         actor.closeDialog();
     }
 }
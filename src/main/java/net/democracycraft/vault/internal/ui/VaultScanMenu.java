@@ -113,6 +113,16 @@ public class VaultScanMenu extends ChildMenuImp {
         public String pageLabel = "<gray>Page %page% / %total%</gray>";
         /** Toggle button label for the vault entry type filter. Visible only in results mode. Placeholder: %mode% */
         public String filterBtn = "<gray>[Filter: %mode%]</gray>";
+        /** Button that vaults every result matching the current filter in one operation. Placeholders: %count% */
+        public String vaultAllBtn = "<gold>(vault all) - %count%</gold>";
+        /** Action bar shown while vaulting all. Placeholders: %processed% %total% %captured% */
+        public String vaultAllProgress = "<yellow>Vaulting</yellow> <white>%processed%/%total%</white> <gray>(%captured% vaulted)</gray>";
+        /** Summary once vault-all finishes. Placeholders: %captured% %emptied% %skipped% %denied% %total% */
+        public String vaultAllDone = "<green>Vaulted %captured% of %total% blocks.</green> <gray>Unprotected: %emptied%, skipped: %skipped%, not allowed: %denied%.</gray>";
+        /** Summary when some captured vaults could not be saved. Placeholders: as vaultAllDone plus %failed% */
+        public String vaultAllPartial = "<red>%failed% captured vault(s) could not be saved; check the server log.</red> <gray>Vaulted %captured% of %total% blocks.</gray>";
+        /** Message when a vault-all is already running for the player. */
+        public String vaultAllRunning = "<red>A vault-all is already in progress.</red>";
     }
 
     private static final String HEADER = String.join("\n",
@@ -122,6 +132,7 @@ public class VaultScanMenu extends ChildMenuImp {
             "- %region% -> region id",
             "- %count% -> number of results",
             "- %x% %y% %z% %owner% -> entry values",
+            "- %processed% %captured% %emptied% %skipped% %denied% %failed% -> vault-all progress and summary counts",
             "Fields:",
             "- emptyCaptureSkipped -> message when a vaulted container was empty and persistence skipped"
     );
@@ -353,8 +364,8 @@ public class VaultScanMenu extends ChildMenuImp {
                                 // Check if any names were resolved
                                 boolean anyResolved = toResolve.stream().anyMatch(NAME_CACHE::containsKey);
                                 if (anyResolved) {
-                                    Bukkit.getScheduler().runTask(plugin, () ->
-                                            new VaultScanMenu(getPlayer(), getParentMenu(), uiContext, regionId, entries, eCurrentPage, FilterMode.ENTITY).open());
+                                    Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("menu.scan.refresh", regionId, () ->
+                                            new VaultScanMenu(getPlayer(), getParentMenu(), uiContext, regionId, entries, eCurrentPage, FilterMode.ENTITY).open()));
                                 }
                             });
                 }
@@ -454,13 +465,15 @@ public class VaultScanMenu extends ChildMenuImp {
                         .thenRun(() -> {
                             boolean anyResolved = toResolve.stream().anyMatch(NAME_CACHE::containsKey);
                             if (anyResolved) {
-                                Bukkit.getScheduler().runTask(plugin, () ->
-                                        new VaultScanMenu(getPlayer(), getParentMenu(), uiContext, regionId, entries, currentPage).open());
+                                Bukkit.getScheduler().runTask(plugin, plugin.getProfiler().wrap("menu.scan.refresh", regionId, () ->
+                                        new VaultScanMenu(getPlayer(), getParentMenu(), uiContext, regionId, entries, currentPage).open()));
                             }
                         });
             }
         }
 
+        addVaultAllButton(builder, config, visibleEntries, currentPage);
+
         // Navigation buttons
         if (currentPage > 0) {
             builder.button(MiniMessageUtil.parseOrPlain(config.prevBtn), ctx -> new VaultScanMenu(ctx.player(), getParentMenu(), uiContext, regionId, entries, currentPage - 1, filterMode).open());
@@ -474,6 +487,46 @@ public class VaultScanMenu extends ChildMenuImp {
         return builder.build();
     }
 
+    /**
+     * Adds the "vault all" button: captures every entry of {@code targets} through
+     * {@link VaultCaptureService#captureBulkAsync}, shows progress on the action bar, and re-scans once at the end.
+     */
+    private void addVaultAllButton(AutoDialog.Builder builder, Config config, List<ScanResult> targets, int currentPage) {
+        Map<String,String> phCount = Map.of("%count%", String.valueOf(targets.size()));
+        builder.sizableButton(MiniMessageUtil.parseOrPlain(config.vaultAllBtn, phCount), ctx -> {
+            Player player = ctx.player();
+            List<Block> blocks = new ArrayList<>(targets.size());
+            for (ScanResult target : targets) blocks.add(target.block());
+            var plugin = VaultStoragePlugin.getInstance();
+            boolean started = plugin.getCaptureService().captureBulkAsync(player, blocks,
+                    progress -> player.sendActionBar(MiniMessageUtil.parseOrPlain(config.vaultAllProgress, Map.of(
+                            "%processed%", String.valueOf(progress.processed()),
+                            "%total%", String.valueOf(progress.total()),
+                            "%captured%", String.valueOf(progress.captured())))),
+                    result -> {
+                        VaultCaptureService.BulkProgress counts = result.progress();
+                        int failed = counts.captured() - result.persisted();
+                        Map<String,String> phDone = Map.of(
+                                "%captured%", String.valueOf(result.persisted()),
+                                "%total%", String.valueOf(counts.total()),
+                                "%emptied%", String.valueOf(counts.emptied()),
+                                "%skipped%", String.valueOf(counts.skipped()),
+                                "%denied%", String.valueOf(counts.denied()),
+                                "%failed%", String.valueOf(failed));
+                        player.sendMessage(MiniMessageUtil.parseOrPlain(failed > 0 ? config.vaultAllPartial : config.vaultAllDone, phDone));
+                        if (!player.isOnline()) return;
+                        // One re-scan for the whole run instead of one per captured block.
+                        plugin.getScanService().invalidateCache();
+                        plugin.getScanService().scan(player, regionId, uiContext, config, recomputed -> {
+                            if (recomputed == null) return;
+                            int newTotal = Math.max(1, (int) Math.ceil(recomputed.size() / (double) Math.max(1, config.pageSize)));
+                            new VaultScanMenu(player, getParentMenu(), uiContext, regionId, recomputed, Math.min(currentPage, newTotal - 1), filterMode).open();
+                        });
+                    });
+            if (!started) player.sendMessage(MiniMessageUtil.parseOrPlain(config.vaultAllRunning));
+        }, 100);
+    }
+
     private void addFilterButton(AutoDialog.Builder builder, Config config, int currentPage) {
         String modeLabel = switch (filterMode) {
             case BLOCK -> "Block";
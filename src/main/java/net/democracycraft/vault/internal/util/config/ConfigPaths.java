@@ -7,6 +7,13 @@ public enum ConfigPaths {
     MYSQL_USER("mysql.user"),
     MYSQL_PASSWORD("mysql.password"),
     MYSQL_USE_SSL("mysql.useSSL"),
+    MYSQL_TRACE_ENABLED("mysql.trace.enabled"),
+    MYSQL_TRACE_SLOW_QUERY_MS("mysql.trace.slow-query-ms"),
+    MYSQL_TRACE_REPEAT_THRESHOLD("mysql.trace.repeat-threshold"),
+    MYSQL_EXECUTOR_THREADS("mysql.executor.threads"),
+    MYSQL_EXECUTOR_QUEUE_CAPACITY("mysql.executor.queue-capacity"),
+    MYSQL_EXECUTOR_BACKGROUND_CAPACITY("mysql.executor.background-capacity"),
+    MYSQL_EXECUTOR_DRAIN_TIMEOUT_SECONDS("mysql.executor.drain-timeout-seconds"),
     SCAN_BATCH_SIZE("scan.batch-size"),
     SCAN_CACHE_TTL_SECONDS("scan.cache-ttl-seconds"),
     SCAN_COOLDOWN_SECONDS("scan.cooldown-seconds"),
@@ -14,7 +21,34 @@ public enum ConfigPaths {
     AUTOVAULT_DELAY_TICKS("auto-vault.delay-ticks"),
     AUTOVAULT_INCLUDE_HANGINGS("auto-vault.include-hangings"),
     AUTOVAULT_NOTIFY_OCCUPANT("auto-vault.notify-occupant"),
-    AUTOVAULT_NOTIFY_MESSAGE("auto-vault.notify-message");
+    AUTOVAULT_NOTIFY_MESSAGE("auto-vault.notify-message"),
+    AUTOVAULT_MAX_CONCURRENT_SWEEPS("auto-vault.max-concurrent-sweeps"),
+    AUTOVAULT_CHECKPOINT_INTERVAL_CHUNKS("auto-vault.checkpoint-interval-chunks"),
+    CAPTURE_BULK_TICK_BUDGET_MS("capture.bulk-tick-budget-ms"),
+    CAPTURE_ACTIONBAR_PERIOD_TICKS("capture.actionbar-period-ticks"),
+    CAPTURE_ACTIONBAR_REFRESH_TICKS("capture.actionbar-refresh-ticks"),
+    STORAGE_RECOMPRESS_ENABLED("storage.recompress.enabled"),
+    STORAGE_RECOMPRESS_BATCH_SIZE("storage.recompress.batch-size"),
+    STORAGE_RECOMPRESS_PERIOD_TICKS("storage.recompress.period-ticks"),
+    STORAGE_LAYOUT("storage.layout"),
+    STORAGE_MIGRATION_BATCH_SIZE("storage.migration.batch-size"),
+    STORAGE_MIGRATION_PERIOD_TICKS("storage.migration.period-ticks"),
+    STORAGE_DEDUP_CACHE_SIZE("storage.dedup.cache-size"),
+    STORAGE_DEDUP_GC_BATCH_SIZE("storage.dedup.gc-batch-size"),
+    STORAGE_DEDUP_GC_PERIOD_TICKS("storage.dedup.gc-period-ticks"),
+    STORAGE_UPGRADE_ENABLED("storage.upgrade.enabled"),
+    STORAGE_UPGRADE_BATCH_SIZE("storage.upgrade.batch-size"),
+    STORAGE_UPGRADE_PERIOD_TICKS("storage.upgrade.period-ticks"),
+    STORAGE_INDEX_BATCH_SIZE("storage.index.batch-size"),
+    STORAGE_INDEX_PERIOD_TICKS("storage.index.period-ticks"),
+    STORAGE_HANGING_MERGE_MAX_SLOTS("storage.hanging-merge-max-slots"),
+    STORAGE_DECODE_PARALLELISM("storage.decode.parallelism"),
+    STORAGE_DECODE_MAX_IN_FLIGHT("storage.decode.max-in-flight"),
+    METRICS_ENABLED("metrics.enabled"),
+    METRICS_DUMP_INTERVAL_SECONDS("metrics.dump-interval-seconds"),
+    METRICS_FORMAT("metrics.format"),
+    PROFILER_ENABLED("profiler.enabled"),
+    PROFILER_SLOW_THRESHOLD_MS("profiler.slow-threshold-ms");
 
     private final String path;
 
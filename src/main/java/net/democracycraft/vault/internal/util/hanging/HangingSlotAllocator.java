@@ -0,0 +1,70 @@
+package net.democracycraft.vault.internal.util.hanging;
+
+import net.democracycraft.vault.api.service.VaultService;
+import net.democracycraft.vault.internal.util.hanging.HangingVaultSupport.TargetVault;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Hands out non-overlapping tail slot ranges in an owner's vaults for hanging merges during one sweep.
+ * Each owner's free-slot table is seeded from a single {@link VaultService#maxSlotsByOwner} query on first use
+ * and then kept in memory, so later merges cost no queries. Allocation is serialized per owner, which also keeps
+ * concurrent captures from creating more than one overflow vault at a time.
+ * <p>Only valid while the sweep is the sole writer to those vaults' tail slots; create one per sweep.</p>
+ */
+public final class HangingSlotAllocator {
+
+    private final VaultService vaultService;
+    private final Map<UUID, OwnerSlots> owners = new ConcurrentHashMap<>();
+
+    public HangingSlotAllocator(@NotNull VaultService vaultService) {
+        this.vaultService = Objects.requireNonNull(vaultService, "vaultService");
+    }
+
+    /**
+     * Reserves {@code neededSlots} contiguous slots in the oldest of {@code ownerUuid}'s vaults with room,
+     * or in a vault made by {@code createVault} (called at most once per allocation, under the owner's lock)
+     * when none has room.
+     *
+     * @param ownerUuid   vault owner
+     * @param neededSlots contiguous slots required (1 to {@link HangingVaultSupport#maxVaultSlots()})
+     * @param createVault creates a new empty vault for the owner and returns its id
+     * @return target vault and the first reserved slot
+     */
+    public @NotNull TargetVault allocate(@NotNull UUID ownerUuid, int neededSlots, @NotNull Supplier<UUID> createVault) {
+        Objects.requireNonNull(ownerUuid, "ownerUuid");
+        Objects.requireNonNull(createVault, "createVault");
+        int maxVaultSlots = HangingVaultSupport.maxVaultSlots();
+        if (neededSlots <= 0 || neededSlots > maxVaultSlots) {
+            throw new IllegalArgumentException("neededSlots out of range: " + neededSlots);
+        }
+        OwnerSlots slots = owners.computeIfAbsent(ownerUuid, k -> new OwnerSlots());
+        synchronized (slots) {
+            if (slots.nextFree == null) {
+                slots.nextFree = new LinkedHashMap<>();
+                vaultService.maxSlotsByOwner(ownerUuid).forEach((vault, maxSlot) -> slots.nextFree.put(vault, maxSlot + 1));
+            }
+            for (Map.Entry<UUID, Integer> entry : slots.nextFree.entrySet()) {
+                int start = entry.getValue();
+                if (start + neededSlots <= maxVaultSlots) {
+                    entry.setValue(start + neededSlots);
+                    return new TargetVault(entry.getKey(), start);
+                }
+            }
+            UUID created = createVault.get();
+            slots.nextFree.put(created, neededSlots);
+            return new TargetVault(created, 0);
+        }
+    }
+
+    /** Free-slot table of one owner: next free tail slot per vault, oldest vault first. Guarded by itself. */
+    private static final class OwnerSlots {
+        private LinkedHashMap<UUID, Integer> nextFree;
+    }
+}
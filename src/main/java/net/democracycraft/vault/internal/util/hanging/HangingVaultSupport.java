@@ -1,9 +1,10 @@
 package net.democracycraft.vault.internal.util.hanging;
 
 import io.papermc.paper.datacomponent.DataComponentTypes;
+import net.democracycraft.vault.VaultStoragePlugin;
 import net.democracycraft.vault.api.service.VaultService;
 import net.democracycraft.vault.internal.database.entity.VaultEntity;
-import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import net.democracycraft.vault.internal.util.config.ConfigPaths;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.GlowItemFrame;
@@ -14,8 +15,8 @@ import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,12 +26,23 @@ import java.util.UUID;
 public final class HangingVaultSupport {
 
     /**
-     * Max slots when merging hangings into an existing vault (27, one single chest). Tail append only; does not use a 54-slot grid.
+     * Default cap on slots when merging hangings into an existing vault. Larger vaults are browsed page by page,
+     * so this is well above one chest. Tail append only.
      */
-    public static final int MAX_VAULT_SLOTS = 27;
+    public static final int DEFAULT_MAX_VAULT_SLOTS = 270;
 
     private HangingVaultSupport() {}
 
+    /**
+     * Max slots a vault may reach through hanging merges ({@code storage.hanging-merge-max-slots}), at least 27.
+     * @return slot cap
+     */
+    public static int maxVaultSlots() {
+        int configured = VaultStoragePlugin.getInstance().getConfig()
+                .getInt(ConfigPaths.STORAGE_HANGING_MERGE_MAX_SLOTS.getPath(), DEFAULT_MAX_VAULT_SLOTS);
+        return Math.max(27, configured);
+    }
+
     /**
      * Block the hanging is attached to (Bolt and WorldGuard context for policy).
      * @param hanging entity to resolve
@@ -84,6 +96,7 @@ public final class HangingVaultSupport {
 
     /**
      * Oldest owned vault first (by {@link VaultEntity#createdAtEpochMillis}), first with enough tail slots.
+     * Reads only per-vault max slots; sweeps that merge many hangings should use a {@link HangingSlotAllocator}.
      * @param vaultService vault access
      * @param ownerUuid vault owner
      * @param neededSlots contiguous slots required
@@ -94,16 +107,14 @@ public final class HangingVaultSupport {
             @NotNull UUID ownerUuid,
             int neededSlots
     ) {
-        if (neededSlots <= 0 || neededSlots > MAX_VAULT_SLOTS) {
+        int maxVaultSlots = maxVaultSlots();
+        if (neededSlots <= 0 || neededSlots > maxVaultSlots) {
             return Optional.empty();
         }
-        List<VaultEntity> owned = new ArrayList<>(vaultService.listByOwner(ownerUuid));
-        owned.sort(Comparator.comparingLong(e -> e.createdAtEpochMillis != null ? e.createdAtEpochMillis : Long.MAX_VALUE));
-        for (VaultEntity ve : owned) {
-            List<VaultItemEntity> items = vaultService.listItems(ve.uuid);
-            int maxSlot = items.stream().mapToInt(it -> it.slot).max().orElse(-1);
-            if (maxSlot + neededSlots <= MAX_VAULT_SLOTS - 1) {
-                return Optional.of(new TargetVault(ve.uuid, maxSlot + 1));
+        for (Map.Entry<UUID, Integer> entry : vaultService.maxSlotsByOwner(ownerUuid).entrySet()) {
+            int maxSlot = entry.getValue();
+            if (maxSlot + neededSlots <= maxVaultSlots - 1) {
+                return Optional.of(new TargetVault(entry.getKey(), maxSlot + 1));
             }
         }
         return Optional.empty();
@@ -1,30 +1,260 @@
 package net.democracycraft.vault.internal.util.item;
 
+import org.bukkit.Bukkit;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
 /**
  * Utility methods to serialize and deserialize ItemStacks to and from byte arrays.
+ * <p>Stored bytes are framed: one header byte names the format, followed by the payload.</p>
+ * <ul>
+ *   <li>{@link #FRAME_RAW}: the {@link ItemStack#serializeAsBytes()} output as-is (small items).</li>
+ *   <li>{@link #FRAME_DEFLATE}: that output, raw-Deflate compressed with the v1 preset dictionary.</li>
+ *   <li>{@link #FRAME_DEFLATE_NBT}: the gzip-wrapped NBT is unwrapped first and the bare NBT is compressed
+ *       with the v1 dictionary, which compresses far better than gzip on short, repetitive item NBT.</li>
+ * </ul>
+ * Compressed frames carry the 4-byte big-endian uncompressed length after the header. Rows written before
+ * framing (starting with the gzip magic) are decoded as-is, so legacy data stays readable.
+ * <p>The {@code *_V} variants ({@link #FRAME_RAW_V}, {@link #FRAME_DEFLATE_V}, {@link #FRAME_DEFLATE_NBT_V}) put the
+ * item's 4-byte big-endian Minecraft data version right after the header, before the fields above. They are what
+ * {@link #toBytes} writes, so stored items older than the server's data version can be found, even in SQL, without
+ * decoding them. Frames without a version are treated as stale.</p>
  */
 public final class ItemSerialization {
     private ItemSerialization() {}
 
+    public static final byte FRAME_RAW = (byte) 0xB0;
+    public static final byte FRAME_DEFLATE = (byte) 0xB1;
+    public static final byte FRAME_DEFLATE_NBT = (byte) 0xB2;
+    public static final byte FRAME_RAW_V = (byte) 0xB3;
+    public static final byte FRAME_DEFLATE_V = (byte) 0xB4;
+    public static final byte FRAME_DEFLATE_NBT_V = (byte) 0xB5;
+    /** {@link #dataVersion} of bytes that carry no data version. */
+    public static final int UNKNOWN_DATA_VERSION = -1;
+
+    /** Payloads below this size are stored raw; Deflate cannot win much on them. */
+    private static final int MIN_COMPRESS_BYTES = 64;
+    /** Upper bound on a declared uncompressed length, to reject corrupt frames before allocating. */
+    private static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Preset dictionary v1: NBT keys and ids common in stored items. Deflate favours matches near the end of
+     * the dictionary, so the most frequent strings come last. Never edit: frames reference it by header byte;
+     * a new dictionary needs new header values.
+     */
+    private static final byte[] DICTIONARY_V1 = String.join("",
+            "minecraft:written_book_content", "pages", "raw", "filtered", "title", "author", "generation", "resolved",
+            "minecraft:writable_book_content", "minecraft:firework_explosion", "minecraft:fireworks", "flight_duration",
+            "minecraft:potion_contents", "custom_effects", "minecraft:banner_patterns", "pattern", "color",
+            "minecraft:trim", "material", "minecraft:dyed_color", "rgb", "minecraft:attribute_modifiers", "modifiers",
+            "minecraft:bundle_contents", "minecraft:block_entity_data", "minecraft:custom_data", "PublicBukkitValues",
+            "minecraft:profile", "properties", "textures", "signature", "minecraft:unbreakable", "minecraft:repair_cost",
+            "minecraft:stored_enchantments", "minecraft:efficiency", "minecraft:unbreaking", "minecraft:mending",
+            "minecraft:fortune", "minecraft:silk_touch", "minecraft:protection", "minecraft:sharpness", "minecraft:looting",
+            "minecraft:enchantments", "levels", "minecraft:damage", "minecraft:lore", "minecraft:item_name",
+            "minecraft:custom_name", "{\"text\":\"", "\",\"italic\":false", "extra", "minecraft:container", "slot", "item",
+            "minecraft:shulker_box", "minecraft:diamond_", "minecraft:netherite_", "_pickaxe", "_sword", "_chestplate",
+            "minecraft:components", "components", "DataVersion", "count", "minecraft:", "id"
+    ).getBytes(StandardCharsets.UTF_8);
+
     /**
-     * Serialize an ItemStack to bytes.
+     * Idle (de)compressors for reuse; each holds native zlib memory until {@code end()}. Bounded rather than one per
+     * thread, so threads that come and go (virtual threads, pool churn) leave nothing behind: a stream that does not
+     * fit back is ended at once.
+     */
+    private static final int POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final ArrayBlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final ArrayBlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * Serialize an ItemStack to framed, compressed bytes tagged with the server's data version.
      * @return bytes array (never null)
      */
     public static byte[] toBytes(@NotNull ItemStack stack) {
-        return stack.serializeAsBytes();
+        return encode(stack.serializeAsBytes(), currentDataVersion());
+    }
+
+    /** The running server's Minecraft data version, which {@link #toBytes} tags items with. */
+    @SuppressWarnings("deprecation")
+    public static int currentDataVersion() {
+        return Bukkit.getUnsafe().getDataVersion();
     }
 
     /**
-     * Deserialize an ItemStack from bytes.
+     * Deserialize an ItemStack from bytes (framed or legacy).
      * @param data bytes array (may be null)
      * @return ItemStack or null
      */
     public static ItemStack fromBytes(byte[] data) {
         if (data == null || data.length == 0) return null;
-        return ItemStack.deserializeBytes(data);
+        return ItemStack.deserializeBytes(decode(data));
+    }
+
+    /** Whether {@code stored} already uses a framed format (as opposed to a legacy unframed row). */
+    public static boolean isFramed(byte[] stored) {
+        if (stored == null || stored.length == 0) return false;
+        byte header = stored[0];
+        return header == FRAME_RAW || header == FRAME_DEFLATE || header == FRAME_DEFLATE_NBT || isVersioned(header);
+    }
+
+    /** Data version stored bytes were written at, or {@link #UNKNOWN_DATA_VERSION} if they carry none. */
+    public static int dataVersion(byte[] stored) {
+        if (stored == null || stored.length < 5 || !isVersioned(stored[0])) return UNKNOWN_DATA_VERSION;
+        return ByteBuffer.wrap(stored, 1, 4).getInt();
+    }
+
+    /** Big-endian bytes of a data version, as they follow a versioned header; for binary comparisons in SQL. */
+    public static byte[] dataVersionBytes(int dataVersion) {
+        return ByteBuffer.allocate(4).putInt(dataVersion).array();
+    }
+
+    private static boolean isVersioned(byte header) {
+        return header == FRAME_RAW_V || header == FRAME_DEFLATE_V || header == FRAME_DEFLATE_NBT_V;
+    }
+
+    /**
+     * Frames a {@link ItemStack#serializeAsBytes()} payload, choosing the smallest format. Pure byte work; safe
+     * off the main thread.
+     */
+    public static byte[] encode(@NotNull byte[] payload) {
+        return encode(payload, UNKNOWN_DATA_VERSION);
+    }
+
+    /**
+     * Like {@link #encode(byte[])}, tagging the frame with the payload's data version unless it is
+     * {@link #UNKNOWN_DATA_VERSION}.
+     */
+    public static byte[] encode(@NotNull byte[] payload, int dataVersion) {
+        boolean versioned = dataVersion != UNKNOWN_DATA_VERSION;
+        int prefix = versioned ? 5 : 1;
+        if (payload.length >= MIN_COMPRESS_BYTES) {
+            byte[] framed = isGzip(payload)
+                    ? compressFrame(versioned ? FRAME_DEFLATE_NBT_V : FRAME_DEFLATE_NBT, dataVersion, gunzip(payload))
+                    : compressFrame(versioned ? FRAME_DEFLATE_V : FRAME_DEFLATE, dataVersion, payload);
+            if (framed.length < payload.length + prefix) {
+                return framed;
+            }
+        }
+        ByteBuffer raw = ByteBuffer.allocate(payload.length + prefix);
+        if (versioned) {
+            raw.put(FRAME_RAW_V).putInt(dataVersion);
+        } else {
+            raw.put(FRAME_RAW);
+        }
+        return raw.put(payload).array();
+    }
+
+    /**
+     * Returns the {@link ItemStack#deserializeBytes(byte[])} payload of stored bytes. Legacy unframed rows are
+     * returned unchanged.
+     */
+    public static byte[] decode(@NotNull byte[] stored) {
+        if (stored.length == 0) return stored;
+        return switch (stored[0]) {
+            case FRAME_RAW -> Arrays.copyOfRange(stored, 1, stored.length);
+            case FRAME_RAW_V -> Arrays.copyOfRange(stored, 5, stored.length);
+            case FRAME_DEFLATE -> decompressFrame(stored, 1);
+            case FRAME_DEFLATE_V -> decompressFrame(stored, 5);
+            // deserializeBytes expects gzip-wrapped NBT; a stored (level 0) wrap costs only a copy and a CRC.
+            case FRAME_DEFLATE_NBT -> gzipStored(decompressFrame(stored, 1));
+            case FRAME_DEFLATE_NBT_V -> gzipStored(decompressFrame(stored, 5));
+            default -> stored;
+        };
     }
-}
 
+    private static byte[] compressFrame(byte header, int dataVersion, byte[] data) {
+        Deflater deflater = DEFLATERS.poll();
+        if (deflater == null) deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            out.write(header);
+            if (isVersioned(header)) {
+                out.writeBytes(dataVersionBytes(dataVersion));
+            }
+            out.writeBytes(ByteBuffer.allocate(4).putInt(data.length).array());
+            byte[] buf = new byte[Math.max(256, data.length)];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.reset();
+            if (!DEFLATERS.offer(deflater)) deflater.end();
+        }
+    }
+
+    /** Inflates a compressed frame whose length field starts at {@code offset}. */
+    private static byte[] decompressFrame(byte[] stored, int offset) {
+        if (stored.length < offset + 4) {
+            throw new IllegalArgumentException("Truncated item frame (" + stored.length + " bytes)");
+        }
+        int length = ByteBuffer.wrap(stored, offset, 4).getInt();
+        if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Corrupt item frame: declared length " + length);
+        }
+        Inflater inflater = INFLATERS.poll();
+        if (inflater == null) inflater = new Inflater(true);
+        byte[] out = new byte[length];
+        try {
+            inflater.setDictionary(DICTIONARY_V1);
+            inflater.setInput(stored, offset + 4, stored.length - offset - 4);
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(out, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) break;
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalArgumentException("Corrupt item frame: inflated " + read + " of " + length + " bytes");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt item frame", e);
+        } finally {
+            inflater.reset();
+            if (!INFLATERS.offer(inflater)) inflater.end();
+        }
+        return out;
+    }
+
+    private static boolean isGzip(byte[] data) {
+        return data.length >= 2 && data[0] == (byte) 0x1F && data[1] == (byte) 0x8B;
+    }
+
+    private static byte[] gunzip(byte[] data) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid gzip item payload", e);
+        }
+    }
+
+    private static byte[] gzipStored(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes) {
+            { def.setLevel(Deflater.NO_COMPRESSION); }
+        }) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
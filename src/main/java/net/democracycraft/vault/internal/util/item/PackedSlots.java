@@ -0,0 +1,122 @@
+package net.democracycraft.vault.internal.util.item;
+
+import net.democracycraft.vault.internal.database.entity.VaultItemEntity;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Codec for the packed vault contents layout: every slot of a vault in one length-prefixed array.
+ * <pre>
+ * [byte version=1][int count] then count x [int slot][int amount][int length][length bytes of item]
+ * </pre>
+ * Entries are written in ascending slot order. Item bytes are stored in the {@link ItemSerialization} framed
+ * format; legacy unframed bytes are framed while packing. Pure byte work; safe off the main thread.
+ */
+public final class PackedSlots {
+    private PackedSlots() {}
+
+    private static final byte VERSION_1 = 1;
+    /** Slots a vault can plausibly hold; guards against allocating for a corrupt count. */
+    private static final int MAX_SLOTS = 4096;
+
+    /** Packs the given slots. Later entries win when a slot appears more than once. */
+    public static byte[] pack(@NotNull Collection<VaultItemEntity> items) {
+        Collection<VaultItemEntity> sorted = dedupe(items);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + sorted.size() * 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION_1);
+            out.writeInt(sorted.size());
+            for (VaultItemEntity row : sorted) {
+                byte[] item = row.item == null ? new byte[0] : row.item;
+                if (item.length > 0 && !ItemSerialization.isFramed(item)) {
+                    item = ItemSerialization.encode(item);
+                }
+                out.writeInt(row.slot);
+                out.writeInt(row.amount);
+                out.writeInt(item.length);
+                out.write(item);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Unpacks a vault's slots in ascending slot order. Each row gets a stable synthetic id derived from the
+     * vault and slot, since packed slots have no row of their own.
+     */
+    public static @NotNull List<VaultItemEntity> unpack(@NotNull UUID vaultUuid, byte[] packed) {
+        if (packed == null || packed.length == 0) return new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(packed))) {
+            byte version = in.readByte();
+            if (version != VERSION_1) {
+                throw new IllegalArgumentException("Unknown packed contents version " + version + " for vault " + vaultUuid);
+            }
+            int count = in.readInt();
+            if (count < 0 || count > MAX_SLOTS) {
+                throw new IllegalArgumentException("Corrupt packed contents for vault " + vaultUuid + ": count " + count);
+            }
+            List<VaultItemEntity> out = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                VaultItemEntity row = new VaultItemEntity();
+                row.vaultUuid = vaultUuid;
+                row.slot = in.readInt();
+                row.amount = in.readInt();
+                int length = in.readInt();
+                if (length < 0 || length > in.available()) {
+                    throw new IllegalArgumentException("Corrupt packed contents for vault " + vaultUuid + ": slot " + row.slot);
+                }
+                row.item = in.readNBytes(length);
+                row.uuid = slotId(vaultUuid, row.slot);
+                out.add(row);
+            }
+            return out;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated packed contents for vault " + vaultUuid, e);
+        }
+    }
+
+    /** Highest slot in {@code items}, or -1 if empty. */
+    public static int maxSlot(@NotNull Collection<VaultItemEntity> items) {
+        int max = -1;
+        for (VaultItemEntity row : items) max = Math.max(max, row.slot);
+        return max;
+    }
+
+    /**
+     * Oldest {@link ItemSerialization#dataVersion} among the items, {@link ItemSerialization#UNKNOWN_DATA_VERSION}
+     * if any carries none, or {@link Integer#MAX_VALUE} if there are no items.
+     */
+    public static int minDataVersion(@NotNull Collection<VaultItemEntity> items) {
+        int min = Integer.MAX_VALUE;
+        for (VaultItemEntity row : items) {
+            if (row.item == null || row.item.length == 0) continue;
+            min = Math.min(min, ItemSerialization.dataVersion(row.item));
+        }
+        return min;
+    }
+
+    /** Stable synthetic row id of a packed slot. */
+    public static @NotNull UUID slotId(@NotNull UUID vaultUuid, int slot) {
+        return UUID.nameUUIDFromBytes((vaultUuid + ":" + slot).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Collection<VaultItemEntity> dedupe(Collection<VaultItemEntity> items) {
+        TreeMap<Integer, VaultItemEntity> bySlot = new TreeMap<>();
+        for (VaultItemEntity row : items) bySlot.put(row.slot, row);
+        return bySlot.values();
+    }
+}
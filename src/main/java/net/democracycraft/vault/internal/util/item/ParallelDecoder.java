@@ -0,0 +1,96 @@
+package net.democracycraft.vault.internal.util.item;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bounded parallel decode stage for stored item payloads. Runs a decode function on a dedicated fork-join pool
+ * of {@code parallelism} daemon threads, so bulk reads spread over several cores without starving the common pool
+ * or the scheduler's async workers. A payload list is split into chunks of {@value #CHUNK} items, so a large vault
+ * is spread over several threads too. Knows nothing about Bukkit; the decode function decides what a payload becomes.
+ *
+ * @param <T> decoded form of one payload
+ */
+public final class ParallelDecoder<T> implements AutoCloseable {
+
+    /** Payloads decoded per pool task; large enough to amortize scheduling, small enough to split a chest. */
+    static final int CHUNK = 16;
+
+    private final ForkJoinPool pool;
+    private final Function<byte[], T> decoder;
+    private final int parallelism;
+
+    /**
+     * @param parallelism worker threads (at least 1)
+     * @param threadName  prefix of worker thread names
+     * @param decoder     decodes one non-null payload; must be thread-safe
+     */
+    public ParallelDecoder(int parallelism, @NotNull String threadName, @NotNull Function<byte[], T> decoder) {
+        this.parallelism = Math.max(1, parallelism);
+        this.decoder = decoder;
+        AtomicInteger ids = new AtomicInteger();
+        this.pool = new ForkJoinPool(this.parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName(threadName + "-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, true);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Decodes {@code payloads} on the pool. The result keeps input order; null or empty payloads decode to null.
+     * Completes exceptionally with the first decode failure.
+     */
+    public @NotNull CompletableFuture<List<T>> submit(@NotNull List<byte[]> payloads) {
+        int size = payloads.size();
+        if (size == 0) return CompletableFuture.completedFuture(List.of());
+        @SuppressWarnings("unchecked")
+        T[] out = (T[]) new Object[size];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>((size + CHUNK - 1) / CHUNK);
+        for (int from = 0; from < size; from += CHUNK) {
+            int start = from;
+            int end = Math.min(size, from + CHUNK);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) out[i] = decodeOne(payloads.get(i));
+            }, pool));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> Arrays.asList(out));
+    }
+
+    /** Decodes on the calling thread; the serial baseline of {@link #submit}. */
+    public @NotNull List<T> decodeSerially(@NotNull List<byte[]> payloads) {
+        List<T> out = new ArrayList<>(payloads.size());
+        for (byte[] payload : payloads) out.add(decodeOne(payload));
+        return out;
+    }
+
+    private T decodeOne(byte[] payload) {
+        return payload == null || payload.length == 0 ? null : decoder.apply(payload);
+    }
+
+    /** Stops the pool, letting queued decodes finish for up to five seconds. */
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) pool.shutdownNow();
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
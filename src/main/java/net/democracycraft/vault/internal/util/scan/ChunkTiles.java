@@ -0,0 +1,43 @@
+package net.democracycraft.vault.internal.util.scan;
+
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Splits a bounding box into chunk-column tiles, so region-wide queries can run one chunk at a time
+ * in bounded memory. Tiles are produced lazily in x-major, then z order.
+ */
+public final class ChunkTiles {
+
+    private ChunkTiles() {}
+
+    /** One chunk column of the box: its chunk coordinates and the part of the box inside it. */
+    public record Tile(int chunkX, int chunkZ, @NotNull BoundingBox box) {
+
+        /** Whether the block at {@code x, z} lies in this tile's chunk. */
+        public boolean containsBlock(int x, int z) {
+            return (x >> 4) == chunkX && (z >> 4) == chunkZ;
+        }
+    }
+
+    /** Lazily yields the tiles covering {@code box}, x-major then z. */
+    public static @NotNull Stream<Tile> of(@NotNull BoundingBox box) {
+        int minChunkX = (int) Math.floor(box.getMinX()) >> 4;
+        int minChunkZ = (int) Math.floor(box.getMinZ()) >> 4;
+        int maxChunkX = (int) Math.floor(box.getMaxX()) >> 4;
+        int maxChunkZ = (int) Math.floor(box.getMaxZ()) >> 4;
+        return IntStream.rangeClosed(minChunkX, maxChunkX).boxed()
+                .flatMap(cx -> IntStream.rangeClosed(minChunkZ, maxChunkZ).mapToObj(cz -> tile(box, cx, cz)));
+    }
+
+    private static Tile tile(BoundingBox box, int chunkX, int chunkZ) {
+        double minX = Math.max(box.getMinX(), chunkX << 4);
+        double minZ = Math.max(box.getMinZ(), chunkZ << 4);
+        double maxX = Math.min(box.getMaxX(), (chunkX << 4) + 16);
+        double maxZ = Math.min(box.getMaxZ(), (chunkZ << 4) + 16);
+        return new Tile(chunkX, chunkZ, new BoundingBox(minX, box.getMinY(), minZ, maxX, box.getMaxY(), maxZ));
+    }
+}
@@ -13,11 +13,15 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * In-memory filter over a region's Bolt protections. Returns the locked blocks whose owner is non-null
  * and not in {@code allowed}, using only Bolt's stored coordinates/owner — no block reads or chunk loads,
  * so it never blocks the main thread. Callers load chunks asynchronously when vaulting the results.
+ * Protections are read one chunk tile at a time, so memory stays bounded on very large regions.
  */
 public final class OfflineRegionScanner {
 
@@ -26,6 +30,9 @@ public final class OfflineRegionScanner {
     /** A locked container flagged for vaulting: its coordinates and Bolt owner. */
     public record DisplacedContainer(int x, int y, int z, UUID owner) {}
 
+    /** The displaced containers of one chunk. */
+    public record ChunkScan(int chunkX, int chunkZ, List<DisplacedContainer> displaced) {}
+
     /** Filters the region's Bolt protections to displaced containers, or {@code null} if services are unavailable. */
     public static List<DisplacedContainer> scan(UUID worldId, BoundingBox boundingBox, Set<UUID> allowed) {
         World world = Bukkit.getWorld(worldId);
@@ -34,17 +41,50 @@ public final class OfflineRegionScanner {
             return null;
         }
 
-        Collection<Protection> protections = boltService.getProtections(boundingBox, world);
         List<DisplacedContainer> displaced = new ArrayList<>();
-        if (protections != null) {
-            for (Protection protection : protections) {
-                if (!(protection instanceof BlockProtection bp)) continue;
-                if (bp.getY() < world.getMinHeight() || bp.getY() >= world.getMaxHeight()) continue;
-                UUID owner = bp.getOwner();
-                if (owner == null || allowed.contains(owner)) continue;
-                displaced.add(new DisplacedContainer(bp.getX(), bp.getY(), bp.getZ(), owner));
-            }
-        }
+        boltService.streamProtections(world, boundingBox).forEach(protection -> {
+            DisplacedContainer dc = toDisplaced(world, protection, allowed);
+            if (dc != null) displaced.add(dc);
+        });
         return displaced;
     }
+
+    /**
+     * Lazily scans the region one chunk at a time (x-major, then z), yielding only chunks that hold displaced
+     * containers. Tiles rejected by {@code includeTile} are skipped without querying Bolt. Returns {@code null}
+     * if services are unavailable. Consume on the main thread.
+     */
+    public static Stream<ChunkScan> scanByChunk(UUID worldId, BoundingBox boundingBox, Set<UUID> allowed,
+                                                Predicate<ChunkTiles.Tile> includeTile) {
+        World world = Bukkit.getWorld(worldId);
+        BoltService boltService = VaultStoragePlugin.getInstance().getBoltService();
+        if (world == null || boltService == null) {
+            return null;
+        }
+
+        LongAdder scanned = VaultStoragePlugin.getInstance().getMetrics().counter("vault_scan_protections_total", "scanner", "offline");
+        return ChunkTiles.of(boundingBox)
+                .filter(includeTile)
+                .map(tile -> {
+                    Collection<Protection> protections = boltService.getProtections(tile.box(), world);
+                    List<DisplacedContainer> displaced = new ArrayList<>();
+                    if (protections != null) {
+                        scanned.add(protections.size());
+                        for (Protection protection : protections) {
+                            DisplacedContainer dc = toDisplaced(world, protection, allowed);
+                            if (dc != null && tile.containsBlock(dc.x(), dc.z())) displaced.add(dc);
+                        }
+                    }
+                    return new ChunkScan(tile.chunkX(), tile.chunkZ(), displaced);
+                })
+                .filter(scan -> !scan.displaced().isEmpty());
+    }
+
+    private static DisplacedContainer toDisplaced(World world, Protection protection, Set<UUID> allowed) {
+        if (!(protection instanceof BlockProtection bp)) return null;
+        if (bp.getY() < world.getMinHeight() || bp.getY() >= world.getMaxHeight()) return null;
+        UUID owner = bp.getOwner();
+        if (owner == null || allowed.contains(owner)) return null;
+        return new DisplacedContainer(bp.getX(), bp.getY(), bp.getZ(), owner);
+    }
 }
@@ -5,24 +5,30 @@ import net.democracycraft.vault.api.service.BoltService;
 import net.democracycraft.vault.api.service.WorldGuardService;
 import net.democracycraft.vault.internal.security.VaultCapturePolicy;
 import net.democracycraft.vault.api.data.ScanResult;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
 import net.democracycraft.vault.internal.ui.VaultScanMenu;
 import net.democracycraft.vault.internal.ui.VaultUIContext;
 import net.democracycraft.vault.internal.util.config.ConfigPaths;
 import net.democracycraft.vault.internal.util.minimessage.MiniMessageUtil;
+import net.democracycraft.vault.internal.metrics.ProfiledRunnable;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.BoundingBox;
 import org.popcraft.bolt.protection.BlockProtection;
 import org.popcraft.bolt.protection.Protection;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 public class VaultRegionScanner {
 
+    /** Main-thread time one tick of a scan may spend. */
+    private static final long BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
     private final Player player;
     private final String regionId;
     private final VaultUIContext uiContext;
@@ -62,20 +68,10 @@ public class VaultRegionScanner {
         boolean actorOwnsRegion = region.isOwner(player.getUniqueId());
         BoundingBox boundingBox = region.boundingBox();
 
-        Collection<Protection> protections = boltService.getProtections(boundingBox, world);
-        if (protections == null || protections.isEmpty()) {
-            callback.accept(new ArrayList<>());
-            return;
-        }
-
-        List<BlockProtection> blockProtections = new ArrayList<>();
-        for (Protection protection : protections) {
-            if (protection instanceof BlockProtection bp) {
-                blockProtections.add(bp);
-            }
-        }
+        // Queried one chunk tile at a time, so giant regions are never materialized in full.
+        Iterator<ChunkTiles.Tile> tiles = ChunkTiles.of(boundingBox).iterator();
 
-        this.task = new ScanTask(blockProtections, world, actorOwnsRegion).runTaskTimer(VaultStoragePlugin.getInstance(), 1L, 1L);
+        this.task = new ScanTask(tiles, boltService, world, actorOwnsRegion).runTaskTimer(VaultStoragePlugin.getInstance(), 1L, 1L);
     }
 
     public void cancel() {
@@ -84,39 +80,58 @@ public class VaultRegionScanner {
         }
     }
 
-    private class ScanTask extends BukkitRunnable {
-        private final List<BlockProtection> protections;
+    /**
+     * Walks the region's tiles over as many ticks as needed, spending at most {@link #BUDGET_NANOS} and
+     * {@code scan.batch-size} protections per tick. The budget is also checked before each tile's Bolt query, so
+     * a run of empty tiles cannot stall one tick.
+     */
+    private class ScanTask extends ProfiledRunnable {
+        private final Iterator<ChunkTiles.Tile> tiles;
+        private final BoltService boltService;
         private final World world;
         private final boolean actorOwnsRegion;
         private final List<ScanResult> results = new ArrayList<>();
-        private int index = 0;
         private final int batchSize;
-
-        public ScanTask(List<BlockProtection> protections, World world, boolean actorOwnsRegion) {
-            this.protections = protections;
+        private final long startedNanos = System.nanoTime();
+        private final LongAdder protectionsScanned;
+        private final LongAdder chunkLoads;
+        /** Block protections of the current tile not yet inspected. */
+        private Iterator<BlockProtection> protections = Collections.emptyIterator();
+        private long scanned;
+
+        public ScanTask(Iterator<ChunkTiles.Tile> tiles, BoltService boltService, World world, boolean actorOwnsRegion) {
+            super("scan.region", regionId);
+            this.tiles = tiles;
+            this.boltService = boltService;
             this.world = world;
             this.actorOwnsRegion = actorOwnsRegion;
             this.batchSize = VaultStoragePlugin.getInstance().getConfig().getInt(ConfigPaths.SCAN_BATCH_SIZE.getPath(), 50);
+            MetricsRegistry metrics = VaultStoragePlugin.getInstance().getMetrics();
+            this.protectionsScanned = metrics.counter("vault_scan_protections_total", "scanner", "region");
+            this.chunkLoads = metrics.counter("vault_chunk_loads_total", "source", "scan");
         }
 
         @Override
-        public void run() {
+        protected void runProfiled() {
             if (!player.isOnline()) {
                 this.cancel();
                 return;
             }
 
-            long startTime = System.currentTimeMillis();
+            long deadline = System.nanoTime() + BUDGET_NANOS;
             int processed = 0;
 
-            while (index < protections.size() && processed < batchSize) {
-                if (System.currentTimeMillis() - startTime > 2) {
-                    break;
+            while (processed < batchSize && System.nanoTime() < deadline) {
+                if (!protections.hasNext()) {
+                    if (!tiles.hasNext()) break;
+                    protections = blockProtections(tiles.next());
+                    continue;
                 }
 
-                BlockProtection bp = protections.get(index);
-                index++;
+                BlockProtection bp = protections.next();
                 processed++;
+                scanned++;
+                protectionsScanned.increment();
 
                 int x = bp.getX();
                 int y = bp.getY();
@@ -126,6 +141,7 @@ public class VaultRegionScanner {
 
                 // Load chunk if needed
                 if (!world.isChunkLoaded(x >> 4, z >> 4)) {
+                    chunkLoads.increment();
                     world.getChunkAt(x >> 4, z >> 4); // This loads it
                 }
 
@@ -144,10 +160,30 @@ public class VaultRegionScanner {
                 results.add(new ScanResult(block, bp.getOwner(), block.getType()));
             }
 
-            if (index >= protections.size()) {
+            if (!protections.hasNext() && !tiles.hasNext()) {
                 this.cancel();
+                recordScan();
                 callback.accept(results);
             }
         }
+
+        /** The block protections stored in {@code tile}'s chunk; one Bolt query. */
+        private Iterator<BlockProtection> blockProtections(ChunkTiles.Tile tile) {
+            Collection<Protection> found = boltService.getProtections(tile.box(), world);
+            if (found == null || found.isEmpty()) return Collections.emptyIterator();
+            List<BlockProtection> out = new ArrayList<>(found.size());
+            for (Protection protection : found) {
+                if (protection instanceof BlockProtection bp && tile.containsBlock(bp.getX(), bp.getZ())) out.add(bp);
+            }
+            return out.iterator();
+        }
+
+        /** Scan duration, and its throughput as protections per second of wall time (the scan is spread over ticks). */
+        private void recordScan() {
+            MetricsRegistry metrics = VaultStoragePlugin.getInstance().getMetrics();
+            long elapsed = System.nanoTime() - startedNanos;
+            metrics.histogram("vault_scan_duration_seconds", "scanner", "region").record(elapsed);
+            if (elapsed > 0) metrics.set("vault_scan_protections_per_second", scanned / (elapsed / 1e9), "scanner", "region");
+        }
     }
 }
@@ -0,0 +1,108 @@
+package net.democracycraft.vault.internal.util.scheduler;
+
+import net.democracycraft.vault.internal.database.DatabaseExecutor;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * A periodic job whose runs go through the {@link DatabaseExecutor} at {@link DatabaseExecutor.Priority#BACKGROUND},
+ * so they share the background part of its queue with other optional work instead of running on the server's async
+ * scheduler beside it.
+ * <p>
+ * Each run is submitted from a one-shot main-thread task, and the next run is scheduled {@code period} ticks after the
+ * previous one finishes, so runs never overlap and the step's state needs no locking: it passes from one worker to
+ * the next through the scheduler and the executor's queue. While the executor is
+ * {@linkplain DatabaseExecutor#isOverloaded() overloaded} or rejects the run, the run is deferred by another period
+ * and counted in {@code vault_background_job_deferred_total}.
+ * <p>
+ * A job runs once: start it, and create a new one to run the work again.
+ */
+public final class BackgroundJob {
+
+    /** One run of a job. */
+    @FunctionalInterface
+    public interface Step {
+        /** @return whether there is more to do; {@code false} ends the job */
+        boolean run();
+    }
+
+    private final Plugin plugin;
+    private final DatabaseExecutor executor;
+    private final String name;
+    private final long periodTicks;
+    private final Step step;
+    private final LongAdder deferred;
+    private volatile boolean started;
+    private volatile boolean running;
+    private volatile BukkitTask next;
+
+    /** @param name job name for logs and metrics, e.g. {@code ItemRecompressionService} */
+    public BackgroundJob(@NotNull Plugin plugin, @NotNull DatabaseExecutor executor, @NotNull MetricsRegistry metrics,
+                         @NotNull String name, long periodTicks, @NotNull Step step) {
+        this.plugin = plugin;
+        this.executor = executor;
+        this.name = name;
+        this.periodTicks = Math.max(1L, periodTicks);
+        this.step = step;
+        this.deferred = metrics.counter("vault_background_job_deferred_total", "job", name);
+    }
+
+    /** Starts the job; its first run is submitted after {@code delayTicks}. Does nothing after the first call. */
+    public synchronized void start(long delayTicks) {
+        if (started) return;
+        started = true;
+        running = true;
+        schedule(delayTicks);
+    }
+
+    /** Whether the job has been started and has neither finished nor been stopped. */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Stops the job; a run already on a worker finishes, but no further run starts. Call from {@code onDisable}. */
+    public void stop() {
+        running = false;
+        BukkitTask task = next;
+        if (task != null) task.cancel();
+    }
+
+    private void schedule(long delayTicks) {
+        if (!running) return;
+        try {
+            next = Bukkit.getScheduler().runTaskLater(plugin, this::submit, Math.max(1L, delayTicks));
+        } catch (RuntimeException ex) {
+            // The plugin is being disabled.
+            running = false;
+        }
+    }
+
+    private void submit() {
+        if (!running) return;
+        if (executor.isOverloaded() || !executor.execute(DatabaseExecutor.Priority.BACKGROUND, this::runStep)) {
+            deferred.increment();
+            schedule(periodTicks);
+        }
+    }
+
+    private void runStep() {
+        if (!running) return;
+        boolean more = true;
+        try {
+            more = step.run();
+        } catch (RuntimeException ex) {
+            plugin.getLogger().log(Level.WARNING, "[BackgroundJob] A run of " + name + " failed; will retry.", ex);
+        }
+        if (more) {
+            schedule(periodTicks);
+        } else {
+            running = false;
+        }
+    }
+}
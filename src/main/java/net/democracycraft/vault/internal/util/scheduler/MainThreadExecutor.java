@@ -0,0 +1,101 @@
+package net.democracycraft.vault.internal.util.scheduler;
+
+import net.democracycraft.vault.internal.metrics.MainThreadProfiler;
+import net.democracycraft.vault.internal.metrics.MetricsRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * {@link Executor} that runs tasks on the server's main thread, for {@code CompletableFuture} continuations such as
+ * {@code future.thenAcceptAsync(..., mainThread)}.
+ * <p>
+ * Tasks submitted from any thread are queued, and at most one scheduler task per tick drains the queue in submission
+ * order, so a burst of completions costs one scheduler entry instead of one each. Tasks submitted while a drain is
+ * running wait for the next tick. A task that throws is logged and does not affect the others.
+ * <p>
+ * The drain is timed by the {@link MainThreadProfiler} as {@code main.continuations}; {@link #profiled} gives a view
+ * whose tasks are also timed under their own operation name.
+ */
+public final class MainThreadExecutor implements Executor {
+
+    private final Plugin plugin;
+    private final MainThreadProfiler profiler;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final LongAdder tasks;
+    private final LongAdder drains;
+    private volatile boolean shutdown;
+
+    public MainThreadExecutor(@NotNull Plugin plugin, @NotNull MainThreadProfiler profiler, @NotNull MetricsRegistry metrics) {
+        this.plugin = plugin;
+        this.profiler = profiler;
+        this.tasks = metrics.counter("vault_main_executor_tasks_total");
+        this.drains = metrics.counter("vault_main_executor_drains_total");
+        metrics.gauge("vault_main_executor_queued", queue::size);
+    }
+
+    /**
+     * Queues {@code task} for the next drain.
+     *
+     * @throws RejectedExecutionException after {@link #shutdown}
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        if (shutdown) throw new RejectedExecutionException("Main-thread executor is shut down");
+        queue.add(task);
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                Bukkit.getScheduler().runTask(plugin, this::drain);
+            } catch (RuntimeException ex) {
+                // The plugin is being disabled; shutdown() runs what is left.
+                scheduled.set(false);
+            }
+        }
+    }
+
+    /** A view of this executor whose tasks are timed as {@code operation} by the profiler. */
+    public @NotNull Executor profiled(@NotNull String operation, @Nullable Object context) {
+        return task -> execute(profiler.wrap(operation, context, task));
+    }
+
+    private void drain() {
+        // Cleared before running, so that anything queued from here on schedules the next tick's drain.
+        scheduled.set(false);
+        int pending = queue.size();
+        if (pending == 0) return;
+        drains.increment();
+        profiler.run("main.continuations", pending, () -> runQueued(pending));
+    }
+
+    private void runQueued(int max) {
+        for (int i = 0; i < max; i++) {
+            Runnable task = queue.poll();
+            if (task == null) return;
+            tasks.increment();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                plugin.getLogger().log(Level.SEVERE, "[MainThreadExecutor] Main-thread task failed", t);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting tasks and runs the ones still queued. Call on the main thread from {@code onDisable}, after
+     * the database executor has drained so that its last continuations are included.
+     */
+    public void shutdown() {
+        shutdown = true;
+        runQueued(Integer.MAX_VALUE);
+    }
+}